@@ -0,0 +1,261 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.report.allure;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.bdd.report.allure.model.AttachmentQueueOverflowPolicy;
+import org.vividus.reporter.model.Attachment;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+public class AllureAttachmentWriter
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(AllureAttachmentWriter.class);
+    private static final long QUEUE_OFFER_TIMEOUT_MILLIS = 100;
+
+    private final AllureLifecycle lifecycle = Allure.getLifecycle();
+
+    private int threads;
+    private int queueCapacity;
+    private AttachmentQueueOverflowPolicy queueOverflowPolicy = AttachmentQueueOverflowPolicy.BLOCK;
+
+    private ThreadPoolExecutor executor;
+    private int pendingAttachments;
+    private final Set<String> pendingSources = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder writtenAttachments = new LongAdder();
+    private final LongAdder droppedAttachments = new LongAdder();
+    private final LongAdder totalWriteTime = new LongAdder();
+    private final AtomicLong maxWriteTime = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    public void init()
+    {
+        if (threads > 0)
+        {
+            executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new BasicThreadFactory.Builder()
+                            .namingPattern("allure-attachment-writer-%d")
+                            .daemon(true)
+                            .build(), createRejectedExecutionHandler());
+        }
+    }
+
+    private RejectedExecutionHandler createRejectedExecutionHandler()
+    {
+        if (queueOverflowPolicy == AttachmentQueueOverflowPolicy.DROP)
+        {
+            return (task, executor) -> drop(task, "the queue of attachments to write is full");
+        }
+        return (task, executor) -> {
+            try
+            {
+                // the queue is not drained after the executor is shut down, so waiting for space must stop then
+                while (!executor.isShutdown())
+                {
+                    if (executor.getQueue().offer(task, QUEUE_OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+                    {
+                        if (executor.isShutdown() && executor.getQueue().remove(task))
+                        {
+                            break;
+                        }
+                        return;
+                    }
+                }
+                drop(task, "the attachment writer is shut down");
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                drop(task, "the thread is interrupted while waiting for space in the queue");
+            }
+        };
+    }
+
+    private void drop(Runnable task, String reason)
+    {
+        droppedAttachments.increment();
+        ((AttachmentWriteTask) task).complete();
+        LOGGER.warn("Attachment is dropped as {}", reason);
+    }
+
+    public void writeAttachment(String source, Attachment attachment)
+    {
+        if (executor == null)
+        {
+            write(source, attachment);
+            return;
+        }
+        pendingSources.add(source);
+        synchronized (this)
+        {
+            pendingAttachments++;
+        }
+        executor.execute(new AttachmentWriteTask(source, attachment));
+        maxQueueDepth.accumulateAndGet(getQueueDepth(), Math::max);
+    }
+
+    private void write(String source, Attachment attachment)
+    {
+        long start = System.nanoTime();
+        lifecycle.writeAttachment(source, attachment.getContentAsStream());
+        long writeTime = System.nanoTime() - start;
+        writtenAttachments.increment();
+        totalWriteTime.add(writeTime);
+        maxWriteTime.accumulateAndGet(writeTime, Math::max);
+    }
+
+    private synchronized void completeAttachment()
+    {
+        pendingAttachments--;
+        if (pendingAttachments == 0)
+        {
+            notifyAll();
+        }
+    }
+
+    public boolean isPending(String source)
+    {
+        return pendingSources.contains(source);
+    }
+
+    public void flush()
+    {
+        synchronized (this)
+        {
+            while (pendingAttachments > 0)
+            {
+                try
+                {
+                    wait();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        LOGGER.info("Attachments written: {}, dropped: {}, max queue depth: {}, average write time: {} ms,"
+                + " max write time: {} ms", getWrittenAttachments(), getDroppedAttachments(), getMaxQueueDepth(),
+                getAverageWriteTime().toMillis(), getMaxWriteTime().toMillis());
+    }
+
+    public void destroy()
+    {
+        if (executor != null)
+        {
+            flush();
+            executor.shutdown();
+        }
+    }
+
+    public int getQueueDepth()
+    {
+        return executor != null ? executor.getQueue().size() : 0;
+    }
+
+    public int getMaxQueueDepth()
+    {
+        return maxQueueDepth.get();
+    }
+
+    public long getWrittenAttachments()
+    {
+        return writtenAttachments.sum();
+    }
+
+    public long getDroppedAttachments()
+    {
+        return droppedAttachments.sum();
+    }
+
+    public Duration getAverageWriteTime()
+    {
+        long written = getWrittenAttachments();
+        return written > 0 ? Duration.ofNanos(totalWriteTime.sum() / written) : Duration.ZERO;
+    }
+
+    public Duration getMaxWriteTime()
+    {
+        return Duration.ofNanos(maxWriteTime.get());
+    }
+
+    public void setThreads(int threads)
+    {
+        this.threads = threads;
+    }
+
+    public void setQueueCapacity(int queueCapacity)
+    {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public void setQueueOverflowPolicy(AttachmentQueueOverflowPolicy queueOverflowPolicy)
+    {
+        this.queueOverflowPolicy = queueOverflowPolicy;
+    }
+
+    private final class AttachmentWriteTask implements Runnable
+    {
+        private final String source;
+        private final Attachment attachment;
+
+        private AttachmentWriteTask(String source, Attachment attachment)
+        {
+            this.source = source;
+            this.attachment = attachment;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                write(source, attachment);
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.error("Unable to write attachment {}", source, e);
+            }
+            finally
+            {
+                complete();
+            }
+        }
+
+        private void complete()
+        {
+            pendingSources.remove(source);
+            completeAttachment();
+        }
+    }
+}
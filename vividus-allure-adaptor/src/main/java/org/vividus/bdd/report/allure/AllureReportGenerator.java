@@ -19,17 +19,30 @@ package org.vividus.bdd.report.allure;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.hash.Hashing;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourcePatternResolver;
 
+import io.qameta.allure.Aggregator;
 import io.qameta.allure.ConfigurationBuilder;
-import io.qameta.allure.ReportGenerator;
 import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
 import io.qameta.allure.summary.SummaryPlugin;
 import io.qameta.allure.util.PropertiesUtils;
 
@@ -40,12 +53,38 @@ public class AllureReportGenerator implements IAllureReportGenerator
     private static final String ALLURE_CUSTOMIZATION_PATTERN = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
             + ALLURE_CUSTOMIZATION_PATH + "**";
 
+    private static final String[] JAVASCRIPT_SEARCH_LIST = { "unknown:\"Unknown\"",
+        "\"failed\",\"broken\",\"passed\",\"skipped\",\"unknown\"" };
+    private static final String[] JAVASCRIPT_REPLACEMENT_LIST = { "unknown:\"Known\"",
+        "\"passed\",\"unknown\",\"failed\",\"broken\",\"skipped\"" };
+    private static final String[] CSS_SEARCH_LIST = { "#ffd050", "#d35ebe", "#fffae6", "#faebf7", "#ffeca0",
+        "#ecb7e2" };
+    private static final String[] CSS_REPLACEMENT_LIST = { "#d35ebf", "#ffd051", "#faebf8", "#fffae7", "#ecb7e3",
+        "#ffeca1" };
+
+    // Allure static files are the same for all reports generated by the same Allure version, so the patched content
+    // is shared by all reports generated in the JVM and is looked up by the checksum of the original content
+    private static final Map<String, String> PATCHED_FILES = new ConcurrentHashMap<>();
+
     private File reportDirectory;
     private final File resultsDirectory =
             new File((String) PropertiesUtils.loadAllureProperties().get("allure.results.directory"));
 
     private final ResourcePatternResolver resourcePatternResolver;
 
+    private AllureAttachmentWriter allureAttachmentWriter;
+
+    private int threads = 1;
+    private boolean incremental;
+    private int incrementalSegmentSize;
+
+    private final Map<String, Set<String>> attachmentSources = new ConcurrentHashMap<>();
+    private final List<String> writtenTestCases = new ArrayList<>();
+
+    private Configuration configuration;
+    private ExecutorService executor;
+    private AllureResultsReader resultsReader;
+
     private boolean started;
 
     public AllureReportGenerator(ResourcePatternResolver resourcePatternResolver)
@@ -58,6 +97,12 @@ public class AllureReportGenerator implements IAllureReportGenerator
     {
         deleteResultsDirectory();
         deleteReportDirectory();
+        configuration = new ConfigurationBuilder().useDefault().fromExtensions(List.of(new SummaryPlugin())).build();
+        executor = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+                .namingPattern("allure-report-generator-%d")
+                .daemon(true)
+                .build());
+        resultsReader = new AllureResultsReader(configuration, resultsDirectory.toPath(), executor);
         started = true;
     }
 
@@ -66,11 +111,76 @@ public class AllureReportGenerator implements IAllureReportGenerator
     {
         if (started)
         {
-            generateReport();
+            allureAttachmentWriter.flush();
+            try
+            {
+                generateReport();
+            }
+            finally
+            {
+                executor.shutdown();
+            }
         }
         started = false;
     }
 
+    @Override
+    public void registerAttachment(String testCaseUuid, String attachmentSource)
+    {
+        if (isResultsTrackingEnabled())
+        {
+            attachmentSources.computeIfAbsent(testCaseUuid, uuid -> ConcurrentHashMap.newKeySet())
+                    .add(attachmentSource);
+        }
+    }
+
+    @Override
+    public synchronized void registerTestCase(String testCaseUuid)
+    {
+        if (isResultsTrackingEnabled())
+        {
+            writtenTestCases.add(testCaseUuid);
+            if (incremental && writtenTestCases.size() >= incrementalSegmentSize)
+            {
+                readSegment();
+            }
+        }
+    }
+
+    // test cases are read in background only when all their attachments are written
+    private void readSegment()
+    {
+        List<String> completedTestCases = new ArrayList<>();
+        for (String testCase : writtenTestCases)
+        {
+            Set<String> sources = attachmentSources.getOrDefault(testCase, Set.of());
+            if (sources.stream().noneMatch(allureAttachmentWriter::isPending))
+            {
+                completedTestCases.add(testCase);
+            }
+        }
+        if (completedTestCases.size() >= incrementalSegmentSize)
+        {
+            writtenTestCases.removeAll(Set.copyOf(completedTestCases));
+            resultsReader.readSegment(pollTestCases(completedTestCases));
+        }
+    }
+
+    private Map<String, Set<String>> pollTestCases(List<String> testCases)
+    {
+        Map<String, Set<String>> polledTestCases = new HashMap<>();
+        for (String testCase : testCases)
+        {
+            polledTestCases.put(testCase, Optional.ofNullable(attachmentSources.remove(testCase)).orElseGet(Set::of));
+        }
+        return polledTestCases;
+    }
+
+    private boolean isResultsTrackingEnabled()
+    {
+        return threads > 1 || incremental;
+    }
+
     private void deleteReportDirectory()
     {
         deleteDirectory("report", reportDirectory);
@@ -98,9 +208,17 @@ public class AllureReportGenerator implements IAllureReportGenerator
 
     private void generateData() throws IOException
     {
-        Configuration configuration = new ConfigurationBuilder().useDefault().fromExtensions(List.of(
-                new SummaryPlugin())).build();
-        new ReportGenerator(configuration).generate(reportDirectory.toPath(), resultsDirectory.toPath());
+        Map<String, Set<String>> remainingTestCases;
+        synchronized (this)
+        {
+            remainingTestCases = pollTestCases(writtenTestCases);
+            writtenTestCases.clear();
+        }
+        List<LaunchResults> launchesResults = resultsReader.readAll(remainingTestCases, threads);
+        for (Aggregator aggregator : configuration.getAggregators())
+        {
+            aggregator.aggregate(configuration, launchesResults, reportDirectory.toPath());
+        }
     }
 
     private void customizeReport() throws IOException
@@ -125,25 +243,18 @@ public class AllureReportGenerator implements IAllureReportGenerator
 
     private void patchAllureFiles() throws IOException
     {
-        File javascriptFile = new File(reportDirectory, "app.js");
-        File cssFile = new File(reportDirectory, "styles.css");
-        String javascriptString = FileUtils.readFileToString(javascriptFile, StandardCharsets.UTF_8);
-        String cssString = FileUtils.readFileToString(cssFile, StandardCharsets.UTF_8);
-
-        javascriptString = javascriptString
-                .replace("unknown:\"Unknown\"", "unknown:\"Known\"")
-                .replace("\"failed\",\"broken\",\"passed\",\"skipped\",\"unknown\"",
-                        "\"passed\",\"unknown\",\"failed\",\"broken\",\"skipped\"");
-        cssString = cssString
-                .replace("#ffd050", "#d35ebf")
-                .replace("#d35ebe", "#ffd051")
-                .replace("#fffae6", "#faebf8")
-                .replace("#faebf7", "#fffae7")
-                .replace("#ffeca0", "#ecb7e3")
-                .replace("#ecb7e2", "#ffeca1");
+        patchAllureFile("app.js", JAVASCRIPT_SEARCH_LIST, JAVASCRIPT_REPLACEMENT_LIST);
+        patchAllureFile("styles.css", CSS_SEARCH_LIST, CSS_REPLACEMENT_LIST);
+    }
 
-        FileUtils.writeStringToFile(javascriptFile, javascriptString, StandardCharsets.UTF_8);
-        FileUtils.writeStringToFile(cssFile, cssString, StandardCharsets.UTF_8);
+    private void patchAllureFile(String fileName, String[] searchList, String[] replacementList) throws IOException
+    {
+        File file = new File(reportDirectory, fileName);
+        byte[] content = FileUtils.readFileToByteArray(file);
+        String patchedContent = PATCHED_FILES.computeIfAbsent(
+            fileName + ':' + Hashing.sha256().hashBytes(content),
+            key -> StringUtils.replaceEach(new String(content, StandardCharsets.UTF_8), searchList, replacementList));
+        FileUtils.writeStringToFile(file, patchedContent, StandardCharsets.UTF_8);
     }
 
     private static void createDirectory(File directory) throws IOException
@@ -179,4 +290,29 @@ public class AllureReportGenerator implements IAllureReportGenerator
     {
         this.reportDirectory = reportDirectory;
     }
+
+    public void setAllureAttachmentWriter(AllureAttachmentWriter allureAttachmentWriter)
+    {
+        this.allureAttachmentWriter = allureAttachmentWriter;
+    }
+
+    public void setThreads(int threads)
+    {
+        if (threads < 1)
+        {
+            throw new IllegalArgumentException("Number of report generation threads must be positive, but got: "
+                    + threads);
+        }
+        this.threads = threads;
+    }
+
+    public void setIncremental(boolean incremental)
+    {
+        this.incremental = incremental;
+    }
+
+    public void setIncrementalSegmentSize(int incrementalSegmentSize)
+    {
+        this.incrementalSegmentSize = incrementalSegmentSize;
+    }
 }
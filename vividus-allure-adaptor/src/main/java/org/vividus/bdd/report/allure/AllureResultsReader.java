@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.report.allure;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.qameta.allure.DefaultResultsVisitor;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+
+/**
+ * Reads Allure results in parallel. Test cases are moved along with their attachments from the results directory to
+ * segment sub-directories, every segment is read as a separate launch, the remaining content of the results
+ * directory is read as one more launch.
+ */
+public class AllureResultsReader
+{
+    private static final String SEGMENTS_DIRECTORY = "segments";
+    private static final String RESULT_FILE_SUFFIX = "-result.json";
+
+    private final Configuration configuration;
+    private final Path resultsDirectory;
+    private final ExecutorService executor;
+
+    private final AtomicInteger segmentCounter = new AtomicInteger();
+    private final List<Future<LaunchResults>> segmentsResults = Collections.synchronizedList(new ArrayList<>());
+
+    public AllureResultsReader(Configuration configuration, Path resultsDirectory, ExecutorService executor)
+    {
+        this.configuration = configuration;
+        this.resultsDirectory = resultsDirectory;
+        this.executor = executor;
+    }
+
+    public void readSegment(Map<String, Set<String>> testCases)
+    {
+        segmentsResults.add(executor.submit(() -> read(moveToSegment(testCases))));
+    }
+
+    public List<LaunchResults> readAll(Map<String, Set<String>> remainingTestCases, int segments) throws IOException
+    {
+        if (segments > 1)
+        {
+            List<Map<String, Set<String>>> partitions = new ArrayList<>(segments);
+            for (int i = 0; i < segments; i++)
+            {
+                partitions.add(new HashMap<>());
+            }
+            int index = 0;
+            for (Map.Entry<String, Set<String>> testCase : remainingTestCases.entrySet())
+            {
+                partitions.get(index++ % segments).put(testCase.getKey(), testCase.getValue());
+            }
+            partitions.stream().filter(partition -> !partition.isEmpty()).forEach(this::readSegment);
+        }
+
+        List<LaunchResults> launchesResults = new ArrayList<>();
+        synchronized (segmentsResults)
+        {
+            for (Future<LaunchResults> segmentResults : segmentsResults)
+            {
+                launchesResults.add(get(segmentResults));
+            }
+            segmentsResults.clear();
+        }
+        // the results directory is read last, when all segments are moved out of it
+        launchesResults.add(read(resultsDirectory));
+        return launchesResults;
+    }
+
+    private Path moveToSegment(Map<String, Set<String>> testCases) throws IOException
+    {
+        Path segment = resultsDirectory.resolve(SEGMENTS_DIRECTORY)
+                .resolve(Integer.toString(segmentCounter.incrementAndGet()));
+        Files.createDirectories(segment);
+        for (Map.Entry<String, Set<String>> testCase : testCases.entrySet())
+        {
+            move(testCase.getKey() + RESULT_FILE_SUFFIX, segment);
+            for (String attachmentSource : testCase.getValue())
+            {
+                move(attachmentSource, segment);
+            }
+        }
+        return segment;
+    }
+
+    private void move(String fileName, Path segment) throws IOException
+    {
+        Path file = resultsDirectory.resolve(fileName);
+        if (Files.exists(file))
+        {
+            Files.move(file, segment.resolve(fileName));
+        }
+    }
+
+    private LaunchResults read(Path directory)
+    {
+        DefaultResultsVisitor visitor = new DefaultResultsVisitor(configuration);
+        configuration.getReaders().forEach(reader -> reader.readResults(configuration, visitor, directory));
+        return visitor.getLaunchResults();
+    }
+
+    private static LaunchResults get(Future<LaunchResults> launchResults) throws IOException
+    {
+        try
+        {
+            return launchResults.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
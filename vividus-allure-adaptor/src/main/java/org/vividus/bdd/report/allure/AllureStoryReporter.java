@@ -80,6 +80,7 @@ public class AllureStoryReporter extends ChainedStoryReporter implements IAllure
 
     private final AllureLifecycle lifecycle = Allure.getLifecycle();
     private IAllureReportGenerator allureReportGenerator;
+    private AllureAttachmentWriter allureAttachmentWriter;
     private IBddRunContext bddRunContext;
     private BatchStorage batchStorage;
     private TestContext testContext;
@@ -421,7 +422,13 @@ public class AllureStoryReporter extends ChainedStoryReporter implements IAllure
     public void onAttachmentPublish(AttachmentPublishEvent event)
     {
         Attachment attachment = event.getAttachment();
-        lifecycle.addAttachment(attachment.getTitle(), attachment.getContentType(), null, attachment.getContent());
+        String source = lifecycle.prepareAttachment(attachment.getTitle(), attachment.getContentType(), null);
+        LinkedQueueItem<String> step = getLinkedStep();
+        if (step != null)
+        {
+            allureReportGenerator.registerAttachment(step.getRootItem().getValue(), source);
+        }
+        allureAttachmentWriter.writeAttachment(source, attachment);
     }
 
     @Subscribe
@@ -615,6 +622,7 @@ public class AllureStoryReporter extends ChainedStoryReporter implements IAllure
 
         lifecycle.stopTestCase(id);
         lifecycle.writeTestCase(id);
+        allureReportGenerator.registerTestCase(id);
         allureRunContext.resetScenarioExecutionStage();
         switchToParent();
     }
@@ -679,6 +687,11 @@ public class AllureStoryReporter extends ChainedStoryReporter implements IAllure
         this.allureReportGenerator = allureReportGenerator;
     }
 
+    public void setAllureAttachmentWriter(AllureAttachmentWriter allureAttachmentWriter)
+    {
+        this.allureAttachmentWriter = allureAttachmentWriter;
+    }
+
     public void setBddRunContext(IBddRunContext bddRunContext)
     {
         this.bddRunContext = bddRunContext;
@@ -21,4 +21,8 @@ public interface IAllureReportGenerator
     void start();
 
     void end();
+
+    void registerAttachment(String testCaseUuid, String attachmentSource);
+
+    void registerTestCase(String testCaseUuid);
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.report.allure;
+
+import static com.github.valfirst.slf4jtest.LoggingEvent.error;
+import static com.github.valfirst.slf4jtest.LoggingEvent.warn;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.internal.util.reflection.FieldSetter;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.bdd.report.allure.model.AttachmentQueueOverflowPolicy;
+import org.vividus.reporter.model.Attachment;
+
+import io.qameta.allure.AllureLifecycle;
+
+@ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
+class AllureAttachmentWriterTests
+{
+    private static final String SOURCE = "source";
+    private static final String DROPPED = "dropped";
+    private static final Attachment ATTACHMENT = new Attachment(new byte[] { 1 }, "title", "text/plain");
+    private static final int TIMEOUT = 10;
+    private static final TestLogger LOGGER = TestLoggerFactory.getTestLogger(AllureAttachmentWriter.class);
+
+    @Mock
+    private AllureLifecycle allureLifecycle;
+
+    private final AllureAttachmentWriter writer = new AllureAttachmentWriter();
+
+    @BeforeEach
+    void beforeEach() throws NoSuchFieldException
+    {
+        FieldSetter.setField(writer, AllureAttachmentWriter.class.getDeclaredField("lifecycle"), allureLifecycle);
+    }
+
+    @AfterEach
+    void afterEach()
+    {
+        writer.destroy();
+    }
+
+    @Test
+    void shouldWriteAttachmentSynchronouslyIfNoThreadsConfigured()
+    {
+        writer.init();
+        writer.writeAttachment(SOURCE, ATTACHMENT);
+        verify(allureLifecycle).writeAttachment(eq(SOURCE), any(InputStream.class));
+        assertEquals(1, writer.getWrittenAttachments());
+        assertEquals(0, writer.getMaxQueueDepth());
+    }
+
+    @Test
+    void shouldWriteAllAttachmentsBeforeFlushReturns()
+    {
+        writer.setThreads(2);
+        writer.setQueueCapacity(1);
+        writer.init();
+        int attachments = 10;
+        for (int i = 0; i < attachments; i++)
+        {
+            writer.writeAttachment(SOURCE, ATTACHMENT);
+        }
+        writer.flush();
+        verify(allureLifecycle, times(attachments)).writeAttachment(eq(SOURCE), any(InputStream.class));
+        assertEquals(attachments, writer.getWrittenAttachments());
+        assertEquals(0, writer.getDroppedAttachments());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    void shouldDropAttachmentsIfQueueIsFull() throws InterruptedException
+    {
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writeStarted.countDown();
+            release.await();
+            return null;
+        }).when(allureLifecycle).writeAttachment(eq(SOURCE), any(InputStream.class));
+        writer.setThreads(1);
+        writer.setQueueCapacity(1);
+        writer.setQueueOverflowPolicy(AttachmentQueueOverflowPolicy.DROP);
+        writer.init();
+        writer.writeAttachment(SOURCE, ATTACHMENT);
+        assertTrue(writeStarted.await(TIMEOUT, TimeUnit.SECONDS));
+        writer.writeAttachment(SOURCE, ATTACHMENT);
+        writer.writeAttachment(DROPPED, ATTACHMENT);
+        assertTrue(writer.isPending(SOURCE));
+        assertFalse(writer.isPending(DROPPED));
+        release.countDown();
+        writer.flush();
+        assertFalse(writer.isPending(SOURCE));
+        verify(allureLifecycle, times(2)).writeAttachment(eq(SOURCE), any(InputStream.class));
+        verify(allureLifecycle, never()).writeAttachment(eq(DROPPED), any(InputStream.class));
+        assertEquals(2, writer.getWrittenAttachments());
+        assertEquals(1, writer.getDroppedAttachments());
+        assertEquals(1, writer.getMaxQueueDepth());
+    }
+
+    @Test
+    void shouldLogAttachmentWriteFailure()
+    {
+        IllegalStateException exception = new IllegalStateException();
+        doThrow(exception).when(allureLifecycle).writeAttachment(eq(SOURCE), any(InputStream.class));
+        writer.setThreads(1);
+        writer.setQueueCapacity(1);
+        writer.init();
+        writer.writeAttachment(SOURCE, ATTACHMENT);
+        writer.flush();
+        assertFalse(writer.isPending(SOURCE));
+        assertEquals(0, writer.getWrittenAttachments());
+        assertTrue(LOGGER.getAllLoggingEvents().contains(error(exception, "Unable to write attachment {}", SOURCE)));
+    }
+
+    @Test
+    void shouldDropAttachmentSubmittedAfterShutdownInsteadOfWaitingForSpaceInQueue()
+    {
+        writer.setThreads(1);
+        writer.setQueueCapacity(1);
+        writer.init();
+        writer.destroy();
+        writer.writeAttachment(DROPPED, ATTACHMENT);
+        writer.flush();
+        assertFalse(writer.isPending(DROPPED));
+        verify(allureLifecycle, never()).writeAttachment(eq(DROPPED), any(InputStream.class));
+        assertEquals(1, writer.getDroppedAttachments());
+        assertTrue(LOGGER.getAllLoggingEvents().contains(
+                warn("Attachment is dropped as {}", "the attachment writer is shut down")));
+    }
+}
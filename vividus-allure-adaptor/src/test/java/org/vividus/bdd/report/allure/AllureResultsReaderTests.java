@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.report.allure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.qameta.allure.Reader;
+import io.qameta.allure.ResultsVisitor;
+import io.qameta.allure.core.Configuration;
+import io.qameta.allure.core.LaunchResults;
+
+@ExtendWith(MockitoExtension.class)
+class AllureResultsReaderTests
+{
+    private static final String FIRST = "first";
+    private static final String SECOND = "second";
+    private static final String THIRD = "third";
+    private static final String RESULT_FILE_SUFFIX = "-result.json";
+    private static final String ATTACHMENT = "attachment.txt";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @TempDir
+    Path resultsDirectory;
+
+    @Mock
+    private Configuration configuration;
+
+    @Mock
+    private Reader reader;
+
+    @BeforeEach
+    void beforeEach() throws IOException
+    {
+        when(configuration.getReaders()).thenReturn(List.of(reader));
+        for (String fileName : List.of(FIRST + RESULT_FILE_SUFFIX, SECOND + RESULT_FILE_SUFFIX,
+                THIRD + RESULT_FILE_SUFFIX, ATTACHMENT))
+        {
+            Files.createFile(resultsDirectory.resolve(fileName));
+        }
+    }
+
+    @AfterEach
+    void afterEach()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReadSegmentsAndResultsDirectory() throws IOException
+    {
+        AllureResultsReader resultsReader = new AllureResultsReader(configuration, resultsDirectory, executor);
+        resultsReader.readSegment(Map.of(FIRST, Set.of(ATTACHMENT, "dropped.txt")));
+        List<LaunchResults> launchesResults = resultsReader.readAll(Map.of(SECOND, Set.of(), THIRD, Set.of()), 2);
+        assertEquals(4, launchesResults.size());
+        Path firstSegment = resultsDirectory.resolve("segments").resolve("1");
+        assertTrue(Files.exists(firstSegment.resolve(FIRST + RESULT_FILE_SUFFIX)));
+        assertTrue(Files.exists(firstSegment.resolve(ATTACHMENT)));
+        for (String fileName : List.of(FIRST + RESULT_FILE_SUFFIX, SECOND + RESULT_FILE_SUFFIX,
+                THIRD + RESULT_FILE_SUFFIX, ATTACHMENT))
+        {
+            assertFalse(Files.exists(resultsDirectory.resolve(fileName)));
+        }
+        verify(reader).readResults(eq(configuration), any(ResultsVisitor.class), eq(firstSegment));
+        verify(reader).readResults(eq(configuration), any(ResultsVisitor.class), eq(resultsDirectory));
+        verify(reader, times(4)).readResults(eq(configuration), any(ResultsVisitor.class), any(Path.class));
+    }
+
+    @Test
+    void shouldReadResultsDirectoryOnlyIfSingleSegmentIsRequested() throws IOException
+    {
+        AllureResultsReader resultsReader = new AllureResultsReader(configuration, resultsDirectory, executor);
+        List<LaunchResults> launchesResults = resultsReader.readAll(Map.of(FIRST, Set.of(ATTACHMENT)), 1);
+        assertEquals(1, launchesResults.size());
+        assertTrue(Files.exists(resultsDirectory.resolve(FIRST + RESULT_FILE_SUFFIX)));
+        assertTrue(Files.exists(resultsDirectory.resolve(ATTACHMENT)));
+        verify(reader).readResults(eq(configuration), any(ResultsVisitor.class), eq(resultsDirectory));
+    }
+}
@@ -85,8 +85,10 @@ import org.vividus.bdd.report.allure.adapter.IVerificationErrorAdapter;
 import org.vividus.bdd.report.allure.model.ScenarioExecutionStage;
 import org.vividus.bdd.report.allure.model.StatusPriority;
 import org.vividus.bdd.report.allure.model.StoryExecutionStage;
+import org.vividus.reporter.event.AttachmentPublishEvent;
 import org.vividus.reporter.event.SubStepsPublishingFinishEvent;
 import org.vividus.reporter.event.SubStepsPublishingStartEvent;
+import org.vividus.reporter.model.Attachment;
 import org.vividus.softassert.exception.VerificationError;
 import org.vividus.softassert.model.KnownIssue;
 import org.vividus.testcontext.SimpleTestContext;
@@ -142,6 +144,9 @@ class AllureStoryReporterTests
     @Mock
     private IAllureReportGenerator allureReportGenerator;
 
+    @Mock
+    private AllureAttachmentWriter allureAttachmentWriter;
+
     @Mock
     private IBddRunContext bddRunContext;
 
@@ -663,6 +668,7 @@ class AllureStoryReporterTests
         verify(next).afterScenario();
         verify(allureLifecycle).stopTestCase(SCENARIO_UID);
         verify(allureLifecycle).writeTestCase(SCENARIO_UID);
+        verify(allureReportGenerator).registerTestCase(SCENARIO_UID);
         verify(allureRunContext).resetScenarioExecutionStage();
         verify(testContext).put(CURRENT_STEP_KEY, null);
     }
@@ -941,6 +947,21 @@ class AllureStoryReporterTests
         assertEquals(1, labels.stream().filter(l -> REQUIREMENT_ID.equals(l.getName())).count());
     }
 
+    @Test
+    void testOnAttachmentPublish()
+    {
+        String source = "source";
+        String title = "title";
+        String contentType = "text/plain";
+        Attachment attachment = new Attachment(new byte[] { 1 }, title, contentType);
+        when(allureLifecycle.prepareAttachment(title, contentType, null)).thenReturn(source);
+        mockStepUid();
+        allureStoryReporter.onAttachmentPublish(new AttachmentPublishEvent(attachment));
+        InOrder ordered = inOrder(allureReportGenerator, allureAttachmentWriter);
+        ordered.verify(allureReportGenerator).registerAttachment(SCENARIO_UID, source);
+        ordered.verify(allureAttachmentWriter).writeAttachment(source, attachment);
+    }
+
     @Test
     void testFireSubStepsPublishingStartEvent()
     {
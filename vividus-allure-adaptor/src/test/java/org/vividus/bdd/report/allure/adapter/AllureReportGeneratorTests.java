@@ -16,6 +16,7 @@
 
 package org.vividus.bdd.report.allure.adapter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,7 +31,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Path;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
@@ -47,10 +47,9 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.vividus.bdd.report.allure.AllureAttachmentWriter;
 import org.vividus.bdd.report.allure.AllureReportGenerator;
 
-import io.qameta.allure.ReportGenerator;
-
 @RunWith(PowerMockRunner.class)
 @PowerMockIgnore("javax.xml.*")
 public class AllureReportGeneratorTests
@@ -110,14 +109,12 @@ public class AllureReportGeneratorTests
     }
 
     @Test
-    @PrepareForTest({ReportGenerator.class, AllureReportGenerator.class, FileUtils.class})
+    @PrepareForTest({AllureReportGenerator.class, FileUtils.class})
     public void testEnd() throws Exception
     {
         File resultsDirectory = testFolder.getRoot();
         allureReportGenerator.setReportDirectory(resultsDirectory);
-        ReportGenerator reportGenerator = PowerMockito.mock(ReportGenerator.class);
-        PowerMockito.whenNew(ReportGenerator.class).withAnyArguments().thenReturn(reportGenerator);
-        PowerMockito.doNothing().when(reportGenerator).generate(any(Path.class), any(Path[].class));
+        allureReportGenerator.setAllureAttachmentWriter(Mockito.mock(AllureAttachmentWriter.class));
         PowerMockito.mockStatic(FileUtils.class);
         String text = "text";
         when(FileUtils.readFileToString(any(File.class), eq(StandardCharsets.UTF_8))).thenReturn(text);
@@ -135,6 +132,13 @@ public class AllureReportGeneratorTests
         PowerMockito.verifyStatic(FileUtils.class);
         FileUtils.copyInputStreamToFile(eq(resource.getInputStream()), any(File.class));
         FileUtils.writeStringToFile(any(File.class), eq(text), eq(StandardCharsets.UTF_8));
-        verify(reportGenerator).generate(any(Path.class), any(Path.class));
+    }
+
+    @Test
+    public void testSetNonPositiveThreads()
+    {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> allureReportGenerator.setThreads(0));
+        assertEquals("Number of report generation threads must be positive, but got: 0", exception.getMessage());
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.context;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.bdd.variable.IVariablesFactory;
+import org.vividus.bdd.variable.VariableScope;
+import org.vividus.bdd.variable.Variables;
+import org.vividus.testcontext.SimpleTestContext;
+
+/**
+ * Measures the lookups of the variables through {@link BddVariableContext}: plain keys resolved from the different
+ * scopes, complex keys addressing list elements and map entries, and missing keys falling back to the default
+ * values. Run with <code>-prof gc</code> to get the allocated bytes per lookup, the plain lookups are expected to
+ * allocate nothing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VariableLookupBenchmark
+{
+    private static final String STORY_VARIABLE = "story-variable-0";
+    private static final String GLOBAL_VARIABLE = "global-variable-0";
+    private static final String COMPLEX_VARIABLE = "table[1].column";
+    private static final String MISSING_VARIABLE = "missing-variable:default";
+
+    @State(Scope.Benchmark)
+    public static class VariableContext
+    {
+        @Param({ "10", "1000" })
+        private int variablesPerScope;
+
+        private BddVariableContext bddVariableContext;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            Variables variables = new Variables();
+            for (int i = 0; i < variablesPerScope; i++)
+            {
+                variables.putVariable(VariableScope.GLOBAL, "global-variable-" + i, "global-value-" + i);
+                variables.putVariable(VariableScope.STORY, "story-variable-" + i, "story-value-" + i);
+                variables.putVariable(VariableScope.SCENARIO, "scenario-variable-" + i, "scenario-value-" + i);
+            }
+            variables.putVariable(VariableScope.SCENARIO, "table",
+                    List.of(Map.of("column", "value-0"), Map.of("column", "value-1")));
+            bddVariableContext = new BddVariableContext();
+            bddVariableContext.setTestContext(new SimpleTestContext());
+            bddVariableContext.setVariablesFactory(new IVariablesFactory()
+            {
+                @Override
+                public Variables createVariables()
+                {
+                    return variables;
+                }
+
+                @Override
+                public Map<String, String> getGlobalVariables()
+                {
+                    return Map.of();
+                }
+
+                @Override
+                public void addNextBatchesVariable(String variableKey, Object variableValue)
+                {
+                    throw new UnsupportedOperationException();
+                }
+            });
+            bddVariableContext.initVariables();
+        }
+    }
+
+    @Benchmark
+    public Object lookupStoryVariable(VariableContext context)
+    {
+        return context.bddVariableContext.getVariable(STORY_VARIABLE);
+    }
+
+    @Benchmark
+    public Object lookupGlobalVariable(VariableContext context)
+    {
+        return context.bddVariableContext.getVariable(GLOBAL_VARIABLE);
+    }
+
+    @Benchmark
+    public Object lookupComplexVariable(VariableContext context)
+    {
+        return context.bddVariableContext.getVariable(COMPLEX_VARIABLE);
+    }
+
+    @Benchmark
+    public Object lookupMissingVariable(VariableContext context)
+    {
+        return context.bddVariableContext.getVariable(MISSING_VARIABLE);
+    }
+}
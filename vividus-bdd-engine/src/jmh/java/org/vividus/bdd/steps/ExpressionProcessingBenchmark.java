@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.bdd.expression.IExpressionProcessor;
+import org.vividus.bdd.expression.RandomIntExpressionProcessor;
+import org.vividus.bdd.expression.StringsExpressionProcessor;
+
+/**
+ * Measures processing of the values by {@link ExpressionAdaptor}: the values without expressions, the values with
+ * deterministic expressions served from the cache of the processed values, the flat values with non-deterministic
+ * expressions processed in one pass by the cached templates and the values with nested expressions processed by the
+ * patterns. The baseline benchmarks process the same values as it was done before the caching: every expression is
+ * found by the patterns and is passed to all the processors one by one. Run with <code>-prof gc</code> to compare the
+ * allocated heap per processed value.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExpressionProcessingBenchmark
+{
+    private static final String PLAIN_VALUE = "|name|value|description|";
+    private static final String DETERMINISTIC_VALUE = "|#{trim( name )}|#{toUpperCase(value)}|description|";
+    private static final String FLAT_VALUE = "|#{randomInt(1, 100)}|#{toUpperCase(value)}|description|";
+    private static final String NESTED_VALUE = "|#{toUpperCase(#{randomInt(1, 100)})}|description|";
+
+    @State(Scope.Benchmark)
+    public static class Adaptor
+    {
+        private ExpressionAdaptor expressionAdaptor;
+        private PerValueExpressionAdaptor perValueExpressionAdaptor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            List<IExpressionProcessor> processors = List.of(new StringsExpressionProcessor(() -> Locale.US),
+                    new RandomIntExpressionProcessor());
+            expressionAdaptor = new ExpressionAdaptor();
+            expressionAdaptor.setProcessors(processors);
+            perValueExpressionAdaptor = new PerValueExpressionAdaptor(processors);
+        }
+    }
+
+    /**
+     * Copy of the processing of the values by {@link ExpressionAdaptor} before the caching was introduced
+     */
+    private static final class PerValueExpressionAdaptor
+    {
+        private static final Pattern GREEDY_EXPRESSION_PATTERN = Pattern.compile("#\\{((?:(?!#\\{|\\$\\{).)*)}",
+                Pattern.DOTALL);
+        private static final Pattern RELUCTANT_EXPRESSION_PATTERN = Pattern.compile(
+                "#\\{((?:(?!#\\{|\\$\\{).)*?\\)|(?:(?!#\\{|\\$\\{).)*?)}", Pattern.DOTALL);
+        private static final String REPLACEMENT_PATTERN = "\\#\\{%s\\}";
+
+        private final List<IExpressionProcessor> processors;
+
+        private PerValueExpressionAdaptor(List<IExpressionProcessor> processors)
+        {
+            this.processors = processors;
+        }
+
+        private String process(String value)
+        {
+            return processExpression(value,
+                    List.of(RELUCTANT_EXPRESSION_PATTERN, GREEDY_EXPRESSION_PATTERN).iterator());
+        }
+
+        private String processExpression(String value, Iterator<Pattern> expressionPatterns)
+        {
+            String processedValue = value;
+            Matcher expressionMatcher = expressionPatterns.next().matcher(processedValue);
+            boolean expressionFound = false;
+            while (expressionMatcher.find())
+            {
+                expressionFound = true;
+                String expression = expressionMatcher.group(1);
+                String expressionResult = apply(expression);
+                if (!expressionResult.equals(expression))
+                {
+                    String regex = String.format(REPLACEMENT_PATTERN, Pattern.quote(expression));
+                    processedValue = processedValue.replaceFirst(regex, Matcher.quoteReplacement(expressionResult));
+                    expressionFound = false;
+                    expressionMatcher.reset(processedValue);
+                }
+            }
+            if (expressionFound && expressionPatterns.hasNext())
+            {
+                return processExpression(processedValue, expressionPatterns);
+            }
+            return processedValue;
+        }
+
+        private String apply(String expression)
+        {
+            for (IExpressionProcessor processor : processors)
+            {
+                Optional<String> optional = processor.execute(expression);
+                if (optional.isPresent())
+                {
+                    return optional.get();
+                }
+            }
+            return expression;
+        }
+    }
+
+    @Benchmark
+    public String processPlainValue(Adaptor adaptor)
+    {
+        return adaptor.expressionAdaptor.process(PLAIN_VALUE);
+    }
+
+    @Benchmark
+    public String processDeterministicValue(Adaptor adaptor)
+    {
+        return adaptor.expressionAdaptor.process(DETERMINISTIC_VALUE);
+    }
+
+    @Benchmark
+    public String processFlatValue(Adaptor adaptor)
+    {
+        return adaptor.expressionAdaptor.process(FLAT_VALUE);
+    }
+
+    @Benchmark
+    public String processNestedValue(Adaptor adaptor)
+    {
+        return adaptor.expressionAdaptor.process(NESTED_VALUE);
+    }
+
+    @Benchmark
+    public String processPlainValueBaseline(Adaptor adaptor)
+    {
+        return adaptor.perValueExpressionAdaptor.process(PLAIN_VALUE);
+    }
+
+    @Benchmark
+    public String processDeterministicValueBaseline(Adaptor adaptor)
+    {
+        return adaptor.perValueExpressionAdaptor.process(DETERMINISTIC_VALUE);
+    }
+
+    @Benchmark
+    public String processFlatValueBaseline(Adaptor adaptor)
+    {
+        return adaptor.perValueExpressionAdaptor.process(FLAT_VALUE);
+    }
+
+    @Benchmark
+    public String processNestedValueBaseline(Adaptor adaptor)
+    {
+        return adaptor.perValueExpressionAdaptor.process(NESTED_VALUE);
+    }
+}
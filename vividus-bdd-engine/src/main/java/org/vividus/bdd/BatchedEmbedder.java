@@ -16,14 +16,21 @@
 
 package org.vividus.bdd;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.jbehave.core.configuration.Configuration;
@@ -32,15 +39,23 @@ import org.jbehave.core.embedder.EmbedderControls;
 import org.jbehave.core.embedder.EmbedderMonitor;
 import org.jbehave.core.embedder.MetaFilter;
 import org.jbehave.core.embedder.PerformableTree;
+import org.jbehave.core.embedder.StoryManager;
 import org.jbehave.core.failures.BatchFailures;
 import org.jbehave.core.steps.InjectableStepsFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.vividus.bdd.batch.BatchExecutionConfiguration;
 import org.vividus.bdd.batch.BatchStorage;
+import org.vividus.bdd.batch.BoundedBatchExecutorService;
 import org.vividus.bdd.context.BddRunContext;
 import org.vividus.bdd.context.IBddVariableContext;
+import org.vividus.bdd.duration.StoryDurationStorage;
+import org.vividus.bdd.duration.StoryExecutionOrder;
 
 public class BatchedEmbedder extends Embedder
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchedEmbedder.class);
+
     private final BddRunContext bddRunContext;
     private final IBddVariableContext bddVariableContext;
     private final BatchStorage batchStorage;
@@ -49,6 +64,10 @@ public class BatchedEmbedder extends Embedder
     private boolean reportBeforeStories = true;
     private boolean reportAfterStories;
     private boolean generateViewAfterBatches;
+    private boolean parallelBatches;
+    private int parallelBatchesThreads;
+    private StoryDurationStorage storyDurationStorage;
+    private StoryExecutionOrder storyExecutionOrder = StoryExecutionOrder.ALPHABETICAL;
 
     private String batch;
 
@@ -63,58 +82,246 @@ public class BatchedEmbedder extends Embedder
     public void runStoriesAsPaths(Map<String, List<String>> storyPathsBatches)
     {
         processSystemProperties();
-        int batchesSize = storyPathsBatches.size();
-        Iterator<Entry<String, List<String>>> iterator = storyPathsBatches.entrySet().iterator();
         generateViewAfterExecution(() ->
         {
-            for (int i = 1; iterator.hasNext(); i++)
+            if (parallelBatches)
             {
-                reportBeforeStories = i == 1;
-                reportAfterStories = i == batchesSize;
+                runBatchesInParallel(storyPathsBatches);
+            }
+            else
+            {
+                runBatchesSequentially(storyPathsBatches);
+            }
+        });
+    }
+
+    private void runBatchesSequentially(Map<String, List<String>> storyPathsBatches)
+    {
+        int batchesSize = storyPathsBatches.size();
+        Iterator<Entry<String, List<String>>> iterator = storyPathsBatches.entrySet().iterator();
+        for (int i = 1; iterator.hasNext(); i++)
+        {
+            reportBeforeStories = i == 1;
+            reportAfterStories = i == batchesSize;
 
-                Entry<String, List<String>> storyPathsBatch = iterator.next();
-                batch = storyPathsBatch.getKey();
+            Entry<String, List<String>> storyPathsBatch = iterator.next();
+            batch = storyPathsBatch.getKey();
 
-                BatchExecutionConfiguration batchExecutionConfiguration = batchStorage.getBatchExecutionConfiguration(
-                        batch);
-                useEmbedderControls(createEmbedderControls(batchExecutionConfiguration));
-                useMetaFilters(batchExecutionConfiguration.getMetaFilters());
+            BatchExecutionConfiguration batchExecutionConfiguration = batchStorage.getBatchExecutionConfiguration(
+                    batch);
+            useEmbedderControls(createEmbedderControls(batchExecutionConfiguration));
+            useMetaFilters(batchExecutionConfiguration.getMetaFilters());
 
-                EmbedderControls embedderControls = embedderControls();
-                embedderMonitor.usingControls(embedderControls);
-                ExecutorService executorService = createExecutorService(embedderControls.threads());
-                useExecutorService(executorService);
+            EmbedderControls embedderControls = embedderControls();
+            embedderMonitor.usingControls(embedderControls);
+            ExecutorService executorService = createExecutorService(batch, embedderControls.threads());
+            useExecutorService(executorService);
 
-                List<String> storyPaths = storyPathsBatch.getValue();
-                if (embedderControls.skip())
+            List<String> storyPaths = storyPathsBatch.getValue();
+            if (embedderControls.skip())
+            {
+                embedderMonitor.storiesSkipped(storyPaths);
+                continue;
+            }
+
+            try
+            {
+                bddRunContext.putRunningBatch(batch);
+                MetaFilter filter = metaFilter();
+                BatchFailures failures = new BatchFailures(embedderControls.verboseFailures());
+
+                runStories(storyManager(), batch, storyPaths, embedderControls.threads(), filter, failures);
+
+                handleFailures(failures);
+                if (!ignoreFailureInBatches && !failures.isEmpty())
                 {
-                    embedderMonitor.storiesSkipped(storyPaths);
-                    continue;
+                    break;
                 }
+            }
+            finally
+            {
+                bddVariableContext.clearVariables();
+                bddRunContext.removeRunningBatch();
+                executorService.shutdownNow();
+                storyManager = null;
+            }
+        }
+    }
 
-                try
-                {
-                    bddRunContext.putRunningBatch(batch);
-                    MetaFilter filter = metaFilter();
-                    BatchFailures failures = new BatchFailures(embedderControls.verboseFailures());
+    private void runBatchesInParallel(Map<String, List<String>> storyPathsBatches)
+    {
+        if (storyPathsBatches.isEmpty())
+        {
+            return;
+        }
+        Map<String, BatchExecutionConfiguration> batchExecutionConfigurations = new LinkedHashMap<>();
+        storyPathsBatches.keySet().forEach(batchKey -> batchExecutionConfigurations.put(batchKey,
+                batchStorage.getBatchExecutionConfiguration(batchKey)));
+
+        int threads = parallelBatchesThreads > 0 ? parallelBatchesThreads : batchExecutionConfigurations.values()
+                .stream()
+                .map(BatchExecutionConfiguration::getThreads)
+                .mapToInt(batchThreads -> batchThreads != null ? batchThreads : 1)
+                .sum();
+        ExecutorService storiesExecutorService = createExecutorService("parallel-batches", threads);
+        ExecutorService batchesExecutorService = createExecutorService("batch-scheduler",
+                Math.max(1, storyPathsBatches.size()));
+        useExecutorService(storiesExecutorService);
+        try
+        {
+            List<String> batchKeys = new ArrayList<>(storyPathsBatches.keySet());
+            String firstBatchKey = batchKeys.get(0);
+            if (!performBeforeOrAfterStories(firstBatchKey, batchExecutionConfigurations.get(firstBatchKey), true))
+            {
+                return;
+            }
+
+            AtomicBoolean batchFailed = new AtomicBoolean();
+            Map<String, CompletableFuture<Void>> batchFutures = new LinkedHashMap<>();
+            storyPathsBatches.forEach((batchKey, storyPaths) -> {
+                BatchExecutionConfiguration batchExecutionConfiguration = batchExecutionConfigurations.get(batchKey);
+                CompletableFuture<?>[] dependencies = batchExecutionConfiguration.getDependsOn().stream()
+                        .map(dependency -> Optional.ofNullable(batchFutures.get(dependency)).orElseThrow(
+                            () -> new IllegalArgumentException(String.format(
+                                "Batch '%s' can depend only on the preceding batches, but depends on '%s'", batchKey,
+                                dependency))))
+                        .toArray(CompletableFuture[]::new);
+                batchFutures.put(batchKey, CompletableFuture.allOf(dependencies).thenRunAsync(
+                    () -> runBatchOnSharedExecutor(batchKey, storyPaths, batchExecutionConfiguration,
+                            storiesExecutorService, batchFailed), batchesExecutorService));
+            });
+            awaitBatches(batchFutures.values());
+
+            String lastBatchKey = batchKeys.get(batchKeys.size() - 1);
+            performBeforeOrAfterStories(lastBatchKey, batchExecutionConfigurations.get(lastBatchKey), false);
+        }
+        finally
+        {
+            batchesExecutorService.shutdownNow();
+            storiesExecutorService.shutdownNow();
+            storyManager = null;
+        }
+    }
+
+    private boolean performBeforeOrAfterStories(String batchKey,
+            BatchExecutionConfiguration batchExecutionConfiguration, boolean before)
+    {
+        reportBeforeStories = before;
+        reportAfterStories = !before;
+        useEmbedderControls(createEmbedderControls(batchExecutionConfiguration));
+        useMetaFilters(batchExecutionConfiguration.getMetaFilters());
+        try
+        {
+            bddRunContext.putRunningBatch(batchKey);
+            BatchFailures failures = new BatchFailures(embedderControls().verboseFailures());
+            storyManager().runStoriesAsPaths(List.of(), metaFilter(), failures);
+            handleFailures(failures);
+            return ignoreFailureInBatches || failures.isEmpty();
+        }
+        finally
+        {
+            bddVariableContext.clearVariables();
+            bddRunContext.removeRunningBatch();
+            storyManager = null;
+        }
+    }
+
+    private void runBatchOnSharedExecutor(String batchKey, List<String> storyPaths,
+            BatchExecutionConfiguration batchExecutionConfiguration, ExecutorService storiesExecutorService,
+            AtomicBoolean batchFailed)
+    {
+        if (!ignoreFailureInBatches && batchFailed.get())
+        {
+            return;
+        }
 
-                    storyManager().runStoriesAsPaths(storyPaths, filter, failures);
+        EmbedderControls embedderControls = createEmbedderControls(batchExecutionConfiguration);
+        embedderMonitor.usingControls(embedderControls);
+        if (embedderControls.skip())
+        {
+            embedderMonitor.storiesSkipped(storyPaths);
+            return;
+        }
 
-                    handleFailures(failures);
-                    if (!ignoreFailureInBatches && !failures.isEmpty())
+        ExecutorService executorService = new BoundedBatchExecutorService(storiesExecutorService,
+                embedderControls.threads(), story -> () -> {
+                    bddRunContext.putThreadRunningBatch(batchKey);
+                    try
                     {
-                        break;
+                        story.run();
                     }
-                }
-                finally
-                {
-                    bddVariableContext.clearVariables();
-                    bddRunContext.removeRunningBatch();
-                    executorService.shutdownNow();
-                    storyManager = null;
-                }
+                    finally
+                    {
+                        bddVariableContext.clearVariables();
+                        bddRunContext.removeThreadRunningBatch();
+                    }
+                });
+        BatchedPerformableTree performableTree = new BatchedPerformableTree();
+        performableTree.setIgnoreFailureInBatches(true);
+        try
+        {
+            bddRunContext.putThreadRunningBatch(batchKey);
+            MetaFilter filter = new MetaFilter(String.join(" ", batchExecutionConfiguration.getMetaFilters()),
+                    embedderMonitor, metaMatchers());
+            BatchFailures failures = new BatchFailures(embedderControls.verboseFailures());
+
+            runStories(createBatchStoryManager(embedderControls, executorService, performableTree), batchKey,
+                    storyPaths, embedderControls.threads(), filter, failures);
+
+            if (!failures.isEmpty())
+            {
+                batchFailed.set(true);
+                embedderMonitor.batchFailed(failures);
             }
-        });
+        }
+        finally
+        {
+            bddVariableContext.clearVariables();
+            bddRunContext.removeThreadRunningBatch();
+            executorService.shutdownNow();
+        }
+    }
+
+    private void runStories(StoryManager storyManager, String batchKey, List<String> storyPaths, int threads,
+            MetaFilter filter, BatchFailures failures)
+    {
+        if (storyDurationStorage == null)
+        {
+            storyManager.runStoriesAsPaths(storyPaths, filter, failures);
+            return;
+        }
+        List<String> orderedStoryPaths = storyExecutionOrder.order(storyPaths, storyDurationStorage);
+        Duration predictedMakespan = storyDurationStorage.predictMakespan(orderedStoryPaths, threads);
+        long start = System.nanoTime();
+        storyManager.runStoriesAsPaths(orderedStoryPaths, filter, failures);
+        Duration actualMakespan = Duration.ofNanos(System.nanoTime() - start);
+        LOGGER.info("Batch '{}' with {} order of stories: predicted makespan is {}, actual makespan is {}", batchKey,
+                storyExecutionOrder, predictedMakespan, actualMakespan);
+        storyDurationStorage.putMakespan(batchKey, storyExecutionOrder, predictedMakespan, actualMakespan);
+    }
+
+    StoryManager createBatchStoryManager(EmbedderControls embedderControls, ExecutorService executorService,
+            PerformableTree performableTree)
+    {
+        return new StoryManager(configuration(), stepsFactory(), embedderControls, embedderMonitor, executorService,
+                performableTree, timeoutParsers());
+    }
+
+    private static void awaitBatches(Collection<CompletableFuture<Void>> batchFutures)
+    {
+        try
+        {
+            CompletableFuture.allOf(batchFutures.toArray(CompletableFuture[]::new)).join();
+        }
+        catch (CompletionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
     }
 
     private void generateViewAfterExecution(Runnable runnable)
@@ -142,10 +349,10 @@ public class BatchedEmbedder extends Embedder
         return performableTree;
     }
 
-    private ExecutorService createExecutorService(int threads)
+    private ExecutorService createExecutorService(String threadNamePrefix, int threads)
     {
         ThreadFactory threadFactory = new BasicThreadFactory.Builder()
-                .namingPattern(batch + "-thread-%d")
+                .namingPattern(threadNamePrefix + "-thread-%d")
                 .build();
         return Executors.newFixedThreadPool(threads, threadFactory);
     }
@@ -191,4 +398,24 @@ public class BatchedEmbedder extends Embedder
     {
         this.generateViewAfterBatches = generateViewAfterBatches;
     }
+
+    public void setParallelBatches(boolean parallelBatches)
+    {
+        this.parallelBatches = parallelBatches;
+    }
+
+    public void setParallelBatchesThreads(int parallelBatchesThreads)
+    {
+        this.parallelBatchesThreads = parallelBatchesThreads;
+    }
+
+    public void setStoryDurationStorage(StoryDurationStorage storyDurationStorage)
+    {
+        this.storyDurationStorage = storyDurationStorage;
+    }
+
+    public void setStoryExecutionOrder(StoryExecutionOrder storyExecutionOrder)
+    {
+        this.storyExecutionOrder = storyExecutionOrder;
+    }
 }
@@ -27,6 +27,7 @@ public class BatchExecutionConfiguration
     private Integer threads;
     private List<String> metaFilters;
     private Duration storyExecutionTimeout;
+    private List<String> dependsOn = List.of();
 
     public String getName()
     {
@@ -72,4 +73,19 @@ public class BatchExecutionConfiguration
     {
         this.storyExecutionTimeout = storyExecutionTimeout;
     }
+
+    public List<String> getDependsOn()
+    {
+        return dependsOn;
+    }
+
+    public void setDependsOn(String dependsOn)
+    {
+        setDependsOn(dependsOn != null ? List.of(StringUtils.split(dependsOn, ',')) : List.of());
+    }
+
+    public void setDependsOn(List<String> dependsOn)
+    {
+        this.dependsOn = dependsOn;
+    }
 }
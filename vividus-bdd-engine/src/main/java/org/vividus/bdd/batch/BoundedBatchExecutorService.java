@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.batch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Executor service of a single batch running its tasks on the executor shared by all batches. The number of tasks
+ * running at the same time is limited by the number of threads configured for the batch. Shutdown of this executor
+ * service never affects the shared executor.
+ */
+public class BoundedBatchExecutorService extends AbstractExecutorService
+{
+    private final Executor sharedExecutor;
+    private final int maxConcurrency;
+    private final UnaryOperator<Runnable> taskDecorator;
+
+    private final Queue<Runnable> pendingTasks = new ArrayDeque<>();
+    private int runningTasks;
+    private boolean shutdown;
+
+    public BoundedBatchExecutorService(Executor sharedExecutor, int maxConcurrency,
+            UnaryOperator<Runnable> taskDecorator)
+    {
+        if (maxConcurrency < 1)
+        {
+            throw new IllegalArgumentException("Max concurrency must be positive, but got: " + maxConcurrency);
+        }
+        this.sharedExecutor = sharedExecutor;
+        this.maxConcurrency = maxConcurrency;
+        this.taskDecorator = taskDecorator;
+    }
+
+    @Override
+    public synchronized void execute(Runnable command)
+    {
+        if (shutdown)
+        {
+            throw new RejectedExecutionException("Batch executor service is shut down");
+        }
+        pendingTasks.add(command);
+        dispatchPendingTasks();
+    }
+
+    private synchronized void dispatchPendingTasks()
+    {
+        while (runningTasks < maxConcurrency && !pendingTasks.isEmpty())
+        {
+            Runnable task = taskDecorator.apply(pendingTasks.poll());
+            runningTasks++;
+            try
+            {
+                sharedExecutor.execute(() -> {
+                    try
+                    {
+                        task.run();
+                    }
+                    finally
+                    {
+                        completeTask();
+                    }
+                });
+            }
+            catch (RejectedExecutionException e)
+            {
+                runningTasks--;
+                throw e;
+            }
+        }
+    }
+
+    private synchronized void completeTask()
+    {
+        runningTasks--;
+        dispatchPendingTasks();
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void shutdown()
+    {
+        shutdown = true;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow()
+    {
+        shutdown();
+        List<Runnable> notStartedTasks = new ArrayList<>(pendingTasks);
+        pendingTasks.clear();
+        return notStartedTasks;
+    }
+
+    @Override
+    public synchronized boolean isShutdown()
+    {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated()
+    {
+        return shutdown && runningTasks == 0 && pendingTasks.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated())
+        {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+            {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+}
@@ -31,6 +31,8 @@ public class BddRunContext implements IBddRunContext
 
     // must be initialized for jbehave-junit-runner
     private Optional<String> runningBatchKey = Optional.of("batch-1");
+    // takes precedence over the batch shared by all threads, used when batches are run in parallel
+    private final ThreadLocal<String> threadRunningBatchKey = new ThreadLocal<>();
     private boolean dryRun;
 
     public void putRunningStory(RunningStory story, boolean givenStory)
@@ -93,10 +95,22 @@ public class BddRunContext implements IBddRunContext
         runningBatchKey = Optional.empty();
     }
 
+    public void putThreadRunningBatch(String batchKey)
+    {
+        threadRunningBatchKey.set(batchKey);
+    }
+
+    public void removeThreadRunningBatch()
+    {
+        threadRunningBatchKey.remove();
+    }
+
     @Override
     public String getRunningBatchKey()
     {
-        return runningBatchKey.orElseThrow(() -> new IllegalStateException("No running batch is found"));
+        return Optional.ofNullable(threadRunningBatchKey.get())
+                .or(() -> runningBatchKey)
+                .orElseThrow(() -> new IllegalStateException("No running batch is found"));
     }
 
     public Status getStoryStatus(Story story)
@@ -18,12 +18,12 @@ package org.vividus.bdd.context;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,10 +40,16 @@ public class BddVariableContext implements IBddVariableContext
     private static final Pattern COMPLEX_VARIABLE_PATTERN = Pattern.compile(
             "([^\\[\\]\\.:]+):?(?:\\[(\\d+)\\])?:?(?:\\.([^:]+))?:?");
     private static final char COLON = ':';
+    private static final int MAX_CACHED_ACCESSORS = 10_000;
+    private static final VariableScope[] SCOPES_BY_PRIORITY = Variables.getScopesByPriority();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BddVariableContext.class);
     private static final Class<Variables> VARIABLES_KEY = Variables.class;
 
+    private final Cache<String, VariableAccessor> variableAccessors = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_ACCESSORS)
+            .build();
+
     private TestContext testContext;
     private IVariablesFactory variablesFactory;
 
@@ -52,13 +58,18 @@ public class BddVariableContext implements IBddVariableContext
     public <T> T getVariable(String variableKey)
     {
         Variables variables = getVariables();
-        return (T) Stream.of(VariableScope.STEP, VariableScope.SCENARIO, VariableScope.STORY,
-                VariableScope.NEXT_BATCHES, VariableScope.GLOBAL)
-                .map(scope -> getVariable(variables.getVariables(scope), variableKey))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .or(() -> getDefault(variableKey))
-                .orElseGet(() -> getSystem(variableKey));
+        VariableAccessor accessor = getAccessor(variableKey);
+        Object variable = accessor.isPlain() ? variables.getVariable(variableKey) : getVariable(variables, accessor,
+                variableKey);
+        if (variable == null)
+        {
+            variable = getDefault(variableKey);
+            if (variable == null)
+            {
+                variable = getSystem(variableKey);
+            }
+        }
+        return (T) variable;
     }
 
     @Override
@@ -67,10 +78,10 @@ public class BddVariableContext implements IBddVariableContext
         variableScopes.forEach(s -> putVariable(s, variableKey, variableValue));
     }
 
-    private Optional<String> getDefault(String key)
+    private String getDefault(String key)
     {
         int colonIndex = key.lastIndexOf(COLON);
-        return colonIndex >= 0 ? Optional.of(key.substring(colonIndex + 1)) : Optional.empty();
+        return colonIndex >= 0 ? key.substring(colonIndex + 1) : null;
     }
 
     private Object getSystem(String variableKey)
@@ -92,7 +103,7 @@ public class BddVariableContext implements IBddVariableContext
         }
         else
         {
-            getVariables().getVariables(variableScope).put(variableKey, variableValue);
+            getVariables().putVariable(variableScope, variableKey, variableValue);
         }
     }
 
@@ -105,7 +116,7 @@ public class BddVariableContext implements IBddVariableContext
     @Override
     public void clearVariables(VariableScope variableScope)
     {
-        getVariables().getVariables(variableScope).clear();
+        getVariables().clearVariables(variableScope);
     }
 
     @Override
@@ -114,47 +125,32 @@ public class BddVariableContext implements IBddVariableContext
         testContext.remove(VARIABLES_KEY);
     }
 
-    private Object getVariable(Map<String, Object> variables, String key)
+    private Object getVariable(Variables variables, VariableAccessor accessor, String key)
     {
-        return Optional.ofNullable(variables.get(key))
-                       .or(() -> resolveAsComplexType(variables, key))
-                       .orElse(null);
-    }
-
-    private Optional<Object> resolveAsComplexType(Map<String, Object> variables, String key)
-    {
-        Matcher variableMatcher = COMPLEX_VARIABLE_PATTERN.matcher(key);
-        if (!variableMatcher.find())
+        for (VariableScope scope : SCOPES_BY_PRIORITY)
         {
-            return Optional.empty();
+            Object variable = variables.getVariable(scope, key);
+            if (variable == null && accessor.isComplex())
+            {
+                variable = accessor.resolve(variables.getVariable(scope, accessor.getName()));
+            }
+            if (variable != null)
+            {
+                return variable;
+            }
         }
-        String variableKey = variableMatcher.group(VARIABLE_NAME_GROUP);
-        return Optional.ofNullable(variables.get(variableKey))
-                       .map(v -> resolveAsListItem(variableMatcher, v))
-                       .map(v -> resolveAsMapItem(variableMatcher, v));
+        return null;
     }
 
-    @SuppressWarnings("unchecked")
-    private Object resolveAsMapItem(Matcher variableMatcher, Object variable)
+    private VariableAccessor getAccessor(String key)
     {
-        String mapKey = variableMatcher.group(MAP_KEY_GROUP);
-        if (mapKey != null && variable instanceof Map)
+        VariableAccessor accessor = variableAccessors.getIfPresent(key);
+        if (accessor == null)
         {
-            return ((Map<String, ?>) variable).get(mapKey);
+            accessor = VariableAccessor.parse(key);
+            variableAccessors.put(key, accessor);
         }
-        return variable;
-    }
-
-    private Object resolveAsListItem(Matcher variableMatcher, Object variable)
-    {
-        String listIndex = variableMatcher.group(LIST_INDEX_GROUP);
-        if (listIndex != null && variable instanceof List)
-        {
-            List<?> listVariable = (List<?>) variable;
-            int elementIndex = Integer.parseInt(listIndex);
-            return elementIndex < listVariable.size() ? listVariable.get(elementIndex) : null;
-        }
-        return variable;
+        return accessor;
     }
 
     private Variables getVariables()
@@ -171,4 +167,78 @@ public class BddVariableContext implements IBddVariableContext
     {
         this.variablesFactory = variablesFactory;
     }
+
+    private static final class VariableAccessor
+    {
+        private static final VariableAccessor NOT_COMPLEX = new VariableAccessor(null, null, null, false);
+
+        private final String name;
+        private final String listIndex;
+        private final String mapKey;
+        private final boolean plain;
+
+        private VariableAccessor(String name, String listIndex, String mapKey, boolean plain)
+        {
+            this.name = name;
+            this.listIndex = listIndex;
+            this.mapKey = mapKey;
+            this.plain = plain;
+        }
+
+        static VariableAccessor parse(String key)
+        {
+            Matcher variableMatcher = COMPLEX_VARIABLE_PATTERN.matcher(key);
+            if (!variableMatcher.find())
+            {
+                return NOT_COMPLEX;
+            }
+            String name = variableMatcher.group(VARIABLE_NAME_GROUP);
+            String listIndex = variableMatcher.group(LIST_INDEX_GROUP);
+            String mapKey = variableMatcher.group(MAP_KEY_GROUP);
+            // plain keys are resolved to the same variable both as is and as complex ones
+            boolean plain = listIndex == null && mapKey == null && name.equals(key);
+            return new VariableAccessor(name, listIndex, mapKey, plain);
+        }
+
+        boolean isPlain()
+        {
+            return plain;
+        }
+
+        boolean isComplex()
+        {
+            return name != null;
+        }
+
+        String getName()
+        {
+            return name;
+        }
+
+        Object resolve(Object variable)
+        {
+            return variable != null ? resolveAsMapItem(resolveAsListItem(variable)) : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object resolveAsMapItem(Object variable)
+        {
+            if (mapKey != null && variable instanceof Map)
+            {
+                return ((Map<String, ?>) variable).get(mapKey);
+            }
+            return variable;
+        }
+
+        private Object resolveAsListItem(Object variable)
+        {
+            if (listIndex != null && variable instanceof List)
+            {
+                List<?> listVariable = (List<?>) variable;
+                int elementIndex = Integer.parseInt(listIndex);
+                return elementIndex < listVariable.size() ? listVariable.get(elementIndex) : null;
+            }
+            return variable;
+        }
+    }
 }
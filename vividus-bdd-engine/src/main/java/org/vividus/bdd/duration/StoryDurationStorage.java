@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.duration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class StoryDurationStorage
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoryDurationStorage.class);
+
+    private static final String MAKESPAN_REPORT_HEADER = "Batch,Story execution order,Predicted makespan (ms),"
+            + "Actual makespan (ms)";
+
+    private final Path storageFile;
+    private final Map<String, Duration> durations = new ConcurrentHashMap<>();
+    private final Queue<String> makespans = new ConcurrentLinkedQueue<>();
+
+    private File makespanReportFile;
+
+    public StoryDurationStorage(String storageFile)
+    {
+        this.storageFile = Paths.get(storageFile);
+    }
+
+    public void init() throws IOException
+    {
+        if (Files.exists(storageFile))
+        {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(storageFile, StandardCharsets.UTF_8))
+            {
+                properties.load(reader);
+            }
+            properties.forEach((storyPath, millis) -> durations.put((String) storyPath,
+                    Duration.ofMillis(Long.parseLong((String) millis))));
+        }
+    }
+
+    public void save() throws IOException
+    {
+        saveMakespans();
+        if (durations.isEmpty())
+        {
+            return;
+        }
+        Properties properties = new Properties();
+        durations.forEach((storyPath, duration) -> properties.setProperty(storyPath,
+                Long.toString(duration.toMillis())));
+        createParentDirectories(storageFile);
+        try (Writer writer = Files.newBufferedWriter(storageFile, StandardCharsets.UTF_8))
+        {
+            properties.store(writer, "Story durations in milliseconds");
+        }
+    }
+
+    private void saveMakespans() throws IOException
+    {
+        if (makespanReportFile == null || makespans.isEmpty())
+        {
+            return;
+        }
+        Path reportPath = makespanReportFile.toPath();
+        createParentDirectories(reportPath);
+        Files.write(reportPath, Stream.concat(Stream.of(MAKESPAN_REPORT_HEADER), makespans.stream())
+                .collect(Collectors.toList()), StandardCharsets.UTF_8);
+        LOGGER.info("Predicted and actual makespans of batches are saved to {}", reportPath.toAbsolutePath());
+    }
+
+    private static void createParentDirectories(Path file) throws IOException
+    {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+    }
+
+    public Optional<Duration> getDuration(String storyPath)
+    {
+        return Optional.ofNullable(durations.get(storyPath));
+    }
+
+    // averaging with the previous value smooths out occasional slow or fast runs
+    public void putDuration(String storyPath, Duration duration)
+    {
+        durations.merge(storyPath, duration, (previous, current) -> previous.plus(current).dividedBy(2));
+    }
+
+    public Duration getAverageDuration()
+    {
+        List<Duration> knownDurations = List.copyOf(durations.values());
+        return knownDurations.isEmpty() ? Duration.ZERO : knownDurations.stream()
+                .reduce(Duration.ZERO, Duration::plus)
+                .dividedBy(knownDurations.size());
+    }
+
+    // every story is expected to be started by the first thread that becomes free, stories never run before are
+    // expected to take the average time
+    public Duration predictMakespan(List<String> storyPaths, int threads)
+    {
+        Duration averageDuration = getAverageDuration();
+        PriorityQueue<Duration> threadLoads = new PriorityQueue<>(threads);
+        IntStream.range(0, threads).forEach(i -> threadLoads.add(Duration.ZERO));
+        storyPaths.forEach(storyPath -> threadLoads.add(
+                threadLoads.poll().plus(getDuration(storyPath).orElse(averageDuration))));
+        return threadLoads.stream().max(Duration::compareTo).orElse(Duration.ZERO);
+    }
+
+    public void putMakespan(String batchKey, StoryExecutionOrder storyExecutionOrder, Duration predictedMakespan,
+            Duration actualMakespan)
+    {
+        makespans.add(String.join(",", batchKey, storyExecutionOrder.name(),
+                Long.toString(predictedMakespan.toMillis()), Long.toString(actualMakespan.toMillis())));
+    }
+
+    public void setMakespanReportFile(File makespanReportFile)
+    {
+        this.makespanReportFile = makespanReportFile;
+    }
+}
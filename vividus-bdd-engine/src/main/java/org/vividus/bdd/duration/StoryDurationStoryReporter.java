@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.duration;
+
+import java.time.Duration;
+
+import org.jbehave.core.model.Story;
+import org.vividus.bdd.ChainedStoryReporter;
+import org.vividus.testcontext.TestContext;
+
+public class StoryDurationStoryReporter extends ChainedStoryReporter
+{
+    private static final Object KEY = StartedStory.class;
+
+    private TestContext testContext;
+    private StoryDurationStorage storyDurationStorage;
+
+    @Override
+    public void beforeStory(Story story, boolean givenStory)
+    {
+        if (!givenStory)
+        {
+            testContext.put(KEY, new StartedStory(story.getPath(), System.nanoTime()));
+        }
+        super.beforeStory(story, givenStory);
+    }
+
+    @Override
+    public void afterStory(boolean givenStory)
+    {
+        super.afterStory(givenStory);
+        if (!givenStory)
+        {
+            StartedStory startedStory = testContext.get(KEY, StartedStory.class);
+            if (startedStory != null)
+            {
+                testContext.remove(KEY);
+                storyDurationStorage.putDuration(startedStory.path,
+                        Duration.ofNanos(System.nanoTime() - startedStory.startTime));
+            }
+        }
+    }
+
+    public void setTestContext(TestContext testContext)
+    {
+        this.testContext = testContext;
+    }
+
+    public void setStoryDurationStorage(StoryDurationStorage storyDurationStorage)
+    {
+        this.storyDurationStorage = storyDurationStorage;
+    }
+
+    private static final class StartedStory
+    {
+        private final String path;
+        private final long startTime;
+
+        private StartedStory(String path, long startTime)
+        {
+            this.path = path;
+            this.startTime = startTime;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.duration;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public enum StoryExecutionOrder
+{
+    ALPHABETICAL
+    {
+        @Override
+        public List<String> order(List<String> storyPaths, StoryDurationStorage storyDurationStorage)
+        {
+            return storyPaths;
+        }
+    },
+    LONGEST_FIRST
+    {
+        @Override
+        public List<String> order(List<String> storyPaths, StoryDurationStorage storyDurationStorage)
+        {
+            // stories never run before are expected to take the average time
+            Duration averageDuration = storyDurationStorage.getAverageDuration();
+            Comparator<String> byDuration = Comparator.comparing(
+                storyPath -> storyDurationStorage.getDuration(storyPath).orElse(averageDuration));
+            return storyPaths.stream()
+                    .sorted(byDuration.reversed())
+                    .collect(Collectors.toList());
+        }
+    };
+
+    public abstract List<String> order(List<String> storyPaths, StoryDurationStorage storyDurationStorage);
+}
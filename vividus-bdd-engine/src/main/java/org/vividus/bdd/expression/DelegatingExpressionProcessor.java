@@ -37,4 +37,9 @@ public class DelegatingExpressionProcessor implements IExpressionProcessor
                 .findFirst()
                 .orElseGet(Optional::empty);
     }
+
+    public Collection<IExpressionProcessor> getDelegates()
+    {
+        return delegates;
+    }
 }
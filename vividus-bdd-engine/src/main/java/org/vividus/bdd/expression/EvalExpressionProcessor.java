@@ -18,6 +18,7 @@ package org.vividus.bdd.expression;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,10 +34,12 @@ public class EvalExpressionProcessor implements IExpressionProcessor
     private static final Pattern EVAL_PATTERN = Pattern.compile("^eval\\((.*)\\)$", Pattern.CASE_INSENSITIVE
             | Pattern.DOTALL);
     private static final int EVAL_GROUP = 1;
+    private static final int SCRIPT_CACHE_SIZE = 512;
 
     // ThreadLocal is used as workaround for not released fix of issue https://issues.apache.org/jira/browse/JEXL-241
+    // Results are not cached as scripts may be non-deterministic, but parsed scripts are cached by the engine
     private final ThreadLocal<JexlEngine> jexlEngine = ThreadLocal
-            .withInitial(() -> new JexlBuilder().charset(StandardCharsets.UTF_8).create());
+            .withInitial(() -> new JexlBuilder().charset(StandardCharsets.UTF_8).cache(SCRIPT_CACHE_SIZE).create());
 
     @Override
     public Optional<String> execute(String expression)
@@ -50,4 +53,10 @@ public class EvalExpressionProcessor implements IExpressionProcessor
         }
         return Optional.empty();
     }
+
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("eval");
+    }
 }
@@ -17,8 +17,31 @@
 package org.vividus.bdd.expression;
 
 import java.util.Optional;
+import java.util.Set;
 
 public interface IExpressionProcessor
 {
     Optional<String> execute(String expression);
+
+    /**
+     * Returns names of the functions supported by the processor, the names are compared ignoring case. The processor
+     * is invoked only for expressions starting with one of the names followed by the opening parenthesis, e.g.
+     * <code>trim(</code>. Empty set means the processor is invoked for any expression.
+     * @return Names of the supported functions
+     */
+    default Set<String> getFunctionNames()
+    {
+        return Set.of();
+    }
+
+    /**
+     * Results of deterministic processors are cached and reused for the same expressions, the processors which
+     * results depend on anything besides the expression itself (e.g. random or current date based values, contents
+     * of the resources or the files) or which have side effects must not be deterministic.
+     * @return <code>true</code> if the processor always produces the same result for the same expression
+     */
+    default boolean isDeterministic()
+    {
+        return false;
+    }
 }
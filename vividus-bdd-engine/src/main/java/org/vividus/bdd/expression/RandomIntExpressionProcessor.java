@@ -17,6 +17,7 @@
 package org.vividus.bdd.expression;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -43,4 +44,10 @@ public class RandomIntExpressionProcessor implements IExpressionProcessor
         }
         return Optional.empty();
     }
+
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("randomInt");
+    }
 }
@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -66,6 +67,18 @@ public class ReplaceByRegExpProcessor implements IExpressionProcessor
         return Optional.empty();
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("replaceFirstByRegExp", "replaceAllByRegExp");
+    }
+
+    @Override
+    public boolean isDeterministic()
+    {
+        return true;
+    }
+
     private static List<String> processMatchExpressionResult(Matcher expressionMatcher)
     {
         return IntStream.rangeClosed(1, expressionMatcher.groupCount())
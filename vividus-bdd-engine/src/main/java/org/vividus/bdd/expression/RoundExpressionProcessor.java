@@ -19,6 +19,7 @@ package org.vividus.bdd.expression;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -44,6 +45,18 @@ public class RoundExpressionProcessor implements IExpressionProcessor
         return Optional.empty();
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("round");
+    }
+
+    @Override
+    public boolean isDeterministic()
+    {
+        return true;
+    }
+
     private String round(String value, int fractionDigitsNumber)
     {
         RoundingMode mode = value.charAt(0) == '-' ? RoundingMode.HALF_DOWN : RoundingMode.HALF_UP;
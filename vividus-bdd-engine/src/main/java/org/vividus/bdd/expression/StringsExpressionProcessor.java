@@ -40,21 +40,21 @@ public class StringsExpressionProcessor extends DelegatingExpressionProcessor
     public StringsExpressionProcessor(ILocationProvider locationProvider)
     {
         super(List.of(
-            new UnaryExpressionProcessor("trim",              StringUtils::trim),
-            new UnaryExpressionProcessor("toLowerCase",       StringUtils::lowerCase),
-            new UnaryExpressionProcessor("toUpperCase",       StringUtils::upperCase),
-            new UnaryExpressionProcessor("capitalize",        StringUtils::capitalize),
-            new UnaryExpressionProcessor("uncapitalize",      StringUtils::uncapitalize),
+            new UnaryExpressionProcessor("trim",              StringUtils::trim, true),
+            new UnaryExpressionProcessor("toLowerCase",       StringUtils::lowerCase, true),
+            new UnaryExpressionProcessor("toUpperCase",       StringUtils::upperCase, true),
+            new UnaryExpressionProcessor("capitalize",        StringUtils::capitalize, true),
+            new UnaryExpressionProcessor("uncapitalize",      StringUtils::uncapitalize, true),
             new UnaryExpressionProcessor("generate",          input -> generate(locationProvider.getLocale(), input)),
             new UnaryExpressionProcessor("generateLocalized", generateLocalized()),
-            new UnaryExpressionProcessor("encodeUrl",         input -> URLEncoder.encode(input, UTF_8)),
+            new UnaryExpressionProcessor("encodeUrl",         input -> URLEncoder.encode(input, UTF_8), true),
             new UnaryExpressionProcessor("loadResource",      ResourceUtils::loadResource),
             new UnaryExpressionProcessor("resourceToBase64",  input -> Base64.getEncoder()
                     .encodeToString(ResourceUtils.loadResourceAsByteArray(input))),
             new UnaryExpressionProcessor("decodeFromBase64",  input -> new String(Base64.getDecoder()
-                    .decode(input.getBytes(UTF_8)), UTF_8)),
+                    .decode(input.getBytes(UTF_8)), UTF_8), true),
             new UnaryExpressionProcessor("encodeToBase64",    input -> new String(Base64.getEncoder()
-                    .encode(input.getBytes(UTF_8)), UTF_8))
+                    .encode(input.getBytes(UTF_8)), UTF_8), true)
             ));
     }
 
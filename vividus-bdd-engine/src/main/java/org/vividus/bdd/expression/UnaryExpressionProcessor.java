@@ -17,6 +17,7 @@
 package org.vividus.bdd.expression;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -25,13 +26,22 @@ public class UnaryExpressionProcessor implements IExpressionProcessor
 {
     private static final int INPUT_DATA_GROUP = 1;
 
+    private final String functionName;
     private final Pattern pattern;
     private final UnaryOperator<String> transformer;
+    private final boolean deterministic;
 
     public UnaryExpressionProcessor(String functionName, UnaryOperator<String> transformer)
     {
+        this(functionName, transformer, false);
+    }
+
+    public UnaryExpressionProcessor(String functionName, UnaryOperator<String> transformer, boolean deterministic)
+    {
+        this.functionName = functionName;
         pattern = Pattern.compile("^" + functionName + "\\((.*)\\)$", Pattern.CASE_INSENSITIVE);
         this.transformer = transformer;
+        this.deterministic = deterministic;
     }
 
     @Override
@@ -45,4 +55,16 @@ public class UnaryExpressionProcessor implements IExpressionProcessor
         }
         return Optional.empty();
     }
+
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of(functionName);
+    }
+
+    @Override
+    public boolean isDeterministic()
+    {
+        return deterministic;
+    }
 }
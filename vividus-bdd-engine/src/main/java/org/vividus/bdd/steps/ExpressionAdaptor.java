@@ -16,15 +16,30 @@
 
 package org.vividus.bdd.steps;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.vividus.bdd.expression.DelegatingExpressionProcessor;
 import org.vividus.bdd.expression.IExpressionProcessor;
 
 public class ExpressionAdaptor
@@ -36,16 +51,51 @@ public class ExpressionAdaptor
     private static final Pattern RELUCTANT_EXPRESSION_PATTERN = Pattern.compile(
             "#\\{((?:(?!#\\{|\\$\\{).)*?\\)|(?:(?!#\\{|\\$\\{).)*?)}", Pattern.DOTALL);
 
-    private static final String REPLACEMENT_PATTERN = "\\#\\{%s\\}";
+    private static final String EXPRESSION_START = "#{";
+    private static final char EXPRESSION_END = '}';
+    private static final char ARGUMENTS_START = '(';
+    private static final long MAX_CACHED_CHARACTERS = 1_000_000;
+
+    private final Cache<String, String> processedValues = createCache();
+    private final Cache<String, String> expressionResults = createCache();
+    private final Cache<String, ExpressionTemplate> templates = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_CHARACTERS)
+            // the template keeps the literals and the expressions of the value
+            .<String, ExpressionTemplate>weigher((key, value) -> 2 * key.length())
+            .build();
 
-    private List<IExpressionProcessor> processors;
+    private Map<String, List<IExpressionProcessor>> processorsByFunctionName;
+    private List<IExpressionProcessor> processorsWithoutFunctionNames;
 
     public String process(String value)
     {
+        if (!value.contains(EXPRESSION_START))
+        {
+            return value;
+        }
+        String processedValue = processedValues.getIfPresent(value);
+        if (processedValue != null)
+        {
+            return processedValue;
+        }
         try
         {
-            return processExpression(value,
-                    List.of(RELUCTANT_EXPRESSION_PATTERN, GREEDY_EXPRESSION_PATTERN).iterator());
+            MutableBoolean deterministic = new MutableBoolean(true);
+            Deque<Entry<String, String>> evaluatedExpressions = new ArrayDeque<>();
+            processedValue = processTemplate(getTemplate(value), deterministic, evaluatedExpressions).orElse(null);
+            if (processedValue == null)
+            {
+                // the patterns find the expressions evaluated by the template in the same order, so their results
+                // are reused instead of evaluating the expressions once again
+                processedValue = processExpression(value,
+                        List.of(RELUCTANT_EXPRESSION_PATTERN, GREEDY_EXPRESSION_PATTERN).iterator(), deterministic,
+                        evaluatedExpressions);
+            }
+            if (deterministic.isTrue())
+            {
+                processedValues.put(value, processedValue);
+            }
+            return processedValue;
         }
         catch (RuntimeException e)
         {
@@ -54,7 +104,68 @@ public class ExpressionAdaptor
         }
     }
 
-    private String processExpression(String value, Iterator<Pattern> expressionPatterns)
+    private ExpressionTemplate getTemplate(String value)
+    {
+        ExpressionTemplate template = templates.getIfPresent(value);
+        if (template == null)
+        {
+            template = ExpressionTemplate.parse(value);
+            templates.put(value, template);
+        }
+        return template;
+    }
+
+    /*
+     * Expressions of the flat value are processed in one pass in the order they would be found by the patterns. The
+     * value is processed by the patterns from scratch if it's not flat, or if the results form new expressions, or if
+     * an expression is resolved after an unresolved one: the boundaries of the latter may change then. The processing
+     * stops right after the expression causing it, the results of the expressions evaluated by then are kept for the
+     * patterns.
+     */
+    private Optional<String> processTemplate(ExpressionTemplate template, MutableBoolean deterministic,
+            Deque<Entry<String, String>> evaluatedExpressions)
+    {
+        if (!template.isFlat())
+        {
+            return Optional.empty();
+        }
+        StringBuilder processedValue = new StringBuilder(template.literals.get(0));
+        int unresolvedExpressions = 0;
+        for (int i = 0; i < template.expressions.size(); i++)
+        {
+            String expression = template.expressions.get(i);
+            Optional<String> expressionResult = apply(expression, deterministic);
+            if (expressionResult.isPresent() && !expressionResult.get().equals(expression))
+            {
+                evaluatedExpressions.add(new SimpleImmutableEntry<>(expression, expressionResult.get()));
+                if (unresolvedExpressions > 0)
+                {
+                    return Optional.empty();
+                }
+                // the result may form new expression only with the character preceding it
+                int resultStart = Math.max(0, processedValue.length() - 1);
+                processedValue.append(expressionResult.get()).append(template.literals.get(i + 1));
+                if (processedValue.indexOf(EXPRESSION_START, resultStart) >= 0)
+                {
+                    return Optional.empty();
+                }
+            }
+            else
+            {
+                unresolvedExpressions++;
+                processedValue.append(EXPRESSION_START).append(expression).append(EXPRESSION_END)
+                        .append(template.literals.get(i + 1));
+            }
+        }
+        String value = processedValue.toString();
+        evaluatedExpressions.clear();
+        return Optional.of(unresolvedExpressions == 0 ? value
+                : processExpression(value, List.of(GREEDY_EXPRESSION_PATTERN).iterator(), deterministic,
+                        evaluatedExpressions));
+    }
+
+    private String processExpression(String value, Iterator<Pattern> expressionPatterns, MutableBoolean deterministic,
+            Deque<Entry<String, String>> evaluatedExpressions)
     {
         String processedValue = value;
         Matcher expressionMatcher = expressionPatterns.next().matcher(processedValue);
@@ -63,38 +174,173 @@ public class ExpressionAdaptor
         {
             expressionFound = true;
             String expression = expressionMatcher.group(1);
-            String expressionResult = apply(expression);
-            if (!expressionResult.equals(expression))
+            Optional<String> expressionResult = getEvaluatedResult(expression, evaluatedExpressions)
+                    .or(() -> apply(expression, deterministic));
+            if (expressionResult.isPresent() && !expressionResult.get().equals(expression))
             {
-                String regex = String.format(REPLACEMENT_PATTERN, Pattern.quote(expression));
-                processedValue = processedValue.replaceFirst(regex, Matcher.quoteReplacement(expressionResult));
+                processedValue = processedValue.substring(0, expressionMatcher.start()) + expressionResult.get()
+                        + processedValue.substring(expressionMatcher.end());
                 expressionFound = false;
                 expressionMatcher.reset(processedValue);
             }
         }
         if (expressionFound && expressionPatterns.hasNext())
         {
-            return processExpression(processedValue, expressionPatterns);
+            return processExpression(processedValue, expressionPatterns, deterministic, evaluatedExpressions);
         }
         return processedValue;
     }
 
-    private String apply(String expression)
+    private static Optional<String> getEvaluatedResult(String expression,
+            Deque<Entry<String, String>> evaluatedExpressions)
+    {
+        Entry<String, String> evaluatedExpression = evaluatedExpressions.peek();
+        if (evaluatedExpression != null && evaluatedExpression.getKey().equals(expression))
+        {
+            evaluatedExpressions.poll();
+            return Optional.of(evaluatedExpression.getValue());
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> apply(String expression, MutableBoolean deterministic)
+    {
+        String cachedResult = expressionResults.getIfPresent(expression);
+        if (cachedResult != null)
+        {
+            return Optional.of(cachedResult);
+        }
+        for (IExpressionProcessor processor : getCandidateProcessors(expression))
+        {
+            Optional<String> result = processor.execute(expression);
+            if (result.isPresent())
+            {
+                if (processor.isDeterministic())
+                {
+                    expressionResults.put(expression, result.get());
+                }
+                else
+                {
+                    deterministic.setFalse();
+                }
+                return result;
+            }
+        }
+        deterministic.setFalse();
+        return Optional.empty();
+    }
+
+    private List<IExpressionProcessor> getCandidateProcessors(String expression)
+    {
+        int argumentsStart = expression.indexOf(ARGUMENTS_START);
+        if (argumentsStart < 0)
+        {
+            return processorsWithoutFunctionNames;
+        }
+        String functionName = expression.substring(0, argumentsStart).toLowerCase(Locale.ROOT);
+        return processorsByFunctionName.getOrDefault(functionName, processorsWithoutFunctionNames);
+    }
+
+    private static Cache<String, String> createCache()
+    {
+        return CacheBuilder.newBuilder()
+                .maximumWeight(MAX_CACHED_CHARACTERS)
+                .<String, String>weigher((key, value) -> key.length() + value.length())
+                .build();
+    }
+
+    private static void flatten(Collection<IExpressionProcessor> processors, List<IExpressionProcessor> flattened)
     {
         for (IExpressionProcessor processor : processors)
         {
-            Optional<String> optional = processor.execute(expression);
-            if (optional.isPresent())
+            if (processor instanceof DelegatingExpressionProcessor)
+            {
+                flatten(((DelegatingExpressionProcessor) processor).getDelegates(), flattened);
+            }
+            else
+            {
+                flattened.add(processor);
+            }
+        }
+    }
+
+    /*
+     * The value split into the literals and the expressions found by the reluctant pattern. The value is flat if all
+     * its expressions are found by the first scan, i.e. none of the literals starts an expression, otherwise the
+     * expressions are formed only after the nested ones are processed and the value has no template.
+     */
+    private static final class ExpressionTemplate
+    {
+        private static final ExpressionTemplate NOT_FLAT = new ExpressionTemplate(List.of(), List.of());
+
+        private final List<String> literals;
+        private final List<String> expressions;
+
+        private ExpressionTemplate(List<String> literals, List<String> expressions)
+        {
+            this.literals = literals;
+            this.expressions = expressions;
+        }
+
+        static ExpressionTemplate parse(String value)
+        {
+            List<String> literals = new ArrayList<>();
+            List<String> expressions = new ArrayList<>();
+            Matcher expressionMatcher = RELUCTANT_EXPRESSION_PATTERN.matcher(value);
+            int literalStart = 0;
+            while (expressionMatcher.find())
             {
-                return optional.get();
+                literals.add(value.substring(literalStart, expressionMatcher.start()));
+                expressions.add(expressionMatcher.group(1));
+                literalStart = expressionMatcher.end();
             }
+            literals.add(value.substring(literalStart));
+            if (literals.stream().anyMatch(literal -> literal.contains(EXPRESSION_START)))
+            {
+                return NOT_FLAT;
+            }
+            return new ExpressionTemplate(literals, expressions);
+        }
+
+        boolean isFlat()
+        {
+            return this != NOT_FLAT;
         }
-        return expression;
     }
 
     @Autowired
     public void setProcessors(List<IExpressionProcessor> processors)
     {
-        this.processors = processors;
+        List<IExpressionProcessor> flattenedProcessors = new ArrayList<>();
+        flatten(processors, flattenedProcessors);
+
+        processorsWithoutFunctionNames = new ArrayList<>();
+        Map<String, List<IExpressionProcessor>> byFunctionName = new HashMap<>();
+        for (IExpressionProcessor processor : flattenedProcessors)
+        {
+            processor.getFunctionNames().forEach(functionName -> byFunctionName
+                    .putIfAbsent(functionName.toLowerCase(Locale.ROOT), new ArrayList<>()));
+        }
+        for (IExpressionProcessor processor : flattenedProcessors)
+        {
+            if (processor.getFunctionNames().isEmpty())
+            {
+                processorsWithoutFunctionNames.add(processor);
+                byFunctionName.values().forEach(candidates -> candidates.add(processor));
+            }
+            else
+            {
+                processor.getFunctionNames().forEach(functionName -> {
+                    List<IExpressionProcessor> candidates = byFunctionName.get(functionName.toLowerCase(Locale.ROOT));
+                    if (!candidates.contains(processor))
+                    {
+                        candidates.add(processor);
+                    }
+                });
+            }
+        }
+        processorsByFunctionName = byFunctionName;
+        processedValues.invalidateAll();
+        expressionResults.invalidateAll();
     }
 }
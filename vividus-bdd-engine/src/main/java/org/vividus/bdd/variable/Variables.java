@@ -16,27 +16,203 @@
 
 package org.vividus.bdd.variable;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public class Variables
 {
+    private static final VariableScope[] SCOPES_BY_PRIORITY = { VariableScope.STEP, VariableScope.SCENARIO,
+            VariableScope.STORY, VariableScope.NEXT_BATCHES, VariableScope.GLOBAL };
+
     private Map<VariableScope, Map<String, Object>> variablesPerScope = new EnumMap<>(VariableScope.class);
+    private Map<String, Object> flattenedVariables;
 
     public Variables()
     {
         Stream.of(VariableScope.values()).forEach(scope -> variablesPerScope.put(scope, new HashMap<>()));
     }
 
+    /**
+     * Gets variables of the scope
+     * @param variableScope Scope of the variables
+     * @return Modifiable view of the variables of the scope, any modification made via the view is visible to the
+     * variables lookup
+     */
     public Map<String, Object> getVariables(VariableScope variableScope)
     {
-        return variablesPerScope.get(variableScope);
+        return new ScopeVariables(variableScope);
+    }
+
+    public void putVariable(VariableScope variableScope, String variableKey, Object variableValue)
+    {
+        variablesPerScope.get(variableScope).put(variableKey, variableValue);
+        flattenedVariables = null;
+    }
+
+    public void putVariables(VariableScope variableScope, Map<String, ?> variables)
+    {
+        variablesPerScope.get(variableScope).putAll(variables);
+        flattenedVariables = null;
+    }
+
+    public void clearVariables(VariableScope variableScope)
+    {
+        variablesPerScope.get(variableScope).clear();
+        flattenedVariables = null;
+    }
+
+    public Object getVariable(VariableScope variableScope, String variableKey)
+    {
+        return variablesPerScope.get(variableScope).get(variableKey);
+    }
+
+    public Object getVariable(String variableKey)
+    {
+        if (flattenedVariables == null)
+        {
+            Map<String, Object> variables = new HashMap<>();
+            for (int i = SCOPES_BY_PRIORITY.length - 1; i >= 0; i--)
+            {
+                variablesPerScope.get(SCOPES_BY_PRIORITY[i]).forEach((key, value) -> {
+                    if (value != null)
+                    {
+                        variables.put(key, value);
+                    }
+                });
+            }
+            flattenedVariables = variables;
+        }
+        return flattenedVariables.get(variableKey);
+    }
+
+    public static VariableScope[] getScopesByPriority()
+    {
+        return SCOPES_BY_PRIORITY.clone();
     }
 
     public void setVariablesPerScope(Map<VariableScope, Map<String, Object>> variablesPerScope)
     {
         this.variablesPerScope = variablesPerScope;
+        flattenedVariables = null;
+    }
+
+    private final class ScopeVariables extends AbstractMap<String, Object>
+    {
+        private final VariableScope variableScope;
+
+        private ScopeVariables(VariableScope variableScope)
+        {
+            this.variableScope = variableScope;
+        }
+
+        private Map<String, Object> getDelegate()
+        {
+            return variablesPerScope.get(variableScope);
+        }
+
+        @Override
+        public int size()
+        {
+            return getDelegate().size();
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return getDelegate().containsKey(key);
+        }
+
+        @Override
+        public Object get(Object key)
+        {
+            return getDelegate().get(key);
+        }
+
+        @Override
+        public Object put(String key, Object value)
+        {
+            flattenedVariables = null;
+            return getDelegate().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key)
+        {
+            flattenedVariables = null;
+            return getDelegate().remove(key);
+        }
+
+        @Override
+        public void clear()
+        {
+            flattenedVariables = null;
+            getDelegate().clear();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet()
+        {
+            return new AbstractSet<>()
+            {
+                @Override
+                public int size()
+                {
+                    return getDelegate().size();
+                }
+
+                @Override
+                public Iterator<Entry<String, Object>> iterator()
+                {
+                    return new ScopeVariablesIterator(getDelegate().entrySet().iterator());
+                }
+            };
+        }
+    }
+
+    private final class ScopeVariablesIterator implements Iterator<Entry<String, Object>>
+    {
+        private final Iterator<Entry<String, Object>> delegate;
+
+        private ScopeVariablesIterator(Iterator<Entry<String, Object>> delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next()
+        {
+            Entry<String, Object> entry = delegate.next();
+            return new SimpleEntry<>(entry.getKey(), entry.getValue())
+            {
+                private static final long serialVersionUID = -5227314542624427372L;
+
+                @Override
+                public Object setValue(Object value)
+                {
+                    flattenedVariables = null;
+                    super.setValue(value);
+                    return entry.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove()
+        {
+            flattenedVariables = null;
+            delegate.remove();
+        }
     }
 }
@@ -62,10 +62,10 @@ public class VariablesFactory implements IVariablesFactory
     public Variables createVariables()
     {
         Variables variables = new Variables();
-        Map<String, Object> globalScoped = variables.getVariables(VariableScope.GLOBAL);
-        globalScoped.putAll(globalVariables);
-        globalScoped.putAll(batchVariables.getOrDefault(bddRunContext.getRunningBatchKey(), Map.of()));
-        variables.getVariables(VariableScope.NEXT_BATCHES).putAll(nextBatchesVariables);
+        variables.putVariables(VariableScope.GLOBAL, globalVariables);
+        variables.putVariables(VariableScope.GLOBAL,
+                batchVariables.getOrDefault(bddRunContext.getRunningBatchKey(), Map.of()));
+        variables.putVariables(VariableScope.NEXT_BATCHES, nextBatchesVariables);
         return variables;
     }
 
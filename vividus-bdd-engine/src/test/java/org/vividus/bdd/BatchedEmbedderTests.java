@@ -19,24 +19,34 @@ package org.vividus.bdd;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.jbehave.core.embedder.EmbedderControls;
@@ -50,6 +60,7 @@ import org.jbehave.core.steps.InjectableStepsFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -57,8 +68,11 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.bdd.batch.BatchExecutionConfiguration;
 import org.vividus.bdd.batch.BatchStorage;
+import org.vividus.bdd.batch.BoundedBatchExecutorService;
 import org.vividus.bdd.context.BddRunContext;
 import org.vividus.bdd.context.IBddVariableContext;
+import org.vividus.bdd.duration.StoryDurationStorage;
+import org.vividus.bdd.duration.StoryExecutionOrder;
 import org.vividus.bdd.spring.ExtendedConfiguration;
 
 @ExtendWith(MockitoExtension.class)
@@ -67,6 +81,8 @@ class BatchedEmbedderTests
     private static final int THREADS = 2;
     private static final String PATH = "path1";
     private static final String BATCH = "batch-1";
+    private static final String BATCH_2 = "batch-2";
+    private static final String PATH_2 = "path2";
     private static final String META_FILTERS = "groovy: !skip";
 
     @Mock
@@ -111,7 +127,7 @@ class BatchedEmbedderTests
         mockBatchExecutionConfiguration();
         Map<String, List<String>> batches = new LinkedHashMap<>();
         batches.put(BATCH, testStoryPaths);
-        batches.put("batch-2", List.of("path2"));
+        batches.put(BATCH_2, List.of(PATH_2));
         spy.runStoriesAsPaths(batches);
         InOrder ordered = inOrder(spy, embedderMonitor, storyManager, bddRunContext, bddVariableContext);
         ordered.verify(spy).processSystemProperties();
@@ -159,6 +175,136 @@ class BatchedEmbedderTests
         verifyExecutorService(service.get(0));
     }
 
+    @Test
+    void testRunStoriesAsPathsLongestFirst(@TempDir Path tempDir) throws IOException
+    {
+        embedder.setIgnoreFailureInBatches(true);
+        StoryDurationStorage storyDurationStorage = new StoryDurationStorage(
+                tempDir.resolve("story-durations.properties").toString());
+        Path makespanReportFile = tempDir.resolve("story-makespans.csv");
+        storyDurationStorage.setMakespanReportFile(makespanReportFile.toFile());
+        storyDurationStorage.putDuration(PATH, Duration.ofSeconds(1));
+        storyDurationStorage.putDuration(PATH_2, Duration.ofSeconds(2));
+        embedder.setStoryDurationStorage(storyDurationStorage);
+        embedder.setStoryExecutionOrder(StoryExecutionOrder.LONGEST_FIRST);
+        BatchedEmbedder spy = Mockito.spy(embedder);
+        StoryManager storyManager = mock(StoryManager.class);
+        doReturn(storyManager).when(spy).storyManager();
+        MetaFilter mockedFilter = mock(MetaFilter.class);
+        doReturn(mockedFilter).when(spy).metaFilter();
+        mockBatchExecutionConfiguration();
+        spy.runStoriesAsPaths(Map.of(BATCH, List.of(PATH, PATH_2)));
+        verify(storyManager).runStoriesAsPaths(eq(List.of(PATH_2, PATH)), eq(mockedFilter),
+                any(BatchFailures.class));
+        storyDurationStorage.save();
+        List<String> makespans = Files.readAllLines(makespanReportFile);
+        assertEquals(2, makespans.size());
+        assertTrue(makespans.get(1).startsWith(BATCH + ",LONGEST_FIRST,2000,"));
+    }
+
+    @Test
+    void testRunStoriesAsPathsInParallelWithDependency()
+    {
+        embedder.setIgnoreFailureInBatches(true);
+        embedder.setParallelBatches(true);
+        BatchedEmbedder spy = Mockito.spy(embedder);
+        StoryManager lifecycleStoryManager = mock(StoryManager.class);
+        doReturn(lifecycleStoryManager).when(spy).storyManager();
+        StoryManager batchStoryManager = mock(StoryManager.class);
+        doReturn(batchStoryManager).when(spy).createBatchStoryManager(any(EmbedderControls.class),
+                any(BoundedBatchExecutorService.class), any(BatchedPerformableTree.class));
+        mockParallelBatchExecutionConfiguration(BATCH, List.of());
+        mockParallelBatchExecutionConfiguration(BATCH_2, List.of(BATCH));
+        Map<String, List<String>> batches = new LinkedHashMap<>();
+        batches.put(BATCH, List.of(PATH));
+        batches.put(BATCH_2, List.of(PATH_2));
+        spy.runStoriesAsPaths(batches);
+        InOrder ordered = inOrder(lifecycleStoryManager, batchStoryManager, bddRunContext);
+        ordered.verify(bddRunContext).putRunningBatch(BATCH);
+        ordered.verify(lifecycleStoryManager).runStoriesAsPaths(eq(List.of()), any(MetaFilter.class),
+                any(BatchFailures.class));
+        ordered.verify(batchStoryManager).runStoriesAsPaths(eq(List.of(PATH)), any(MetaFilter.class),
+                any(BatchFailures.class));
+        ordered.verify(batchStoryManager).runStoriesAsPaths(eq(List.of(PATH_2)), any(MetaFilter.class),
+                any(BatchFailures.class));
+        ordered.verify(bddRunContext).putRunningBatch(BATCH_2);
+        ordered.verify(lifecycleStoryManager).runStoriesAsPaths(eq(List.of()), any(MetaFilter.class),
+                any(BatchFailures.class));
+        verify(bddRunContext).putThreadRunningBatch(BATCH);
+        verify(bddRunContext).putThreadRunningBatch(BATCH_2);
+        verify(bddRunContext, times(2)).removeThreadRunningBatch();
+    }
+
+    @Test
+    void testRunStoriesAsPathsInParallelIndependentBatches()
+    {
+        embedder.setIgnoreFailureInBatches(true);
+        embedder.setParallelBatches(true);
+        embedder.setParallelBatchesThreads(THREADS);
+        BatchedEmbedder spy = Mockito.spy(embedder);
+        doReturn(mock(StoryManager.class)).when(spy).storyManager();
+        StoryManager batchStoryManager = mock(StoryManager.class);
+        doReturn(batchStoryManager).when(spy).createBatchStoryManager(any(EmbedderControls.class),
+                any(BoundedBatchExecutorService.class), any(BatchedPerformableTree.class));
+        mockParallelBatchExecutionConfiguration(BATCH, List.of());
+        mockParallelBatchExecutionConfiguration(BATCH_2, List.of());
+        CountDownLatch latch = new CountDownLatch(2);
+        List<Boolean> batchesRunConcurrently = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            latch.countDown();
+            batchesRunConcurrently.add(latch.await(10, TimeUnit.SECONDS));
+            return null;
+        }).when(batchStoryManager).runStoriesAsPaths(any(), any(MetaFilter.class), any(BatchFailures.class));
+        Map<String, List<String>> batches = new LinkedHashMap<>();
+        batches.put(BATCH, List.of(PATH));
+        batches.put(BATCH_2, List.of(PATH_2));
+        spy.runStoriesAsPaths(batches);
+        assertEquals(List.of(true, true), batchesRunConcurrently);
+    }
+
+    @Test
+    void testRunStoriesAsPathsInParallelStopOnFailedBatch()
+    {
+        embedder.setIgnoreFailureInBatches(false);
+        embedder.setParallelBatches(true);
+        BatchedEmbedder spy = Mockito.spy(embedder);
+        doReturn(mock(StoryManager.class)).when(spy).storyManager();
+        StoryManager batchStoryManager = mock(StoryManager.class);
+        doReturn(batchStoryManager).when(spy).createBatchStoryManager(any(EmbedderControls.class),
+                any(BoundedBatchExecutorService.class), any(BatchedPerformableTree.class));
+        mockParallelBatchExecutionConfiguration(BATCH, List.of());
+        mockParallelBatchExecutionConfiguration(BATCH_2, List.of(BATCH));
+        doNothing().when(batchStoryManager).runStoriesAsPaths(eq(List.of(PATH)), any(MetaFilter.class),
+                argThat(failures -> {
+                    failures.put(PATH, mock(Throwable.class));
+                    return true;
+                }));
+        Map<String, List<String>> batches = new LinkedHashMap<>();
+        batches.put(BATCH, List.of(PATH));
+        batches.put(BATCH_2, List.of(PATH_2));
+        spy.runStoriesAsPaths(batches);
+        verify(batchStoryManager, never()).runStoriesAsPaths(eq(List.of(PATH_2)), any(MetaFilter.class),
+                any(BatchFailures.class));
+        verify(embedderMonitor).batchFailed(any(BatchFailures.class));
+    }
+
+    @Test
+    void testRunStoriesAsPathsInParallelWithUnknownDependency()
+    {
+        embedder.setParallelBatches(true);
+        BatchedEmbedder spy = Mockito.spy(embedder);
+        doReturn(mock(StoryManager.class)).when(spy).storyManager();
+        mockParallelBatchExecutionConfiguration(BATCH, List.of(BATCH_2));
+        mockParallelBatchExecutionConfiguration(BATCH_2, List.of());
+        Map<String, List<String>> batches = new LinkedHashMap<>();
+        batches.put(BATCH, List.of(PATH));
+        batches.put(BATCH_2, List.of(PATH_2));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> spy.runStoriesAsPaths(batches));
+        assertEquals("Batch 'batch-1' can depend only on the preceding batches, but depends on 'batch-2'",
+                exception.getMessage());
+    }
+
     private void verifyExecutorService(ExecutorService service)
     {
         ThreadPoolExecutor executorService = (ThreadPoolExecutor) service;
@@ -246,6 +392,16 @@ class BatchedEmbedderTests
         when(batchStorage.getBatchExecutionConfiguration(BATCH)).thenReturn(batchExecutionConfiguration);
     }
 
+    private void mockParallelBatchExecutionConfiguration(String batchKey, List<String> dependsOn)
+    {
+        BatchExecutionConfiguration batchExecutionConfiguration = new BatchExecutionConfiguration();
+        batchExecutionConfiguration.setStoryExecutionTimeout(Duration.ofHours(1));
+        batchExecutionConfiguration.setMetaFilters("-skip");
+        batchExecutionConfiguration.setThreads(1);
+        batchExecutionConfiguration.setDependsOn(dependsOn);
+        when(batchStorage.getBatchExecutionConfiguration(batchKey)).thenReturn(batchExecutionConfiguration);
+    }
+
     private boolean assertEmbedderControls(EmbedderControls controls)
     {
         return controls.threads() == THREADS
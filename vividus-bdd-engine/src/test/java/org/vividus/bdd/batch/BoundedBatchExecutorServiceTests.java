@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BoundedBatchExecutorServiceTests
+{
+    private static final int TIMEOUT = 10;
+
+    private final ExecutorService sharedExecutor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void afterEach()
+    {
+        sharedExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldLimitNumberOfConcurrentlyRunningTasks() throws Exception
+    {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        BoundedBatchExecutorService executorService = new BoundedBatchExecutorService(sharedExecutor, 2,
+                UnaryOperator.identity());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+        {
+            futures.add(executorService.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                TimeUnit.MILLISECONDS.sleep(10);
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures)
+        {
+            future.get(TIMEOUT, TimeUnit.SECONDS);
+        }
+        assertEquals(2, maxRunning.get());
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(executorService.isTerminated());
+        assertFalse(sharedExecutor.isShutdown());
+    }
+
+    @Test
+    void shouldDecorateTasks() throws Exception
+    {
+        List<String> events = new ArrayList<>();
+        BoundedBatchExecutorService executorService = new BoundedBatchExecutorService(sharedExecutor, 1,
+            task -> () -> {
+                events.add("before");
+                task.run();
+                events.add("after");
+            });
+        executorService.submit(() -> events.add("task")).get(TIMEOUT, TimeUnit.SECONDS);
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(List.of("before", "task", "after"), events);
+    }
+
+    @Test
+    void shouldReturnNotStartedTasksOnShutdownNow() throws InterruptedException
+    {
+        CountDownLatch latch = new CountDownLatch(1);
+        BoundedBatchExecutorService executorService = new BoundedBatchExecutorService(sharedExecutor, 1,
+                UnaryOperator.identity());
+        executorService.execute(() -> {
+            try
+            {
+                latch.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Runnable pendingTask = () -> { };
+        executorService.execute(pendingTask);
+        assertEquals(List.of(pendingTask), executorService.shutdownNow());
+        assertTrue(executorService.isShutdown());
+        assertFalse(executorService.isTerminated());
+        latch.countDown();
+        assertTrue(executorService.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> executorService.execute(pendingTask));
+    }
+
+    @Test
+    void shouldNotAllowNonPositiveConcurrency()
+    {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> new BoundedBatchExecutorService(sharedExecutor, 0, UnaryOperator.identity()));
+        assertEquals("Max concurrency must be positive, but got: 0", exception.getMessage());
+    }
+}
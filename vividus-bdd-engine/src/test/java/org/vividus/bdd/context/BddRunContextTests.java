@@ -105,6 +105,22 @@ class BddRunContextTests
         assertEquals("No running batch is found", exception.getMessage());
     }
 
+    @Test
+    void testGetThreadRunningBatchKey() throws InterruptedException
+    {
+        bddRunContext.putRunningBatch(BATCH_KEY);
+        String threadBatchKey = "threadBatchKey";
+        bddRunContext.putThreadRunningBatch(threadBatchKey);
+        assertEquals(threadBatchKey, bddRunContext.getRunningBatchKey());
+        List<String> otherThreadBatchKey = new LinkedList<>();
+        Thread thread = new Thread(() -> otherThreadBatchKey.add(bddRunContext.getRunningBatchKey()));
+        thread.start();
+        thread.join();
+        assertEquals(List.of(BATCH_KEY), otherThreadBatchKey);
+        bddRunContext.removeThreadRunningBatch();
+        assertEquals(BATCH_KEY, bddRunContext.getRunningBatchKey());
+    }
+
     @Test
     void testSetDryRun()
     {
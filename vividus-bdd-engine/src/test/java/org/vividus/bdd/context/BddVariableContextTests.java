@@ -196,6 +196,30 @@ class BddVariableContextTests
         assertNull(bddVariableContext.getVariable(KEY));
     }
 
+    @Test
+    void shouldReturnVariableSavedAfterPreviousLookup()
+    {
+        bddVariableContext.setTestContext(new SimpleTestContext());
+        putVariable(VariableScope.STORY, VALUE);
+        assertEquals(VALUE, bddVariableContext.getVariable(VARIABLE_KEY));
+        String stepValue = "stepValue";
+        bddVariableContext.putVariable(VariableScope.STEP, VARIABLE_KEY, stepValue);
+        assertEquals(stepValue, bddVariableContext.getVariable(VARIABLE_KEY));
+        bddVariableContext.clearVariables(VariableScope.STEP);
+        assertEquals(VALUE, bddVariableContext.getVariable(VARIABLE_KEY));
+    }
+
+    @Test
+    void shouldResolveComplexVariableFromLowerScopeIfNotResolvedInHigherOne()
+    {
+        bddVariableContext.setTestContext(new SimpleTestContext());
+        Variables variables = putVariable(VariableScope.STORY, List.of(Map.of(KEY, VALUE)));
+        variables.putVariable(VariableScope.STEP, VARIABLE_KEY, List.of());
+        variables.putVariable(VariableScope.SCENARIO, VARIABLE_KEY, null);
+        assertEquals(VALUE, bddVariableContext.getVariable("variableKey[0].key"));
+        assertEquals(List.of(), bddVariableContext.getVariable(VARIABLE_KEY));
+    }
+
     @Test
     void testPutNextBatchesVariable()
     {
@@ -233,7 +257,7 @@ class BddVariableContextTests
     private Variables putVariable(VariableScope variableScope, Object variable)
     {
         Variables variables = new Variables();
-        variables.getVariables(variableScope).put(VARIABLE_KEY, variable);
+        variables.putVariable(variableScope, VARIABLE_KEY, variable);
         when(variablesFactory.createVariables()).thenReturn(variables);
         return variables;
     }
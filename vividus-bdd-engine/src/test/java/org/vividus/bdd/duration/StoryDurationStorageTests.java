@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StoryDurationStorageTests
+{
+    private static final String STORY_1 = "story/first.story";
+    private static final String STORY_2 = "story/second.story";
+    private static final String STORY_3 = "story/third.story";
+
+    @Test
+    void shouldSaveAndLoadDurations(@TempDir Path tempDir) throws IOException
+    {
+        String storageFile = tempDir.resolve("durations/story-durations.properties").toString();
+        StoryDurationStorage storage = new StoryDurationStorage(storageFile);
+        storage.init();
+        storage.putDuration(STORY_1, Duration.ofSeconds(10));
+        storage.save();
+
+        StoryDurationStorage loadedStorage = new StoryDurationStorage(storageFile);
+        loadedStorage.init();
+        assertEquals(Optional.of(Duration.ofSeconds(10)), loadedStorage.getDuration(STORY_1));
+        assertEquals(Optional.empty(), loadedStorage.getDuration(STORY_2));
+    }
+
+    @Test
+    void shouldNotCreateFileIfNoDurationsAreKnown(@TempDir Path tempDir) throws IOException
+    {
+        Path storageFile = tempDir.resolve("story-durations.properties");
+        StoryDurationStorage storage = new StoryDurationStorage(storageFile.toString());
+        storage.init();
+        storage.save();
+        assertFalse(Files.exists(storageFile));
+    }
+
+    @Test
+    void shouldSaveMakespanReport(@TempDir Path tempDir) throws IOException
+    {
+        Path storageFile = tempDir.resolve("story-durations.properties");
+        Path makespanReportFile = tempDir.resolve("reports/story-makespans.csv");
+        StoryDurationStorage storage = new StoryDurationStorage(storageFile.toString());
+        storage.setMakespanReportFile(makespanReportFile.toFile());
+        storage.putMakespan("batch-1", StoryExecutionOrder.LONGEST_FIRST, Duration.ofSeconds(40),
+                Duration.ofMillis(41_500));
+        storage.save();
+        assertEquals(List.of("Batch,Story execution order,Predicted makespan (ms),Actual makespan (ms)",
+                "batch-1,LONGEST_FIRST,40000,41500"), Files.readAllLines(makespanReportFile));
+        assertFalse(Files.exists(storageFile));
+    }
+
+    @Test
+    void shouldNotCreateMakespanReportIfNoBatchesAreRun(@TempDir Path tempDir) throws IOException
+    {
+        Path makespanReportFile = tempDir.resolve("story-makespans.csv");
+        StoryDurationStorage storage = new StoryDurationStorage(tempDir.resolve(STORY_1).toString());
+        storage.setMakespanReportFile(makespanReportFile.toFile());
+        storage.save();
+        assertFalse(Files.exists(makespanReportFile));
+    }
+
+    @Test
+    void shouldAverageDurationWithPreviousOne()
+    {
+        StoryDurationStorage storage = new StoryDurationStorage(STORY_1);
+        storage.putDuration(STORY_1, Duration.ofSeconds(10));
+        storage.putDuration(STORY_1, Duration.ofSeconds(20));
+        assertEquals(Optional.of(Duration.ofSeconds(15)), storage.getDuration(STORY_1));
+    }
+
+    @Test
+    void shouldCalculateAverageDuration()
+    {
+        StoryDurationStorage storage = new StoryDurationStorage(STORY_1);
+        assertEquals(Duration.ZERO, storage.getAverageDuration());
+        storage.putDuration(STORY_1, Duration.ofSeconds(10));
+        storage.putDuration(STORY_2, Duration.ofSeconds(30));
+        assertEquals(Duration.ofSeconds(20), storage.getAverageDuration());
+    }
+
+    @Test
+    void shouldPredictMakespan()
+    {
+        StoryDurationStorage storage = new StoryDurationStorage(STORY_1);
+        storage.putDuration(STORY_1, Duration.ofSeconds(30));
+        storage.putDuration(STORY_2, Duration.ofSeconds(10));
+        List<String> storyPaths = List.of(STORY_2, STORY_3, STORY_1);
+        assertEquals(Duration.ofSeconds(50), storage.predictMakespan(storyPaths, 1));
+        assertEquals(Duration.ofSeconds(40), storage.predictMakespan(storyPaths, 2));
+        assertEquals(Duration.ofSeconds(30), storage.predictMakespan(storyPaths, 3));
+        assertTrue(storage.predictMakespan(List.of(), 2).isZero());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.jbehave.core.model.Story;
+import org.jbehave.core.reporters.StoryReporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.testcontext.SimpleTestContext;
+
+@ExtendWith(MockitoExtension.class)
+class StoryDurationStoryReporterTests
+{
+    private static final String PATH = "story/path.story";
+
+    @Mock
+    private StoryReporter next;
+
+    private final StoryDurationStorage storage = new StoryDurationStorage("story-durations.properties");
+    private final StoryDurationStoryReporter reporter = new StoryDurationStoryReporter();
+
+    @BeforeEach
+    void beforeEach()
+    {
+        reporter.setTestContext(new SimpleTestContext());
+        reporter.setStoryDurationStorage(storage);
+        reporter.setNext(next);
+    }
+
+    @Test
+    void shouldRecordDurationOfRootStory() throws InterruptedException
+    {
+        Story story = new Story(PATH);
+        Story givenStory = new Story("story/given.story");
+        reporter.beforeStory(story, false);
+        reporter.beforeStory(givenStory, true);
+        Thread.sleep(10);
+        reporter.afterStory(true);
+        reporter.afterStory(false);
+        verify(next).beforeStory(story, false);
+        verify(next).afterStory(false);
+        assertThat(storage.getDuration(PATH).get(), greaterThanOrEqualTo(Duration.ofMillis(10)));
+        assertEquals(Optional.empty(), storage.getDuration(givenStory.getPath()));
+    }
+
+    @Test
+    void shouldNotRecordDurationOfNotStartedStory()
+    {
+        reporter.afterStory(false);
+        assertEquals(Duration.ZERO, storage.getAverageDuration());
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class StoryExecutionOrderTests
+{
+    private static final String FAST = "fast.story";
+    private static final String SLOW = "slow.story";
+    private static final String UNKNOWN = "unknown.story";
+
+    private final StoryDurationStorage storage = new StoryDurationStorage("story-durations.properties");
+
+    @Test
+    void shouldKeepAlphabeticalOrder()
+    {
+        storage.putDuration(SLOW, Duration.ofMinutes(1));
+        List<String> storyPaths = List.of(FAST, SLOW, UNKNOWN);
+        assertEquals(storyPaths, StoryExecutionOrder.ALPHABETICAL.order(storyPaths, storage));
+    }
+
+    @Test
+    void shouldOrderLongestFirstAndEstimateUnknownStoriesWithAverageDuration()
+    {
+        storage.putDuration(FAST, Duration.ofSeconds(10));
+        storage.putDuration(SLOW, Duration.ofSeconds(50));
+        assertEquals(List.of(SLOW, UNKNOWN, FAST),
+                StoryExecutionOrder.LONGEST_FIRST.order(List.of(FAST, SLOW, UNKNOWN), storage));
+    }
+}
@@ -22,6 +22,8 @@ import static org.mockito.Mockito.when;
 
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -90,4 +92,19 @@ class StringsExpressionProcessorTests
         when(locationProvider.getLocale()).thenReturn(Locale.US);
         assertEquals("AA", processor.execute("generate(regexify '[A]{2}')").get());
     }
+
+    @Test
+    void shouldExposeFunctionNamesAndDeterminismOfDelegates()
+    {
+        assertEquals(Set.of("trim", "toLowerCase", "toUpperCase", "capitalize", "uncapitalize", "generate",
+                "generateLocalized", "encodeUrl", "loadResource", "resourceToBase64", "decodeFromBase64",
+                "encodeToBase64"), processor.getDelegates().stream()
+                        .flatMap(delegate -> delegate.getFunctionNames().stream())
+                        .collect(Collectors.toSet()));
+        assertEquals(Set.of("trim", "toLowerCase", "toUpperCase", "capitalize", "uncapitalize", "encodeUrl",
+                "decodeFromBase64", "encodeToBase64"), processor.getDelegates().stream()
+                        .filter(IExpressionProcessor::isDeterministic)
+                        .flatMap(delegate -> delegate.getFunctionNames().stream())
+                        .collect(Collectors.toSet()));
+    }
 }
@@ -30,6 +30,7 @@ import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
@@ -192,6 +193,89 @@ class ExpressionAdapterTests
         assertEquals(expectedTable, actualTable);
     }
 
+    @Test
+    void testDeterministicExpressionResultIsCached()
+    {
+        String expression = "target(value)";
+        when(mockedTargetProcessor.getFunctionNames()).thenReturn(Set.of(EXPRESSION_KEYWORD));
+        when(mockedTargetProcessor.isDeterministic()).thenReturn(true);
+        when(mockedTargetProcessor.execute(expression)).thenReturn(Optional.of(EXPRESSION_RESULT));
+        expressionAdaptor.setProcessors(List.of(mockedTargetProcessor));
+        String input = String.format(EXPRESSION_FORMAT, expression);
+        assertEquals(EXPRESSION_RESULT, expressionAdaptor.process(input));
+        assertEquals(EXPRESSION_RESULT, expressionAdaptor.process(input));
+        assertEquals("|" + EXPRESSION_RESULT + "|", expressionAdaptor.process("|" + input + "|"));
+        verify(mockedTargetProcessor).execute(expression);
+    }
+
+    @Test
+    void testNonDeterministicExpressionResultIsNotCached()
+    {
+        String expression = "target(value)";
+        when(mockedTargetProcessor.execute(expression)).thenReturn(Optional.of(EXPRESSION_RESULT));
+        expressionAdaptor.setProcessors(List.of(mockedTargetProcessor));
+        String input = String.format(EXPRESSION_FORMAT, expression);
+        assertEquals(EXPRESSION_RESULT, expressionAdaptor.process(input));
+        assertEquals(EXPRESSION_RESULT, expressionAdaptor.process(input));
+        verify(mockedTargetProcessor, times(2)).execute(expression);
+    }
+
+    @Test
+    void testProcessorsAreSelectedByFunctionName()
+    {
+        String expression = "Another(value)";
+        when(mockedTargetProcessor.getFunctionNames()).thenReturn(Set.of(EXPRESSION_KEYWORD));
+        when(mockedAnotherProcessor.getFunctionNames()).thenReturn(Set.of("another"));
+        when(mockedAnotherProcessor.execute(expression)).thenReturn(Optional.of(EXPRESSION_RESULT));
+        expressionAdaptor.setProcessors(List.of(mockedTargetProcessor, mockedAnotherProcessor));
+        assertEquals(EXPRESSION_RESULT, expressionAdaptor.process(String.format(EXPRESSION_FORMAT, expression)));
+        verify(mockedTargetProcessor, never()).execute(anyString());
+    }
+
+    @Test
+    void testExpressionWithoutArgumentsIsProcessedOnlyByProcessorsWithoutFunctionNames()
+    {
+        when(mockedTargetProcessor.getFunctionNames()).thenReturn(Set.of(EXPRESSION_KEYWORD));
+        when(mockedAnotherProcessor.execute(UNSUPPORTED_EXPRESSION_KEYWORD)).thenReturn(Optional.empty());
+        expressionAdaptor.setProcessors(List.of(mockedTargetProcessor, mockedAnotherProcessor));
+        assertEquals(UNSUPPORTED_EXPRESSION, expressionAdaptor.process(UNSUPPORTED_EXPRESSION));
+        verify(mockedTargetProcessor, never()).execute(anyString());
+        verify(mockedAnotherProcessor, times(2)).execute(UNSUPPORTED_EXPRESSION_KEYWORD);
+    }
+
+    @Test
+    void testExpressionsOfFlatValueAreProcessedOnce()
+    {
+        when(mockedTargetProcessor.execute(EXPRESSION_KEYWORD)).thenReturn(Optional.of(EXPRESSION_RESULT));
+        expressionAdaptor.setProcessors(List.of(mockedTargetProcessor));
+        String input = "|#{target}|#{target}|";
+        String expected = "|" + EXPRESSION_RESULT + "|" + EXPRESSION_RESULT + "|";
+        assertEquals(expected, expressionAdaptor.process(input));
+        assertEquals(expected, expressionAdaptor.process(input));
+        verify(mockedTargetProcessor, times(4)).execute(EXPRESSION_KEYWORD);
+    }
+
+    @Test
+    void testExpressionFormedByResultIsProcessed()
+    {
+        when(mockedTargetProcessor.execute(EXPRESSION_KEYWORD)).thenReturn(Optional.of("#{another}"));
+        when(mockedTargetProcessor.execute("another")).thenReturn(Optional.of(EXPRESSION_RESULT));
+        expressionAdaptor.setProcessors(List.of(mockedTargetProcessor));
+        assertEquals("|" + EXPRESSION_RESULT + "|", expressionAdaptor.process("|#{target}|"));
+        verify(mockedTargetProcessor).execute(EXPRESSION_KEYWORD);
+    }
+
+    @Test
+    void testExpressionResolvedAfterUnresolvedOneIsEvaluatedOnce()
+    {
+        when(mockedTargetProcessor.execute(EXPRESSION_KEYWORD)).thenReturn(Optional.of(EXPRESSION_RESULT));
+        expressionAdaptor.setProcessors(List.of(mockedTargetProcessor));
+        String input = "|#{unsupported}|#{target}|#{target}|";
+        String expected = "|#{unsupported}|" + EXPRESSION_RESULT + "|" + EXPRESSION_RESULT + "|";
+        assertEquals(expected, expressionAdaptor.process(input));
+        verify(mockedTargetProcessor, times(2)).execute(EXPRESSION_KEYWORD);
+    }
+
     @Test
     void testExpressionProcessingError()
     {
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.variable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class VariablesTests
+{
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
+
+    @Test
+    void shouldResolveVariableFromHighestScopeAfterModifications()
+    {
+        Variables variables = new Variables();
+        variables.putVariables(VariableScope.GLOBAL, Map.of(KEY, VALUE));
+        assertEquals(VALUE, variables.getVariable(KEY));
+        String storyValue = "storyValue";
+        variables.putVariable(VariableScope.STORY, KEY, storyValue);
+        assertEquals(storyValue, variables.getVariable(KEY));
+        variables.clearVariables(VariableScope.STORY);
+        assertEquals(VALUE, variables.getVariable(KEY));
+        Map<VariableScope, Map<String, Object>> emptyVariables = Stream.of(VariableScope.values())
+                .collect(Collectors.toMap(Function.identity(), scope -> Map.of()));
+        variables.setVariablesPerScope(emptyVariables);
+        assertNull(variables.getVariable(KEY));
+    }
+
+    @Test
+    void shouldResolveVariablesModifiedViaScopedVariables()
+    {
+        Variables variables = new Variables();
+        variables.putVariable(VariableScope.GLOBAL, KEY, VALUE);
+        Map<String, Object> stepVariables = variables.getVariables(VariableScope.STEP);
+        assertEquals(VALUE, variables.getVariable(KEY));
+        String stepValue = "stepValue";
+        stepVariables.put(KEY, stepValue);
+        assertEquals(stepValue, variables.getVariable(KEY));
+        assertEquals(Map.of(KEY, stepValue), variables.getVariables(VariableScope.STEP));
+        Entry<String, Object> entry = stepVariables.entrySet().iterator().next();
+        String newStepValue = "newStepValue";
+        assertEquals(stepValue, entry.setValue(newStepValue));
+        assertEquals(newStepValue, entry.getValue());
+        assertEquals(newStepValue, variables.getVariable(KEY));
+        Iterator<Entry<String, Object>> iterator = stepVariables.entrySet().iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals(VALUE, variables.getVariable(KEY));
+        stepVariables.put(KEY, stepValue);
+        assertEquals(stepValue, variables.getVariable(KEY));
+        stepVariables.remove(KEY);
+        assertEquals(VALUE, variables.getVariable(KEY));
+        variables.getVariables(VariableScope.GLOBAL).clear();
+        assertNull(variables.getVariable(KEY));
+    }
+}
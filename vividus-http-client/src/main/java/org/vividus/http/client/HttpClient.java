@@ -17,6 +17,7 @@
 package org.vividus.http.client;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 
 import org.apache.commons.lang3.time.StopWatch;
@@ -35,10 +36,12 @@ import org.slf4j.LoggerFactory;
 public class HttpClient implements IHttpClient, AutoCloseable
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClient.class);
+    static final int DEFAULT_IN_MEMORY_RESPONSE_BODY_THRESHOLD = 10 * 1024 * 1024;
 
     private CloseableHttpClient closeableHttpClient;
     private HttpHost httpHost;
     private boolean skipResponseEntity;
+    private int inMemoryResponseBodyThreshold = DEFAULT_IN_MEMORY_RESPONSE_BODY_THRESHOLD;
 
     @Override
     public HttpHost getHttpHost()
@@ -93,7 +96,7 @@ public class HttpClient implements IHttpClient, AutoCloseable
             {
                 if (!skipResponseEntity)
                 {
-                    httpResponse.setResponseBody(EntityUtils.toByteArray(entity));
+                    readResponseBody(entity, httpResponse);
                 }
                 else
                 {
@@ -108,6 +111,17 @@ public class HttpClient implements IHttpClient, AutoCloseable
         return httpResponse;
     }
 
+    private void readResponseBody(HttpEntity entity, HttpResponse httpResponse) throws IOException
+    {
+        try (InputStream content = entity.getContent())
+        {
+            if (content != null)
+            {
+                httpResponse.setBody(HttpResponseBody.read(content, inMemoryResponseBodyThreshold));
+            }
+        }
+    }
+
     public void setCloseableHttpClient(CloseableHttpClient closeableHttpClient)
     {
         this.closeableHttpClient = closeableHttpClient;
@@ -123,6 +137,11 @@ public class HttpClient implements IHttpClient, AutoCloseable
         this.skipResponseEntity = skipResponseEntity;
     }
 
+    public void setInMemoryResponseBodyThreshold(int inMemoryResponseBodyThreshold)
+    {
+        this.inMemoryResponseBodyThreshold = inMemoryResponseBodyThreshold;
+    }
+
     @Override
     public void close() throws IOException
     {
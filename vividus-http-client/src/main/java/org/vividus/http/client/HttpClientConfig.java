@@ -51,6 +51,7 @@ public class HttpClientConfig
     private int socketTimeout;
     private CookieStore cookieStore;
     private boolean skipResponseEntity;
+    private int inMemoryResponseBodyThreshold = HttpClient.DEFAULT_IN_MEMORY_RESPONSE_BODY_THRESHOLD;
     private DnsResolver dnsResolver;
     private boolean circularRedirectsAllowed;
     private String cookieSpec;
@@ -247,6 +248,16 @@ public class HttpClientConfig
         this.skipResponseEntity = skipResponseEntity;
     }
 
+    public int getInMemoryResponseBodyThreshold()
+    {
+        return inMemoryResponseBodyThreshold;
+    }
+
+    public void setInMemoryResponseBodyThreshold(int inMemoryResponseBodyThreshold)
+    {
+        this.inMemoryResponseBodyThreshold = inMemoryResponseBodyThreshold;
+    }
+
     public DnsResolver getDnsResolver()
     {
         return dnsResolver;
@@ -83,6 +83,7 @@ public class HttpClientFactory implements IHttpClientFactory
             httpClient.setHttpHost(HttpHost.create(config.getBaseUrl()));
         }
         httpClient.setSkipResponseEntity(config.isSkipResponseEntity());
+        httpClient.setInMemoryResponseBodyThreshold(config.getInMemoryResponseBodyThreshold());
         return httpClient;
     }
 
@@ -16,6 +16,8 @@
 
 package org.vividus.http.client;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
@@ -30,7 +32,7 @@ public class HttpResponse
     private String method;
     private int statusCode;
     private long responseTimeInMs;
-    private byte[] responseBody;
+    private HttpResponseBody responseBody;
     private Header[] responseHeaders;
 
     public Optional<Header> getHeaderByName(String headerName)
@@ -75,17 +77,37 @@ public class HttpResponse
 
     public byte[] getResponseBody()
     {
-        return ArrayUtils.clone(responseBody);
+        return responseBody != null ? responseBody.getBytes() : null;
     }
 
     public void setResponseBody(byte[] responseBody)
     {
-        this.responseBody = ArrayUtils.clone(responseBody);
+        this.responseBody = responseBody != null ? HttpResponseBody.of(responseBody.clone()) : null;
+    }
+
+    void setBody(HttpResponseBody responseBody)
+    {
+        this.responseBody = responseBody;
     }
 
     public String getResponseBodyAsString()
     {
-        return responseBody != null ? new String(responseBody, StandardCharsets.UTF_8) : null;
+        return responseBody != null ? responseBody.asString(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Opens a stream to read the response body without loading it into memory at once
+     * @return stream of the response body or <code>null</code> if there is no response body
+     * @throws IOException If an I/O error occurs
+     */
+    public InputStream getResponseBodyAsStream() throws IOException
+    {
+        return responseBody != null ? responseBody.openStream() : null;
+    }
+
+    public long getResponseBodyLength()
+    {
+        return responseBody != null ? responseBody.getLength() : 0;
     }
 
     public Header[] getResponseHeaders()
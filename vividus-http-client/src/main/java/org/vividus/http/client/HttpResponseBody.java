@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Body of HTTP response kept in memory if it's small enough, otherwise spilled to a temporary file which is deleted
+ * as soon as the body is not reachable anymore.
+ */
+final class HttpResponseBody
+{
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte[] content;
+    private final Path file;
+    private final long length;
+
+    private HttpResponseBody(byte[] content, Path file, long length)
+    {
+        this.content = content;
+        this.file = file;
+        this.length = length;
+        if (file != null)
+        {
+            CLEANER.register(this, () -> deleteFile(file));
+        }
+    }
+
+    static HttpResponseBody of(byte[] content)
+    {
+        return new HttpResponseBody(content, null, content.length);
+    }
+
+    static HttpResponseBody read(InputStream inputStream, int inMemoryThreshold) throws IOException
+    {
+        ByteArrayOutputStream inMemoryContent = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1)
+        {
+            if (inMemoryContent.size() + read > inMemoryThreshold)
+            {
+                return spill(inMemoryContent, buffer, read, inputStream);
+            }
+            inMemoryContent.write(buffer, 0, read);
+        }
+        return of(inMemoryContent.toByteArray());
+    }
+
+    private static HttpResponseBody spill(ByteArrayOutputStream inMemoryContent, byte[] buffer, int read,
+            InputStream inputStream) throws IOException
+    {
+        Path file = Files.createTempFile("http-response-body", ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(file))
+        {
+            inMemoryContent.writeTo(outputStream);
+            outputStream.write(buffer, 0, read);
+            long length = inMemoryContent.size() + read + inputStream.transferTo(outputStream);
+            return new HttpResponseBody(null, file, length);
+        }
+        catch (IOException e)
+        {
+            deleteFile(file);
+            throw e;
+        }
+    }
+
+    long getLength()
+    {
+        return length;
+    }
+
+    boolean isInMemory()
+    {
+        return content != null;
+    }
+
+    InputStream openStream() throws IOException
+    {
+        return isInMemory() ? new ByteArrayInputStream(content) : Files.newInputStream(file);
+    }
+
+    byte[] getBytes()
+    {
+        if (isInMemory())
+        {
+            return content.clone();
+        }
+        try
+        {
+            return Files.readAllBytes(file);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String asString(Charset charset)
+    {
+        return isInMemory() ? new String(content, charset) : new String(getBytes(), charset);
+    }
+
+    private static void deleteFile(Path file)
+    {
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e)
+        {
+            // the file is in the temporary directory, so it's fine to leave it there
+        }
+    }
+}
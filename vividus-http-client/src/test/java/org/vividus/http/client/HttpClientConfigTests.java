@@ -296,6 +296,15 @@ class HttpClientConfigTests
         assertEquals(cookieStore, config.getCookieStore());
     }
 
+    @Test
+    void testGetAndSetInMemoryResponseBodyThreshold()
+    {
+        assertEquals(HttpClient.DEFAULT_IN_MEMORY_RESPONSE_BODY_THRESHOLD, config.getInMemoryResponseBodyThreshold());
+        int threshold = 1024;
+        config.setInMemoryResponseBodyThreshold(threshold);
+        assertEquals(threshold, config.getInMemoryResponseBodyThreshold());
+    }
+
     @Test
     void testSkipResponseEntity()
     {
@@ -218,6 +218,7 @@ public class HttpClientFactoryTests
         verify(mockedHttpClientBuilder).setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE);
         verify(mockedHttpClient).setHttpHost(HttpHost.create(baseUrl));
         verify(mockedHttpClient).setSkipResponseEntity(config.isSkipResponseEntity());
+        verify(mockedHttpClient).setInMemoryResponseBodyThreshold(config.getInMemoryResponseBodyThreshold());
         verify(mockedHttpClientBuilder).setSSLContext(mockedSSLContext);
         verify(mockedHttpClientBuilder).setDefaultCredentialsProvider(credentialsProvider);
         verify(mockedHttpClientBuilder).setDefaultCookieStore(cookieStore);
@@ -116,6 +116,24 @@ class HttpClientTests
         assertThat(httpResponse.getResponseTimeInMs(), greaterThan(0L));
     }
 
+    @Test
+    void testDoHttpGetWithResponseBodyExceedingInMemoryThreshold() throws Exception
+    {
+        httpClient.setInMemoryResponseBodyThreshold(1);
+        CloseableHttpResponse closeableHttpResponse = mock(CloseableHttpResponse.class);
+        HttpEntity httpEntity = mock(HttpEntity.class);
+        byte[] body = { 0, 1, 2 };
+        StatusLine statusLine = mock(StatusLine.class);
+        when(httpEntity.getContent()).thenReturn(new ByteArrayInputStream(body));
+        when(closeableHttpResponse.getEntity()).thenReturn(httpEntity);
+        when(closeableHttpResponse.getStatusLine()).thenReturn(statusLine);
+        HttpContext context = null;
+        when(closeableHttpClient.execute(isA(HttpGet.class), eq(context))).thenReturn(closeableHttpResponse);
+        HttpResponse httpResponse = httpClient.doHttpGet(URI_TO_GO);
+        assertEquals(body.length, httpResponse.getResponseBodyLength());
+        assertArrayEquals(body, httpResponse.getResponseBody());
+    }
+
     @Test
     void testDoHttpGetThrowingIOExceptionAtExecution() throws Exception
     {
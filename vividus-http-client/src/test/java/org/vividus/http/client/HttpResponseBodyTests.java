@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.http.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class HttpResponseBodyTests
+{
+    private static final String CONTENT = "response body content";
+    private static final byte[] BYTES = CONTENT.getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void shouldKeepBodyNotExceedingThresholdInMemory() throws IOException
+    {
+        HttpResponseBody body = HttpResponseBody.read(new ByteArrayInputStream(BYTES), BYTES.length);
+        assertTrue(body.isInMemory());
+        assertBody(body);
+    }
+
+    @Test
+    void shouldSpillBodyExceedingThresholdToFile() throws IOException
+    {
+        HttpResponseBody body = HttpResponseBody.read(new ByteArrayInputStream(BYTES), BYTES.length - 1);
+        assertFalse(body.isInMemory());
+        assertBody(body);
+    }
+
+    @Test
+    void shouldReturnCopyOfInMemoryBody()
+    {
+        HttpResponseBody body = HttpResponseBody.of(BYTES.clone());
+        body.getBytes()[0] = 0;
+        assertArrayEquals(BYTES, body.getBytes());
+    }
+
+    private static void assertBody(HttpResponseBody body) throws IOException
+    {
+        assertEquals(BYTES.length, body.getLength());
+        assertArrayEquals(BYTES, body.getBytes());
+        assertEquals(CONTENT, body.asString(StandardCharsets.UTF_8));
+        try (InputStream inputStream = body.openStream())
+        {
+            assertArrayEquals(BYTES, inputStream.readAllBytes());
+        }
+    }
+}
@@ -17,12 +17,15 @@
 package org.vividus.http.client;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
@@ -68,6 +71,26 @@ class HttpResponseTests
         assertNull(httpResponse.getResponseBody());
     }
 
+    @Test
+    void testGetResponseBodyAsStream() throws IOException
+    {
+        byte[] responseBody = { 0, 1, 2 };
+        httpResponse.setResponseBody(responseBody);
+        responseBody[0] = 1;
+        assertEquals(3, httpResponse.getResponseBodyLength());
+        try (InputStream inputStream = httpResponse.getResponseBodyAsStream())
+        {
+            assertArrayEquals(new byte[] { 0, 1, 2 }, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void testGetNullResponseBodyAsStream() throws IOException
+    {
+        assertNull(httpResponse.getResponseBodyAsStream());
+        assertEquals(0, httpResponse.getResponseBodyLength());
+    }
+
     @Test
     void testGetNullResponseHeaders()
     {
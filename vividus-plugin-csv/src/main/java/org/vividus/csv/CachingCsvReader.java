@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.csv;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.apache.commons.csv.CSVRecord;
+import org.vividus.util.ResourceChecksums;
+
+/**
+ * CSV reader caching the records read from the resources, the cache is shared by all stories. The records are
+ * identified by the resource URL, the checksum of the resource content and the header, so any change of the resource
+ * leads to its re-reading. The checksum is calculated anew only when the modification time or the size of the resource
+ * file is changed. The least recently used records are evicted as soon as the total number of the cached
+ * cells exceeds the limit.
+ */
+public class CachingCsvReader extends CsvReader
+{
+    private final ResourceChecksums checksums = new ResourceChecksums();
+    private final Cache<RecordsKey, List<CSVRecord>> records;
+
+    public CachingCsvReader(Character escape, long maxCachedCells)
+    {
+        super(escape);
+        records = CacheBuilder.newBuilder()
+                // single segment lets one entry take the whole limit instead of a quarter of it
+                .concurrencyLevel(1)
+                .maximumWeight(maxCachedCells)
+                .<RecordsKey, List<CSVRecord>>weigher((key, value) -> value.stream().mapToInt(CSVRecord::size).sum())
+                .build();
+    }
+
+    @Override
+    public List<CSVRecord> readCsvFile(URL resourceUrl, String... header) throws IOException
+    {
+        RecordsKey key = new RecordsKey(resourceUrl.toExternalForm(), checksums.getChecksum(resourceUrl),
+                List.of(header));
+        try
+        {
+            return records.get(key, () -> Collections.unmodifiableList(super.readCsvFile(resourceUrl, header)));
+        }
+        catch (ExecutionException e)
+        {
+            throw (IOException) e.getCause();
+        }
+    }
+
+    private static final class RecordsKey
+    {
+        private final String url;
+        private final String checksum;
+        private final List<String> header;
+
+        private RecordsKey(String url, String checksum, List<String> header)
+        {
+            this.url = url;
+            this.checksum = checksum;
+            this.header = header;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            RecordsKey other = (RecordsKey) o;
+            return url.equals(other.url) && checksum.equals(other.checksum) && header.equals(other.header);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(url, checksum, header);
+        }
+    }
+}
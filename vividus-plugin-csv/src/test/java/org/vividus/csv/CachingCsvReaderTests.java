@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CachingCsvReaderTests
+{
+    private static final String HEADER = "header";
+    private static final String INITIAL_VALUE = "initial";
+    private static final String CHANGED_VALUE = "changed";
+    private static final long MAX_CACHED_CELLS = 100;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReadResourceOnlyOnce() throws IOException
+    {
+        URL csvResource = createCsv(INITIAL_VALUE);
+        CachingCsvReader csvReader = new CachingCsvReader(null, MAX_CACHED_CELLS);
+        List<CSVRecord> records = csvReader.readCsvFile(csvResource, HEADER);
+        assertSame(records, csvReader.readCsvFile(csvResource, HEADER));
+        assertEquals(Map.of(HEADER, INITIAL_VALUE), records.get(0).toMap());
+    }
+
+    @Test
+    void shouldReadResourceAgainWithAnotherHeader() throws IOException
+    {
+        URL csvResource = createCsv(INITIAL_VALUE);
+        CachingCsvReader csvReader = new CachingCsvReader(null, MAX_CACHED_CELLS);
+        List<CSVRecord> records = csvReader.readCsvFile(csvResource);
+        List<CSVRecord> recordsWithHeader = csvReader.readCsvFile(csvResource, HEADER);
+        assertNotSame(records, recordsWithHeader);
+        assertEquals(1, recordsWithHeader.size());
+    }
+
+    @Test
+    void shouldReadResourceAgainWhenItIsChanged() throws IOException
+    {
+        URL csvResource = createCsv(INITIAL_VALUE);
+        CachingCsvReader csvReader = new CachingCsvReader(null, MAX_CACHED_CELLS);
+        List<CSVRecord> records = csvReader.readCsvFile(csvResource, HEADER);
+        FileTime lastModifiedTime = Files.getLastModifiedTime(csvFile());
+        createCsv(CHANGED_VALUE);
+        Files.setLastModifiedTime(csvFile(), FileTime.fromMillis(lastModifiedTime.toMillis() + 1_000));
+        List<CSVRecord> changedRecords = csvReader.readCsvFile(csvResource, HEADER);
+        assertNotSame(records, changedRecords);
+        assertEquals(Map.of(HEADER, CHANGED_VALUE), changedRecords.get(0).toMap());
+    }
+
+    @Test
+    void shouldNotCheckResourceContentWhenModificationTimeAndSizeAreNotChanged() throws IOException
+    {
+        URL csvResource = createCsv(INITIAL_VALUE);
+        CachingCsvReader csvReader = new CachingCsvReader(null, MAX_CACHED_CELLS);
+        List<CSVRecord> records = csvReader.readCsvFile(csvResource, HEADER);
+        FileTime lastModifiedTime = Files.getLastModifiedTime(csvFile());
+        createCsv(CHANGED_VALUE);
+        Files.setLastModifiedTime(csvFile(), lastModifiedTime);
+        assertSame(records, csvReader.readCsvFile(csvResource, HEADER));
+    }
+
+    @Test
+    void shouldCacheRecordsTakingMostOfCellsLimit() throws IOException
+    {
+        URL csvResource = createCsv("first,second\nthird,fourth");
+        CachingCsvReader csvReader = new CachingCsvReader(null, 5);
+        String[] header = { HEADER, "another header" };
+        assertSame(csvReader.readCsvFile(csvResource, header), csvReader.readCsvFile(csvResource, header));
+    }
+
+    @Test
+    void shouldEvictRecordsExceedingCellsLimit() throws IOException
+    {
+        URL csvResource = createCsv("first,second");
+        CachingCsvReader csvReader = new CachingCsvReader(null, 1);
+        String[] header = { HEADER, "another header" };
+        assertNotSame(csvReader.readCsvFile(csvResource, header), csvReader.readCsvFile(csvResource, header));
+    }
+
+    private URL createCsv(String content) throws IOException
+    {
+        Path csvFile = csvFile();
+        Files.write(csvFile, content.getBytes(StandardCharsets.UTF_8));
+        return csvFile.toUri().toURL();
+    }
+
+    private Path csvFile()
+    {
+        return tempDir.resolve("data.csv");
+    }
+}
@@ -20,6 +20,7 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -66,6 +67,18 @@ public class DiffDateExpressionProcessor implements IExpressionProcessor
         return Optional.empty();
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("diffDate");
+    }
+
+    @Override
+    public boolean isDeterministic()
+    {
+        return true;
+    }
+
     private ZonedDateTime getZonedDateTime(Matcher expressionMatcher, int inputDateGroup, int inputFormatGroup)
     {
         DateTimeFormatter inputFormat = DateTimeFormatter
@@ -32,9 +32,9 @@ public class EpochExpressionProcessors extends DelegatingExpressionProcessor
     {
         super(List.of(
             new UnaryExpressionProcessor("toEpochSecond",
-                arg -> String.valueOf(dateUtils.toEpochSecond(arg, DateTimeFormatter.ISO_DATE_TIME))),
+                arg -> String.valueOf(dateUtils.toEpochSecond(arg, DateTimeFormatter.ISO_DATE_TIME)), true),
             new UnaryExpressionProcessor("fromEpochSecond",
-                arg -> DateTimeFormatter.ISO_DATE_TIME.format(dateUtils.fromEpochSecond(parseLong(arg))))
+                arg -> DateTimeFormatter.ISO_DATE_TIME.format(dateUtils.fromEpochSecond(parseLong(arg))), true)
             ));
     }
 }
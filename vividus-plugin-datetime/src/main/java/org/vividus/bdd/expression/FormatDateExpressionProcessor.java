@@ -20,6 +20,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -60,6 +61,18 @@ public class FormatDateExpressionProcessor implements IExpressionProcessor
         return Optional.empty();
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("formatDate");
+    }
+
+    @Override
+    public boolean isDeterministic()
+    {
+        return true;
+    }
+
     private ZonedDateTime updateTimeZone(Matcher expressionMatcher, ZonedDateTime zonedDate)
     {
         String outputTimeZone = expressionMatcher.group(OUTPUT_TIMEZONE_GROUP);
@@ -19,6 +19,7 @@ package org.vividus.bdd.expression;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -58,6 +59,18 @@ public class FormatDateToExpressionProcessor implements IExpressionProcessor
         return Optional.empty();
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("formatDateTo");
+    }
+
+    @Override
+    public boolean isDeterministic()
+    {
+        return true;
+    }
+
     private Optional<String> formatDate(ZonedDateTime zonedDateTime, String outputFormat)
     {
         DateTimeFormatter outputFormatter = DateTimeFormatter.ofPattern(outputFormat);
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.vividus.bdd.steps.db.DatabaseSteps.QueriesStatistic;
+import org.vividus.bdd.util.RowsCollector;
+import org.vividus.util.comparison.ComparisonUtils;
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+/**
+ * Compares the rows stored as maps of the column values keyed by {@link HashCode}, which were used before, with the
+ * rows stored as arrays of the column values keyed by the primitive hashes. Both query results are read from the
+ * pre-generated column values, so only the building of the row stores and the comparison are measured. Run with
+ * <code>-prof gc</code> to compare the allocated heap: the <code>build*</code> benchmarks allocate mostly the row
+ * stores retained until the comparison is finished.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class RowsComparisonBenchmark
+{
+    private static final List<String> COLUMNS = List.of("ID", "NAME", "AMOUNT", "QUANTITY", "ACTIVE");
+    private static final int[] KEY_COLUMNS = { 0 };
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final int MISMATCH_INTERVAL = 100;
+
+    @State(Scope.Benchmark)
+    public static class QueryResults
+    {
+        @Param({ "100000", "1000000" })
+        private int rows;
+
+        private Object[][] sourceRows;
+        private Object[][] targetRows;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("checkstyle:MagicNumber")
+        public void setUp()
+        {
+            sourceRows = new Object[rows][];
+            targetRows = new Object[rows][];
+            for (int id = 0; id < rows; id++)
+            {
+                sourceRows[id] = new Object[] { (long) id, "name-" + id, BigDecimal.valueOf(id, 2), id % 1000,
+                    id % 2 == 0 };
+                targetRows[id] = sourceRows[id].clone();
+                if (id % MISMATCH_INTERVAL == 0)
+                {
+                    targetRows[id][1] = "changed-" + id;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<Object, Map<String, Object>> buildMapRows(QueryResults results)
+    {
+        return buildMapRows(results.sourceRows);
+    }
+
+    @Benchmark
+    public PartitionedRows buildCompactRows(QueryResults results)
+    {
+        return buildCompactRows(results.sourceRows, results.rows);
+    }
+
+    @Benchmark
+    public long compareMapRows(QueryResults results)
+    {
+        Map<Object, Map<String, Object>> sourceData = buildMapRows(results.sourceRows);
+        Map<Object, Map<String, Object>> targetData = buildMapRows(results.targetRows);
+        long mismatched = 0;
+        for (Map.Entry<Object, Map<String, Object>> sourceRow : sourceData.entrySet())
+        {
+            Map<String, Object> targetRow = targetData.remove(sourceRow.getKey());
+            List<EntryComparisonResult> result = ComparisonUtils.compareMaps(sourceRow.getValue(),
+                    targetRow != null ? targetRow : Map.of());
+            if (!result.stream().allMatch(EntryComparisonResult::isPassed))
+            {
+                mismatched++;
+            }
+        }
+        return mismatched + targetData.size();
+    }
+
+    @Benchmark
+    public long compareCompactRows(QueryResults results)
+    {
+        ComparisonResultCollector collector = new ComparisonResultCollector(MISMATCH_INTERVAL);
+        try (PartitionedRows sourceData = buildCompactRows(results.sourceRows, results.rows);
+                PartitionedRows targetData = buildCompactRows(results.targetRows, results.rows))
+        {
+            new HashPartitioningComparator(RowsCollector.NOOP, results.rows).compare(sourceData, targetData,
+                    collector);
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate();
+        QueriesStatistic statistic = new QueriesStatistic(jdbcTemplate, jdbcTemplate);
+        collector.complete(statistic);
+        return statistic.getMismatched();
+    }
+
+    private static Map<Object, Map<String, Object>> buildMapRows(Object[][] rows)
+    {
+        Map<Object, Map<String, Object>> data = new HashMap<>();
+        for (Object[] values : rows)
+        {
+            Map<String, Object> row = new LinkedCaseInsensitiveMap<>(values.length);
+            for (int column = 0; column < values.length; column++)
+            {
+                row.put(COLUMNS.get(column), values[column]);
+            }
+            data.put(hash(values), row);
+        }
+        return data;
+    }
+
+    private static PartitionedRows buildCompactRows(Object[][] rows, int inMemoryRowsLimit)
+    {
+        PartitionedRows data = new PartitionedRows(COLUMNS, inMemoryRowsLimit);
+        for (Object[] values : rows)
+        {
+            data.add(hash(values), values);
+        }
+        data.complete();
+        return data;
+    }
+
+    private static HashCode hash(Object[] values)
+    {
+        StringBuilder key = new StringBuilder();
+        for (int column : KEY_COLUMNS)
+        {
+            key.append(values[column]);
+        }
+        return HASH_FUNCTION.hashString(key.toString(), StandardCharsets.UTF_8);
+    }
+}
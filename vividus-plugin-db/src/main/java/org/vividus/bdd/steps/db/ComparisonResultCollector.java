@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.vividus.bdd.steps.db.DatabaseSteps.QueriesStatistic;
+import org.vividus.util.comparison.ComparisonUtils;
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+/**
+ * Accumulates the results of the rows comparison, only the first mismatched rows (up to the diff limit) are kept,
+ * the rest of the rows are only counted.
+ */
+final class ComparisonResultCollector
+{
+    private final int diffLimit;
+    private final List<List<EntryComparisonResult>> mismatchedRows = new ArrayList<>();
+    private long totalRows;
+    private long mismatched;
+    private long sourceNoPair;
+    private long targetNoPair;
+
+    ComparisonResultCollector(int diffLimit)
+    {
+        this.diffLimit = diffLimit;
+    }
+
+    /**
+     * Compares the rows matched by the keys, the matched target rows are removed from the target data
+     * @param sourceData Source rows by keys
+     * @param targetData Target rows by keys
+     */
+    void compare(Map<?, Map<String, Object>> sourceData, Map<?, Map<String, Object>> targetData)
+    {
+        List<Pair<Map<String, Object>, Map<String, Object>>> comparison = new ArrayList<>(sourceData.size());
+        sourceData.forEach((key, sourceRow) -> {
+            Map<String, Object> targetRow = targetData.remove(key);
+            comparison.add(Pair.of(sourceRow, targetRow != null ? targetRow : Map.of()));
+        });
+        targetData.values().forEach(targetRow -> comparison.add(Pair.of(Map.of(), targetRow)));
+        List<List<EntryComparisonResult>> results = comparison.stream()
+                .parallel()
+                .map(p -> ComparisonUtils.compareMaps(p.getLeft(), p.getRight()))
+                .collect(Collectors.toList());
+        for (int i = 0; i < results.size(); i++)
+        {
+            Pair<Map<String, Object>, Map<String, Object>> rows = comparison.get(i);
+            collect(rows.getLeft(), rows.getRight(), results.get(i));
+        }
+    }
+
+    /**
+     * Compares the rows matched by the keys
+     * @param sourceRow Source row, empty map if there is no source row for the key
+     * @param targetRow Target row, empty map if there is no target row for the key
+     */
+    void compareRows(Map<String, Object> sourceRow, Map<String, Object> targetRow)
+    {
+        collect(sourceRow, targetRow, ComparisonUtils.compareMaps(sourceRow, targetRow));
+    }
+
+    /**
+     * Compares the rows matched by the keys, the rows are compared without allocations unless they differ
+     * @param sourceColumns Names of the source columns
+     * @param sourceRow Source column values, <code>null</code> if there is no source row for the key
+     * @param targetColumns Names of the target columns
+     * @param targetRow Target column values, <code>null</code> if there is no target row for the key
+     */
+    void compareRows(List<String> sourceColumns, Object[] sourceRow, List<String> targetColumns, Object[] targetRow)
+    {
+        if (sourceRow != null && targetRow != null && (sourceColumns == targetColumns
+                || sourceColumns.equals(targetColumns)) && areEqual(sourceRow, targetRow))
+        {
+            totalRows++;
+            return;
+        }
+        compareRows(asMap(sourceColumns, sourceRow), asMap(targetColumns, targetRow));
+    }
+
+    List<List<EntryComparisonResult>> complete(QueriesStatistic queriesStatistic)
+    {
+        queriesStatistic.getSource().setNoPair(sourceNoPair);
+        queriesStatistic.getTarget().setNoPair(targetNoPair);
+        queriesStatistic.setMismatched(mismatched);
+        queriesStatistic.setTotalRows(totalRows);
+        return mismatchedRows;
+    }
+
+    private static Map<String, Object> asMap(List<String> columns, Object[] row)
+    {
+        if (row == null)
+        {
+            return Map.of();
+        }
+        Map<String, Object> map = new LinkedCaseInsensitiveMap<>(row.length);
+        for (int column = 0; column < row.length; column++)
+        {
+            map.put(columns.get(column), row[column]);
+        }
+        return map;
+    }
+
+    private static boolean areEqual(Object[] sourceRow, Object[] targetRow)
+    {
+        for (int column = 0; column < sourceRow.length; column++)
+        {
+            if (!areEqual(sourceRow[column], targetRow[column]))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the values are definitely equal without conversion of the numbers to {@link BigDecimal}, the
+     * values of the different types are reported as not equal to be compared by {@link ComparisonUtils}
+     */
+    private static boolean areEqual(Object sourceValue, Object targetValue)
+    {
+        if (sourceValue == null || targetValue == null)
+        {
+            return sourceValue == targetValue;
+        }
+        if (sourceValue.getClass() != targetValue.getClass())
+        {
+            return false;
+        }
+        if (sourceValue instanceof BigDecimal)
+        {
+            return ((BigDecimal) sourceValue).compareTo((BigDecimal) targetValue) == 0;
+        }
+        return sourceValue.equals(targetValue);
+    }
+
+    private void collect(Map<String, Object> sourceRow, Map<String, Object> targetRow,
+            List<EntryComparisonResult> result)
+    {
+        totalRows++;
+        if (targetRow.isEmpty())
+        {
+            sourceNoPair++;
+        }
+        else if (sourceRow.isEmpty())
+        {
+            targetNoPair++;
+        }
+        if (!result.stream().allMatch(EntryComparisonResult::isPassed))
+        {
+            mismatched++;
+            if (mismatchedRows.size() < diffLimit)
+            {
+                mismatchedRows.add(result);
+            }
+        }
+    }
+}
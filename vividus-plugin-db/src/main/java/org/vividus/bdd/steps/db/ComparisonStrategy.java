@@ -0,0 +1,30 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+public enum ComparisonStrategy
+{
+    /**
+     * Rows are matched by the hash of the key columns, the rows exceeding in-memory limit are spilled to the
+     * partition files on disk and compared partition by partition
+     */
+    HASH_PARTITIONING,
+    /**
+     * Rows are matched by merging both result set cursors, the queries must sort the rows by the key columns
+     */
+    SORT_MERGE
+}
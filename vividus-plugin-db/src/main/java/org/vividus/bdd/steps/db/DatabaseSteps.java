@@ -16,8 +16,11 @@
 
 package org.vividus.bdd.steps.db;
 
+import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -30,15 +33,18 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.function.BiFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
+import javax.sql.DataSource;
 
 import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.commons.lang3.tuple.Pair;
@@ -49,14 +55,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.AbstractDriverBasedDataSource;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.vividus.bdd.context.IBddVariableContext;
 import org.vividus.bdd.steps.StringComparisonRule;
 import org.vividus.bdd.util.RowsCollector;
 import org.vividus.bdd.variable.VariableScope;
 import org.vividus.reporter.event.IAttachmentPublisher;
 import org.vividus.softassert.ISoftAssert;
-import org.vividus.util.comparison.ComparisonUtils;
 import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
 import org.vividus.util.wait.WaitMode;
 import org.vividus.util.wait.Waiter;
@@ -68,10 +74,13 @@ public class DatabaseSteps
     @Inject private IBddVariableContext bddVariableContext;
     @Inject private IAttachmentPublisher attachmentPublisher;
     @Inject private ISoftAssert softAssert;
-    private Map<String, DriverManagerDataSource> dataSources;
+    private Map<String, DataSource> dataSources;
     private Duration dbQueryTimeout;
     private RowsCollector rowsCollector;
     private int diffLimit;
+    private ComparisonStrategy comparisonStrategy;
+    private int inMemoryRowsLimit;
+    private int fetchSize;
 
     private final Map<String, JdbcTemplate> jdbcTemplates = new ConcurrentHashMap<>();
 
@@ -126,7 +135,7 @@ public class DatabaseSteps
             + " `$variableName`", priority = 1)
     public void executeSql(String sqlQuery, String dbKey, Set<VariableScope> scopes, String variableName)
     {
-        List<Map<String, Object>> result = getJdbcTemplate(dbKey).queryForList(sqlQuery);
+        List<Map<String, Object>> result = queryForList(getJdbcTemplate(dbKey), sqlQuery);
         bddVariableContext.putVariable(scopes, variableName, result);
     }
 
@@ -150,7 +159,11 @@ public class DatabaseSteps
     {
         try
         {
-            LOGGER.info("Executed query: {}\nAffected rows:{}", sqlQuery, getJdbcTemplate(dbKey).update(sqlQuery));
+            JdbcTemplate jdbcTemplate = getJdbcTemplate(dbKey);
+            int affectedRows = isPreparedStatementPoolingEnabled(jdbcTemplate)
+                    ? jdbcTemplate.update(sqlQuery, ArrayUtils.EMPTY_OBJECT_ARRAY)
+                    : jdbcTemplate.update(sqlQuery);
+            LOGGER.info("Executed query: {}\nAffected rows:{}", sqlQuery, affectedRows);
         }
         catch (DataIntegrityViolationException e)
         {
@@ -176,6 +189,15 @@ public class DatabaseSteps
      * To workaround repeating rows you could use:
      * <b>db.rows-collector</b>
      * Possible values (NOOP - default, DISTINCT)
+     * To choose the way the rows are matched you could use:
+     * <b>db.comparison.strategy</b>
+     * Possible values (HASH_PARTITIONING - default, SORT_MERGE). HASH_PARTITIONING keeps up to
+     * <b>db.comparison.in-memory-rows-limit</b> rows of each query result in memory and spills the rest to disk.
+     * SORT_MERGE streams both query results and requires both queries to order the rows ascending by the key columns
+     * (all columns if no keys are specified) in the order the columns appear in the source query result, NULL values
+     * at the position the source database sorts them by default and strings in binary (case-sensitive) order
+     * To set the number of rows fetched from the database at once you could use:
+     * <b>db.fetch-size</b>
      * @see <a href="https://en.wikipedia.org/wiki/ISO_8601#Durations">Durations format</a>
      * @param sourceSqlQuery baseline SQL query
      * @param sourceDbKey key identifying source database connection
@@ -198,14 +220,37 @@ public class DatabaseSteps
         source.setQuery(sourceSqlQuery);
         QueryStatistic target = queriesStatistic.getTarget();
         target.setQuery(targetSqlQuery);
-        CompletableFuture<Map<Object, Map<String, Object>>> sourceData =
-                createCompletableRequest(sourceJdbcTemplate, sourceSqlQuery, keys, source);
-        CompletableFuture<Map<Object, Map<String, Object>>> targetData =
-                createCompletableRequest(targetJdbcTemplate, targetSqlQuery, keys, target);
+        ComparisonResultCollector collector = new ComparisonResultCollector(diffLimit);
 
-        List<List<EntryComparisonResult>> result = sourceData.thenCombine(targetData,
-                compareQueryResults(queriesStatistic)).get(dbQueryTimeout.toMillis(),
-                        TimeUnit.MILLISECONDS);
+        CompletableFuture<Void> comparison;
+        if (comparisonStrategy == ComparisonStrategy.SORT_MERGE)
+        {
+            comparison = CompletableFuture.runAsync(() -> new SortMergeComparator(rowsCollector)
+                    .compare(sourceJdbcTemplate, targetJdbcTemplate, keys, queriesStatistic, collector));
+        }
+        else
+        {
+            CompletableFuture<PartitionedRows> sourceData = createCompletableRequest(sourceJdbcTemplate,
+                    sourceSqlQuery, keys, source);
+            CompletableFuture<PartitionedRows> targetData = createCompletableRequest(targetJdbcTemplate,
+                    targetSqlQuery, keys, target);
+            comparison = sourceData.thenAcceptBoth(targetData, (sourceRows, targetRows) -> {
+                try (sourceRows; targetRows)
+                {
+                    new HashPartitioningComparator(rowsCollector, inMemoryRowsLimit).compare(sourceRows, targetRows,
+                            collector);
+                }
+            });
+            comparison.whenComplete((result, exception) -> {
+                if (exception != null)
+                {
+                    sourceData.thenAccept(PartitionedRows::close);
+                    targetData.thenAccept(PartitionedRows::close);
+                }
+            });
+        }
+        comparison.get(dbQueryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        List<List<EntryComparisonResult>> result = collector.complete(queriesStatistic);
 
         verifyComparisonResult(queriesStatistic, result);
     }
@@ -239,7 +284,7 @@ public class DatabaseSteps
         Waiter waiter = new Waiter(new WaitMode(duration, retryTimes));
         List<List<EntryComparisonResult>> comparisonResult = waiter.wait(
             () -> {
-                List<Map<String, Object>> data = jdbcTemplate.queryForList(sqlQuery);
+                List<Map<String, Object>> data = queryForList(jdbcTemplate, sqlQuery);
                 statistics.getSource().setRowsQuantity(data.size());
                 Map<Object, Map<String, Object>> targetData = hashMap(Set.of(),
                         data.stream().map(
@@ -265,6 +310,7 @@ public class DatabaseSteps
 
     private void verifyComparisonResult(QueriesStatistic statistics, List<List<EntryComparisonResult>> result)
     {
+        statistics.collectPoolStatistics();
         attachmentPublisher.publishAttachment("queries-statistics.ftl", Map.of("statistics", statistics),
                 "Queries statistics");
         if (!softAssert.assertTrue("Query results are equal", result.isEmpty()))
@@ -304,43 +350,12 @@ public class DatabaseSteps
         verifyComparisonResult(statistics, filterPassedChecks(result));
     }
 
-    private BiFunction<Map<Object, Map<String, Object>>, Map<Object, Map<String, Object>>,
-        List<List<EntryComparisonResult>>> compareQueryResults(QueriesStatistic queriesStatistic)
-    {
-        return (sourceQueryResult, targetQueryResult) -> compareData(queriesStatistic, sourceQueryResult,
-                targetQueryResult);
-    }
-
     private List<List<EntryComparisonResult>> compareData(QueriesStatistic queriesStatistic,
             Map<Object, Map<String, Object>> sourceData, Map<Object, Map<String, Object>> targetData)
     {
-        List<Pair<Map<String, Object>, Map<String, Object>>> comparison = new ArrayList<>();
-        sourceData.entrySet().stream()
-            .filter(e -> {
-                Map<String, Object> targetEntry = targetData.remove(e.getKey());
-                if (null != targetEntry)
-                {
-                    comparison.add(Pair.of(e.getValue(), targetEntry));
-                    return false;
-                }
-                return true;
-            })
-            .forEach(e -> comparison.add(Pair.of(e.getValue(), Map.of())));
-        queriesStatistic.getSource().setNoPair(comparison.stream()
-                .map(Pair::getValue)
-                .filter(Map::isEmpty)
-                .count());
-        queriesStatistic.getTarget().setNoPair(targetData.size());
-        targetData.values().forEach(value -> comparison.add(Pair.of(Map.of(), value)));
-        List<List<EntryComparisonResult>> comparisonResult = comparison.stream()
-                .parallel()
-                .map(p -> ComparisonUtils.compareMaps(p.getLeft(), p.getRight()))
-                .collect(Collectors.toList());
-        long totalRows = comparisonResult.size();
-        List<List<EntryComparisonResult>> mismatchedRows = filterPassedChecks(comparisonResult);
-        queriesStatistic.setMismatched(mismatchedRows.size());
-        queriesStatistic.setTotalRows(totalRows);
-        return mismatchedRows.size() > diffLimit ? mismatchedRows.subList(0, diffLimit) : mismatchedRows;
+        ComparisonResultCollector collector = new ComparisonResultCollector(diffLimit);
+        collector.compare(sourceData, targetData);
+        return collector.complete(queriesStatistic);
     }
 
     private List<List<EntryComparisonResult>> filterPassedChecks(List<List<EntryComparisonResult>> comparisonResult)
@@ -350,17 +365,59 @@ public class DatabaseSteps
                         .collect(Collectors.toList());
     }
 
-    private CompletableFuture<Map<Object, Map<String, Object>>> createCompletableRequest(JdbcTemplate jdbcTemplate,
+    private CompletableFuture<PartitionedRows> createCompletableRequest(JdbcTemplate jdbcTemplate,
             String sqlRequest, Set<String> keys, QueryStatistic statistics)
     {
         return CompletableFuture.supplyAsync(() -> {
             statistics.start();
-            List<Map<String, Object>> result = jdbcTemplate.queryForList(sqlRequest);
+            PartitionedRows rows = jdbcTemplate.query(sqlRequest, (ResultSet rs) -> readRows(rs, keys));
             statistics.end();
-            statistics.setRowsQuantity(result.size());
-            return result;
-        })
-                .thenApplyAsync(r -> hashMap(keys, r));
+            statistics.setRowsQuantity(rows.size());
+            return rows;
+        });
+    }
+
+    private PartitionedRows readRows(ResultSet resultSet, Set<String> keys) throws SQLException
+    {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        List<String> columns = new ArrayList<>(metaData.getColumnCount());
+        for (int column = 1; column <= metaData.getColumnCount(); column++)
+        {
+            columns.add(JdbcUtils.lookupColumnName(metaData, column));
+        }
+        int[] keyColumns = keys.isEmpty() ? IntStream.range(0, columns.size()).toArray() : keys.stream()
+                .mapToInt(key -> IntStream.range(0, columns.size())
+                        .filter(column -> key.equalsIgnoreCase(columns.get(column)))
+                        .findFirst()
+                        .orElse(-1))
+                .toArray();
+        PartitionedRows rows = new PartitionedRows(columns, inMemoryRowsLimit);
+        try
+        {
+            while (resultSet.next())
+            {
+                Object[] row = new Object[columns.size()];
+                for (int column = 0; column < row.length; column++)
+                {
+                    row[column] = normalize(JdbcUtils.getResultSetValue(resultSet, column + 1));
+                }
+                rows.add(hash(keyColumns, row), row);
+            }
+            rows.complete();
+            return rows;
+        }
+        catch (SQLException | RuntimeException e)
+        {
+            rows.close();
+            throw e;
+        }
+    }
+
+    // rows may be spilled to disk, so the values are made serializable once they are read to be compared the same way
+    // regardless of the number of rows
+    private static Object normalize(Object value)
+    {
+        return value == null || value instanceof Serializable ? value : value.toString();
     }
 
     @SuppressWarnings("unchecked")
@@ -385,16 +442,65 @@ public class DatabaseSteps
                            .collect(Collectors.joining()), StandardCharsets.UTF_8);
     }
 
+    private List<Map<String, Object>> queryForList(JdbcTemplate jdbcTemplate, String sqlQuery)
+    {
+        return isPreparedStatementPoolingEnabled(jdbcTemplate)
+                ? jdbcTemplate.queryForList(sqlQuery, ArrayUtils.EMPTY_OBJECT_ARRAY)
+                : jdbcTemplate.queryForList(sqlQuery);
+    }
+
+    // pooled statements are reused only if the query is executed as prepared statement, while plain statements are
+    // kept for the rest of data sources, since some drivers treat '?' operators as parameter placeholders
+    private static boolean isPreparedStatementPoolingEnabled(JdbcTemplate jdbcTemplate)
+    {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        return dataSource instanceof PooledDataSource && ((PooledDataSource) dataSource).isPoolPreparedStatements();
+    }
+
+    private HashCode hash(int[] keyColumns, Object[] row)
+    {
+        StringBuilder key = new StringBuilder();
+        for (int column : keyColumns)
+        {
+            if (column >= 0 && row[column] != null)
+            {
+                key.append(row[column]);
+            }
+        }
+        return hashFunction.hashString(key.toString(), StandardCharsets.UTF_8);
+    }
+
     private JdbcTemplate getJdbcTemplate(String dbKey)
     {
-        return jdbcTemplates.computeIfAbsent(dbKey, key -> new JdbcTemplate(dataSources.get(key)));
+        return jdbcTemplates.computeIfAbsent(dbKey, key -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSources.get(key));
+            jdbcTemplate.setFetchSize(fetchSize);
+            return jdbcTemplate;
+        });
     }
 
-    public void setDataSources(Map<String, DriverManagerDataSource> dataSources)
+    public void setDataSources(Map<String, DataSource> dataSources)
     {
         this.dataSources = dataSources;
     }
 
+    public void destroy()
+    {
+        dataSources.values().forEach(dataSource -> {
+            if (dataSource instanceof BasicDataSource)
+            {
+                try
+                {
+                    ((BasicDataSource) dataSource).close();
+                }
+                catch (SQLException e)
+                {
+                    LOGGER.warn("Unable to close data source", e);
+                }
+            }
+        });
+    }
+
     public void setDbQueryTimeout(Duration dbQueryTimeout)
     {
         this.dbQueryTimeout = dbQueryTimeout;
@@ -415,6 +521,21 @@ public class DatabaseSteps
         this.diffLimit = diffLimit;
     }
 
+    public void setComparisonStrategy(ComparisonStrategy comparisonStrategy)
+    {
+        this.comparisonStrategy = comparisonStrategy;
+    }
+
+    public void setInMemoryRowsLimit(int inMemoryRowsLimit)
+    {
+        this.inMemoryRowsLimit = inMemoryRowsLimit;
+    }
+
+    public void setFetchSize(int fetchSize)
+    {
+        this.fetchSize = fetchSize;
+    }
+
     public static final class QueriesStatistic
     {
         private long totalRows;
@@ -422,12 +543,16 @@ public class DatabaseSteps
         private final QueryStatistic source;
         private final QueryStatistic target;
 
-        private QueriesStatistic(JdbcTemplate sourceJdbcTemplate, JdbcTemplate targetJdbcTemplate)
+        QueriesStatistic(JdbcTemplate sourceJdbcTemplate, JdbcTemplate targetJdbcTemplate)
         {
-            String sourceUrl = ((DriverManagerDataSource) sourceJdbcTemplate.getDataSource()).getUrl();
-            String targetUrl = ((DriverManagerDataSource) targetJdbcTemplate.getDataSource()).getUrl();
-            source = new QueryStatistic(sourceUrl);
-            target = new QueryStatistic(targetUrl);
+            source = new QueryStatistic(sourceJdbcTemplate.getDataSource());
+            target = new QueryStatistic(targetJdbcTemplate.getDataSource());
+        }
+
+        private void collectPoolStatistics()
+        {
+            source.collectPoolStatistic();
+            target.collectPoolStatistic();
         }
 
         public long getMismatched()
@@ -469,14 +594,36 @@ public class DatabaseSteps
     public static final class QueryStatistic
     {
         private final StopWatch stopwatch = new StopWatch();
+        private final DataSource dataSource;
         private final String url;
         private long rowsQuantity;
         private String query;
         private long noPair;
+        private PoolStatistic poolStatistic;
 
-        private QueryStatistic(String url)
+        private QueryStatistic(DataSource dataSource)
         {
-            this.url = url;
+            this.dataSource = dataSource;
+            if (dataSource instanceof AbstractDriverBasedDataSource)
+            {
+                url = ((AbstractDriverBasedDataSource) dataSource).getUrl();
+            }
+            else if (dataSource instanceof BasicDataSource)
+            {
+                url = ((BasicDataSource) dataSource).getUrl();
+            }
+            else
+            {
+                url = null;
+            }
+        }
+
+        private void collectPoolStatistic()
+        {
+            if (dataSource instanceof PooledDataSource)
+            {
+                poolStatistic = new PoolStatistic((PooledDataSource) dataSource);
+            }
         }
 
         public void start()
@@ -528,5 +675,53 @@ public class DatabaseSteps
         {
             return url;
         }
+
+        public PoolStatistic getPoolStatistic()
+        {
+            return poolStatistic;
+        }
+    }
+
+    public static final class PoolStatistic
+    {
+        private final int active;
+        private final int idle;
+        private final int maxTotal;
+        private final long meanWaitTime;
+        private final long maxWaitTime;
+
+        private PoolStatistic(PooledDataSource dataSource)
+        {
+            active = dataSource.getNumActive();
+            idle = dataSource.getNumIdle();
+            maxTotal = dataSource.getMaxTotal();
+            meanWaitTime = dataSource.getMeanBorrowWaitTimeMillis();
+            maxWaitTime = dataSource.getMaxBorrowWaitTimeMillis();
+        }
+
+        public int getActive()
+        {
+            return active;
+        }
+
+        public int getIdle()
+        {
+            return idle;
+        }
+
+        public int getMaxTotal()
+        {
+            return maxTotal;
+        }
+
+        public long getMeanWaitTime()
+        {
+            return meanWaitTime;
+        }
+
+        public long getMaxWaitTime()
+        {
+            return maxWaitTime;
+        }
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import java.util.List;
+
+import org.vividus.bdd.util.RowsCollector;
+
+/**
+ * Compares the rows partition by partition, so only the rows of the single partition are kept in memory at once.
+ * The partitions which are too large to be compared in memory are split by the next bits of the key hash.
+ */
+final class HashPartitioningComparator
+{
+    private final RowsCollector rowsCollector;
+    private final int inMemoryRowsLimit;
+
+    HashPartitioningComparator(RowsCollector rowsCollector, int inMemoryRowsLimit)
+    {
+        this.rowsCollector = rowsCollector;
+        this.inMemoryRowsLimit = inMemoryRowsLimit;
+    }
+
+    void compare(PartitionedRows source, PartitionedRows target, ComparisonResultCollector collector)
+    {
+        List<String> sourceColumns = source.getColumns();
+        // the same list is used for both sides to compare the column names only once
+        List<String> targetColumns = sourceColumns.equals(target.getColumns()) ? sourceColumns : target.getColumns();
+        compare(source, target, sourceColumns, targetColumns, collector);
+    }
+
+    private void compare(PartitionedRows source, PartitionedRows target, List<String> sourceColumns,
+            List<String> targetColumns, ComparisonResultCollector collector)
+    {
+        if (!source.isSpilled() && !target.isSpilled())
+        {
+            compare(source, target, PartitionedRows.ALL_PARTITIONS, sourceColumns, targetColumns, collector);
+            return;
+        }
+        for (int partition = 0; partition < PartitionedRows.PARTITIONS; partition++)
+        {
+            long partitionSize = Math.max(source.getPartitionSize(partition), target.getPartitionSize(partition));
+            if (partitionSize > inMemoryRowsLimit && source.canRepartition() && target.canRepartition())
+            {
+                try (PartitionedRows sourcePartition = source.repartition(partition);
+                        PartitionedRows targetPartition = target.repartition(partition))
+                {
+                    compare(sourcePartition, targetPartition, sourceColumns, targetColumns, collector);
+                }
+            }
+            else if (partitionSize > 0)
+            {
+                compare(source, target, partition, sourceColumns, targetColumns, collector);
+            }
+        }
+    }
+
+    private void compare(PartitionedRows source, PartitionedRows target, int partition, List<String> sourceColumns,
+            List<String> targetColumns, ComparisonResultCollector collector)
+    {
+        LongRowMap sourceRows = readPartition(source, partition);
+        LongRowMap targetRows = readPartition(target, partition);
+        sourceRows.forEach((key, sourceRow) -> collector.compareRows(sourceColumns, sourceRow, targetColumns,
+                targetRows.match(key)));
+        targetRows.forEachUnmatched((key, targetRow) -> collector.compareRows(sourceColumns, null, targetColumns,
+                targetRow));
+    }
+
+    private LongRowMap readPartition(PartitionedRows rows, int partition)
+    {
+        LongRowMap partitionRows = new LongRowMap(
+                partition == PartitionedRows.ALL_PARTITIONS ? rows.size() : rows.getPartitionSize(partition));
+        rows.forEach(partition, (key, row) -> partitionRows.put(key, row,
+            (first, second) -> rowsCollector.resolveDuplicate(key, first, second)));
+        return partitionRows;
+    }
+}
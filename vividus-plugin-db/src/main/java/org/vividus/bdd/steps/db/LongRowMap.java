@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import java.util.function.BinaryOperator;
+
+import org.vividus.bdd.steps.db.PartitionedRows.RowConsumer;
+
+/**
+ * Open addressing map of the rows by the 64-bit key hashes, the keys are kept in the primitive array, so neither the
+ * keys nor the map entries are boxed. Every row can be marked as matched to iterate over the rows having no pair.
+ */
+final class LongRowMap
+{
+    private static final int MIN_CAPACITY = 16;
+    private static final int MIX_SHIFT = 33;
+    private static final long MIX_MULTIPLIER = 0xff51afd7ed558ccdL;
+
+    private long[] keys;
+    private Object[][] rows;
+    private boolean[] matched;
+    private int mask;
+    private int size;
+
+    LongRowMap(long expectedSize)
+    {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Puts the row by the key, the rows with the same key are resolved by the resolver
+     * @param key Key hash
+     * @param row Column values
+     * @param resolver Resolves the row to keep when the key is already present
+     */
+    void put(long key, Object[] row, BinaryOperator<Object[]> resolver)
+    {
+        int slot = find(key);
+        if (rows[slot] != null)
+        {
+            rows[slot] = resolver.apply(rows[slot], row);
+            return;
+        }
+        keys[slot] = key;
+        rows[slot] = row;
+        size++;
+        if (size * 2 > rows.length)
+        {
+            resize();
+        }
+    }
+
+    /**
+     * Finds the row by the key and marks it as matched
+     * @param key Key hash
+     * @return Column values or <code>null</code> if there is no row with the key
+     */
+    Object[] match(long key)
+    {
+        int slot = find(key);
+        Object[] row = rows[slot];
+        if (row != null)
+        {
+            matched[slot] = true;
+        }
+        return row;
+    }
+
+    void forEach(RowConsumer consumer)
+    {
+        for (int slot = 0; slot < rows.length; slot++)
+        {
+            if (rows[slot] != null)
+            {
+                consumer.accept(keys[slot], rows[slot]);
+            }
+        }
+    }
+
+    void forEachUnmatched(RowConsumer consumer)
+    {
+        for (int slot = 0; slot < rows.length; slot++)
+        {
+            if (rows[slot] != null && !matched[slot])
+            {
+                consumer.accept(keys[slot], rows[slot]);
+            }
+        }
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    private int find(long key)
+    {
+        int slot = mix(key) & mask;
+        while (rows[slot] != null && keys[slot] != key)
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize()
+    {
+        long[] oldKeys = keys;
+        Object[][] oldRows = rows;
+        boolean[] oldMatched = matched;
+        allocate(oldRows.length * 2);
+        for (int oldSlot = 0; oldSlot < oldRows.length; oldSlot++)
+        {
+            if (oldRows[oldSlot] != null)
+            {
+                int slot = find(oldKeys[oldSlot]);
+                keys[slot] = oldKeys[oldSlot];
+                rows[slot] = oldRows[oldSlot];
+                matched[slot] = oldMatched[oldSlot];
+            }
+        }
+    }
+
+    private void allocate(int capacity)
+    {
+        keys = new long[capacity];
+        rows = new Object[capacity][];
+        matched = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(long expectedSize)
+    {
+        long capacity = Math.max(MIN_CAPACITY, expectedSize * 2);
+        return (int) Math.min(Long.highestOneBit(capacity - 1) << 1, 1 << (Integer.SIZE - 2));
+    }
+
+    // the low bits of the keys in the same partition are equal, so all the bits are mixed
+    private static int mix(long key)
+    {
+        long hash = (key ^ (key >>> MIX_SHIFT)) * MIX_MULTIPLIER;
+        return (int) (hash ^ (hash >>> MIX_SHIFT));
+    }
+}
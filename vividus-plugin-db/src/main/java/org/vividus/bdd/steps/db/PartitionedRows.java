@@ -0,0 +1,317 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.hash.HashCode;
+
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Rows of the query result distributed over partitions by the hash of the key columns. Every row is kept as the
+ * array of the column values sharing the list of the column names with the rest of the rows, and the key hash is
+ * kept as the primitive 64-bit value. Rows are kept in memory until their number exceeds the limit, after that all
+ * rows are spilled to the partition files in the temporary directory, so the heap usage doesn't depend on the number
+ * of rows. Every partition can be split further by the next bits of the hash, if it is still too large to be
+ * compared in memory.
+ */
+final class PartitionedRows implements Closeable
+{
+    static final int ALL_PARTITIONS = -1;
+    static final int PARTITIONS = 64;
+
+    private static final int PARTITION_BITS = Integer.numberOfTrailingZeros(PARTITIONS);
+    private static final int RESET_INTERVAL = 1000;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final List<String> columns;
+    private final int inMemoryRowsLimit;
+    private final int level;
+    private final long[] partitionSizes = new long[PARTITIONS];
+    private final int[] rowsSinceReset = new int[PARTITIONS];
+    private long[] inMemoryKeys;
+    private Object[][] inMemoryRows;
+    private int inMemorySize;
+    private Path directory;
+    private ObjectOutputStream[] outputs;
+    private long size;
+    private int hashBits = Long.SIZE;
+
+    PartitionedRows(List<String> columns, int inMemoryRowsLimit)
+    {
+        this(columns, inMemoryRowsLimit, 0);
+    }
+
+    private PartitionedRows(List<String> columns, int inMemoryRowsLimit, int level)
+    {
+        this.columns = columns;
+        this.inMemoryRowsLimit = inMemoryRowsLimit;
+        this.level = level;
+        int initialCapacity = Math.min(inMemoryRowsLimit, INITIAL_CAPACITY);
+        inMemoryKeys = new long[initialCapacity];
+        inMemoryRows = new Object[initialCapacity][];
+    }
+
+    void add(HashCode hash, Object[] row)
+    {
+        hashBits = Math.min(hashBits, hash.bits());
+        add(hash.padToLong(), row);
+    }
+
+    private void add(long key, Object[] row)
+    {
+        partitionSizes[partitionOf(key)]++;
+        size++;
+        if (directory == null)
+        {
+            if (inMemorySize < inMemoryRowsLimit)
+            {
+                if (inMemorySize == inMemoryRows.length)
+                {
+                    int capacity = (int) Math.min((long) inMemorySize * 2, inMemoryRowsLimit);
+                    inMemoryKeys = Arrays.copyOf(inMemoryKeys, capacity);
+                    inMemoryRows = Arrays.copyOf(inMemoryRows, capacity);
+                }
+                inMemoryKeys[inMemorySize] = key;
+                inMemoryRows[inMemorySize] = row;
+                inMemorySize++;
+                return;
+            }
+            spill();
+        }
+        write(key, row);
+    }
+
+    /**
+     * Finishes addition of the rows, must be invoked before the rows are read
+     */
+    void complete()
+    {
+        if (outputs != null)
+        {
+            try
+            {
+                for (ObjectOutputStream output : outputs)
+                {
+                    if (output != null)
+                    {
+                        output.close();
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+            outputs = null;
+        }
+    }
+
+    void forEach(int partition, RowConsumer consumer)
+    {
+        if (directory == null)
+        {
+            for (int i = 0; i < inMemorySize; i++)
+            {
+                long key = inMemoryKeys[i];
+                if (partition == ALL_PARTITIONS || partitionOf(key) == partition)
+                {
+                    consumer.accept(key, inMemoryRows[i]);
+                }
+            }
+            return;
+        }
+        Path partitionFile = directory.resolve(Integer.toString(partition));
+        if (partitionSizes[partition] == 0 || !Files.exists(partitionFile))
+        {
+            return;
+        }
+        try (ObjectInputStream input = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(partitionFile))))
+        {
+            while (true)
+            {
+                long key = input.readLong();
+                Object[] row = new Object[columns.size()];
+                for (int column = 0; column < row.length; column++)
+                {
+                    row[column] = input.readObject();
+                }
+                consumer.accept(key, row);
+            }
+        }
+        catch (EOFException e)
+        {
+            // all rows of the partition are read
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Splits the partition into the sub-partitions by the next bits of the hash
+     * @param partition Partition to split
+     * @return Rows of the partition
+     */
+    PartitionedRows repartition(int partition)
+    {
+        PartitionedRows rows = new PartitionedRows(columns, inMemoryRowsLimit, level + 1);
+        rows.hashBits = hashBits;
+        try
+        {
+            forEach(partition, rows::add);
+            rows.complete();
+            return rows;
+        }
+        catch (RuntimeException e)
+        {
+            rows.close();
+            throw e;
+        }
+    }
+
+    boolean canRepartition()
+    {
+        return (level + 2) * PARTITION_BITS <= hashBits;
+    }
+
+    boolean isSpilled()
+    {
+        return directory != null;
+    }
+
+    List<String> getColumns()
+    {
+        return columns;
+    }
+
+    long getPartitionSize(int partition)
+    {
+        return partitionSizes[partition];
+    }
+
+    long size()
+    {
+        return size;
+    }
+
+    @Override
+    public void close()
+    {
+        inMemoryKeys = null;
+        inMemoryRows = null;
+        inMemorySize = 0;
+        if (directory != null)
+        {
+            try
+            {
+                complete();
+            }
+            catch (UncheckedIOException e)
+            {
+                // the files are deleted anyway
+            }
+            try
+            {
+                FileSystemUtils.deleteRecursively(directory);
+            }
+            catch (IOException e)
+            {
+                directory.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    private int partitionOf(long key)
+    {
+        return (int) (key >>> (level * PARTITION_BITS)) & (PARTITIONS - 1);
+    }
+
+    private void spill()
+    {
+        try
+        {
+            directory = Files.createTempDirectory("vividus-db-comparison-");
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        outputs = new ObjectOutputStream[PARTITIONS];
+        for (int i = 0; i < inMemorySize; i++)
+        {
+            write(inMemoryKeys[i], inMemoryRows[i]);
+        }
+        inMemoryKeys = null;
+        inMemoryRows = null;
+        inMemorySize = 0;
+    }
+
+    private void write(long key, Object[] row)
+    {
+        int partition = partitionOf(key);
+        try
+        {
+            ObjectOutputStream output = outputs[partition];
+            if (output == null)
+            {
+                output = new ObjectOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(directory.resolve(Integer.toString(partition)))));
+                outputs[partition] = output;
+            }
+            output.writeLong(key);
+            for (Object value : row)
+            {
+                output.writeObject(value);
+            }
+            // the stream keeps references to all written objects until it's reset
+            if (++rowsSinceReset[partition] == RESET_INTERVAL)
+            {
+                output.reset();
+                rowsSinceReset[partition] = 0;
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    interface RowConsumer
+    {
+        void accept(long key, Object[] row);
+    }
+}
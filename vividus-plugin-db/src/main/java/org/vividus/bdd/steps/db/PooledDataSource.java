@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.PoolableConnection;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Data source keeping the physical connections open between the queries, it's enabled by the property
+ * <code>db.data-source-class=org.vividus.bdd.steps.db.PooledDataSource</code>. Besides the connection properties
+ * (<code>url</code>, <code>username</code>, <code>password</code>, <code>driver-class-name</code>) the pool is
+ * configured per database key, e.g.:
+ * <ul>
+ * <li><code>db.connection.&lt;dbKey&gt;.max-total</code> - the maximum number of open connections</li>
+ * <li><code>db.connection.&lt;dbKey&gt;.max-idle</code> - the maximum number of idle connections</li>
+ * <li><code>db.connection.&lt;dbKey&gt;.max-wait-millis</code> - the maximum time to wait for a free connection</li>
+ * <li><code>db.connection.&lt;dbKey&gt;.pool-prepared-statements</code> - whether prepared statements are cached per
+ * connection</li>
+ * <li><code>db.connection.&lt;dbKey&gt;.max-open-prepared-statements</code> - the maximum number of cached prepared
+ * statements per connection</li>
+ * </ul>
+ */
+public class PooledDataSource extends BasicDataSource
+{
+    /**
+     * Opens the new physical connection bypassing the pool, since the pooled connections are opened with the
+     * configured credentials only
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException
+    {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(getUrl(), username, password);
+        if (getDriverClassName() != null)
+        {
+            dataSource.setDriverClassName(getDriverClassName());
+        }
+        return dataSource.getConnection();
+    }
+
+    public long getMeanBorrowWaitTimeMillis()
+    {
+        GenericObjectPool<PoolableConnection> connectionPool = getConnectionPool();
+        return connectionPool != null ? connectionPool.getMeanBorrowWaitTimeMillis() : 0;
+    }
+
+    public long getMaxBorrowWaitTimeMillis()
+    {
+        GenericObjectPool<PoolableConnection> connectionPool = getConnectionPool();
+        return connectionPool != null ? connectionPool.getMaxBorrowWaitTimeMillis() : 0;
+    }
+}
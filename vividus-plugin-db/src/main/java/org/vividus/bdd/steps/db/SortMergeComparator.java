@@ -0,0 +1,281 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.vividus.bdd.steps.db.DatabaseSteps.QueriesStatistic;
+import org.vividus.bdd.steps.db.DatabaseSteps.QueryStatistic;
+import org.vividus.bdd.util.RowsCollector;
+
+/**
+ * Compares the query results by merging two result set cursors, so only the current rows are kept in memory. Both
+ * queries must order the rows ascending by the key columns (all columns if no keys are specified) in the order the
+ * columns appear in the source query result. NULL values are expected at the position the source database sorts them
+ * by default, numbers are ordered by value and strings in binary (case-sensitive) order. If any of the query results
+ * is ordered in the other way (e.g. the database uses case-insensitive collation or sorts NULL values differently),
+ * the comparison fails with the description of the ordering mismatch rather than reports false differences.
+ */
+final class SortMergeComparator
+{
+    private static final RowMapper<Map<String, Object>> ROW_MAPPER = new ColumnMapRowMapper();
+
+    private final RowsCollector rowsCollector;
+    private final Comparator<List<Object>> keyComparator = this::compareKeys;
+    private boolean nullsFirst;
+
+    SortMergeComparator(RowsCollector rowsCollector)
+    {
+        this.rowsCollector = rowsCollector;
+    }
+
+    void compare(JdbcTemplate sourceJdbcTemplate, JdbcTemplate targetJdbcTemplate, Set<String> keys,
+            QueriesStatistic queriesStatistic, ComparisonResultCollector collector)
+    {
+        QueryStatistic source = queriesStatistic.getSource();
+        QueryStatistic target = queriesStatistic.getTarget();
+        source.start();
+        sourceJdbcTemplate.query(source.getQuery(), (ResultSet sourceResultSet) -> {
+            List<String> keyColumns = getKeyColumns(sourceResultSet.getMetaData(), keys);
+            nullsFirst = isNullsSortedFirst(sourceResultSet);
+            target.start();
+            return targetJdbcTemplate.query(target.getQuery(), (ResultSet targetResultSet) -> {
+                merge(new RowCursor("Source", sourceResultSet, keyColumns, source),
+                        new RowCursor("Target", targetResultSet, keyColumns, target), collector);
+                target.end();
+                source.end();
+                return null;
+            });
+        });
+    }
+
+    private static boolean isNullsSortedFirst(ResultSet resultSet) throws SQLException
+    {
+        DatabaseMetaData metaData = resultSet.getStatement().getConnection().getMetaData();
+        return metaData.nullsAreSortedAtStart() || metaData.nullsAreSortedLow();
+    }
+
+    private void merge(RowCursor source, RowCursor target, ComparisonResultCollector collector)
+            throws SQLException
+    {
+        boolean hasSourceRow = source.advance();
+        boolean hasTargetRow = target.advance();
+        while (hasSourceRow || hasTargetRow)
+        {
+            int comparison = compareCurrentKeys(hasSourceRow ? source : null, hasTargetRow ? target : null);
+            if (comparison < 0)
+            {
+                collector.compareRows(source.row, Map.of());
+                hasSourceRow = source.advance();
+            }
+            else if (comparison > 0)
+            {
+                collector.compareRows(Map.of(), target.row);
+                hasTargetRow = target.advance();
+            }
+            else
+            {
+                collector.compareRows(source.row, target.row);
+                hasSourceRow = source.advance();
+                hasTargetRow = target.advance();
+            }
+        }
+    }
+
+    private int compareCurrentKeys(RowCursor source, RowCursor target)
+    {
+        if (source == null)
+        {
+            return 1;
+        }
+        return target == null ? -1 : keyComparator.compare(source.key, target.key);
+    }
+
+    private static List<String> getKeyColumns(ResultSetMetaData metaData, Set<String> keys) throws SQLException
+    {
+        Set<String> lowerCaseKeys = keys.stream().map(String::toLowerCase).collect(Collectors.toSet());
+        List<String> keyColumns = new ArrayList<>();
+        for (int column = 1; column <= metaData.getColumnCount(); column++)
+        {
+            String columnName = JdbcUtils.lookupColumnName(metaData, column);
+            if (keys.isEmpty() || lowerCaseKeys.contains(columnName.toLowerCase()))
+            {
+                keyColumns.add(columnName);
+            }
+        }
+        return keyColumns;
+    }
+
+    private int compareKeys(List<Object> left, List<Object> right)
+    {
+        for (int i = 0; i < left.size(); i++)
+        {
+            int comparison = compareValues(left.get(i), right.get(i));
+            if (comparison != 0)
+            {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compareValues(Object left, Object right)
+    {
+        if (left == null)
+        {
+            if (right == null)
+            {
+                return 0;
+            }
+            return nullsFirst ? -1 : 1;
+        }
+        if (right == null)
+        {
+            return nullsFirst ? 1 : -1;
+        }
+        if (left instanceof Number && right instanceof Number)
+        {
+            return new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString()));
+        }
+        if (left.getClass() == right.getClass() && left instanceof Comparable)
+        {
+            return ((Comparable<Object>) left).compareTo(right);
+        }
+        return left.toString().compareTo(right.toString());
+    }
+
+    private String describeOrderMismatch(String queryName, List<String> keyColumns, List<Object> previousKey,
+            List<Object> key)
+    {
+        for (int i = 0; i < keyColumns.size(); i++)
+        {
+            Object previous = previousKey.get(i);
+            Object value = key.get(i);
+            if (compareValues(previous, value) == 0)
+            {
+                continue;
+            }
+            if (previous == null || value == null)
+            {
+                String expectedPosition = nullsFirst ? "first" : "last";
+                return String.format("%s query result sorts NULL values of the key column %s %s non-null ones, while"
+                        + " the source database sorts them %s by default. Use the same NULL values ordering in both"
+                        + " queries, e.g. NULLS %s", queryName, keyColumns.get(i),
+                        previous == null ? "before" : "after", expectedPosition, expectedPosition.toUpperCase());
+            }
+            if (previous instanceof String && value instanceof String
+                    && isCollationOrdered((String) previous, (String) value))
+            {
+                return String.format("%s query result sorts the key column %s using the collation different from the"
+                        + " binary one: '%s' follows '%s'. Sort the query result using binary collation or use"
+                        + " HASH_PARTITIONING comparison strategy", queryName, keyColumns.get(i), value, previous);
+            }
+            break;
+        }
+        return String.format("Query result is not sorted by the key columns %s: key %s follows key %s", keyColumns,
+                key, previousKey);
+    }
+
+    private static boolean isCollationOrdered(String previous, String value)
+    {
+        return String.CASE_INSENSITIVE_ORDER.compare(previous, value) <= 0
+                || Collator.getInstance(Locale.ROOT).compare(previous, value) <= 0;
+    }
+
+    private final class RowCursor
+    {
+        private final String queryName;
+        private final ResultSet resultSet;
+        private final List<String> keyColumns;
+        private final QueryStatistic statistic;
+        private long rowsQuantity;
+        private boolean exhausted;
+        private Map<String, Object> row;
+        private List<Object> key;
+        private Map<String, Object> nextRow;
+        private List<Object> nextKey;
+
+        private RowCursor(String queryName, ResultSet resultSet, List<String> keyColumns, QueryStatistic statistic)
+        {
+            this.queryName = queryName;
+            this.resultSet = resultSet;
+            this.keyColumns = keyColumns;
+            this.statistic = statistic;
+        }
+
+        /**
+         * Moves to the next key, the rows with the same key are resolved by the rows collector
+         * @return <code>true</code> if there is a row for the next key
+         * @throws SQLException in case of any error while reading of the result set
+         */
+        private boolean advance() throws SQLException
+        {
+            row = nextRow;
+            key = nextKey;
+            nextRow = null;
+            while (!exhausted && nextRow == null)
+            {
+                if (!resultSet.next())
+                {
+                    exhausted = true;
+                    break;
+                }
+                Map<String, Object> readRow = ROW_MAPPER.mapRow(resultSet, (int) rowsQuantity);
+                statistic.setRowsQuantity(++rowsQuantity);
+                List<Object> readKey = keyColumns.stream().map(readRow::get).collect(Collectors.toList());
+                if (row == null)
+                {
+                    row = readRow;
+                    key = readKey;
+                    continue;
+                }
+                int comparison = keyComparator.compare(key, readKey);
+                if (comparison > 0)
+                {
+                    throw new IllegalStateException(describeOrderMismatch(queryName, keyColumns, key, readKey));
+                }
+                if (comparison == 0)
+                {
+                    row = rowsCollector.resolveDuplicate(key, row, readRow);
+                }
+                else
+                {
+                    nextRow = readRow;
+                    nextKey = readKey;
+                }
+            }
+            return row != null;
+        }
+    }
+}
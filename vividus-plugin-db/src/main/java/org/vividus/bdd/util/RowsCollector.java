@@ -16,6 +16,7 @@
 
 package org.vividus.bdd.util;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -33,6 +34,12 @@ public enum RowsCollector
         {
             return Collectors.toMap(Pair::getLeft, Pair::getRight, (e1, e2) -> e1);
         }
+
+        @Override
+        public <T> T resolveDuplicate(Object key, T first, T second)
+        {
+            return first;
+        }
     },
     NOOP
     {
@@ -41,7 +48,29 @@ public enum RowsCollector
         {
             return Collectors.toMap(Pair::getLeft, Pair::getRight);
         }
+
+        @Override
+        public <T> T resolveDuplicate(Object key, T first, T second)
+        {
+            throw new IllegalStateException(String.format("Duplicate key %s (attempted merging values %s and %s)",
+                    key, asString(first), asString(second)));
+        }
     };
 
     public abstract Collector<Pair<HashCode, Map<String, Object>>, ?, Map<Object, Map<String, Object>>> get();
+
+    /**
+     * Resolves the rows having the same key when the rows are collected without building of the map
+     * @param key Key of the rows
+     * @param first Row collected first
+     * @param second Row collected second
+     * @param <T> Type of the row, either the map of the column values or the array of the column values
+     * @return Row to keep
+     */
+    public abstract <T> T resolveDuplicate(Object key, T first, T second);
+
+    private static String asString(Object row)
+    {
+        return row instanceof Object[] ? Arrays.toString((Object[]) row) : String.valueOf(row);
+    }
 }
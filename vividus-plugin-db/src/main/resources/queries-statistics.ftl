@@ -102,6 +102,23 @@
                                 <td>${(source.url)!'N/A'}</td>
                                 <td>${(target.url)!'N/A'}</td>
                             </tr>
+                            <#if source.poolStatistic?? || target.poolStatistic??>
+                            <tr>
+                                <td>Pool active / max connections</td>
+                                <td><#if source.poolStatistic??>${source.poolStatistic.active} / ${source.poolStatistic.maxTotal}<#else>N/A</#if></td>
+                                <td><#if target.poolStatistic??>${target.poolStatistic.active} / ${target.poolStatistic.maxTotal}<#else>N/A</#if></td>
+                            </tr>
+                            <tr>
+                                <td>Pool idle connections</td>
+                                <td>${(source.poolStatistic.idle)!'N/A'}</td>
+                                <td>${(target.poolStatistic.idle)!'N/A'}</td>
+                            </tr>
+                            <tr>
+                                <td>Pool mean / max wait time, ms</td>
+                                <td><#if source.poolStatistic??>${source.poolStatistic.meanWaitTime} / ${source.poolStatistic.maxWaitTime}<#else>N/A</#if></td>
+                                <td><#if target.poolStatistic??>${target.poolStatistic.meanWaitTime} / ${target.poolStatistic.maxWaitTime}<#else>N/A</#if></td>
+                            </tr>
+                            </#if>
                         </tbody>
                     </table>
                 </div>
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.vividus.bdd.steps.db.DatabaseSteps.QueriesStatistic;
+import org.vividus.util.comparison.ComparisonUtils.EntryComparisonResult;
+
+class ComparisonResultCollectorTests
+{
+    private static final String ID = "id";
+    private static final String VALUE = "value";
+    private static final String A = "a";
+    private static final List<String> COLUMNS = List.of(ID, VALUE);
+
+    private final ComparisonResultCollector collector = new ComparisonResultCollector(1);
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate();
+    private final QueriesStatistic statistic = new QueriesStatistic(jdbcTemplate, jdbcTemplate);
+
+    @Test
+    void shouldCountEqualRowsOfSameAndDifferentTypes()
+    {
+        collector.compareRows(COLUMNS, new Object[] { 1, A }, COLUMNS, new Object[] { 1, A });
+        collector.compareRows(COLUMNS, new Object[] { 2, null }, List.of(ID, VALUE), new Object[] { 2, null });
+        collector.compareRows(COLUMNS, new Object[] { 3, new BigDecimal("1.0") }, COLUMNS,
+                new Object[] { 3L, new BigDecimal("1.00") });
+        collector.compareRows(COLUMNS, new Object[] { 4, A }, List.of("ID", "VALUE"), new Object[] { 4, A });
+        assertEquals(List.of(), collector.complete(statistic));
+        assertEquals(4, statistic.getTotalRows());
+        assertEquals(0, statistic.getMismatched());
+    }
+
+    @Test
+    void shouldCollectMismatchedRowsUpToDiffLimit()
+    {
+        collector.compareRows(COLUMNS, new Object[] { 1, A }, COLUMNS, new Object[] { 1, "b" });
+        collector.compareRows(COLUMNS, new Object[] { 2, A }, COLUMNS, null);
+        collector.compareRows(COLUMNS, null, COLUMNS, new Object[] { 3, A });
+        List<List<EntryComparisonResult>> results = collector.complete(statistic);
+        assertEquals(1, results.size());
+        EntryComparisonResult valueResult = results.get(0).get(1);
+        assertEquals(VALUE, valueResult.getKey());
+        assertEquals(A, valueResult.getLeft());
+        assertEquals("b", valueResult.getRight());
+        assertEquals(3, statistic.getTotalRows());
+        assertEquals(3, statistic.getMismatched());
+        assertEquals(1, statistic.getSource().getNoPair());
+        assertEquals(1, statistic.getTarget().getNoPair());
+    }
+
+    @Test
+    void shouldCompareRowsMatchedByKeys()
+    {
+        Map<String, Object> firstSourceRow = Map.of(ID, 1);
+        Map<String, Object> secondSourceRow = Map.of(ID, 2);
+        Map<String, Object> targetRow = Map.of(ID, 1L);
+        Map<Object, Map<String, Object>> sourceData = Map.of(1, firstSourceRow, 2, secondSourceRow);
+        Map<Object, Map<String, Object>> targetData = new HashMap<>();
+        targetData.put(1, targetRow);
+        collector.compare(sourceData, targetData);
+        assertEquals(1, collector.complete(statistic).size());
+        assertEquals(2, statistic.getTotalRows());
+        assertEquals(1, statistic.getSource().getNoPair());
+        assertEquals(Map.of(), targetData);
+    }
+}
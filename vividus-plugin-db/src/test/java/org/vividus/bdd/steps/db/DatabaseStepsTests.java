@@ -19,6 +19,7 @@ package org.vividus.bdd.steps.db;
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,11 +37,14 @@ import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +52,8 @@ import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
+import javax.sql.DataSource;
+
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import com.github.valfirst.slf4jtest.TestLoggerFactoryExtension;
@@ -68,6 +74,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.vividus.bdd.context.IBddVariableContext;
 import org.vividus.bdd.steps.StringComparisonRule;
+import org.vividus.bdd.steps.db.DatabaseSteps.PoolStatistic;
 import org.vividus.bdd.steps.db.DatabaseSteps.QueriesStatistic;
 import org.vividus.bdd.steps.db.DatabaseSteps.QueryStatistic;
 import org.vividus.bdd.util.RowsCollector;
@@ -84,6 +91,8 @@ class DatabaseStepsTests
 {
     private static final Duration TWO_SECONDS = Duration.ofSeconds(2);
 
+    private static final int IN_MEMORY_ROWS_LIMIT = 100;
+
     private static final String EXAMPLES_TABLE = "|col1|\n|val2|";
 
     private static final String ADMIN = "admin";
@@ -142,7 +151,7 @@ class DatabaseStepsTests
     private ISoftAssert softAssert;
 
     @Mock
-    private Map<String, DriverManagerDataSource> dataSources;
+    private Map<String, DataSource> dataSources;
 
     @Mock
     private IAttachmentPublisher attachmentPublisher;
@@ -157,6 +166,8 @@ class DatabaseStepsTests
     void beforeEach()
     {
         databaseSteps.setDiffLimit(3);
+        databaseSteps.setComparisonStrategy(ComparisonStrategy.HASH_PARTITIONING);
+        databaseSteps.setInMemoryRowsLimit(IN_MEMORY_ROWS_LIMIT);
     }
 
     @Test
@@ -170,6 +181,92 @@ class DatabaseStepsTests
         verify(bddVariableContext).putVariable(variableScope, variableName, singletonList);
     }
 
+    @Test
+    void shouldExecuteSqlUsingPooledPreparedStatements() throws SQLException
+    {
+        ResultSet rs = mockResultSet(COL1, VAL1);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        when(stmt.executeQuery()).thenReturn(rs);
+        Connection con = mock(Connection.class);
+        when(con.prepareStatement(QUERY)).thenReturn(stmt);
+        PooledDataSource dataSource = mock(PooledDataSource.class);
+        when(dataSource.isPoolPreparedStatements()).thenReturn(true);
+        when(dataSource.getConnection()).thenReturn(con);
+        when(dataSources.get(DB_KEY)).thenReturn(dataSource);
+        Set<VariableScope> variableScope = Set.of(VariableScope.SCENARIO);
+        String variableName = "pooled";
+        databaseSteps.executeSql(QUERY, DB_KEY, variableScope, variableName);
+        verify(bddVariableContext).putVariable(variableScope, variableName, List.of(Map.of(COL1, VAL1)));
+        verify(con, never()).createStatement();
+    }
+
+    @Test
+    void shouldUpdateUsingPooledPreparedStatements() throws SQLException
+    {
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        when(stmt.executeUpdate()).thenReturn(2);
+        Connection con = mock(Connection.class);
+        when(con.prepareStatement(QUERY)).thenReturn(stmt);
+        PooledDataSource dataSource = mock(PooledDataSource.class);
+        when(dataSource.isPoolPreparedStatements()).thenReturn(true);
+        when(dataSource.getConnection()).thenReturn(con);
+        when(dataSources.get(DB_KEY)).thenReturn(dataSource);
+        databaseSteps.executeSql(QUERY, DB_KEY);
+        assertThat(LOGGER.getLoggingEvents(), equalTo(List.of(info("Executed query: {}\nAffected rows:{}", QUERY, 2))));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldPublishPoolStatistics()
+    {
+        when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, true)).thenReturn(true);
+        mockRowsFilterAsNOOP();
+        PooledDataSource dataSource = mock(PooledDataSource.class);
+        when(dataSource.getUrl()).thenReturn(DB_URL);
+        when(dataSource.getNumActive()).thenReturn(1);
+        when(dataSource.getNumIdle()).thenReturn(2);
+        when(dataSource.getMaxTotal()).thenReturn(8);
+        when(dataSource.getMeanBorrowWaitTimeMillis()).thenReturn(3L);
+        when(dataSource.getMaxBorrowWaitTimeMillis()).thenReturn(4L);
+        when(dataSources.get(DB_KEY)).thenReturn(dataSource);
+        databaseSteps.compareData(List.of(Map.of(COL1, VAL1)), Set.of(), DB_KEY, new ExamplesTable("|col1|\n|val1|"));
+        verify(attachmentPublisher).publishAttachment(eq(QUERIES_STATISTICS_FTL), argThat(r -> {
+            QueryStatistic source = ((Map<String, QueriesStatistic>) r).get(STATISTICS).getSource();
+            PoolStatistic poolStatistic = source.getPoolStatistic();
+            return DB_URL.equals(source.getUrl())
+                    && 1 == poolStatistic.getActive()
+                    && 2 == poolStatistic.getIdle()
+                    && 8 == poolStatistic.getMaxTotal()
+                    && 3 == poolStatistic.getMeanWaitTime()
+                    && 4 == poolStatistic.getMaxWaitTime();
+        }), eq(QUERIES_STATISTICS));
+    }
+
+    @Test
+    void shouldNotCollectPoolStatisticsAndUrlForUnknownDataSource()
+    {
+        when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, true)).thenReturn(true);
+        mockRowsFilterAsNOOP();
+        when(dataSources.get(DB_KEY)).thenReturn(mock(DataSource.class));
+        databaseSteps.compareData(List.of(Map.of(COL1, VAL1)), Set.of(), DB_KEY, new ExamplesTable("|col1|\n|val1|"));
+        verify(attachmentPublisher).publishAttachment(eq(QUERIES_STATISTICS_FTL), argThat(r -> {
+            @SuppressWarnings("unchecked")
+            QueryStatistic source = ((Map<String, QueriesStatistic>) r).get(STATISTICS).getSource();
+            return source.getUrl() == null && source.getPoolStatistic() == null;
+        }), eq(QUERIES_STATISTICS));
+    }
+
+    @Test
+    void shouldClosePooledDataSources() throws SQLException
+    {
+        PooledDataSource pooledDataSource = mock(PooledDataSource.class);
+        DriverManagerDataSource driverManagerDataSource = mock(DriverManagerDataSource.class);
+        when(dataSources.values()).thenReturn(List.of(pooledDataSource, driverManagerDataSource));
+        databaseSteps.destroy();
+        verify(pooledDataSource).close();
+        verifyNoInteractions(driverManagerDataSource);
+    }
+
     @Test
     void shouldCompareQueriesResponsesAndDontPostDiffInCaseOfEqualData() throws InterruptedException,
         ExecutionException, TimeoutException, SQLException
@@ -177,6 +274,7 @@ class DatabaseStepsTests
         mockDataSource(QUERY, DB_KEY, mockResultSet(COL1, VAL1, COL2, VAL2, COL3, VAL3));
         mockDataSource(QUERY, DB_KEY2, mockResultSet(COL1, VAL1, COL2, VAL2, COL3, VAL3));
         when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, true)).thenReturn(true);
+        mockHashing();
         configureTimeout();
         mockRowsFilterAsNOOP();
         databaseSteps.compareData(QUERY, DB_KEY, QUERY, DB_KEY2, Set.of(COL1));
@@ -322,6 +420,170 @@ class DatabaseStepsTests
                 eq(QUERIES_COMPARISON_RESULT));
     }
 
+    @Test
+    void shouldCompareQueriesResponsesSpilledToDisk() throws InterruptedException, ExecutionException,
+        TimeoutException, SQLException
+    {
+        databaseSteps.setInMemoryRowsLimit(1);
+        mockDataSource(QUERY, DB_KEY, mockResultSet(COL1, VAL1, VAL2, VAL3, VAL1));
+        mockDataSource(QUERY2, DB_KEY2, mockResultSet(COL1, VAL3, VAL2));
+        when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, false)).thenReturn(false);
+        mockHashing();
+        configureTimeout();
+        databaseSteps.setRowsCollector(RowsCollector.DISTINCT);
+        databaseSteps.compareData(QUERY, DB_KEY, QUERY2, DB_KEY2, Set.of(COL1));
+        verifyQueriesStatistics(3, 1, 4, 2, 1, 0);
+        verifyComparisonResult(1);
+    }
+
+    @Test
+    void shouldCompareNonSerializableValuesAsStrings() throws InterruptedException, ExecutionException,
+        TimeoutException, SQLException
+    {
+        ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+        when(rsmd.getColumnCount()).thenReturn(1);
+        when(rsmd.getColumnLabel(1)).thenReturn(COL1);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true).thenReturn(false);
+        when(rs.getMetaData()).thenReturn(rsmd);
+        when(rs.getObject(1)).thenReturn(new Object()
+        {
+            @Override
+            public String toString()
+            {
+                return VAL1;
+            }
+        });
+        mockDataSource(QUERY, DB_KEY, rs);
+        mockDataSource(QUERY2, DB_KEY2, mockResultSet(COL1, VAL1));
+        when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, true)).thenReturn(true);
+        mockHashing();
+        configureTimeout();
+        databaseSteps.setRowsCollector(RowsCollector.DISTINCT);
+        databaseSteps.compareData(QUERY, DB_KEY, QUERY2, DB_KEY2, Set.of(COL1));
+        verify(softAssert).assertTrue(QUERY_RESULTS_ARE_EQUAL, true);
+    }
+
+    @Test
+    void shouldCompareSortedQueriesResponsesUsingSortMerge() throws InterruptedException, ExecutionException,
+        TimeoutException, SQLException
+    {
+        databaseSteps.setComparisonStrategy(ComparisonStrategy.SORT_MERGE);
+        mockDataSource(QUERY, DB_KEY, mockResultSet(COL1, VAL1, VAL3, VAL3));
+        mockDataSource(QUERY2, DB_KEY2, mockResultSet(COL1, VAL2, VAL3));
+        when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, false)).thenReturn(false);
+        configureTimeout();
+        databaseSteps.setRowsCollector(RowsCollector.DISTINCT);
+        databaseSteps.compareData(QUERY, DB_KEY, QUERY2, DB_KEY2, Set.of(COL1));
+        verifyQueriesStatistics(3, 2, 3, 2, 1, 1);
+        verifyComparisonResult(2);
+        verifyNoInteractions(hashFunction);
+    }
+
+    @Test
+    void shouldFailSortMergeComparisonOfUnsortedQueryResponse() throws SQLException
+    {
+        databaseSteps.setComparisonStrategy(ComparisonStrategy.SORT_MERGE);
+        mockDataSource(QUERY, DB_KEY, mockResultSet(COL1, VAL1));
+        mockDataSource(QUERY2, DB_KEY2, mockResultSet(COL1, VAL3, VAL1));
+        configureTimeout();
+        mockRowsFilterAsNOOP();
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> databaseSteps.compareData(QUERY, DB_KEY, QUERY2, DB_KEY2, Set.of(COL1)));
+        assertEquals("Query result is not sorted by the key columns [col1]: key [val1] follows key [val3]",
+                exception.getCause().getMessage());
+        verifyNoInteractions(attachmentPublisher, softAssert);
+    }
+
+    @Test
+    void shouldCompareQueriesResponsesWithNullsSortedFirstUsingSortMerge() throws InterruptedException,
+        ExecutionException, TimeoutException, SQLException
+    {
+        databaseSteps.setComparisonStrategy(ComparisonStrategy.SORT_MERGE);
+        ResultSet sourceResultSet = mockResultSet(COL1, null, VAL1, VAL2);
+        mockDataSource(QUERY, DB_KEY, sourceResultSet);
+        when(sourceResultSet.getStatement().getConnection().getMetaData().nullsAreSortedLow()).thenReturn(true);
+        mockDataSource(QUERY2, DB_KEY2, mockResultSet(COL1, null, VAL2));
+        when(softAssert.assertTrue(QUERY_RESULTS_ARE_EQUAL, false)).thenReturn(false);
+        configureTimeout();
+        mockRowsFilterAsNOOP();
+        databaseSteps.compareData(QUERY, DB_KEY, QUERY2, DB_KEY2, Set.of(COL1));
+        verifyQueriesStatistics(3, 1, 3, 2, 1, 0);
+        verifyComparisonResult(1);
+    }
+
+    @Test
+    void shouldFailSortMergeComparisonOfQueryResponseWithNullsSortedDifferently() throws SQLException
+    {
+        databaseSteps.setComparisonStrategy(ComparisonStrategy.SORT_MERGE);
+        mockDataSource(QUERY, DB_KEY, mockResultSet(COL1, VAL1));
+        mockDataSource(QUERY2, DB_KEY2, mockResultSet(COL1, null, VAL1));
+        configureTimeout();
+        mockRowsFilterAsNOOP();
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> databaseSteps.compareData(QUERY, DB_KEY, QUERY2, DB_KEY2, Set.of(COL1)));
+        assertEquals("Target query result sorts NULL values of the key column col1 before non-null ones, while the"
+                + " source database sorts them last by default. Use the same NULL values ordering in both queries,"
+                + " e.g. NULLS LAST", exception.getCause().getMessage());
+        verifyNoInteractions(attachmentPublisher, softAssert);
+    }
+
+    @Test
+    void shouldFailSortMergeComparisonOfQueryResponseSortedUsingNonBinaryCollation() throws SQLException
+    {
+        databaseSteps.setComparisonStrategy(ComparisonStrategy.SORT_MERGE);
+        mockDataSource(QUERY, DB_KEY, mockResultSet(COL1, VAL1, VAL2.toUpperCase()));
+        mockDataSource(QUERY2, DB_KEY2, mockResultSet(COL1, VAL1));
+        configureTimeout();
+        mockRowsFilterAsNOOP();
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> databaseSteps.compareData(QUERY, DB_KEY, QUERY2, DB_KEY2, Set.of(COL1)));
+        assertEquals("Source query result sorts the key column col1 using the collation different from the binary one:"
+                + " 'VAL2' follows 'val1'. Sort the query result using binary collation or use HASH_PARTITIONING"
+                + " comparison strategy", exception.getCause().getMessage());
+        verifyNoInteractions(attachmentPublisher, softAssert);
+    }
+
+    @Test
+    void shouldFailSortMergeComparisonOfDuplicatedKeysUsingNoopRowsCollector() throws SQLException
+    {
+        databaseSteps.setComparisonStrategy(ComparisonStrategy.SORT_MERGE);
+        mockDataSource(QUERY, DB_KEY, mockResultSet(COL1, VAL1));
+        mockDataSource(QUERY2, DB_KEY2, mockResultSet(COL1, VAL1, VAL1));
+        configureTimeout();
+        mockRowsFilterAsNOOP();
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> databaseSteps.compareData(QUERY, DB_KEY, QUERY2, DB_KEY2, Set.of(COL1)));
+        assertThat(exception.getCause().getMessage(), startsWith("Duplicate key [val1]"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyQueriesStatistics(long totalRows, long mismatched, long sourceRows, long targetRows,
+            long sourceNoPair, long targetNoPair)
+    {
+        verify(attachmentPublisher).publishAttachment(eq(QUERIES_STATISTICS_FTL), argThat(r -> {
+            QueriesStatistic statistics = ((Map<String, QueriesStatistic>) r).get(STATISTICS);
+            QueryStatistic target = statistics.getTarget();
+            QueryStatistic source = statistics.getSource();
+            return totalRows == statistics.getTotalRows()
+                    && mismatched == statistics.getMismatched()
+                    && sourceRows == source.getRowsQuantity()
+                    && targetRows == target.getRowsQuantity()
+                    && sourceNoPair == source.getNoPair()
+                    && targetNoPair == target.getNoPair()
+                    && source.getExecutionTime().matches(DURATION_PATTERN)
+                    && target.getExecutionTime().matches(DURATION_PATTERN);
+        }), eq(QUERIES_STATISTICS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyComparisonResult(int mismatchedRows)
+    {
+        verify(attachmentPublisher).publishAttachment(eq(TEMPLATE_PATH), argThat(r ->
+            ((Map<String, List<List<EntryComparisonResult>>>) r).get(RESULTS).size() == mismatchedRows),
+                eq(QUERIES_COMPARISON_RESULT));
+    }
+
     private void mockHashing()
     {
         doAnswer((Answer<HashCode>) invocation -> {
@@ -526,6 +788,9 @@ class DatabaseStepsTests
         when(stmt.executeQuery(query)).thenReturn(rs);
         Connection con = mock(Connection.class);
         when(con.createStatement()).thenReturn(stmt);
+        lenient().when(rs.getStatement()).thenReturn(stmt);
+        lenient().when(stmt.getConnection()).thenReturn(con);
+        lenient().when(con.getMetaData()).thenReturn(mock(DatabaseMetaData.class));
         DriverManagerDataSource dataSource = mock(DriverManagerDataSource.class);
         when(dataSource.getConnection()).thenReturn(con);
         lenient().when(dataSources.get(dbKey)).thenReturn(dataSource);
@@ -544,6 +809,21 @@ class DatabaseStepsTests
         return rs;
     }
 
+    private ResultSet mockResultSet(String columnName, String value, String... values) throws SQLException
+    {
+        ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+        when(rsmd.getColumnCount()).thenReturn(1);
+        when(rsmd.getColumnLabel(1)).thenReturn(columnName);
+        ResultSet rs = mock(ResultSet.class);
+        Boolean[] hasNextRows = new Boolean[values.length + 1];
+        Arrays.fill(hasNextRows, 0, values.length, Boolean.TRUE);
+        hasNextRows[values.length] = Boolean.FALSE;
+        when(rs.next()).thenReturn(true, hasNextRows);
+        when(rs.getMetaData()).thenReturn(rsmd);
+        when(rs.getObject(1)).thenReturn(value, (Object[]) values);
+        return rs;
+    }
+
     private ResultSet mockResultSet(String columnName1, String value1, String columnName2, String value2,
             String columnName3, String value3) throws SQLException
     {
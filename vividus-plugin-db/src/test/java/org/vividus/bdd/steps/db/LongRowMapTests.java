@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+class LongRowMapTests
+{
+    private static final BinaryOperator<Object[]> KEEP_FIRST = (first, second) -> first;
+    private static final int ROWS = 1000;
+
+    @Test
+    void shouldPutAndMatchRowsGrowingTable()
+    {
+        LongRowMap rows = new LongRowMap(0);
+        for (int key = 0; key < ROWS; key++)
+        {
+            rows.put(keyOf(key), new Object[] { key }, KEEP_FIRST);
+        }
+        assertEquals(ROWS, rows.size());
+        for (int key = 0; key < ROWS; key++)
+        {
+            assertArrayEquals(new Object[] { key }, rows.match(keyOf(key)));
+        }
+        assertNull(rows.match(keyOf(ROWS)));
+    }
+
+    @Test
+    void shouldResolveDuplicatedKeys()
+    {
+        LongRowMap rows = new LongRowMap(1);
+        Object[] first = { 1 };
+        Object[] second = { 2 };
+        rows.put(0, first, KEEP_FIRST);
+        rows.put(0, second, KEEP_FIRST);
+        assertEquals(1, rows.size());
+        assertSame(first, rows.match(0));
+        rows.put(0, second, (previous, next) -> next);
+        assertSame(second, rows.match(0));
+    }
+
+    @Test
+    void shouldIterateOverUnmatchedRows()
+    {
+        LongRowMap rows = new LongRowMap(2);
+        rows.put(1, new Object[] { 1 }, KEEP_FIRST);
+        rows.put(2, new Object[] { 2 }, KEEP_FIRST);
+        rows.match(1);
+        Map<Long, Object> all = new HashMap<>();
+        rows.forEach((key, row) -> all.put(key, row[0]));
+        assertEquals(Map.of(1L, 1, 2L, 2), all);
+        Map<Long, Object> unmatched = new HashMap<>();
+        rows.forEachUnmatched((key, row) -> unmatched.put(key, row[0]));
+        assertEquals(Map.of(2L, 2), unmatched);
+    }
+
+    // keys of the same partition share the low bits
+    private static long keyOf(int key)
+    {
+        return (long) key << Integer.SIZE;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.hash.HashCode;
+
+import org.junit.jupiter.api.Test;
+
+class PartitionedRowsTests
+{
+    private static final List<String> COLUMNS = List.of("id", "value");
+    private static final long FIRST_PARTITION_KEY = 0;
+    private static final long SECOND_PARTITION_KEY = 1;
+    private static final long FIRST_PARTITION_NEXT_LEVEL_KEY = PartitionedRows.PARTITIONS;
+
+    @Test
+    void shouldKeepRowsInMemoryUntilLimitIsReached()
+    {
+        try (PartitionedRows rows = new PartitionedRows(COLUMNS, 2))
+        {
+            rows.add(HashCode.fromLong(FIRST_PARTITION_KEY), row(1));
+            rows.add(HashCode.fromLong(SECOND_PARTITION_KEY), row(2));
+            rows.complete();
+            assertFalse(rows.isSpilled());
+            assertEquals(2, rows.size());
+            assertEquals(COLUMNS, rows.getColumns());
+            List<Object[]> allRows = read(rows, PartitionedRows.ALL_PARTITIONS, FIRST_PARTITION_KEY,
+                    SECOND_PARTITION_KEY);
+            assertArrayEquals(row(1), allRows.get(0));
+            assertArrayEquals(row(2), allRows.get(1));
+            assertArrayEquals(row(2), read(rows, 1, SECOND_PARTITION_KEY).get(0));
+        }
+    }
+
+    @Test
+    void shouldSpillRowsToDiskWhenLimitIsExceeded()
+    {
+        try (PartitionedRows rows = new PartitionedRows(COLUMNS, 1))
+        {
+            rows.add(HashCode.fromLong(FIRST_PARTITION_KEY), row(1));
+            rows.add(HashCode.fromLong(SECOND_PARTITION_KEY), new Object[] { 2, Optional.of(2) });
+            rows.add(HashCode.fromLong(FIRST_PARTITION_NEXT_LEVEL_KEY), row(3));
+            rows.complete();
+            assertTrue(rows.isSpilled());
+            assertEquals(3, rows.size());
+            assertEquals(2, rows.getPartitionSize(0));
+            assertEquals(1, rows.getPartitionSize(1));
+            assertEquals(0, rows.getPartitionSize(2));
+            List<Object[]> firstPartition = read(rows, 0, FIRST_PARTITION_KEY, FIRST_PARTITION_NEXT_LEVEL_KEY);
+            assertArrayEquals(row(1), firstPartition.get(0));
+            assertArrayEquals(row(3), firstPartition.get(1));
+            assertArrayEquals(new Object[] { 2, "Optional[2]" }, read(rows, 1, SECOND_PARTITION_KEY).get(0));
+            assertEquals(List.of(), read(rows, 2));
+        }
+    }
+
+    @Test
+    void shouldRepartitionRowsUsingNextBitsOfHash()
+    {
+        try (PartitionedRows rows = new PartitionedRows(COLUMNS, 1))
+        {
+            rows.add(HashCode.fromLong(FIRST_PARTITION_KEY), row(1));
+            rows.add(HashCode.fromLong(FIRST_PARTITION_NEXT_LEVEL_KEY), row(2));
+            rows.complete();
+            assertTrue(rows.canRepartition());
+            try (PartitionedRows repartitioned = rows.repartition(0))
+            {
+                assertEquals(2, repartitioned.size());
+                assertEquals(1, repartitioned.getPartitionSize(0));
+                assertEquals(1, repartitioned.getPartitionSize(1));
+                assertArrayEquals(row(2), read(repartitioned, 1, FIRST_PARTITION_NEXT_LEVEL_KEY).get(0));
+            }
+        }
+    }
+
+    @Test
+    void shouldNotRepartitionRowsIfHashBitsAreExhausted()
+    {
+        try (PartitionedRows rows = new PartitionedRows(COLUMNS, 1))
+        {
+            rows.add(HashCode.fromBytes(new byte[] { 1 }), row(1));
+            rows.complete();
+            assertFalse(rows.canRepartition());
+        }
+    }
+
+    private static Object[] row(int id)
+    {
+        return new Object[] { id, "value" + id };
+    }
+
+    private static List<Object[]> read(PartitionedRows rows, int partition, long... expectedKeys)
+    {
+        List<Long> keys = new ArrayList<>();
+        List<Object[]> result = new ArrayList<>();
+        rows.forEach(partition, (key, row) -> {
+            keys.add(key);
+            result.add(row);
+        });
+        List<Long> expected = new ArrayList<>();
+        for (long expectedKey : expectedKeys)
+        {
+            expected.add(expectedKey);
+        }
+        assertEquals(expected, keys);
+        return result;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.bdd.steps.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+
+class PooledDataSourceTests
+{
+    private static final String URL = "jdbc:vividus-unknown:test";
+
+    @Test
+    void shouldReturnZeroWaitTimesIfPoolIsNotCreated() throws SQLException
+    {
+        try (PooledDataSource dataSource = new PooledDataSource())
+        {
+            assertEquals(0, dataSource.getMeanBorrowWaitTimeMillis());
+            assertEquals(0, dataSource.getMaxBorrowWaitTimeMillis());
+        }
+    }
+
+    @Test
+    void shouldOpenNonPooledConnectionUsingProvidedCredentials() throws SQLException
+    {
+        try (PooledDataSource dataSource = new PooledDataSource())
+        {
+            dataSource.setUrl(URL);
+            SQLException exception = assertThrows(SQLException.class,
+                () -> dataSource.getConnection("user", "password"));
+            assertEquals("No suitable driver found for " + URL, exception.getMessage());
+        }
+    }
+}
@@ -51,4 +51,30 @@ class RowsCollectorTests
             () -> ROWS.stream().collect(RowsCollector.NOOP.get()));
         assertThat(exception.getMessage(), containsString("Duplicate key"));
     }
+
+    @Test
+    void shouldKeepFirstRowOfDuplicatesAsDistinctFilter()
+    {
+        Map<String, Object> duplicate = Map.of(KEY, "Duplicate");
+        Assertions.assertSame(MAP, RowsCollector.DISTINCT.resolveDuplicate(HASH_INT, MAP, duplicate));
+    }
+
+    @Test
+    void shouldFailOnDuplicatesAsNOOPFilter()
+    {
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+            () -> RowsCollector.NOOP.resolveDuplicate(HASH_INT, MAP, MAP));
+        Assertions.assertEquals("Duplicate key " + HASH_INT + " (attempted merging values {key=Value} and {key=Value})",
+                exception.getMessage());
+    }
+
+    @Test
+    void shouldFailOnDuplicatedArrayRowsAsNOOPFilter()
+    {
+        Object[] row = { VALUE };
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+            () -> RowsCollector.NOOP.resolveDuplicate(1L, row, row));
+        Assertions.assertEquals("Duplicate key 1 (attempted merging values [Value] and [Value])",
+                exception.getMessage());
+    }
 }
@@ -28,17 +28,14 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.apache.poi.ss.usermodel.Sheet;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.hamcrest.core.IsNull;
 import org.jbehave.core.annotations.Then;
 import org.vividus.bdd.model.CellRecord;
 import org.vividus.bdd.model.CellValue;
-import org.vividus.excel.ExcelSheetParser;
-import org.vividus.excel.ExcelSheetsExtractor;
-import org.vividus.excel.IExcelSheetParser;
-import org.vividus.excel.IExcelSheetsExtractor;
+import org.vividus.excel.ExcelWorkbookReader;
+import org.vividus.excel.IExcelSheetReader;
 import org.vividus.excel.WorkbookParsingException;
 import org.vividus.http.HttpTestContext;
 import org.vividus.softassert.ISoftAssert;
@@ -100,24 +97,30 @@ public class ExcelResponseValidationSteps
         checkRecords(records, e -> e.getSheet(name), "name " + name);
     }
 
-    private void checkRecords(List<CellRecord> records, Function<IExcelSheetsExtractor, Optional<Sheet>> sheetMapper,
-            String errorKey)
+    private void checkRecords(List<CellRecord> records,
+            Function<ExcelWorkbookReader, Optional<IExcelSheetReader>> sheetMapper, String errorKey)
     {
-        sheetMapper.apply(getExtractor()).ifPresentOrElse(s ->
+        try (ExcelWorkbookReader workbookReader = new ExcelWorkbookReader(
+                httpTestContext.getResponse().getResponseBody()))
         {
-            IExcelSheetParser parser = new ExcelSheetParser(s);
-            records.stream()
-                .map(r -> parser.getDataFromRange(r.getCellsRange())
-                        .stream()
-                        .map(cv -> entry(cv, r.getValueRegex())))
-                .flatMap(Function.identity())
-                .filter(filterMatched())
-                .collect(Collectors.collectingAndThen(Collectors.toList(), v ->
-                {
-                    reportResults(records.stream().map(CellRecord::getCellsRange), v);
-                    return null;
-                }));
-        }, () -> softAssert.recordFailedAssertion(format("Sheet with the %s doesn't exist", errorKey)));
+            sheetMapper.apply(workbookReader).ifPresentOrElse(parser ->
+                records.stream()
+                    .map(r -> parser.getDataFromRange(r.getCellsRange())
+                            .stream()
+                            .map(cv -> entry(cv, r.getValueRegex())))
+                    .flatMap(Function.identity())
+                    .filter(filterMatched())
+                    .collect(Collectors.collectingAndThen(Collectors.toList(), v ->
+                    {
+                        reportResults(records.stream().map(CellRecord::getCellsRange), v);
+                        return null;
+                    })),
+                () -> softAssert.recordFailedAssertion(format("Sheet with the %s doesn't exist", errorKey)));
+        }
+        catch (WorkbookParsingException e)
+        {
+            throw new IllegalStateException(e);
+        }
     }
 
     private void reportResults(Stream<String> ranges, List<Entry<CellValue, Optional<Pattern>>> failedRecords)
@@ -137,18 +140,6 @@ public class ExcelResponseValidationSteps
         });
     }
 
-    private IExcelSheetsExtractor getExtractor()
-    {
-        try
-        {
-            return new ExcelSheetsExtractor(httpTestContext.getResponse().getResponseBody());
-        }
-        catch (WorkbookParsingException e)
-        {
-            throw new IllegalStateException(e);
-        }
-    }
-
     private static Predicate<Entry<CellValue, Optional<Pattern>>> filterMatched()
     {
         return e ->
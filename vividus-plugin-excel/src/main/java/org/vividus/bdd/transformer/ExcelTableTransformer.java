@@ -19,26 +19,28 @@ package org.vividus.bdd.transformer;
 import static java.util.Map.entry;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 import javax.inject.Named;
 
-import org.apache.poi.ss.usermodel.Sheet;
 import org.jbehave.core.model.ExamplesTableProperties;
 import org.vividus.bdd.model.CellValue;
 import org.vividus.bdd.util.ExamplesTableProcessor;
-import org.vividus.excel.ExcelSheetParser;
-import org.vividus.excel.ExcelSheetsExtractor;
-import org.vividus.excel.IExcelSheetParser;
-import org.vividus.excel.IExcelSheetsExtractor;
+import org.vividus.excel.ExcelWorkbookCache;
+import org.vividus.excel.IExcelSheetReader;
 import org.vividus.excel.WorkbookParsingException;
 
 @Named("FROM_EXCEL")
 public class ExcelTableTransformer implements ExtendedTableTransformer
 {
+    private final ExcelWorkbookCache workbookCache;
+
+    public ExcelTableTransformer(ExcelWorkbookCache workbookCache)
+    {
+        this.workbookCache = workbookCache;
+    }
+
     @Override
     public String transform(String tableAsString, ExamplesTableProperties properties)
     {
@@ -48,17 +50,12 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
         List<String> result;
         try
         {
-            IExcelSheetsExtractor excelSheetsExtractor = new ExcelSheetsExtractor(path);
-            Optional<Sheet> sheet = excelSheetsExtractor.getSheet(sheetName);
-            if (sheet.isEmpty())
-            {
-                throw new IllegalArgumentException("Sheet with name '" + sheetName + "' does not exist");
-            }
-            IExcelSheetParser excelSheetParser = new ExcelSheetParser(sheet.get());
+            IExcelSheetReader sheetReader = workbookCache.getSheet(path, sheetName).orElseThrow(
+                () -> new IllegalArgumentException("Sheet with name '" + sheetName + "' does not exist"));
             String lineBreakReplacementPropertyValue = properties.getProperties().getProperty("lineBreakReplacement");
             String lineBreakReplacement = lineBreakReplacementPropertyValue == null ? ""
                 : lineBreakReplacementPropertyValue;
-            result = extractData(excelSheetParser, properties)
+            result = extractData(sheetReader, properties)
                     .stream()
                     .map(e -> e.replace("\n", lineBreakReplacement))
                     .collect(Collectors.toList());
@@ -70,17 +67,17 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
         return build(result, properties);
     }
 
-    private List<String> extractData(IExcelSheetParser sheetParser, ExamplesTableProperties properties)
+    private List<String> extractData(IExcelSheetReader sheetReader, ExamplesTableProperties properties)
     {
         return processCompetingMandatoryProperties(properties,
-                entry("range", range -> extractDataFromRage(sheetParser, properties, range)),
-                entry("addresses", addresses -> extractDataFromAddresses(sheetParser, addresses)));
+                entry("range", range -> extractDataFromRage(sheetReader, properties, range)),
+                entry("addresses", addresses -> extractDataFromAddresses(sheetReader, addresses)));
     }
 
-    private List<String> extractDataFromRage(IExcelSheetParser sheetParser, ExamplesTableProperties properties,
+    private List<String> extractDataFromRage(IExcelSheetReader sheetReader, ExamplesTableProperties properties,
             String range)
     {
-        List<String> data = sheetParser.getDataFromRange(range).stream().map(CellValue::getValue)
+        List<String> data = sheetReader.getDataFromRange(range).stream().map(CellValue::getValue)
                 .collect(Collectors.toList());
         String incrementAsString = properties.getProperties().getProperty("increment");
         if (incrementAsString != null)
@@ -93,9 +90,9 @@ public class ExcelTableTransformer implements ExtendedTableTransformer
         return data;
     }
 
-    private List<String> extractDataFromAddresses(IExcelSheetParser sheetParser, String addresses)
+    private List<String> extractDataFromAddresses(IExcelSheetReader sheetReader, String addresses)
     {
-        return Stream.of(addresses.split(";")).map(sheetParser::getDataFromCell).collect(Collectors.toList());
+        return sheetReader.getDataFromCells(List.of(addresses.split(";")));
     }
 
     private String build(List<String> data, ExamplesTableProperties properties)
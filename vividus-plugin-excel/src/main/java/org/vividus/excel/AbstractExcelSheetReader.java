@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.vividus.bdd.model.CellValue;
+
+/**
+ * Base sheet reader getting the data of the sheet by reading its rows one by one, the reading stops as soon as the
+ * requested rows are read.
+ */
+public abstract class AbstractExcelSheetReader implements IExcelSheetReader
+{
+    @Override
+    public List<Map<String, String>> getDataWithTitle(int titleRowNumber)
+    {
+        return getDataWithTitle(titleRowNumber, 0);
+    }
+
+    @Override
+    public List<Map<String, String>> getDataWithTitle(int titleRowNumber, int skipBottomRows)
+    {
+        TitledRowsCollector collector = new TitledRowsCollector(titleRowNumber);
+        readRows(collector);
+        return collector.getData(skipBottomRows);
+    }
+
+    @Override
+    public List<CellValue> getDataFromRange(String range)
+    {
+        CellRangeAddress rangeAddress = CellRangeAddress.valueOf(range);
+        int firstRow = rangeAddress.getFirstRow();
+        Map<Integer, SheetRow> rows = readRows(rangeAddress.getLastRow(), rowIndex -> rowIndex >= firstRow);
+        return StreamSupport.stream(rangeAddress.spliterator(), false)
+                .map(address -> new CellValue(getValue(rows, address), address.formatAsString()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String getDataFromCell(String cellAddress)
+    {
+        return getDataFromCells(List.of(cellAddress)).get(0);
+    }
+
+    @Override
+    public List<String> getDataFromCells(List<String> cellAddresses)
+    {
+        List<CellAddress> addresses = cellAddresses.stream().map(CellAddress::new).collect(Collectors.toList());
+        int[] rowIndices = addresses.stream().mapToInt(CellAddress::getRow).sorted().distinct().toArray();
+        Map<Integer, SheetRow> rows = readRows(rowIndices[rowIndices.length - 1],
+            rowIndex -> Arrays.binarySearch(rowIndices, rowIndex) >= 0);
+        return addresses.stream().map(address -> getValue(rows, address)).collect(Collectors.toList());
+    }
+
+    private Map<Integer, SheetRow> readRows(int lastRowIndex, IntPredicate rowFilter)
+    {
+        Map<Integer, SheetRow> rows = new HashMap<>();
+        readRows(row -> {
+            if (row.getIndex() > lastRowIndex)
+            {
+                return false;
+            }
+            if (rowFilter.test(row.getIndex()))
+            {
+                rows.put(row.getIndex(), row);
+            }
+            return true;
+        });
+        return rows;
+    }
+
+    private static String getValue(Map<Integer, SheetRow> rows, CellAddress address)
+    {
+        SheetRow row = rows.get(address.getRow());
+        if (row == null)
+        {
+            throw new IllegalArgumentException(
+                    String.format("Row at address '%s' doesn't exist", address.formatAsString()));
+        }
+        return row.getCell(address.getColumn());
+    }
+
+    private static final class TitledRowsCollector implements SheetRowHandler
+    {
+        private final int titleRowNumber;
+        private final List<SheetRow> dataRows = new ArrayList<>();
+        private SheetRow titleRow;
+        private int lastRowWithDataIndex = -1;
+
+        private TitledRowsCollector(int titleRowNumber)
+        {
+            this.titleRowNumber = titleRowNumber;
+        }
+
+        @Override
+        public boolean handleRow(SheetRow row)
+        {
+            if (row.hasData())
+            {
+                lastRowWithDataIndex = row.getIndex();
+            }
+            if (row.getIndex() == titleRowNumber)
+            {
+                titleRow = row;
+            }
+            else if (row.getIndex() > titleRowNumber)
+            {
+                dataRows.add(row);
+            }
+            return true;
+        }
+
+        private List<Map<String, String>> getData(int skipBottomRows)
+        {
+            if (titleRow == null)
+            {
+                throw new IllegalArgumentException(String.format("Title row %d doesn't exist", titleRowNumber));
+            }
+            int to = lastRowWithDataIndex + 1 - skipBottomRows;
+            return dataRows.stream()
+                    .filter(row -> row.getIndex() < to)
+                    .map(this::toEntryData)
+                    .collect(Collectors.toList());
+        }
+
+        private Map<String, String> toEntryData(SheetRow dataRow)
+        {
+            Map<String, String> entryData = new LinkedHashMap<>();
+            for (int columnIndex = 0; columnIndex <= titleRow.getLastCellIndex(); columnIndex++)
+            {
+                String key = titleRow.getCell(columnIndex);
+                String value = dataRow.getCell(columnIndex);
+                if (key != null && !key.isEmpty() && value != null)
+                {
+                    entryData.put(key, value);
+                }
+            }
+            return entryData;
+        }
+    }
+}
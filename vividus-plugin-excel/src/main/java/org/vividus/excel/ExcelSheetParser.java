@@ -102,6 +102,20 @@ public class ExcelSheetParser implements IExcelSheetParser
         return sheetDataLimits;
     }
 
+    @Override
+    public void readRows(SheetRowHandler rowHandler)
+    {
+        for (Row row : sheet)
+        {
+            String[] cells = new String[Math.max(row.getLastCellNum(), 0)];
+            row.forEach(cell -> cells[cell.getColumnIndex()] = getCellValueAndTrimIfNeeded(cell));
+            if (!rowHandler.handleRow(new SheetRow(row.getRowNum(), cells)))
+            {
+                return;
+            }
+        }
+    }
+
     @Override
     public List<String> getRow(int rowNumber)
     {
@@ -225,6 +239,12 @@ public class ExcelSheetParser implements IExcelSheetParser
                 .orElse(null);
     }
 
+    @Override
+    public List<String> getDataFromCells(List<String> cellAddresses)
+    {
+        return cellAddresses.stream().map(this::getDataFromCell).collect(Collectors.toList());
+    }
+
     private static class SheetDataLimits
     {
         private int lastRowIndex = -1;
@@ -17,6 +17,7 @@
 package org.vividus.excel;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -52,8 +53,12 @@ public class ExcelSheetsExtractor implements IExcelSheetsExtractor
 
     public ExcelSheetsExtractor(String path) throws WorkbookParsingException
     {
-        try (Workbook wb = WorkbookFactory
-                .create(ResourceUtils.loadFile(this.getClass(), StringUtils.prependIfMissing(path, "/"))))
+        this(ResourceUtils.loadFile(ExcelSheetsExtractor.class, StringUtils.prependIfMissing(path, "/")));
+    }
+
+    public ExcelSheetsExtractor(File file) throws WorkbookParsingException
+    {
+        try (Workbook wb = WorkbookFactory.create(file))
         {
             sheets = getAllSheetsFromWorkbook(wb);
         }
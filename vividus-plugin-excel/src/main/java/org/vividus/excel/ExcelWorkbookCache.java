@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.vividus.util.ResourceChecksums;
+import org.vividus.util.ResourceUtils;
+
+/**
+ * Cache of the workbook sheets shared by all stories. The sheets are identified by the resolved path of the workbook
+ * file, the checksum of its content and the sheet name, so any change of the workbook leads to its re-reading. The
+ * checksum is calculated anew only when the modification time or the size of the workbook file is changed. The sheets
+ * fitting the limit of the cached cells are read into memory, the least recently used of them are evicted as soon as
+ * the total number of the cached cells exceeds the limit. The sheets exceeding the limit are not kept in memory, each
+ * reading of such sheet streams the rows from the workbook file and stops as soon as the requested rows are read.
+ */
+public class ExcelWorkbookCache
+{
+    private final ResourceChecksums checksums = new ResourceChecksums();
+    private final long maxCachedCells;
+    private final Cache<SheetKey, Optional<IExcelSheetReader>> sheets;
+
+    public ExcelWorkbookCache(long maxCachedCells)
+    {
+        this.maxCachedCells = maxCachedCells;
+        sheets = CacheBuilder.newBuilder()
+                // single segment lets one entry take the whole limit instead of a quarter of it
+                .concurrencyLevel(1)
+                .maximumWeight(maxCachedCells)
+                .<SheetKey, Optional<IExcelSheetReader>>weigher((key, sheet) -> sheet
+                        .filter(InMemoryExcelSheet.class::isInstance)
+                        .map(InMemoryExcelSheet.class::cast)
+                        .map(InMemoryExcelSheet::getCellsCount)
+                        .orElse(0))
+                .build();
+    }
+
+    public Optional<IExcelSheetReader> getSheet(String path, String sheetName) throws WorkbookParsingException
+    {
+        return getSheet(ResourceUtils.loadFile(getClass(), StringUtils.prependIfMissing(path, "/")), sheetName);
+    }
+
+    Optional<IExcelSheetReader> getSheet(File file, String sheetName) throws WorkbookParsingException
+    {
+        try
+        {
+            SheetKey key = new SheetKey(file.getAbsolutePath(), checksums.getChecksum(file.toURI().toURL()),
+                    sheetName);
+            return sheets.get(key, () -> readSheet(file, sheetName));
+        }
+        catch (IOException e)
+        {
+            throw new WorkbookParsingException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw (WorkbookParsingException) e.getCause();
+        }
+    }
+
+    private Optional<IExcelSheetReader> readSheet(File file, String sheetName) throws WorkbookParsingException
+    {
+        try (ExcelWorkbookReader workbookReader = new ExcelWorkbookReader(file))
+        {
+            return workbookReader.getSheet(sheetName).map(sheet -> InMemoryExcelSheet.read(sheet, maxCachedCells)
+                    .<IExcelSheetReader>map(IExcelSheetReader.class::cast)
+                    .orElseGet(() -> new StreamedExcelSheet(file, sheetName)));
+        }
+    }
+
+    /**
+     * Sheet exceeding the limit of the cached cells, every reading of its rows opens the workbook file anew and
+     * streams the rows from it
+     */
+    private static final class StreamedExcelSheet extends AbstractExcelSheetReader
+    {
+        private final File file;
+        private final String sheetName;
+
+        private StreamedExcelSheet(File file, String sheetName)
+        {
+            this.file = file;
+            this.sheetName = sheetName;
+        }
+
+        @Override
+        public void readRows(SheetRowHandler rowHandler)
+        {
+            try (ExcelWorkbookReader workbookReader = new ExcelWorkbookReader(file))
+            {
+                workbookReader.getSheet(sheetName)
+                        .orElseThrow(() -> new IllegalStateException(
+                                String.format("Sheet '%s' is not found in the workbook '%s'", sheetName, file)))
+                        .readRows(rowHandler);
+            }
+            catch (WorkbookParsingException e)
+            {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class SheetKey
+    {
+        private final String path;
+        private final String checksum;
+        private final String sheetName;
+
+        private SheetKey(String path, String checksum, String sheetName)
+        {
+            this.path = path;
+            this.checksum = checksum;
+            this.sheetName = sheetName;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            SheetKey other = (SheetKey) o;
+            return path.equals(other.path) && checksum.equals(other.checksum) && sheetName.equals(other.sheetName);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(path, checksum, sheetName);
+        }
+    }
+}
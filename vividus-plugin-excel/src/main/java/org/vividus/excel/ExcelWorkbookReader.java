@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.vividus.util.ResourceUtils;
+import org.xml.sax.SAXException;
+
+/**
+ * Reader of the workbook sheets. The sheets of XLSX workbooks are read with {@link StreamingExcelSheetParser}
+ * without loading of the whole workbook into memory, the workbooks of other formats are loaded with
+ * {@link ExcelSheetsExtractor} and read with {@link ExcelSheetParser}.
+ */
+public class ExcelWorkbookReader implements AutoCloseable
+{
+    private final OPCPackage officePackage;
+    private final Map<String, Supplier<IExcelSheetReader>> sheets;
+
+    public ExcelWorkbookReader(byte[] bytes) throws WorkbookParsingException
+    {
+        if (FileMagic.valueOf(bytes) == FileMagic.OOXML)
+        {
+            try
+            {
+                officePackage = OPCPackage.open(new ByteArrayInputStream(bytes));
+            }
+            catch (IOException | OpenXML4JException e)
+            {
+                throw new WorkbookParsingException(e);
+            }
+            sheets = readSheets(officePackage);
+        }
+        else
+        {
+            officePackage = null;
+            sheets = adaptSheets(new ExcelSheetsExtractor(bytes));
+        }
+    }
+
+    public ExcelWorkbookReader(String path) throws WorkbookParsingException
+    {
+        this(ResourceUtils.loadFile(ExcelWorkbookReader.class, StringUtils.prependIfMissing(path, "/")));
+    }
+
+    public ExcelWorkbookReader(File file) throws WorkbookParsingException
+    {
+        try
+        {
+            officePackage = FileMagic.valueOf(file) == FileMagic.OOXML ? OPCPackage.open(file, PackageAccess.READ)
+                    : null;
+        }
+        catch (IOException | OpenXML4JException e)
+        {
+            throw new WorkbookParsingException(e);
+        }
+        sheets = officePackage != null ? readSheets(officePackage) : adaptSheets(new ExcelSheetsExtractor(file));
+    }
+
+    public Optional<IExcelSheetReader> getSheet(String name)
+    {
+        return Optional.ofNullable(sheets.get(name)).map(Supplier::get);
+    }
+
+    public Optional<IExcelSheetReader> getSheet(int index)
+    {
+        return sheets.values().stream().skip(index).findFirst().map(Supplier::get);
+    }
+
+    @Override
+    public void close()
+    {
+        if (officePackage != null)
+        {
+            officePackage.revert();
+        }
+    }
+
+    private static Map<String, Supplier<IExcelSheetReader>> readSheets(OPCPackage officePackage)
+            throws WorkbookParsingException
+    {
+        try
+        {
+            XSSFReader reader = new XSSFReader(officePackage);
+            SharedStrings sharedStrings = new ReadOnlySharedStringsTable(officePackage);
+            XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+            Map<String, Supplier<IExcelSheetReader>> sheets = new LinkedHashMap<>();
+            while (sheetIterator.hasNext())
+            {
+                sheetIterator.next().close();
+                IExcelSheetReader sheet = new StreamingExcelSheetParser(sheetIterator.getSheetPart(), sharedStrings);
+                sheets.putIfAbsent(sheetIterator.getSheetName(), () -> sheet);
+            }
+            return sheets;
+        }
+        catch (IOException | OpenXML4JException | SAXException e)
+        {
+            officePackage.revert();
+            throw new WorkbookParsingException(e);
+        }
+    }
+
+    private static Map<String, Supplier<IExcelSheetReader>> adaptSheets(IExcelSheetsExtractor sheetsExtractor)
+    {
+        Map<String, Supplier<IExcelSheetReader>> sheets = new LinkedHashMap<>();
+        sheetsExtractor.getSheetsWithNames()
+                .forEach((name, sheet) -> sheets.put(name, () -> new ExcelSheetParser(sheet)));
+        return sheets;
+    }
+}
@@ -17,12 +17,10 @@
 package org.vividus.excel;
 
 import java.util.List;
-import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Sheet;
-import org.vividus.bdd.model.CellValue;
 
-public interface IExcelSheetParser
+public interface IExcelSheetParser extends IExcelSheetReader
 {
     List<String> getRow(int rowNumber);
 
@@ -32,13 +30,5 @@ public interface IExcelSheetParser
 
     List<List<String>> getData(int from, int skipBottomRows);
 
-    List<Map<String, String>> getDataWithTitle(int titleRowNumber);
-
-    List<Map<String, String>> getDataWithTitle(int titleRowNumber, int skipBottomRows);
-
     Sheet getSheet();
-
-    List<CellValue> getDataFromRange(String range);
-
-    String getDataFromCell(String cellAddress);
 }
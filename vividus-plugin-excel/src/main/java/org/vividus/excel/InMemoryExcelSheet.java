@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sheet with all its rows read into memory, the sheet is safe to be read from multiple threads at the same time.
+ */
+public final class InMemoryExcelSheet extends AbstractExcelSheetReader
+{
+    private final List<SheetRow> rows;
+    private final int cellsCount;
+
+    private InMemoryExcelSheet(List<SheetRow> rows)
+    {
+        this.rows = rows;
+        this.cellsCount = rows.stream().mapToInt(SheetRow::getCellsCount).sum();
+    }
+
+    /**
+     * Reads the sheet into memory unless it has more cells than the limit
+     * @param sheetReader Reader of the sheet
+     * @param maxCellsCount Max number of the cells to read into memory
+     * @return The sheet read into memory or empty optional if the sheet exceeds the limit, in this case the reading
+     * is stopped as soon as the limit is exceeded
+     */
+    public static Optional<InMemoryExcelSheet> read(IExcelSheetReader sheetReader, long maxCellsCount)
+    {
+        LimitedRowsCollector collector = new LimitedRowsCollector(maxCellsCount);
+        sheetReader.readRows(collector);
+        return collector.isLimitExceeded() ? Optional.empty() : Optional.of(new InMemoryExcelSheet(collector.rows));
+    }
+
+    @Override
+    public void readRows(SheetRowHandler rowHandler)
+    {
+        for (SheetRow row : rows)
+        {
+            if (!rowHandler.handleRow(row))
+            {
+                return;
+            }
+        }
+    }
+
+    public int getCellsCount()
+    {
+        return cellsCount;
+    }
+
+    private static final class LimitedRowsCollector implements SheetRowHandler
+    {
+        private final long maxCellsCount;
+        private final List<SheetRow> rows = new ArrayList<>();
+        private long cellsCount;
+
+        private LimitedRowsCollector(long maxCellsCount)
+        {
+            this.maxCellsCount = maxCellsCount;
+        }
+
+        @Override
+        public boolean handleRow(SheetRow row)
+        {
+            cellsCount += row.getCellsCount();
+            if (isLimitExceeded())
+            {
+                return false;
+            }
+            rows.add(row);
+            return true;
+        }
+
+        private boolean isLimitExceeded()
+        {
+            return cellsCount > maxCellsCount;
+        }
+    }
+}
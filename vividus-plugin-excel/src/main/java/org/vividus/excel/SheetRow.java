@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Row read from the sheet: values of the cells are indexed by the column, missing cells have <code>null</code>
+ * values.
+ */
+public final class SheetRow
+{
+    private final int index;
+    private final String[] cells;
+
+    public SheetRow(int index, String... cells)
+    {
+        this.index = index;
+        this.cells = cells;
+    }
+
+    public int getIndex()
+    {
+        return index;
+    }
+
+    public String getCell(int columnIndex)
+    {
+        return columnIndex < cells.length ? cells[columnIndex] : null;
+    }
+
+    public int getLastCellIndex()
+    {
+        return cells.length - 1;
+    }
+
+    public int getCellsCount()
+    {
+        return (int) Stream.of(cells).filter(Objects::nonNull).count();
+    }
+
+    public boolean hasData()
+    {
+        return Stream.of(cells).anyMatch(cell -> cell != null && !cell.isEmpty());
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ooxml.util.SAXHelper;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Sheet parser reading the sheet XML of the XLSX workbook as a stream of SAX events. The sheet is read anew for
+ * every request and the reading stops as soon as the requested rows are read, so only the requested data is kept
+ * in memory. Values of the formula cells are taken from the results cached in the workbook, the values are
+ * converted to strings the same way as by {@link CellUtils#getCellValueAsString}.
+ */
+public class StreamingExcelSheetParser extends AbstractExcelSheetReader
+{
+    private final PackagePart sheetPart;
+    private final SharedStrings sharedStrings;
+
+    public StreamingExcelSheetParser(PackagePart sheetPart, SharedStrings sharedStrings)
+    {
+        this.sheetPart = sheetPart;
+        this.sharedStrings = sharedStrings;
+    }
+
+    @Override
+    public void readRows(SheetRowHandler rowHandler)
+    {
+        try (InputStream sheetData = sheetPart.getInputStream())
+        {
+            XMLReader xmlReader = SAXHelper.newXMLReader();
+            xmlReader.setContentHandler(new SheetContentHandler(sharedStrings, rowHandler));
+            xmlReader.parse(new InputSource(sheetData));
+        }
+        catch (ReadingStoppedException e)
+        {
+            // The handler got all the rows it needs
+        }
+        catch (IOException | SAXException | ParserConfigurationException e)
+        {
+            throw new IllegalStateException(new WorkbookParsingException(e));
+        }
+    }
+
+    private static final class SheetContentHandler extends DefaultHandler
+    {
+        private static final int INITIAL_ROW_CAPACITY = 16;
+        private static final int COLUMN_NAME_RADIX = 26;
+
+        private static final String ROW = "row";
+        private static final String CELL = "c";
+        private static final String VALUE = "v";
+        private static final String FORMULA = "f";
+        private static final String INLINE_STRING = "is";
+        private static final String TEXT = "t";
+        private static final String PHONETIC_RUN = "rPh";
+        private static final String REFERENCE = "r";
+        private static final String TYPE = "t";
+
+        private final SharedStrings sharedStrings;
+        private final SheetRowHandler rowHandler;
+
+        private String[] cells = new String[INITIAL_ROW_CAPACITY];
+        private int lastCellIndex;
+        private int rowIndex = -1;
+        private int columnIndex;
+        private String cellType;
+        private boolean formula;
+        private boolean valueSet;
+        private boolean inlineString;
+        private boolean phoneticRun;
+        private boolean collectingValue;
+        private final StringBuilder value = new StringBuilder();
+
+        private SheetContentHandler(SharedStrings sharedStrings, SheetRowHandler rowHandler)
+        {
+            this.sharedStrings = sharedStrings;
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+        {
+            switch (localName)
+            {
+                case ROW:
+                    String rowReference = attributes.getValue(REFERENCE);
+                    rowIndex = rowReference == null ? rowIndex + 1 : Integer.parseInt(rowReference) - 1;
+                    lastCellIndex = -1;
+                    columnIndex = -1;
+                    break;
+                case CELL:
+                    String cellReference = attributes.getValue(REFERENCE);
+                    columnIndex = cellReference == null ? columnIndex + 1 : toColumnIndex(cellReference);
+                    cellType = attributes.getValue(TYPE);
+                    formula = false;
+                    valueSet = false;
+                    value.setLength(0);
+                    break;
+                case VALUE:
+                    valueSet = true;
+                    collectingValue = true;
+                    break;
+                case FORMULA:
+                    formula = true;
+                    break;
+                case INLINE_STRING:
+                    inlineString = true;
+                    break;
+                case TEXT:
+                    collectingValue = inlineString && !phoneticRun;
+                    break;
+                case PHONETIC_RUN:
+                    phoneticRun = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length)
+        {
+            if (collectingValue)
+            {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException
+        {
+            switch (localName)
+            {
+                case VALUE:
+                case TEXT:
+                    collectingValue = false;
+                    break;
+                case PHONETIC_RUN:
+                    phoneticRun = false;
+                    break;
+                case INLINE_STRING:
+                    inlineString = false;
+                    break;
+                case CELL:
+                    if (columnIndex >= cells.length)
+                    {
+                        cells = Arrays.copyOf(cells, Math.max(columnIndex + 1, cells.length * 2));
+                    }
+                    cells[columnIndex] = getCellValue();
+                    lastCellIndex = Math.max(lastCellIndex, columnIndex);
+                    break;
+                case ROW:
+                    SheetRow row = new SheetRow(rowIndex, Arrays.copyOf(cells, lastCellIndex + 1));
+                    Arrays.fill(cells, 0, lastCellIndex + 1, null);
+                    if (!rowHandler.handleRow(row))
+                    {
+                        throw new ReadingStoppedException();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private String getCellValue()
+        {
+            String rawValue = value.toString();
+            if (cellType == null || "n".equals(cellType))
+            {
+                if (rawValue.isEmpty())
+                {
+                    return valueSet || formula ? String.valueOf(0.0) : StringUtils.EMPTY;
+                }
+                return String.valueOf(Double.parseDouble(rawValue));
+            }
+            switch (cellType)
+            {
+                case "s":
+                    return rawValue.isEmpty() ? StringUtils.EMPTY
+                            : sharedStrings.getItemAt(Integer.parseInt(rawValue)).getString();
+                case "b":
+                    return String.valueOf("1".equals(rawValue));
+                case "e":
+                    return StringUtils.EMPTY;
+                default:
+                    return rawValue;
+            }
+        }
+
+        private static int toColumnIndex(String cellReference)
+        {
+            int column = 0;
+            for (int i = 0; i < cellReference.length(); i++)
+            {
+                char ch = cellReference.charAt(i);
+                if (ch < 'A' || ch > 'Z')
+                {
+                    break;
+                }
+                column = column * COLUMN_NAME_RADIX + ch - 'A' + 1;
+            }
+            return column - 1;
+        }
+    }
+
+    private static final class ReadingStoppedException extends SAXException
+    {
+        private static final long serialVersionUID = -2528263530916355817L;
+    }
+}
@@ -26,6 +26,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.excel.ExcelWorkbookCache;
 
 @ExtendWith(MockitoExtension.class)
 class ExcelTableTransformerTests
@@ -37,7 +38,7 @@ class ExcelTableTransformerTests
     private static final String JOIN_VALUES = "joinValues";
     private static final String TRUE = "true";
 
-    private final ExcelTableTransformer transformer = new ExcelTableTransformer();
+    private final ExcelTableTransformer transformer = new ExcelTableTransformer(new ExcelWorkbookCache(1_000));
 
     private final ExamplesTableProperties properties = new ExamplesTableProperties(new Properties());
 
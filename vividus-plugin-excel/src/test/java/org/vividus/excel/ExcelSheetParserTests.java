@@ -17,6 +17,7 @@
 package org.vividus.excel;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.LinkedHashMap;
@@ -209,6 +210,19 @@ class ExcelSheetParserTests
         assertEquals(address, actual.getAddress());
     }
 
+    @Test
+    void testReadRows()
+    {
+        List<SheetRow> rows = new LinkedList<>();
+        sheetParser.readRows(row -> rows.add(row) && row.getIndex() < TITLE_ROW_NUMBER);
+        assertEquals(TITLE_ROW_NUMBER + 1, rows.size());
+        SheetRow titleRow = rows.get(TITLE_ROW_NUMBER);
+        assertEquals(TITLE_ROW_NUMBER, titleRow.getIndex());
+        assertEquals(TITLE_KEY_PRODUCT, titleRow.getCell(0));
+        assertEquals(TITLE_KEY_PRICE, titleRow.getCell(1));
+        assertNull(titleRow.getCell(2));
+    }
+
     @Test
     void testGetDataFromCell()
     {
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExcelWorkbookCacheTests
+{
+    private static final String TEMPLATE_PATH = "TestTemplate.xlsx";
+    private static final String SHEET_NAME = "RepeatingData";
+    private static final String CELL_ADDRESS = "A1";
+    private static final long MAX_CACHED_CELLS = 1_000;
+
+    @Test
+    void shouldReadSheetOnlyOnce() throws WorkbookParsingException
+    {
+        ExcelWorkbookCache workbookCache = new ExcelWorkbookCache(MAX_CACHED_CELLS);
+        IExcelSheetReader sheetReader = workbookCache.getSheet(TEMPLATE_PATH, SHEET_NAME).get();
+        assertSame(sheetReader, workbookCache.getSheet(TEMPLATE_PATH, SHEET_NAME).get());
+        assertEquals(List.of("name", "OPEN", "PENDING"), sheetReader.getDataFromCells(List.of(CELL_ADDRESS, "B2",
+                "B5")));
+    }
+
+    @Test
+    void shouldReturnEmptyOptionalForMissingSheet() throws WorkbookParsingException
+    {
+        assertTrue(new ExcelWorkbookCache(MAX_CACHED_CELLS).getSheet(TEMPLATE_PATH, "Unknown").isEmpty());
+    }
+
+    @Test
+    void shouldReadSheetAgainWhenWorkbookIsChanged(@TempDir Path tempDir) throws IOException, WorkbookParsingException
+    {
+        Path workbookPath = tempDir.resolve(TEMPLATE_PATH);
+        writeWorkbook(workbookPath, "initial");
+        FileTime lastModifiedTime = Files.getLastModifiedTime(workbookPath);
+        ExcelWorkbookCache workbookCache = new ExcelWorkbookCache(MAX_CACHED_CELLS);
+        IExcelSheetReader sheetReader = workbookCache.getSheet(workbookPath.toFile(), SHEET_NAME).get();
+        assertEquals("initial", sheetReader.getDataFromCell(CELL_ADDRESS));
+        writeWorkbook(workbookPath, "changed");
+        Files.setLastModifiedTime(workbookPath, FileTime.fromMillis(lastModifiedTime.toMillis() + 1_000));
+        IExcelSheetReader changedSheetReader = workbookCache.getSheet(workbookPath.toFile(), SHEET_NAME).get();
+        assertNotSame(sheetReader, changedSheetReader);
+        assertEquals("changed", changedSheetReader.getDataFromCell(CELL_ADDRESS));
+    }
+
+    @Test
+    void shouldCacheSheetTakingMostOfCellsLimit() throws WorkbookParsingException
+    {
+        // the sheet has 16 cells
+        ExcelWorkbookCache workbookCache = new ExcelWorkbookCache(20);
+        IExcelSheetReader sheetReader = workbookCache.getSheet(TEMPLATE_PATH, SHEET_NAME).get();
+        assertSame(sheetReader, workbookCache.getSheet(TEMPLATE_PATH, SHEET_NAME).get());
+    }
+
+    @Test
+    void shouldStreamSheetsExceedingCellsLimit() throws WorkbookParsingException
+    {
+        ExcelWorkbookCache workbookCache = new ExcelWorkbookCache(1);
+        IExcelSheetReader sheetReader = workbookCache.getSheet(TEMPLATE_PATH, SHEET_NAME).get();
+        assertFalse(sheetReader instanceof InMemoryExcelSheet);
+        assertSame(sheetReader, workbookCache.getSheet(TEMPLATE_PATH, SHEET_NAME).get());
+        assertEquals(List.of("name", "OPEN", "PENDING"), sheetReader.getDataFromCells(List.of(CELL_ADDRESS, "B2",
+                "B5")));
+        assertEquals(List.of("PENDING"), sheetReader.getDataFromCells(List.of("B5")));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedSheetsExceedingCellsLimit(@TempDir Path tempDir)
+            throws IOException, WorkbookParsingException
+    {
+        Path firstWorkbookPath = tempDir.resolve("first.xlsx");
+        Path secondWorkbookPath = tempDir.resolve("second.xlsx");
+        writeWorkbook(firstWorkbookPath, "first");
+        writeWorkbook(secondWorkbookPath, "second");
+        ExcelWorkbookCache workbookCache = new ExcelWorkbookCache(1);
+        IExcelSheetReader sheetReader = workbookCache.getSheet(firstWorkbookPath.toFile(), SHEET_NAME).get();
+        assertTrue(sheetReader instanceof InMemoryExcelSheet);
+        workbookCache.getSheet(secondWorkbookPath.toFile(), SHEET_NAME);
+        assertNotSame(sheetReader, workbookCache.getSheet(firstWorkbookPath.toFile(), SHEET_NAME).get());
+    }
+
+    private static void writeWorkbook(Path path, String value) throws IOException
+    {
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream output = Files.newOutputStream(path))
+        {
+            workbook.createSheet(SHEET_NAME).createRow(0).createCell(0).setCellValue(value);
+            workbook.write(output);
+        }
+    }
+}
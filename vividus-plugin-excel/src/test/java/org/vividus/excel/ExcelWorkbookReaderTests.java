@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.jupiter.api.Test;
+import org.vividus.util.ResourceUtils;
+
+class ExcelWorkbookReaderTests
+{
+    private static final String TEMPLATE_PATH = "/TestTemplate.xlsx";
+    private static final String SHEET_NAME = "RepeatingData";
+    private static final String CELL_ADDRESS = "A1";
+    private static final String CELL_VALUE = "name";
+
+    @Test
+    void shouldStreamSheetsOfXlsxWorkbookFromPath() throws WorkbookParsingException
+    {
+        try (ExcelWorkbookReader workbookReader = new ExcelWorkbookReader(TEMPLATE_PATH))
+        {
+            IExcelSheetReader sheetReader = workbookReader.getSheet(SHEET_NAME).get();
+            assertThat(sheetReader, instanceOf(StreamingExcelSheetParser.class));
+            assertEquals(CELL_VALUE, sheetReader.getDataFromCell(CELL_ADDRESS));
+            assertEquals(CELL_VALUE, workbookReader.getSheet(2).get().getDataFromCell(CELL_ADDRESS));
+            assertTrue(workbookReader.getSheet(3).isEmpty());
+            assertTrue(workbookReader.getSheet("Unknown").isEmpty());
+        }
+    }
+
+    @Test
+    void shouldStreamSheetsOfXlsxWorkbookFromBytes() throws WorkbookParsingException
+    {
+        byte[] bytes = ResourceUtils.loadResourceAsByteArray(getClass(), TEMPLATE_PATH);
+        try (ExcelWorkbookReader workbookReader = new ExcelWorkbookReader(bytes))
+        {
+            IExcelSheetReader sheetReader = workbookReader.getSheet(0).get();
+            assertThat(sheetReader, instanceOf(StreamingExcelSheetParser.class));
+            assertEquals("Product Title", sheetReader.getDataFromCell("A3"));
+        }
+    }
+
+    @Test
+    void shouldParseSheetsOfNonXlsxWorkbook() throws IOException, WorkbookParsingException
+    {
+        byte[] bytes;
+        try (Workbook workbook = new HSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream())
+        {
+            workbook.createSheet(SHEET_NAME).createRow(0).createCell(0).setCellValue(CELL_VALUE);
+            workbook.write(output);
+            bytes = output.toByteArray();
+        }
+        try (ExcelWorkbookReader workbookReader = new ExcelWorkbookReader(bytes))
+        {
+            IExcelSheetReader sheetReader = workbookReader.getSheet(SHEET_NAME).get();
+            assertThat(sheetReader, instanceOf(ExcelSheetParser.class));
+            assertEquals(CELL_VALUE, sheetReader.getDataFromCell(CELL_ADDRESS));
+        }
+    }
+
+    @Test
+    void shouldFailToReadInvalidWorkbook()
+    {
+        byte[] bytes = "not a workbook".getBytes(StandardCharsets.UTF_8);
+        WorkbookParsingException exception = assertThrows(WorkbookParsingException.class,
+            () -> new ExcelWorkbookReader(bytes));
+        assertEquals("Unable to parse workbook", exception.getMessage());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.excel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.vividus.bdd.model.CellValue;
+
+class StreamingExcelSheetParserTests
+{
+    private static final String TEMPLATE_PATH = "/TestTemplate.xlsx";
+    private static final String MAPPING_SHEET = "Mapping";
+    private static final String REPEATING_DATA_SHEET = "RepeatingData";
+    private static final String DATA_SHEET = "Data";
+    private static final int TITLE_ROW_NUMBER = 2;
+    private static final String TYPES_RANGE = "A1:G1";
+    private static final String GAPS_RANGE = "A3:C3";
+
+    private ExcelWorkbookReader workbookReader;
+
+    @AfterEach
+    void afterEach()
+    {
+        workbookReader.close();
+    }
+
+    @Test
+    void shouldReadDataFromRange() throws WorkbookParsingException
+    {
+        List<CellValue> dataFromRange = getSheetReader(REPEATING_DATA_SHEET).getDataFromRange("B2:B7");
+        assertEquals(List.of("OPEN", "OPEN", "OPEN", "PENDING", "CLOSED", "CLOSED"), getValues(dataFromRange));
+        assertEquals(List.of("B2", "B3", "B4", "B5", "B6", "B7"),
+                dataFromRange.stream().map(CellValue::getAddress).collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldReadDataFromCellsInRequestedOrder() throws WorkbookParsingException
+    {
+        assertEquals(List.of("PENDING", "name", "OPEN"),
+                getSheetReader(REPEATING_DATA_SHEET).getDataFromCells(List.of("B5", "A1", "B2")));
+    }
+
+    @Test
+    void shouldReadDataFromCell() throws WorkbookParsingException
+    {
+        assertEquals("name", getSheetReader(REPEATING_DATA_SHEET).getDataFromCell("A1"));
+    }
+
+    @Test
+    void shouldFailToReadDataFromNotExistingRow() throws WorkbookParsingException
+    {
+        IExcelSheetReader sheetReader = getSheetReader(REPEATING_DATA_SHEET);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> sheetReader.getDataFromCell("A1001"));
+        assertEquals("Row at address 'A1001' doesn't exist", exception.getMessage());
+    }
+
+    @Test
+    void shouldReadDataWithTitleSameWayAsSheetParser() throws WorkbookParsingException
+    {
+        IExcelSheetParser sheetParser = new ExcelSheetParser(
+                new ExcelSheetsExtractor(TEMPLATE_PATH).getSheet(MAPPING_SHEET).get());
+        IExcelSheetReader sheetReader = getSheetReader(MAPPING_SHEET);
+        assertEquals(sheetParser.getDataWithTitle(TITLE_ROW_NUMBER), sheetReader.getDataWithTitle(TITLE_ROW_NUMBER));
+        assertEquals(List.of(Map.of("Product Title", "Product1 ", "Price", "Price1 ")),
+                sheetReader.getDataWithTitle(TITLE_ROW_NUMBER, 1));
+    }
+
+    @Test
+    void shouldFailToReadDataWithNotExistingTitleRow() throws WorkbookParsingException
+    {
+        IExcelSheetReader sheetReader = getSheetReader(MAPPING_SHEET);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> sheetReader.getDataWithTitle(10));
+        assertEquals("Title row 10 doesn't exist", exception.getMessage());
+    }
+
+    @Test
+    void shouldStopReadingRowsWhenHandlerRequestsIt() throws WorkbookParsingException
+    {
+        StreamingExcelSheetParser sheetReader = (StreamingExcelSheetParser) getSheetReader(REPEATING_DATA_SHEET);
+        List<Integer> rowIndices = new ArrayList<>();
+        sheetReader.readRows(row -> rowIndices.add(row.getIndex()) && row.getIndex() < 1);
+        assertEquals(List.of(0, 1), rowIndices);
+    }
+
+    @Test
+    void shouldConvertCellValuesSameWayAsSheetParser() throws IOException, WorkbookParsingException
+    {
+        byte[] workbook = createWorkbook();
+        workbookReader = new ExcelWorkbookReader(workbook);
+        IExcelSheetReader sheetReader = workbookReader.getSheet(DATA_SHEET).get();
+        IExcelSheetParser sheetParser = new ExcelSheetParser(
+                new ExcelSheetsExtractor(workbook).getSheet(DATA_SHEET).get());
+
+        List<String> typedValues = getValues(sheetReader.getDataFromRange(TYPES_RANGE));
+        assertEquals(List.of("text", "1.5", "true", "3.0", "ab", "", ""), typedValues);
+        assertEquals(getValues(sheetParser.getDataFromRange(TYPES_RANGE)), typedValues);
+
+        List<String> sparseValues = getValues(sheetReader.getDataFromRange(GAPS_RANGE));
+        assertEquals(List.of(" padded ", null, "3.0"), sparseValues);
+        assertEquals(getValues(sheetParser.getDataFromRange(GAPS_RANGE)), sparseValues);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> sheetReader.getDataFromRange("A1:A2"));
+        assertEquals("Row at address 'A2' doesn't exist", exception.getMessage());
+    }
+
+    private IExcelSheetReader getSheetReader(String sheetName) throws WorkbookParsingException
+    {
+        workbookReader = new ExcelWorkbookReader(TEMPLATE_PATH);
+        return workbookReader.getSheet(sheetName).get();
+    }
+
+    private static List<String> getValues(List<CellValue> cellValues)
+    {
+        return cellValues.stream().map(CellValue::getValue).collect(Collectors.toList());
+    }
+
+    private static byte[] createWorkbook() throws IOException
+    {
+        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream())
+        {
+            Sheet sheet = workbook.createSheet(DATA_SHEET);
+            Row typesRow = sheet.createRow(0);
+            typesRow.createCell(0).setCellValue("text");
+            typesRow.createCell(1).setCellValue(1.5);
+            typesRow.createCell(2).setCellValue(true);
+            typesRow.createCell(3).setCellFormula("B1*2");
+            typesRow.createCell(4).setCellFormula("\"a\"&\"b\"");
+            typesRow.createCell(5).setCellFormula("1/0");
+            typesRow.createCell(6);
+            Row gapsRow = sheet.createRow(2);
+            gapsRow.createCell(0).setCellValue(" padded ");
+            gapsRow.createCell(2).setCellValue(3);
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            workbook.write(output);
+            return output.toByteArray();
+        }
+    }
+}
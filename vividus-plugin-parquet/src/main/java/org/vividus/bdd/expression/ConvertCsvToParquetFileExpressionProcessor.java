@@ -22,6 +22,7 @@ import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -77,6 +78,12 @@ public class ConvertCsvToParquetFileExpressionProcessor implements IExpressionPr
         return Optional.empty();
     }
 
+    @Override
+    public Set<String> getFunctionNames()
+    {
+        return Set.of("convertCsvToParquetFile");
+    }
+
     private void write(File file, String avroSchemaPath, List<Map<String, String>> data) throws IOException
     {
         Schema schema = new Parser().parse(ResourceUtils.loadResource(avroSchemaPath));
@@ -25,7 +25,8 @@ public class RemoveWrappingDoubleQuotesExpressionProcessor extends UnaryExpressi
 
     public RemoveWrappingDoubleQuotesExpressionProcessor()
     {
-        super("removeWrappingDoubleQuotes", RemoveWrappingDoubleQuotesExpressionProcessor::removeWrappingQuotes);
+        super("removeWrappingDoubleQuotes", RemoveWrappingDoubleQuotesExpressionProcessor::removeWrappingQuotes,
+                true);
     }
 
     /**
@@ -32,6 +32,7 @@ import java.util.regex.Pattern;
 
 import javax.inject.Inject;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.PathNotFoundException;
 
@@ -86,7 +87,7 @@ public class JsonResponseValidationSteps
     @Then("a JSON element by the JSON path '$jsonPath' is equal to '$expectedData'$options")
     public boolean isDataByJsonPathEqual(String jsonPath, String expectedData, Options options)
     {
-        return isDataByJsonPathFromJsonEqual(getActualJson(), jsonPath, expectedData, options);
+        return isDataByJsonPathEqual(getActualJsonDocument(), jsonPath, expectedData, options);
     }
 
     /**
@@ -100,6 +101,11 @@ public class JsonResponseValidationSteps
      */
     @Then("a JSON element from '$json' by the JSON path '$jsonPath' is equal to '$expectedData'$options")
     public boolean isDataByJsonPathFromJsonEqual(String json, String jsonPath, String expectedData, Options options)
+    {
+        return isDataByJsonPathEqual(JsonPathUtils.parse(json), jsonPath, expectedData, options);
+    }
+
+    private boolean isDataByJsonPathEqual(DocumentContext json, String jsonPath, String expectedData, Options options)
     {
         return getDataByJsonPath(json, jsonPath, expectedData).map(match(jsonPath, expectedData, options))
                 .orElse(Boolean.FALSE).booleanValue();
@@ -142,7 +148,8 @@ public class JsonResponseValidationSteps
     @Then("the number of JSON elements by the JSON path '$jsonPath' is $comparisonRule $elementsNumber")
     public boolean doesJsonPathElementsMatchRule(String jsonPath, ComparisonRule comparisonRule, int elementsNumber)
     {
-        return doesJsonPathElementsFromJsonMatchRule(getActualJson(), jsonPath, comparisonRule, elementsNumber);
+        int actualNumber = getElementsNumber(getActualJsonDocument(), jsonPath);
+        return assertJsonElementsNumber(jsonPath, actualNumber, comparisonRule, elementsNumber);
     }
 
     /**
@@ -160,7 +167,7 @@ public class JsonResponseValidationSteps
     public boolean doesJsonPathElementsFromJsonMatchRule(String json, String jsonPath, ComparisonRule comparisonRule,
             int elementsNumber)
     {
-        int actualNumber = getElementsNumber(json, jsonPath);
+        int actualNumber = getElementsNumber(JsonPathUtils.parse(json), jsonPath);
         return assertJsonElementsNumber(jsonPath, actualNumber, comparisonRule, elementsNumber);
     }
 
@@ -187,7 +194,7 @@ public class JsonResponseValidationSteps
     @When("I save JSON element from context by JSON path `$jsonPath` to $scopes variable `$variableName`")
     public void saveJsonElementFromContextToVariable(String jsonPath, Set<VariableScope> scopes, String variableName)
     {
-        saveJsonElementToVariable(getActualJson(), jsonPath, scopes, variableName);
+        saveJsonElementToVariable(getActualJsonDocument(), jsonPath, scopes, variableName);
     }
 
     /**
@@ -214,6 +221,12 @@ public class JsonResponseValidationSteps
      */
     @When("I save a JSON element from '$json' by JSON path '$jsonPath' to $scopes variable '$variableName'")
     public void saveJsonElementToVariable(String json, String jsonPath, Set<VariableScope> scopes, String variableName)
+    {
+        saveJsonElementToVariable(JsonPathUtils.parse(json), jsonPath, scopes, variableName);
+    }
+
+    private void saveJsonElementToVariable(DocumentContext json, String jsonPath, Set<VariableScope> scopes,
+            String variableName)
     {
         getDataByJsonPath(json, jsonPath, null)
                 .ifPresent(actualData -> bddVariableContext.putVariable(scopes, variableName, actualData));
@@ -236,7 +249,7 @@ public class JsonResponseValidationSteps
     @When("I set the number of elements found by the JSON path '$jsonPath' to the $scopes variable '$variableName'")
     public void saveElementsNumberByJsonPath(String jsonPath, Set<VariableScope> scopes, String variableName)
     {
-        bddVariableContext.putVariable(scopes, variableName, getElementsNumber(getActualJson(), jsonPath));
+        bddVariableContext.putVariable(scopes, variableName, getElementsNumber(getActualJsonDocument(), jsonPath));
     }
 
     /**
@@ -307,7 +320,8 @@ public class JsonResponseValidationSteps
         try
         {
             // Empty response may be in case of HTTP "204 NO CONTENT"
-            return StringUtils.isNotEmpty(responseBody) && getElementsNumber(responseBody, jsonPath) > 0;
+            return StringUtils.isNotEmpty(responseBody)
+                    && getElementsNumber(JsonPathUtils.parse(responseBody), jsonPath) > 0;
         }
         catch (InvalidJsonException ignored)
         {
@@ -351,7 +365,7 @@ public class JsonResponseValidationSteps
     public void performAllStepsForJsonIfFound(ComparisonRule comparisonRule, int elementsNumber, String jsonPath,
             SubSteps stepsToExecute)
     {
-        performAllStepsForProvidedJsonIfFound(comparisonRule, elementsNumber, getActualJson(), jsonPath,
+        performAllStepsForJsonIfFound(comparisonRule, elementsNumber, getActualJsonDocument(), jsonPath,
                 stepsToExecute);
     }
 
@@ -383,6 +397,13 @@ public class JsonResponseValidationSteps
             + "$stepsToExecute")
     public void performAllStepsForProvidedJsonIfFound(ComparisonRule comparisonRule, int elementsNumber, String json,
             String jsonPath, SubSteps stepsToExecute)
+    {
+        performAllStepsForJsonIfFound(comparisonRule, elementsNumber, JsonPathUtils.parse(json), jsonPath,
+                stepsToExecute);
+    }
+
+    private void performAllStepsForJsonIfFound(ComparisonRule comparisonRule, int elementsNumber, DocumentContext json,
+            String jsonPath, SubSteps stepsToExecute)
     {
         Optional<List<?>> jsonElements = getElements(json, jsonPath);
         if (assertJsonElementsNumber(jsonPath, countElementsNumber(jsonElements), comparisonRule, elementsNumber))
@@ -397,19 +418,20 @@ public class JsonResponseValidationSteps
         }
     }
 
-    private Optional<String> getDataByJsonPath(String json, String jsonPath, String expectedData)
+    private Optional<String> getDataByJsonPath(DocumentContext json, String jsonPath, String expectedData)
     {
         return getDataByJsonPathSafely(json, jsonPath).map(
             jsonByPath -> unwrapCollection(jsonByPath, expectedData)
             .orElseGet(() -> jsonUtils.toJson(jsonByPath.orElse(null))));
     }
 
-    private <T> Optional<Optional<T>> getDataByJsonPathSafely(String json, String jsonPath)
+    private <T> Optional<Optional<T>> getDataByJsonPathSafely(DocumentContext json, String jsonPath)
     {
         return getDataByJsonPathSafely(json, jsonPath, true);
     }
 
-    private <T> Optional<Optional<T>> getDataByJsonPathSafely(String json, String jsonPath, boolean recordFail)
+    private <T> Optional<Optional<T>> getDataByJsonPathSafely(DocumentContext json, String jsonPath,
+            boolean recordFail)
     {
         try
         {
@@ -445,13 +467,13 @@ public class JsonResponseValidationSteps
         return actualJsonByPath;
     }
 
-    private int getElementsNumber(String json, String jsonPath)
+    private int getElementsNumber(DocumentContext json, String jsonPath)
     {
         Optional<List<?>> elements = getElements(json, jsonPath);
         return countElementsNumber(elements);
     }
 
-    private Optional<List<?>> getElements(String json, String jsonPath)
+    private Optional<List<?>> getElements(DocumentContext json, String jsonPath)
     {
         Optional<Optional<Object>> jsonObject = getDataByJsonPathSafely(json, jsonPath, false);
         return jsonObject.map(e -> e.map(value -> value instanceof List ? (List<?>) value : List.of(value))
@@ -475,6 +497,11 @@ public class JsonResponseValidationSteps
         return httpTestContext.getJsonContext();
     }
 
+    private DocumentContext getActualJsonDocument()
+    {
+        return httpTestContext.getJsonDocument();
+    }
+
     public void setSoftAssert(ISoftAssert softAssert)
     {
         this.softAssert = softAssert;
@@ -53,7 +53,7 @@ public class HttpClientInterceptor implements HttpRequestInterceptor
     @Override
     public void process(HttpRequest request, HttpContext context)
     {
-        byte[] body = null;
+        String body = null;
         String mimeType = null;
         if (request instanceof HttpEntityEnclosingRequest)
         {
@@ -66,7 +66,7 @@ public class HttpClientInterceptor implements HttpRequestInterceptor
             {
                 // https://github.com/apache/httpcomponents-client/commit/09cefc2b8970eea56d81b1a886d9bb769a48daf3
                 entity.writeTo(baos);
-                body = baos.toByteArray();
+                body = baos.toString(StandardCharsets.UTF_8);
             }
             catch (IOException e)
             {
@@ -82,15 +82,15 @@ public class HttpClientInterceptor implements HttpRequestInterceptor
     {
         Header[] headers = response.getResponseHeaders();
         String attachmentTitle = String.format("Response: %s %s", response.getMethod(), response.getFrom());
-        attachApiMessage(attachmentTitle, headers, response.getResponseBody(), getMimeType(headers),
+        attachApiMessage(attachmentTitle, headers, response.getResponseBodyAsString(), getMimeType(headers),
                 response.getStatusCode());
     }
 
-    private void attachApiMessage(String title, Header[] headers, byte[] body, String mimeType, int statusCode)
+    private void attachApiMessage(String title, Header[] headers, String body, String mimeType, int statusCode)
     {
         Map<String, Object> dataMap = new HashMap<>();
         dataMap.put("headers", headers);
-        dataMap.put("body", body != null ? new String(body, StandardCharsets.UTF_8) : null);
+        dataMap.put("body", body);
         dataMap.put("bodyContentType", mimeType);
         dataMap.put("statusCode", statusCode);
 
@@ -20,12 +20,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import com.jayway.jsonpath.DocumentContext;
+
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.CookieStore;
 import org.apache.http.client.config.RequestConfig;
 import org.vividus.http.client.HttpResponse;
 import org.vividus.testcontext.TestContext;
+import org.vividus.util.json.JsonPathUtils;
 
 public class HttpTestContext
 {
@@ -63,11 +66,14 @@ public class HttpTestContext
         HttpTestContextData data = getData();
         data.response = response;
         data.jsonElement = Optional.empty();
+        data.jsonDocument = null;
     }
 
     public void putJsonContext(String jsonElement)
     {
-        getData().jsonElement = Optional.ofNullable(jsonElement);
+        HttpTestContextData data = getData();
+        data.jsonElement = Optional.ofNullable(jsonElement);
+        data.jsonDocument = null;
     }
 
     public void putRequestConfig(RequestConfig requestConfig)
@@ -100,6 +106,16 @@ public class HttpTestContext
         return getData().jsonElement.orElse(getResponse() == null ? null : getResponse().getResponseBodyAsString());
     }
 
+    public DocumentContext getJsonDocument()
+    {
+        HttpTestContextData data = getData();
+        if (data.jsonDocument == null)
+        {
+            data.jsonDocument = JsonPathUtils.parse(getJsonContext());
+        }
+        return data.jsonDocument;
+    }
+
     public Optional<CookieStore> getCookieStore()
     {
         return Optional.ofNullable(getData().cookieStore);
@@ -130,6 +146,7 @@ public class HttpTestContext
 
         private HttpResponse response;
         private Optional<String> jsonElement = Optional.empty();
+        private DocumentContext jsonDocument;
         private RequestConfig requestConfig;
     }
 }
@@ -55,7 +55,6 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.bdd.context.IBddVariableContext;
 import org.vividus.bdd.steps.ComparisonRule;
@@ -167,7 +166,7 @@ class JsonResponseValidationStepsTests
     @MethodSource("defaultDataProvider")
     void testIsDataByJsonPathEqual(String jsonPath, String expectedData)
     {
-        when(httpTestContext.getJsonContext()).thenReturn(JSON);
+        mockJsonContext(JSON);
         testIsDataByJsonPathEqual(jsonPath, expectedData, expectedData, Options.empty());
     }
 
@@ -182,7 +181,7 @@ class JsonResponseValidationStepsTests
     @Test
     void testIsDataByJsonPathEqualIgnoringArrayOrder()
     {
-        when(httpTestContext.getJsonContext()).thenReturn(JSON);
+        mockJsonContext(JSON);
         testIsDataByJsonPathEqual(ARRAY_PATH, "[2,1]", ARRAY_PATH_RESULT,
                 new Options(Option.IGNORING_ARRAY_ORDER));
     }
@@ -190,7 +189,7 @@ class JsonResponseValidationStepsTests
     @Test
     void testIsDataByJsonPathEqualIgnoringArrayOrderAndExtraArrayItems()
     {
-        when(httpTestContext.getJsonContext()).thenReturn(JSON);
+        mockJsonContext(JSON);
         testIsDataByJsonPathEqual(ARRAY_PATH, "[2]", ARRAY_PATH_RESULT,
                 new Options(Option.IGNORING_ARRAY_ORDER, Option.IGNORING_EXTRA_ARRAY_ITEMS));
     }
@@ -211,7 +210,7 @@ class JsonResponseValidationStepsTests
     @Test
     void testIsDataByJsonPathEqualWithPathNotFoundException()
     {
-        when(httpTestContext.getJsonContext()).thenReturn(JSON);
+        mockJsonContext(JSON);
         String nonExistingPath = NON_EXISTING_PATH;
         jsonResponseValidationSteps.isDataByJsonPathEqual(nonExistingPath, STRING_PATH_RESULT,
                 Options.empty());
@@ -222,7 +221,7 @@ class JsonResponseValidationStepsTests
     @MethodSource("checkJsonElementsNumberDataProvider")
     void testDoesJsonPathElementsMatchRule(String jsonPath, int elementsNumber)
     {
-        when(httpTestContext.getJsonContext()).thenReturn(JSON);
+        mockJsonContext(JSON);
         jsonResponseValidationSteps.doesJsonPathElementsMatchRule(jsonPath, ComparisonRule.EQUAL_TO, elementsNumber);
         verify(softAssert).assertThat(eq(THE_NUMBER_OF_JSON_ELEMENTS_ASSERTION_MESSAGE + jsonPath), eq(elementsNumber),
                 verifyMatcher(elementsNumber));
@@ -243,7 +242,7 @@ class JsonResponseValidationStepsTests
     void testSaveElementsNumberByJsonPath(String jsonPath, int elementsNumber)
     {
         Set<VariableScope> scopes = Set.of(VariableScope.SCENARIO);
-        when(httpTestContext.getJsonContext()).thenReturn(JSON);
+        mockJsonContext(JSON);
         jsonResponseValidationSteps.saveElementsNumberByJsonPath(jsonPath, scopes, VARIABLE_NAME);
         verify(bddVariableContext).putVariable(scopes, VARIABLE_NAME, elementsNumber);
     }
@@ -251,12 +250,11 @@ class JsonResponseValidationStepsTests
     @Test
     void testSaveJsonFromContextElementToVariable()
     {
-        when(httpTestContext.getJsonContext()).thenReturn(JSON);
+        mockJsonContext(JSON);
         Set<VariableScope> scopes = Set.of(VariableScope.SCENARIO);
         String variableName = VARIABLE_NAME;
-        JsonResponseValidationSteps spy = Mockito.spy(jsonResponseValidationSteps);
-        spy.saveJsonElementFromContextToVariable(STRING_PATH, scopes, variableName);
-        verify(spy).saveJsonElementToVariable(JSON, STRING_PATH, scopes, variableName);
+        jsonResponseValidationSteps.saveJsonElementFromContextToVariable(STRING_PATH, scopes, variableName);
+        verify(bddVariableContext).putVariable(scopes, variableName, STRING_PATH_RESULT);
     }
 
     @ParameterizedTest
@@ -299,7 +297,7 @@ class JsonResponseValidationStepsTests
     @Test
     void testPerformAllStepsForJsonIfFound()
     {
-        when(httpTestContext.getJsonContext()).thenReturn(JSON);
+        mockJsonContext(JSON);
         SubSteps subSteps = mock(SubSteps.class);
         when(softAssert.assertThat(eq(THE_NUMBER_OF_JSON_ELEMENTS_ASSERTION_MESSAGE + JSON_PATH), eq(0),
                 verifyMatcher(3))).thenReturn(false);
@@ -345,7 +343,7 @@ class JsonResponseValidationStepsTests
         when(httpClient.execute(argThat(base -> base instanceof HttpRequestBase),
                 argThat(context -> context instanceof HttpClientContext))).thenReturn(response);
         when(httpTestContext.getResponse()).thenReturn(response);
-        when(httpTestContext.getJsonContext()).thenReturn(JSON);
+        mockJsonContext(JSON);
         when(response.getResponseBodyAsString()).thenReturn(HTML, JSON);
         jsonResponseValidationSteps.waitForJsonFieldAppearance(STRING_PATH, URL, Duration.ofSeconds(1),
                 DURATION_DIVIDER);
@@ -367,7 +365,7 @@ class JsonResponseValidationStepsTests
         when(httpClient.execute(argThat(base -> base instanceof HttpRequestBase),
                 argThat(context -> context instanceof HttpClientContext))).thenReturn(response);
         when(httpTestContext.getResponse()).thenReturn(response);
-        when(httpTestContext.getJsonContext()).thenReturn(HTML);
+        when(httpTestContext.getJsonDocument()).thenAnswer(invocation -> JsonPathUtils.parse(HTML));
         when(response.getResponseBodyAsString()).thenReturn(HTML);
         assertThrows(InvalidJsonException.class, () -> jsonResponseValidationSteps
                 .waitForJsonFieldAppearance(STRING_PATH, URL, Duration.ofSeconds(1),
@@ -402,7 +400,7 @@ class JsonResponseValidationStepsTests
                 .thenReturn(createHttpResponse(OBJECT_PATH_RESULT))
                 .thenReturn(new HttpResponse())
                 .thenReturn(createHttpResponse(JSON));
-        when(httpTestContext.getJsonContext()).thenReturn(JSON);
+        mockJsonContext(JSON);
         int retryTimes = 4;
         jsonResponseValidationSteps.waitForJsonElement(STRING_PATH, Duration.ofSeconds(1), retryTimes, stepsToExecute);
         verify(stepsToExecute, times(retryTimes)).execute(Optional.empty());
@@ -438,11 +436,16 @@ class JsonResponseValidationStepsTests
     {
         HttpResponse response = createHttpResponse(body);
         when(httpTestContext.getResponse()).thenReturn(response);
-        when(httpTestContext.getJsonContext()).thenReturn(body);
+        mockJsonContext(body);
         when(httpClient.execute(argThat(base -> base instanceof HttpRequestBase),
                 argThat(context -> context instanceof HttpClientContext))).thenReturn(response);
     }
 
+    private void mockJsonContext(String json)
+    {
+        when(httpTestContext.getJsonDocument()).thenReturn(JsonPathUtils.parse(json));
+    }
+
     private HttpResponse createHttpResponse(String body)
     {
         HttpResponse response = new HttpResponse();
@@ -458,7 +461,7 @@ class JsonResponseValidationStepsTests
     })
     void testJsonPathElementsMatchRuleEmptyData(String jsonPath, int number)
     {
-        when(httpTestContext.getJsonContext()).thenReturn(RESPONSE_NULL);
+        mockJsonContext(RESPONSE_NULL);
         jsonResponseValidationSteps.doesJsonPathElementsMatchRule(jsonPath, ComparisonRule.EQUAL_TO, number);
         verify(softAssert).assertThat(eq(THE_NUMBER_OF_JSON_ELEMENTS_ASSERTION_MESSAGE + jsonPath), eq(number),
                 verifyMatcher(number));
@@ -33,7 +33,6 @@ import static org.mockito.Mockito.when;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -72,7 +71,7 @@ class HttpClientInterceptorTests
     private static final String REQUEST = "Request: method uri";
     private static final String CONTENT_TYPE = "Content-Type";
     private static final String TEXT_PLAIN = "text/plain";
-    private static final byte[] DATA = "data".getBytes(StandardCharsets.UTF_8);
+    private static final String DATA = "data";
 
     @Mock
     private IAttachmentPublisher attachmentPublisher;
@@ -145,7 +144,7 @@ class HttpClientInterceptorTests
     void testHttpResponseIsAttachedSuccessfully()
     {
         HttpResponse httpResponse = mock(HttpResponse.class);
-        when(httpResponse.getResponseBody()).thenReturn(DATA);
+        when(httpResponse.getResponseBodyAsString()).thenReturn(DATA);
         when(httpResponse.getStatusCode()).thenReturn(HttpStatus.SC_OK);
         when(httpResponse.getMethod()).thenReturn(METHOD);
         when(httpResponse.getFrom()).thenReturn(URI.create(ENDPOINT));
@@ -159,7 +158,7 @@ class HttpClientInterceptorTests
     void testNoHttpResponseBodyIsAttached()
     {
         HttpResponse httpResponse = mock(HttpResponse.class);
-        when(httpResponse.getResponseBody()).thenReturn(null);
+        when(httpResponse.getResponseBodyAsString()).thenReturn(null);
         when(httpResponse.getMethod()).thenReturn(METHOD);
         when(httpResponse.getFrom()).thenReturn(URI.create(ENDPOINT));
         when(httpResponse.getResponseHeaders()).thenReturn(new Header[0]);
@@ -20,12 +20,15 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
+import com.jayway.jsonpath.DocumentContext;
+
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.entity.ContentType;
@@ -37,7 +40,9 @@ import org.vividus.testcontext.SimpleTestContext;
 class HttpTestContextTests
 {
     private static final String SOME_REQUEST = "some request";
-    private static final String JSON = "{\"name\":\"value\"}";
+    private static final String VALUE = "value";
+    private static final String JSON = "{\"name\":\"" + VALUE + "\"}";
+    private static final String NAME_JSON_PATH = "$.name";
 
     private final HttpTestContext httpTestContext = new HttpTestContext(new SimpleTestContext());
 
@@ -123,6 +128,22 @@ class HttpTestContextTests
         assertEquals(responseBody, httpTestContext.getJsonContext());
     }
 
+    @Test
+    void testJsonDocumentIsParsedOnceAndResetAfterPuttingJsonContextOrResponse()
+    {
+        httpTestContext.putJsonContext(JSON);
+        DocumentContext jsonDocument = httpTestContext.getJsonDocument();
+        assertEquals(VALUE, jsonDocument.read(NAME_JSON_PATH));
+        assertSame(jsonDocument, httpTestContext.getJsonDocument());
+        String anotherJson = "{\"name\":\"another value\"}";
+        httpTestContext.putJsonContext(anotherJson);
+        assertEquals("another value", httpTestContext.getJsonDocument().read(NAME_JSON_PATH));
+        HttpResponse response = new HttpResponse();
+        response.setResponseBody(JSON.getBytes(StandardCharsets.UTF_8));
+        httpTestContext.putResponse(response);
+        assertEquals(VALUE, httpTestContext.getJsonDocument().read(NAME_JSON_PATH));
+    }
+
     @Test
     void testReleaseRequestData()
     {
@@ -19,9 +19,13 @@ package org.vividus.visual.engine;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.vividus.selenium.screenshot.ScreenshotImageProcessor;
 import org.vividus.visual.model.VisualCheck;
 import org.vividus.visual.model.VisualCheckResult;
 import org.vividus.visual.screenshot.ScreenshotProvider;
@@ -30,7 +34,6 @@ import ru.yandex.qatools.ashot.Screenshot;
 import ru.yandex.qatools.ashot.comparison.ImageDiff;
 import ru.yandex.qatools.ashot.comparison.ImageDiffer;
 import ru.yandex.qatools.ashot.comparison.PointsMarkupPolicy;
-import ru.yandex.qatools.ashot.util.ImageTool;
 
 public class VisualTestingEngine implements IVisualTestingEngine
 {
@@ -40,14 +43,16 @@ public class VisualTestingEngine implements IVisualTestingEngine
 
     private final ScreenshotProvider screenshotProvider;
     private final IBaselineRepository baselineRepository;
+    private final ScreenshotImageProcessor screenshotImageProcessor;
 
     private boolean overrideBaselines;
 
-    public VisualTestingEngine(ScreenshotProvider screenshotProvider,
-            IBaselineRepository baselineRepository)
+    public VisualTestingEngine(ScreenshotProvider screenshotProvider, IBaselineRepository baselineRepository,
+            ScreenshotImageProcessor screenshotImageProcessor)
     {
         this.screenshotProvider = screenshotProvider;
         this.baselineRepository = baselineRepository;
+        this.screenshotImageProcessor = screenshotImageProcessor;
     }
 
     @Override
@@ -70,13 +75,15 @@ public class VisualTestingEngine implements IVisualTestingEngine
     {
         VisualCheckResult comparisonResult = new VisualCheckResult(visualCheck);
         Screenshot checkpoint = getCheckpointScreenshot(visualCheck);
-        comparisonResult.setCheckpoint(imageToBase64(checkpoint.getImage()));
+        // Images are encoded in background while the baseline is loaded and compared with the checkpoint
+        CompletableFuture<String> checkpointBase64 = imageToBase64Async(checkpoint.getImage());
         Optional<Screenshot> baseline = baselineRepository.getBaseline(visualCheck.getBaselineName());
         Screenshot baselineScreenshot;
+        CompletableFuture<String> baselineBase64 = null;
         if (baseline.isPresent())
         {
             baselineScreenshot = baseline.get();
-            comparisonResult.setBaseline(imageToBase64(baselineScreenshot.getImage()));
+            baselineBase64 = imageToBase64Async(baselineScreenshot.getImage());
         }
         else
         {
@@ -85,6 +92,11 @@ public class VisualTestingEngine implements IVisualTestingEngine
         ImageDiffer differ = new ImageDiffer().withDiffMarkupPolicy(new PointsMarkupPolicy().withDiffColor(DIFF_COLOR));
         ImageDiff diff = differ.makeDiff(baselineScreenshot, checkpoint);
 
+        comparisonResult.setCheckpoint(join(checkpointBase64));
+        if (baselineBase64 != null)
+        {
+            comparisonResult.setBaseline(join(baselineBase64));
+        }
         comparisonResult.setPassed(!diff.hasDiff());
         comparisonResult.setDiff(imageToBase64(diff.getMarkedImage()));
         if (overrideBaselines)
@@ -96,7 +108,37 @@ public class VisualTestingEngine implements IVisualTestingEngine
 
     private String imageToBase64(BufferedImage image) throws IOException
     {
-        return Base64.getEncoder().encodeToString(ImageTool.toByteArray(image));
+        return Base64.getEncoder().encodeToString(screenshotImageProcessor.encodeAsPng(image));
+    }
+
+    private CompletableFuture<String> imageToBase64Async(BufferedImage image)
+    {
+        return CompletableFuture.supplyAsync(() -> {
+            try
+            {
+                return imageToBase64(image);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }, screenshotImageProcessor.getExecutor());
+    }
+
+    private static String join(CompletableFuture<String> base64) throws IOException
+    {
+        try
+        {
+            return base64.join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof UncheckedIOException)
+            {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
     }
 
     public void setOverrideBaselines(boolean overrideBaselines)
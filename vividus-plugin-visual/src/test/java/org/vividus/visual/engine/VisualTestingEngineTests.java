@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,13 +34,16 @@ import java.util.Optional;
 
 import javax.imageio.ImageIO;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.selenium.screenshot.ScreenshotImageProcessor;
 import org.vividus.util.ResourceUtils;
 import org.vividus.visual.VisualCheckFactory;
 import org.vividus.visual.model.VisualActionType;
@@ -75,6 +79,9 @@ class VisualTestingEngineTests
     @Mock
     private ScreenshotProvider screenshotProvider;
 
+    @Spy
+    private ScreenshotImageProcessor screenshotImageProcessor = createScreenshotImageProcessor();
+
     @InjectMocks
     private VisualTestingEngine visualTestingEngine;
 
@@ -84,6 +91,20 @@ class VisualTestingEngineTests
         FACTORY.setScreenshotIndexer(Optional.empty());
     }
 
+    @AfterEach
+    void afterEach()
+    {
+        screenshotImageProcessor.destroy();
+    }
+
+    private static ScreenshotImageProcessor createScreenshotImageProcessor()
+    {
+        ScreenshotImageProcessor processor = new ScreenshotImageProcessor();
+        processor.setThreads(1);
+        processor.init();
+        return processor;
+    }
+
     @Test
     void shouldReturnOnlyCheckpointForEstablishAction() throws IOException
     {
@@ -120,6 +141,7 @@ class VisualTestingEngineTests
             () -> assertEquals(DIFF_BASE64, checkResult.getDiff()),
             () -> assertFalse(checkResult.isPassed()));
         verify(baselineRepository, never()).saveBaseline(any(), any());
+        verify(screenshotImageProcessor, times(3)).encodeAsPng(any(BufferedImage.class));
     }
 
     @Test
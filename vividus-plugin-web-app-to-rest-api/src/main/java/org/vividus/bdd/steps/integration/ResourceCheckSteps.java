@@ -18,10 +18,12 @@ package org.vividus.bdd.steps.integration;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -100,18 +102,21 @@ public class ResourceCheckSteps
 
     private void validateResources(Stream<ResourceValidation> resourceValidation)
     {
-        Set<ResourceValidation> results = resourceValidation
+        List<CompletableFuture<ResourceValidation>> validations = resourceValidation
                .map(this::validate)
+               .collect(Collectors.toList());
+        Set<ResourceValidation> results = validations.stream()
+               .map(CompletableFuture::join)
                .collect(Collectors.toCollection(TreeSet::new));
         attachmentPublisher.publishAttachment("resources-validation-result.ftl", Map.of("results", results),
                 "Resource validation results");
     }
 
-    private ResourceValidation validate(ResourceValidation r)
+    private CompletableFuture<ResourceValidation> validate(ResourceValidation r)
     {
         return r.getUri() == null || CheckStatus.FILTERED == r.getCheckStatus()
-                ? r
-                : resourceValidator.perform(r);
+                ? CompletableFuture.completedFuture(r)
+                : resourceValidator.performAsync(r);
     }
 
     private Stream<Element> getElements(String cssSelector, String html)
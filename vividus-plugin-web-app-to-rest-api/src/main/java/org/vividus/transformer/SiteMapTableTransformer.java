@@ -17,8 +17,8 @@
 package org.vividus.transformer;
 
 import java.net.URI;
-import java.net.URL;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -31,8 +31,6 @@ import org.vividus.model.SiteMap;
 import org.vividus.sitemap.ISiteMapParser;
 import org.vividus.sitemap.SiteMapParseException;
 
-import crawlercommons.sitemaps.SiteMapURL;
-
 public class SiteMapTableTransformer extends AbstractFetchingUrlsTableTransformer
 {
     private ISiteMapParser siteMapParser;
@@ -58,10 +56,10 @@ public class SiteMapTableTransformer extends AbstractFetchingUrlsTableTransforme
                 Set<String> siteMapRelativeUrls;
                 try
                 {
-                    siteMapRelativeUrls = filterResults(siteMapParser.parse(true, mainApplicationPage,
-                            siteMapRelativeUrl).stream()
-                            .map(SiteMapURL::getUrl)
-                            .map(URL::toString));
+                    Set<String> siteMapUrls = new HashSet<>();
+                    siteMapParser.parse(true, mainApplicationPage, siteMapRelativeUrl,
+                        siteMapUrl -> siteMapUrls.add(siteMapUrl.getUrl().toString()));
+                    siteMapRelativeUrls = filterResults(siteMapUrls.stream());
                 }
                 catch (SiteMapParseException e)
                 {
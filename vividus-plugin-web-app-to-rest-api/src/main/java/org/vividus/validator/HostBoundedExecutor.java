@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.validator;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Executor running tasks on the shared executor and limiting the number of tasks running at the same time for the
+ * same host. Tasks exceeding the limit are queued without occupying threads of the shared executor.
+ */
+public class HostBoundedExecutor
+{
+    private final Executor sharedExecutor;
+    private final int maxConcurrentTasksPerHost;
+
+    private final Map<String, HostTasks> tasksByHost = new HashMap<>();
+
+    public HostBoundedExecutor(Executor sharedExecutor, int maxConcurrentTasksPerHost)
+    {
+        if (maxConcurrentTasksPerHost < 1)
+        {
+            throw new IllegalArgumentException(
+                    "Max concurrent tasks per host must be positive, but got: " + maxConcurrentTasksPerHost);
+        }
+        this.sharedExecutor = sharedExecutor;
+        this.maxConcurrentTasksPerHost = maxConcurrentTasksPerHost;
+    }
+
+    public synchronized void execute(String host, Runnable task)
+    {
+        HostTasks hostTasks = tasksByHost.computeIfAbsent(host, h -> new HostTasks());
+        hostTasks.pendingTasks.add(task);
+        dispatchPendingTasks(host, hostTasks);
+    }
+
+    private synchronized void dispatchPendingTasks(String host, HostTasks hostTasks)
+    {
+        while (hostTasks.runningTasks < maxConcurrentTasksPerHost && !hostTasks.pendingTasks.isEmpty())
+        {
+            Runnable task = hostTasks.pendingTasks.poll();
+            hostTasks.runningTasks++;
+            sharedExecutor.execute(() -> {
+                try
+                {
+                    task.run();
+                }
+                finally
+                {
+                    completeTask(host, hostTasks);
+                }
+            });
+        }
+    }
+
+    private synchronized void completeTask(String host, HostTasks hostTasks)
+    {
+        hostTasks.runningTasks--;
+        if (hostTasks.runningTasks == 0 && hostTasks.pendingTasks.isEmpty())
+        {
+            tasksByHost.remove(host);
+        }
+        else
+        {
+            dispatchPendingTasks(host, hostTasks);
+        }
+    }
+
+    private static final class HostTasks
+    {
+        private final Queue<Runnable> pendingTasks = new ArrayDeque<>();
+        private int runningTasks;
+    }
+}
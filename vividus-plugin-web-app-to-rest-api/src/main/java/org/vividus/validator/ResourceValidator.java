@@ -21,14 +21,18 @@ import static org.hamcrest.Matchers.oneOf;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
@@ -37,6 +41,7 @@ import org.vividus.http.HttpMethod;
 import org.vividus.http.client.HttpResponse;
 import org.vividus.http.client.IHttpClient;
 import org.vividus.softassert.SoftAssert;
+import org.vividus.testcontext.TestContext;
 import org.vividus.validator.model.CheckStatus;
 import org.vividus.validator.model.ResourceValidation;
 
@@ -47,6 +52,7 @@ public class ResourceValidator
     private IHttpClient httpClient;
 
     @Inject private SoftAssert softAssert;
+    @Inject private TestContext testContext;
 
     private final Set<Integer> allowedStatusCodes = Set.of(HttpStatus.SC_OK);
     private final Set<Integer> notAllowedHeadStatusCodes = Set.of(HttpStatus.SC_METHOD_NOT_ALLOWED,
@@ -54,35 +60,94 @@ public class ResourceValidator
                                                                   HttpStatus.SC_NOT_FOUND,
                                                                   HttpStatus.SC_NOT_IMPLEMENTED);
 
-    private final Map<URI, ResourceValidation> cache = new ConcurrentHashMap<>();
+    private final Map<URI, CompletableFuture<ResourceValidation>> validations = new ConcurrentHashMap<>();
+
+    private int threads;
+    private int maxConcurrentRequestsPerHost;
+    private boolean cacheResults;
+
+    private ExecutorService executor;
+    private HostBoundedExecutor hostBoundedExecutor;
+
+    public void init()
+    {
+        executor = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+                .namingPattern("resource-validator-%d")
+                .daemon(true)
+                .build());
+        hostBoundedExecutor = new HostBoundedExecutor(executor, maxConcurrentRequestsPerHost);
+    }
+
+    public void destroy()
+    {
+        executor.shutdownNow();
+    }
 
     public ResourceValidation perform(ResourceValidation resourceValidation)
     {
-        return cache.compute(resourceValidation.getUri(), (u, rv) -> {
-            return Optional.ofNullable(rv).map(r -> {
+        return performAsync(resourceValidation).join();
+    }
+
+    public CompletableFuture<ResourceValidation> performAsync(ResourceValidation resourceValidation)
+    {
+        URI uri = resourceValidation.getUri();
+        CompletableFuture<ResourceValidation> validation = new CompletableFuture<>();
+        CompletableFuture<ResourceValidation> startedValidation = validations.putIfAbsent(uri, validation);
+        if (startedValidation != null)
+        {
+            return startedValidation.thenApply(r -> {
                 ResourceValidation cachedResult = r.copy();
                 cachedResult.setCheckStatus(CheckStatus.SKIPPED);
                 return cachedResult;
-            }).orElseGet(() -> {
-                try
-                {
-                    HttpClientContext httpClientContext = HttpClientContext.create();
-                    int statusCode = checkResource(u, httpClientContext, HttpMethod.HEAD);
-                    resourceValidation.setStatusCode(statusCode);
-                    String message = String.format("Status code for %s is %d. expected one of %s", u,
-                            statusCode, allowedStatusCodes);
-                    Matcher<Object> oneOf = is(oneOf(allowedStatusCodes.toArray()));
-                    resourceValidation.setCheckStatus(CheckStatus.get(oneOf.matches(statusCode)));
-                    softAssert.assertThat(message, statusCode, oneOf);
-                }
-                catch (IOException toReport)
+            });
+        }
+        // assertions are recorded from the executor threads, so they should see the context of the caller
+        Map<Object, Object> runContextData = new HashMap<>();
+        testContext.copyAllTo(runContextData);
+        hostBoundedExecutor.execute(String.valueOf(uri.getHost()), () -> {
+            testContext.putAll(runContextData);
+            try
+            {
+                ResourceValidation result = validate(uri, resourceValidation);
+                if (!cacheResults)
                 {
-                    softAssert.recordFailedAssertion("Exception occured during check of: " + u, toReport);
-                    resourceValidation.setCheckStatus(CheckStatus.BROKEN);
+                    validations.remove(uri, validation);
                 }
-                return resourceValidation;
-            });
+                validation.complete(result);
+            }
+            catch (RuntimeException e)
+            {
+                // only successful results are cached, the failed validation is performed again by the next check
+                validations.remove(uri, validation);
+                validation.completeExceptionally(e);
+            }
+            finally
+            {
+                testContext.clear();
+            }
         });
+        return validation;
+    }
+
+    private ResourceValidation validate(URI uri, ResourceValidation resourceValidation)
+    {
+        try
+        {
+            HttpClientContext httpClientContext = HttpClientContext.create();
+            int statusCode = checkResource(uri, httpClientContext, HttpMethod.HEAD);
+            resourceValidation.setStatusCode(statusCode);
+            String message = String.format("Status code for %s is %d. expected one of %s", uri, statusCode,
+                    allowedStatusCodes);
+            Matcher<Object> oneOf = is(oneOf(allowedStatusCodes.toArray()));
+            resourceValidation.setCheckStatus(CheckStatus.get(oneOf.matches(statusCode)));
+            softAssert.assertThat(message, statusCode, oneOf);
+        }
+        catch (IOException toReport)
+        {
+            softAssert.recordFailedAssertion("Exception occured during check of: " + uri, toReport);
+            resourceValidation.setCheckStatus(CheckStatus.BROKEN);
+        }
+        return resourceValidation;
     }
 
     private int checkResource(URI uri, HttpClientContext httpClientContext, HttpMethod httpMethod)
@@ -103,4 +168,19 @@ public class ResourceValidator
         HttpRequestBase request = httpMethod.createRequest(uri);
         return httpClient.execute(request, httpClientContext);
     }
+
+    public void setThreads(int threads)
+    {
+        this.threads = threads;
+    }
+
+    public void setMaxConcurrentRequestsPerHost(int maxConcurrentRequestsPerHost)
+    {
+        this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+    }
+
+    public void setCacheResults(boolean cacheResults)
+    {
+        this.cacheResults = cacheResults;
+    }
 }
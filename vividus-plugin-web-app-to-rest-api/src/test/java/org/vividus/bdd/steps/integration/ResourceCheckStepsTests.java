@@ -37,6 +37,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import org.jbehave.core.model.ExamplesTable;
@@ -282,11 +283,11 @@ class ResourceCheckStepsTests
 
     private void mockResourceValidator()
     {
-        when(resourceValidator.perform(any(ResourceValidation.class)))
+        when(resourceValidator.performAsync(any(ResourceValidation.class)))
             .thenAnswer(invocation -> {
                 ResourceValidation resourceValidation = invocation.getArgument(0);
                 resourceValidation.setCheckStatus(CheckStatus.PASSED);
-                return resourceValidation;
+                return CompletableFuture.completedFuture(resourceValidation);
             });
     }
 
@@ -22,6 +22,10 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -29,6 +33,7 @@ import java.net.URI;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
@@ -79,7 +84,7 @@ class SiteMapTableTransformerTests
     void testFetchUrls() throws SiteMapParseException
     {
         when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(MAIN_APP_PAGE);
-        when(siteMapParser.parse(true, MAIN_APP_PAGE, SITEMAP_XML)).thenReturn(SITEMAP_URLS);
+        mockSiteMapParsing(SITEMAP_URLS);
         Set<String> actual = siteMapTableTransformer.fetchUrls(createExamplesTableProperties());
         assertEquals(Set.of(OUTGOING_ABSOLUT_URL), actual);
     }
@@ -96,7 +101,7 @@ class SiteMapTableTransformerTests
     void testEmptySiteMapUrls() throws SiteMapParseException
     {
         when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(MAIN_APP_PAGE);
-        when(siteMapParser.parse(true, MAIN_APP_PAGE, SITEMAP_XML)).thenReturn(Set.of());
+        mockSiteMapParsing(Set.of());
         SiteMapTableGenerationException exception = assertThrows(SiteMapTableGenerationException.class,
             () -> siteMapTableTransformer.transform("", createExamplesTableProperties()));
         assertEquals(NO_URLS_FOUND_MESSAGE, exception.getMessage());
@@ -107,7 +112,7 @@ class SiteMapTableTransformerTests
             throws SiteMapParseException
     {
         when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(MAIN_APP_PAGE);
-        when(siteMapParser.parse(true, MAIN_APP_PAGE, SITEMAP_XML)).thenReturn(Set.of());
+        mockSiteMapParsing(Set.of());
         ExamplesTableProperties properties = createExamplesTableProperties();
         properties.getProperties().put(IGNORE_ERRORS_PROPERTY_NAME, TRUE);
         assertEquals(Set.of(), siteMapTableTransformer.fetchUrls(properties));
@@ -117,7 +122,7 @@ class SiteMapTableTransformerTests
     void testFetchUrlsEmptySiteMapUrlsIgnoreErrorsSetViaPropertyTrueViaTableFalse() throws SiteMapParseException
     {
         when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(MAIN_APP_PAGE);
-        when(siteMapParser.parse(true, MAIN_APP_PAGE, SITEMAP_XML)).thenReturn(Set.of());
+        mockSiteMapParsing(Set.of());
         ExamplesTableProperties properties = createExamplesTableProperties();
         properties.getProperties().put(IGNORE_ERRORS_PROPERTY_NAME, "false");
         siteMapTableTransformer.setIgnoreErrors(true);
@@ -131,7 +136,7 @@ class SiteMapTableTransformerTests
     {
         when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(MAIN_APP_PAGE);
         SiteMapParseException exception = new SiteMapParseException(SITEMAP, new IOException());
-        when(siteMapParser.parse(true, MAIN_APP_PAGE, SITEMAP_XML)).thenThrow(exception);
+        doThrow(exception).when(siteMapParser).parse(eq(true), eq(MAIN_APP_PAGE), eq(SITEMAP_XML), any());
         IllegalStateException actualException = assertThrows(IllegalStateException.class,
             () -> siteMapTableTransformer.transform("", createExamplesTableProperties()));
         assertEquals(exception, actualException.getCause());
@@ -142,7 +147,7 @@ class SiteMapTableTransformerTests
     {
         when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(MAIN_APP_PAGE);
         SiteMapParseException exception = new SiteMapParseException(SITEMAP, new IOException());
-        when(siteMapParser.parse(true, MAIN_APP_PAGE, SITEMAP_XML)).thenThrow(exception);
+        doThrow(exception).when(siteMapParser).parse(eq(true), eq(MAIN_APP_PAGE), eq(SITEMAP_XML), any());
         siteMapTableTransformer.setIgnoreErrors(true);
         assertEquals(Set.of(), siteMapTableTransformer.fetchUrls(createExamplesTableProperties()));
     }
@@ -152,7 +157,7 @@ class SiteMapTableTransformerTests
     {
         when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(MAIN_APP_PAGE);
         SiteMapParseException exception = new SiteMapParseException(SITEMAP, new IOException());
-        when(siteMapParser.parse(true, MAIN_APP_PAGE, SITEMAP_XML)).thenThrow(exception);
+        doThrow(exception).when(siteMapParser).parse(eq(true), eq(MAIN_APP_PAGE), eq(SITEMAP_XML), any());
         ExamplesTableProperties properties = createExamplesTableProperties();
         properties.getProperties().put(IGNORE_ERRORS_PROPERTY_NAME, TRUE);
         assertEquals(Set.of(), siteMapTableTransformer.fetchUrls(properties));
@@ -162,7 +167,7 @@ class SiteMapTableTransformerTests
     void testThrowIllegalStateException() throws SiteMapParseException
     {
         when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(MAIN_APP_PAGE);
-        when(siteMapParser.parse(true, MAIN_APP_PAGE, SITEMAP_XML)).thenReturn(SITEMAP_URLS);
+        mockSiteMapParsing(SITEMAP_URLS);
         siteMapTableTransformer.setFilterRedirects(true);
         IllegalStateException illegalStateException = new IllegalStateException();
         when(redirectsProvider.getRedirects(URI.create(OUTGOING_ABSOLUT_URL))).thenThrow(illegalStateException);
@@ -176,13 +181,22 @@ class SiteMapTableTransformerTests
     void testNullRedirects() throws SiteMapParseException
     {
         when(webApplicationConfiguration.getMainApplicationPageUrl()).thenReturn(MAIN_APP_PAGE);
-        when(siteMapParser.parse(true, MAIN_APP_PAGE, SITEMAP_XML)).thenReturn(SITEMAP_URLS);
+        mockSiteMapParsing(SITEMAP_URLS);
         siteMapTableTransformer.setFilterRedirects(true);
         when(redirectsProvider.getRedirects(URI.create(OUTGOING_ABSOLUT_URL))).thenReturn(null);
         Set<String> actual = siteMapTableTransformer.fetchUrls(createExamplesTableProperties());
         assertThat(actual, equalTo(Set.of(OUTGOING_ABSOLUT_URL)));
     }
 
+    private void mockSiteMapParsing(Set<SiteMapURL> siteMapUrls) throws SiteMapParseException
+    {
+        doAnswer(invocation -> {
+            Consumer<SiteMapURL> siteMapUrlConsumer = invocation.getArgument(3);
+            siteMapUrls.forEach(siteMapUrlConsumer);
+            return null;
+        }).when(siteMapParser).parse(eq(true), eq(MAIN_APP_PAGE), eq(SITEMAP_XML), any());
+    }
+
     private static ExamplesTableProperties createExamplesTablePropertiesWithValueSeparator(String valueSeparator)
     {
         return new ExamplesTableProperties("siteMapRelativeUrl=" + SITEMAP_XML, DEFAULT_SEPARATOR, valueSeparator,
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class HostBoundedExecutorTests
+{
+    private static final int TIMEOUT = 10;
+    private static final String FIRST_HOST = "vividus.org";
+    private static final String SECOND_HOST = "example.org";
+
+    private final ExecutorService sharedExecutor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void afterEach()
+    {
+        sharedExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldLimitNumberOfConcurrentlyRunningTasksPerHost() throws InterruptedException
+    {
+        int tasksPerHost = 10;
+        CountDownLatch completed = new CountDownLatch(2 * tasksPerHost);
+        Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> maxRunning = new ConcurrentHashMap<>();
+        HostBoundedExecutor executor = new HostBoundedExecutor(sharedExecutor, 2);
+        for (int i = 0; i < tasksPerHost; i++)
+        {
+            for (String host : new String[] { FIRST_HOST, SECOND_HOST })
+            {
+                executor.execute(host, () -> {
+                    int current = running.computeIfAbsent(host, h -> new AtomicInteger()).incrementAndGet();
+                    maxRunning.computeIfAbsent(host, h -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+                    try
+                    {
+                        TimeUnit.MILLISECONDS.sleep(10);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.get(host).decrementAndGet();
+                    completed.countDown();
+                });
+            }
+        }
+        assertTrue(completed.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get(FIRST_HOST).get());
+        assertEquals(2, maxRunning.get(SECOND_HOST).get());
+    }
+
+    @Test
+    void shouldNotAllowNonPositiveLimit()
+    {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> new HostBoundedExecutor(sharedExecutor, 0));
+        assertEquals("Max concurrent tasks per host must be positive, but got: 0", exception.getMessage());
+    }
+}
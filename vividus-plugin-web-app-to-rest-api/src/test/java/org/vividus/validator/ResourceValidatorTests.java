@@ -20,20 +20,29 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.protocol.HttpContext;
 import org.hamcrest.Matcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatcher;
@@ -43,6 +52,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.vividus.http.client.HttpResponse;
 import org.vividus.http.client.IHttpClient;
 import org.vividus.softassert.SoftAssert;
+import org.vividus.testcontext.TestContext;
 import org.vividus.validator.model.CheckStatus;
 import org.vividus.validator.model.ResourceValidation;
 
@@ -67,9 +77,27 @@ class ResourceValidatorTests
     @Mock
     private HttpResponse httpResponse;
 
+    @Mock
+    private TestContext testContext;
+
     @InjectMocks
     private ResourceValidator resourceValidator;
 
+    @BeforeEach
+    void beforeEach()
+    {
+        resourceValidator.setThreads(2);
+        resourceValidator.setMaxConcurrentRequestsPerHost(2);
+        resourceValidator.setCacheResults(true);
+        resourceValidator.init();
+    }
+
+    @AfterEach
+    void afterEach()
+    {
+        resourceValidator.destroy();
+    }
+
     @Test
     void shouldValidateResource() throws IOException
     {
@@ -146,4 +174,58 @@ class ResourceValidatorTests
         verify(softAssert).recordFailedAssertion(eq("Exception occured during check of: https://vividus.org"),
                 eq(ioException));
     }
+
+    @Test
+    void shouldNotCacheFailedValidation() throws IOException
+    {
+        IllegalStateException exception = new IllegalStateException();
+        when(httpClient.execute(argThat(r -> HEAD.equals(r.getMethod())), any(HttpContext.class)))
+            .thenThrow(exception).thenReturn(httpResponse);
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        CompletionException actual = assertThrows(CompletionException.class,
+            () -> resourceValidator.perform(new ResourceValidation(FIRST, CSS_SELECTOR)));
+        assertEquals(exception, actual.getCause());
+        ResourceValidation second = resourceValidator.perform(new ResourceValidation(FIRST, CSS_SELECTOR));
+        assertEquals(CheckStatus.PASSED, second.getCheckStatus());
+        verify(httpClient, times(2)).execute(any(HttpUriRequest.class), any(HttpContext.class));
+    }
+
+    @Test
+    void shouldValidateResourceAgainIfResultsCachingIsDisabled() throws IOException
+    {
+        resourceValidator.setCacheResults(false);
+        when(httpClient.execute(argThat(r -> HEAD.equals(r.getMethod())), any(HttpContext.class)))
+            .thenReturn(httpResponse);
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        ResourceValidation first = resourceValidator.perform(new ResourceValidation(FIRST, CSS_SELECTOR));
+        ResourceValidation second = resourceValidator.perform(new ResourceValidation(FIRST, CSS_SELECTOR));
+        assertEquals(CheckStatus.PASSED, first.getCheckStatus());
+        assertEquals(CheckStatus.PASSED, second.getCheckStatus());
+        verify(httpClient, times(2)).execute(any(HttpUriRequest.class), any(HttpContext.class));
+    }
+
+    @Test
+    void shouldReuseInFlightValidationForTheSameUrl() throws IOException, InterruptedException
+    {
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(httpClient.execute(argThat(r -> HEAD.equals(r.getMethod())), any(HttpContext.class)))
+            .thenAnswer(invocation -> {
+                requestStarted.countDown();
+                release.await();
+                return httpResponse;
+            });
+        when(httpResponse.getStatusCode()).thenReturn(OK);
+        CompletableFuture<ResourceValidation> first = resourceValidator.performAsync(
+                new ResourceValidation(FIRST, CSS_SELECTOR));
+        assertTrue(requestStarted.await(1, TimeUnit.MINUTES));
+        CompletableFuture<ResourceValidation> second = resourceValidator.performAsync(
+                new ResourceValidation(FIRST, CSS_SELECTOR));
+        release.countDown();
+        assertEquals(CheckStatus.PASSED, first.join().getCheckStatus());
+        assertEquals(CheckStatus.SKIPPED, second.join().getCheckStatus());
+        verify(httpClient).execute(any(HttpUriRequest.class), any(HttpContext.class));
+        verify(testContext).putAll(any());
+        verify(testContext, timeout(TimeUnit.MINUTES.toMillis(1))).clear();
+    }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.screenshot;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vividus.util.Sleeper;
+
+import ru.yandex.qatools.ashot.util.ImageTool;
+
+/**
+ * Compares stitching of full-page screenshots from 1080p tiles on the test thread with stitching on the processing
+ * threads while the next tiles are captured, and measures PNG encoding of the stitched screenshots with different
+ * compression levels. Capture delay emulates the time spent by the browser to scroll and take the tile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScreenshotStitchingBenchmark
+{
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final int PROCESSING_THREADS = 2;
+
+    @State(Scope.Benchmark)
+    public static class Tiles
+    {
+        @Param({ "1", "4", "8" })
+        private int tiles;
+
+        @Param({ "0", "100" })
+        private int captureDelayMillis;
+
+        private List<byte[]> pngTiles;
+        private ScreenshotImageProcessor processor;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException
+        {
+            pngTiles = new ArrayList<>(tiles);
+            for (int tile = 0; tile < tiles; tile++)
+            {
+                pngTiles.add(ImageTool.toByteArray(createTile(tile)));
+            }
+            processor = new ScreenshotImageProcessor();
+            processor.setThreads(PROCESSING_THREADS);
+            processor.init();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            processor.destroy();
+        }
+
+        private byte[] captureTile(int tile)
+        {
+            Sleeper.sleep(captureDelayMillis, TimeUnit.MILLISECONDS);
+            return pngTiles.get(tile).clone();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Encoding
+    {
+        @Param({ "1", "4", "8" })
+        private int tiles;
+
+        @Param({ "-1", "1", "4", "9" })
+        private int pngCompressionLevel;
+
+        private BufferedImage screenshot;
+        private ScreenshotImageProcessor processor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            screenshot = new BufferedImage(WIDTH, HEIGHT * tiles, BufferedImage.TYPE_3BYTE_BGR);
+            Graphics2D graphics = screenshot.createGraphics();
+            for (int tile = 0; tile < tiles; tile++)
+            {
+                graphics.drawImage(createTile(tile), 0, HEIGHT * tile, null);
+            }
+            graphics.dispose();
+            processor = new ScreenshotImageProcessor();
+            processor.setPngCompressionLevel(pngCompressionLevel);
+        }
+    }
+
+    @Benchmark
+    public BufferedImage stitchOnTestThread(Tiles tiles) throws IOException
+    {
+        BufferedImage screenshot = new BufferedImage(WIDTH, HEIGHT * tiles.tiles, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D graphics = screenshot.createGraphics();
+        for (int tile = 0; tile < tiles.tiles; tile++)
+        {
+            byte[] pngTile = tiles.captureTile(tile);
+            graphics.drawImage(ImageIO.read(new ByteArrayInputStream(pngTile)), 0, HEIGHT * tile, null);
+        }
+        graphics.dispose();
+        return screenshot;
+    }
+
+    @Benchmark
+    public BufferedImage stitchOnProcessingThreads(Tiles tiles)
+    {
+        BufferedImage screenshot = new BufferedImage(WIDTH, HEIGHT * tiles.tiles, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D graphics = screenshot.createGraphics();
+        CompletableFuture<Void> pasting = CompletableFuture.completedFuture(null);
+        for (int tile = 0; tile < tiles.tiles; tile++)
+        {
+            byte[] pngTile = tiles.captureTile(tile);
+            int y = HEIGHT * tile;
+            pasting = pasting.thenRunAsync(() -> graphics.drawImage(decode(pngTile), 0, y, null),
+                    tiles.processor.getExecutor());
+        }
+        pasting.join();
+        graphics.dispose();
+        return screenshot;
+    }
+
+    @Benchmark
+    public byte[] encode(Encoding encoding) throws IOException
+    {
+        return encoding.processor.encodeAsPng(encoding.screenshot);
+    }
+
+    private static BufferedImage decode(byte[] pngTile)
+    {
+        try
+        {
+            return ImageIO.read(new ByteArrayInputStream(pngTile));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Text-like content: stripes of different colors with noise, compressing like real pages rather than solid fill
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static BufferedImage createTile(int seed)
+    {
+        BufferedImage tile = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
+        Color[] colors = { Color.WHITE, Color.LIGHT_GRAY, new Color(seed * 31 % 256, 90, 160), Color.DARK_GRAY };
+        for (int y = 0; y < HEIGHT; y++)
+        {
+            Color stripe = colors[(y / 24 + seed) % colors.length];
+            for (int x = 0; x < WIDTH; x++)
+            {
+                int noise = (x * 7 + y * 13 + seed) % 17 == 0 ? 0x202020 : 0;
+                tile.setRGB(x, y, stripe.getRGB() ^ noise);
+            }
+        }
+        return tile;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vividus.bdd;
+
+import java.util.Map;
+
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Story;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.reporter.event.IAttachmentPublisher;
+import org.vividus.selenium.driver.WebDriverCommandCounter;
+import org.vividus.selenium.driver.WebDriverCommandStatistics;
+
+public class WebDriverCommandCountingStoryReporter extends ChainedStoryReporter
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverCommandCountingStoryReporter.class);
+
+    private WebDriverCommandCounter webDriverCommandCounter;
+    private WebDriverCommandStatistics webDriverCommandStatistics;
+    private IAttachmentPublisher attachmentPublisher;
+
+    @Override
+    public void beforeStory(Story story, boolean givenStory)
+    {
+        if (!givenStory)
+        {
+            webDriverCommandStatistics.startStory(story.getPath());
+        }
+        super.beforeStory(story, givenStory);
+    }
+
+    @Override
+    public void afterStory(boolean givenStory)
+    {
+        super.afterStory(givenStory);
+        if (!givenStory)
+        {
+            webDriverCommandStatistics.stopStory();
+        }
+    }
+
+    @Override
+    public void beforeScenario(Scenario scenario)
+    {
+        webDriverCommandStatistics.startScenario();
+        super.beforeScenario(scenario);
+    }
+
+    @Override
+    public void afterScenario()
+    {
+        // the attachment must be published while the scenario is still running
+        Map<String, Object> scenarioStatistics = webDriverCommandStatistics.stopScenario();
+        if (!scenarioStatistics.isEmpty())
+        {
+            attachmentPublisher.publishAttachment("/org/vividus/bdd/webdriver-commands-statistics.ftl",
+                    scenarioStatistics, "WebDriver commands statistics");
+        }
+        super.afterScenario();
+    }
+
+    @Override
+    public void beforeStep(String step)
+    {
+        webDriverCommandCounter.startCounting();
+        webDriverCommandStatistics.startStep(step);
+        super.beforeStep(step);
+    }
+
+    // ignorable, comment, pending and notPerformed events are not preceded by beforeStep, so only successful and
+    // failed events stop counting of the step started by beforeStep
+    @Override
+    public void successful(String step)
+    {
+        super.successful(step);
+        stopCounting(step);
+    }
+
+    // failures of before and after scenario methods are reported without the preceding beforeStep
+    @Override
+    public void failed(String step, Throwable cause)
+    {
+        super.failed(step, cause);
+        if (webDriverCommandCounter.isCounting())
+        {
+            stopCounting(step);
+        }
+    }
+
+    private void stopCounting(String step)
+    {
+        Map<String, Integer> counters = webDriverCommandCounter.stopCounting();
+        int roundTrips = counters.values().stream().mapToInt(Integer::intValue).sum();
+        if (webDriverCommandStatistics.stopStep(step, roundTrips))
+        {
+            LOGGER.warn("Step \"{}\" is chatty, it sent {} WebDriver commands: {}", step, roundTrips, counters);
+        }
+        else if (!counters.isEmpty())
+        {
+            LOGGER.debug("Step \"{}\" sent {} WebDriver commands: {}", step, roundTrips, counters);
+        }
+    }
+
+    public void setWebDriverCommandCounter(WebDriverCommandCounter webDriverCommandCounter)
+    {
+        this.webDriverCommandCounter = webDriverCommandCounter;
+    }
+
+    public void setWebDriverCommandStatistics(WebDriverCommandStatistics webDriverCommandStatistics)
+    {
+        this.webDriverCommandStatistics = webDriverCommandStatistics;
+    }
+
+    public void setAttachmentPublisher(IAttachmentPublisher attachmentPublisher)
+    {
+        this.attachmentPublisher = attachmentPublisher;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+/**
+ * Rules applied to the bodies of the HTTP responses captured into HAR. The bodies are matched by the prefixes of
+ * their content types, e.g. <code>video/</code> or <code>application/octet-stream</code>: the matched bodies are
+ * either not kept at all or truncated. The bodies exceeding the in-memory size limit are moved to disk and read
+ * from there on demand, the disk writes are performed by the dedicated background thread.
+ */
+public class HarBodyPolicy
+{
+    private static final int UNLIMITED = -1;
+
+    private Set<String> skippedContentTypes = Set.of();
+    private Set<String> truncatedContentTypes = Set.of();
+    private int truncatedBodySize;
+    private int maxInMemoryBodySize = UNLIMITED;
+    private ExecutorService storeExecutor;
+
+    public void init()
+    {
+        if (maxInMemoryBodySize != UNLIMITED)
+        {
+            storeExecutor = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+                    .namingPattern("har-body-store-%d")
+                    .daemon(true)
+                    .build());
+        }
+    }
+
+    public void destroy()
+    {
+        if (storeExecutor != null)
+        {
+            storeExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return !skippedContentTypes.isEmpty() || !truncatedContentTypes.isEmpty()
+                || maxInMemoryBodySize != UNLIMITED;
+    }
+
+    public boolean isSkipped(String contentType)
+    {
+        return matches(skippedContentTypes, contentType);
+    }
+
+    public boolean isTruncated(String contentType, String body)
+    {
+        return body.length() > truncatedBodySize && matches(truncatedContentTypes, contentType);
+    }
+
+    public boolean isStoredOnDisk(String body)
+    {
+        return maxInMemoryBodySize != UNLIMITED && body.length() > maxInMemoryBodySize;
+    }
+
+    public int getTruncatedBodySize()
+    {
+        return truncatedBodySize;
+    }
+
+    public Executor getStoreExecutor()
+    {
+        return storeExecutor;
+    }
+
+    private static boolean matches(Set<String> contentTypePrefixes, String contentType)
+    {
+        if (contentType == null)
+        {
+            return false;
+        }
+        String normalizedContentType = contentType.toLowerCase(Locale.ROOT);
+        return contentTypePrefixes.stream().anyMatch(normalizedContentType::startsWith);
+    }
+
+    public void setSkippedContentTypes(Set<String> skippedContentTypes)
+    {
+        this.skippedContentTypes = normalize(skippedContentTypes);
+    }
+
+    public void setTruncatedContentTypes(Set<String> truncatedContentTypes)
+    {
+        this.truncatedContentTypes = normalize(truncatedContentTypes);
+    }
+
+    public void setTruncatedBodySize(int truncatedBodySize)
+    {
+        if (truncatedBodySize < 0)
+        {
+            throw new IllegalArgumentException("Truncated body size must not be negative, but got: "
+                    + truncatedBodySize);
+        }
+        this.truncatedBodySize = truncatedBodySize;
+    }
+
+    public void setMaxInMemoryBodySize(int maxInMemoryBodySize)
+    {
+        if (maxInMemoryBodySize < UNLIMITED)
+        {
+            throw new IllegalArgumentException("Max in-memory body size must be -1 (unlimited) or not negative, "
+                    + "but got: " + maxInMemoryBodySize);
+        }
+        this.maxInMemoryBodySize = maxInMemoryBodySize;
+    }
+
+    private static Set<String> normalize(Set<String> contentTypePrefixes)
+    {
+        return contentTypePrefixes.stream()
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .map(prefix -> prefix.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+}
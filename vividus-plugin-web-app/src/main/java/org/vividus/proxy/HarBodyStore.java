@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only temporary file keeping the bodies of HAR entries moved out of memory. The file is created on the first
+ * append and deleted on close.
+ */
+final class HarBodyStore implements Closeable
+{
+    private FileChannel channel;
+    private boolean closed;
+
+    synchronized StoredBody append(String body) throws IOException
+    {
+        if (closed)
+        {
+            throw new ClosedChannelException();
+        }
+        if (channel == null)
+        {
+            channel = FileChannel.open(Files.createTempFile("har-bodies-", ".log"), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8));
+        long position = channel.size();
+        int length = buffer.remaining();
+        long writePosition = position;
+        while (buffer.hasRemaining())
+        {
+            writePosition += channel.write(buffer, writePosition);
+        }
+        return new StoredBody(this, position, length);
+    }
+
+    private String read(long position, int length) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        long readPosition = position;
+        while (buffer.hasRemaining())
+        {
+            readPosition += read(buffer, readPosition);
+        }
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+
+    private synchronized int read(ByteBuffer buffer, long position) throws IOException
+    {
+        int read = channel.read(buffer, position);
+        if (read < 0)
+        {
+            throw new IOException("Unexpected end of HAR body store at position " + position);
+        }
+        return read;
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        closed = true;
+        if (channel != null)
+        {
+            channel.close();
+        }
+    }
+
+    static final class StoredBody
+    {
+        private final HarBodyStore store;
+        private final long position;
+        private final int length;
+
+        private StoredBody(HarBodyStore store, long position, int length)
+        {
+            this.store = store;
+            this.position = position;
+            this.length = length;
+        }
+
+        String read()
+        {
+            try
+            {
+                return store.read(position, length);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Opens reader of the body, the body is read from the store by chunks, so it is not loaded into memory
+         * @return Reader of the body
+         */
+        Reader openReader()
+        {
+            return new InputStreamReader(new StoredBodyInputStream(), StandardCharsets.UTF_8);
+        }
+
+        private final class StoredBodyInputStream extends InputStream
+        {
+            private final long end = position + length;
+            private long next = position;
+
+            @Override
+            public int read() throws IOException
+            {
+                byte[] oneByte = new byte[1];
+                return read(oneByte, 0, 1) < 0 ? -1 : oneByte[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int bytesToRead) throws IOException
+            {
+                if (next >= end)
+                {
+                    return -1;
+                }
+                int read = store.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(bytesToRead, end - next)),
+                        next);
+                next += read;
+                return read;
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.browserup.bup.BrowserUpProxy;
 import com.browserup.bup.BrowserUpProxyServer;
 import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.filters.RequestFilterAdapter.FilterSource;
+import com.browserup.harreader.model.Har;
 
 import org.littleshoot.proxy.HttpFiltersSource;
 
@@ -31,15 +32,26 @@ public class Proxy implements IProxy
     private static final String PROXY_NOT_STARTED = "Proxy is not started";
 
     private IProxyServerFactory proxyServerFactory;
+    private ProxyServerPool proxyServerPool;
+    private HarBodyPolicy harBodyPolicy;
     private BrowserUpProxy proxyServer;
+    private volatile ProxyLog log;
 
     @Override
     public void start()
     {
         if (!isStarted())
         {
-            proxyServer = proxyServerFactory.createProxyServer();
-            proxyServer.start();
+            if (proxyServerPool != null)
+            {
+                proxyServer = proxyServerPool.acquire();
+            }
+            else
+            {
+                proxyServer = proxyServerFactory.createProxyServer();
+                proxyServer.start();
+            }
+            proxyServer.addResponseFilter((response, contents, messageInfo) -> notifyLogUpdated());
         }
     }
 
@@ -49,6 +61,7 @@ public class Proxy implements IProxy
         if (isStarted())
         {
             proxyServer.newHar();
+            getLog(proxyServer.getHar());
         }
         else
         {
@@ -77,8 +90,16 @@ public class Proxy implements IProxy
     {
         if (isStarted())
         {
-            proxyServer.stop();
+            if (proxyServerPool != null)
+            {
+                proxyServerPool.release(proxyServer);
+            }
+            else
+            {
+                proxyServer.stop();
+            }
             proxyServer = null;
+            closeLog();
         }
     }
 
@@ -99,11 +120,44 @@ public class Proxy implements IProxy
     {
         if (isStarted())
         {
-            return new ProxyLog(proxyServer.getHar());
+            return getLog(proxyServer.getHar());
         }
         throw new IllegalStateException(PROXY_NOT_STARTED);
     }
 
+    private synchronized ProxyLog getLog(Har har)
+    {
+        if (log == null || log.getHar() != har)
+        {
+            closeLog();
+            ProxyLog newLog = new ProxyLog(har);
+            if (harBodyPolicy != null)
+            {
+                newLog.setBodyPolicy(harBodyPolicy);
+            }
+            log = newLog;
+        }
+        return log;
+    }
+
+    private synchronized void closeLog()
+    {
+        if (log != null)
+        {
+            log.close();
+            log = null;
+        }
+    }
+
+    private void notifyLogUpdated()
+    {
+        ProxyLog currentLog = log;
+        if (currentLog != null)
+        {
+            currentLog.notifyUpdated();
+        }
+    }
+
     @Override
     public void addRequestFilter(RequestFilter requestFilter)
     {
@@ -128,4 +182,14 @@ public class Proxy implements IProxy
     {
         this.proxyServerFactory = proxyServerFactory;
     }
+
+    public void setProxyServerPool(ProxyServerPool proxyServerPool)
+    {
+        this.proxyServerPool = proxyServerPool;
+    }
+
+    public void setHarBodyPolicy(HarBodyPolicy harBodyPolicy)
+    {
+        this.harBodyPolicy = harBodyPolicy;
+    }
 }
@@ -18,25 +18,76 @@ package org.vividus.proxy;
 
 import static java.util.stream.Collectors.toList;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 import com.browserup.harreader.model.Har;
 import com.browserup.harreader.model.HarContent;
 import com.browserup.harreader.model.HarCreatorBrowser;
 import com.browserup.harreader.model.HarEntry;
 import com.browserup.harreader.model.HarLog;
-import com.browserup.harreader.model.HarRequest;
+import com.browserup.harreader.model.HarResponse;
 import com.browserup.harreader.model.HttpMethod;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.proxy.HarBodyStore.StoredBody;
+
+/**
+ * Log of the HTTP traffic captured by proxy. HAR entries are indexed as they arrive: the decoded request URL is
+ * computed once per entry, the results of URL pattern queries are remembered per pattern and extended with the
+ * entries appended since the previous query only, and response bodies are decoded at most once per entry.
+ * <p>
+ * If {@link HarBodyPolicy} is set, it is applied to the response bodies as soon as they are captured: the bodies
+ * are dropped, truncated or moved to disk, the latter ones are read back transparently when they are requested.
+ * The disk writes happen in background, the bodies stay in memory until they are written. When HAR is written, the
+ * bodies stored on disk are copied to the output as is without loading them into memory.
+ * </p>
+ */
 public class ProxyLog
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProxyLog.class);
+    private static final String STORED_BODIES = "storedBodies";
+    private static final ObjectWriter HAR_WRITER = new ObjectMapper()
+            .registerModule(new SimpleModule().setSerializerModifier(new StoredBodySerializerModifier()))
+            .writer();
+
     private static final String HEX40 = "HEX40";
+    private static final int BASE64_BLOCK_SIZE = 4;
 
     private final Har har;
 
+    private HarLog indexedLog;
+    private List<HarEntry> indexedEntries;
+    private final List<IndexedEntry> index = new ArrayList<>();
+    private final Map<String, PatternMatches> matchesByPattern = new HashMap<>();
+    private long updateCount;
+
+    private HarBodyPolicy bodyPolicy;
+    private HarBodyStore bodyStore;
+    private final List<IndexedEntry> entriesWithPendingBodies = new ArrayList<>();
+
     public ProxyLog(Har har)
     {
         this.har = har;
@@ -51,15 +102,16 @@ public class ProxyLog
         HarLog harLog = new HarLog();
         harLog.setCreator(creator);
         har.setLog(harLog);
+        notifyUpdated();
     }
 
     /**
      * Get list of request URL-s
      * @return List of URLs
      */
-    public List<String> getRequestUrls()
+    public synchronized List<String> getRequestUrls()
     {
-        return getRequestUrlStream().collect(toList());
+        return refreshIndex().stream().map(IndexedEntry::getUrl).collect(toList());
     }
 
     /**
@@ -67,9 +119,9 @@ public class ProxyLog
      * @param urlPattern Pattern of the URL
      * @return List of URLs that are matched the URL pattern
      */
-    public List<String> getRequestUrls(String urlPattern)
+    public synchronized List<String> getRequestUrls(String urlPattern)
     {
-        return getRequestUrlStream().filter(url -> url.matches(urlPattern)).collect(toList());
+        return getMatches(urlPattern, IndexedEntry::getUrl);
     }
 
     /**
@@ -101,9 +153,9 @@ public class ProxyLog
      * @param urlPattern Pattern of the URL
      * @return List of responses found by URL pattern
      */
-    public List<HarEntry> getLogEntries(String urlPattern)
+    public synchronized List<HarEntry> getLogEntries(String urlPattern)
     {
-        return getFilteredHarEntriesStream(urlPattern).collect(toList());
+        return getMatches(urlPattern, IndexedEntry::getEntry);
     }
 
     /**
@@ -112,20 +164,21 @@ public class ProxyLog
      * @param urlPattern Pattern of the URL
      * @return List of responses found by URL pattern
      */
-    public List<HarEntry> getLogEntries(HttpMethod httpMethod, String urlPattern)
+    public synchronized List<HarEntry> getLogEntries(HttpMethod httpMethod, String urlPattern)
     {
-        return getFilteredHarEntriesStream(urlPattern)
+        return getPatternMatches(urlPattern).stream()
+                .map(IndexedEntry::getEntry)
                 .filter(entry -> httpMethod.equals(entry.getRequest().getMethod()))
-                    .collect(toList());
+                .collect(toList());
     }
 
     /**
      * Get list of responses as list of <code>java.lang.String</code>
      * @return List of responses
      */
-    public List<String> getResponses()
+    public synchronized List<String> getResponses()
     {
-        return getHarEntriesStream().map(ProxyLog::getResponse).collect(toList());
+        return refreshIndex().stream().map(IndexedEntry::getResponse).collect(toList());
     }
 
     /**
@@ -133,9 +186,9 @@ public class ProxyLog
      * @param urlPattern Pattern of the URL
      * @return List of responses found by URL pattern
      */
-    public List<String> getResponses(String urlPattern)
+    public synchronized List<String> getResponses(String urlPattern)
     {
-        return getFilteredHarEntriesStream(urlPattern).map(ProxyLog::getResponse).collect(toList());
+        return getMatches(urlPattern, IndexedEntry::getResponse);
     }
 
     /**
@@ -153,35 +206,348 @@ public class ProxyLog
         return responses.get(0);
     }
 
-    private Stream<HarEntry> getHarEntriesStream()
+    /**
+     * Write HAR with all captured response bodies as JSON
+     * @param outputStream Stream to write HAR to
+     * @throws IOException If an I/O error occurs
+     */
+    public synchronized void writeHar(OutputStream outputStream) throws IOException
+    {
+        Map<HarContent, StoredBody> storedBodies = new IdentityHashMap<>();
+        for (IndexedEntry entry : refreshIndex())
+        {
+            if (entry.storedBody != null)
+            {
+                storedBodies.put(entry.getEntry().getResponse().getContent(), entry.storedBody);
+            }
+        }
+        HAR_WRITER.withAttribute(STORED_BODIES, storedBodies).writeValue(outputStream, har);
+    }
+
+    /**
+     * Get number of updates of the log observed so far, the value is used as a starting point for
+     * {@link #awaitUpdate(long, Duration)}
+     * @return Number of log updates
+     */
+    public synchronized long getUpdateCount()
+    {
+        return updateCount;
+    }
+
+    /**
+     * Wait until the log is updated after the specified update or the timeout is reached
+     * @param seenUpdateCount Number of log updates already observed by the caller
+     * @param timeout Maximum time to wait
+     * @return <code>true</code> if the log was updated, <code>false</code> if the timeout is reached
+     * @throws InterruptedException If the current thread is interrupted while waiting
+     */
+    public synchronized boolean awaitUpdate(long seenUpdateCount, Duration timeout) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (updateCount == seenUpdateCount)
+        {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+            {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    synchronized void notifyUpdated()
+    {
+        applyBodyPolicy();
+        updateCount++;
+        notifyAll();
+    }
+
+    synchronized void setBodyPolicy(HarBodyPolicy bodyPolicy)
+    {
+        this.bodyPolicy = bodyPolicy.isEnabled() ? bodyPolicy : null;
+    }
+
+    synchronized void close()
+    {
+        entriesWithPendingBodies.clear();
+        closeBodyStore();
+    }
+
+    Har getHar()
+    {
+        return har;
+    }
+
+    private <T> List<T> getMatches(String urlPattern, Function<IndexedEntry, T> mapper)
     {
-        return getLogEntries().stream();
+        return getPatternMatches(urlPattern).stream().map(mapper).collect(toList());
     }
 
-    private Stream<String> getRequestUrlStream()
+    private List<IndexedEntry> getPatternMatches(String urlPattern)
     {
-        return getHarEntriesStream().map(HarEntry::getRequest).map(HarRequest::getUrl).map(ProxyLog::decodeUrl);
+        List<IndexedEntry> entries = refreshIndex();
+        PatternMatches patternMatches = matchesByPattern.computeIfAbsent(urlPattern, PatternMatches::new);
+        patternMatches.scan(entries);
+        return patternMatches.matches;
     }
 
-    private static String getResponse(HarEntry entry)
+    private List<IndexedEntry> refreshIndex()
     {
-        HarContent content = entry.getResponse().getContent();
-        String response = content.getText();
+        HarLog harLog = har.getLog();
+        List<HarEntry> entries = harLog.getEntries();
+        if (harLog != indexedLog || entries != indexedEntries || entries.size() < index.size())
+        {
+            indexedLog = harLog;
+            indexedEntries = entries;
+            index.clear();
+            matchesByPattern.clear();
+            close();
+        }
+        for (int i = index.size(); i < entries.size(); i++)
+        {
+            IndexedEntry entry = new IndexedEntry(entries.get(i));
+            index.add(entry);
+            if (bodyPolicy != null)
+            {
+                entriesWithPendingBodies.add(entry);
+            }
+        }
+        return index;
+    }
 
-        if (response != null && !content.getMimeType().startsWith("text"))
+    private void applyBodyPolicy()
+    {
+        if (bodyPolicy != null && har != null && har.getLog() != null)
         {
-            response = new String(Base64.getDecoder().decode(response), StandardCharsets.UTF_8);
+            refreshIndex();
+            entriesWithPendingBodies.removeIf(this::applyBodyPolicy);
         }
-        return response;
     }
 
-    private Stream<HarEntry> getFilteredHarEntriesStream(String urlPattern)
+    // the entry is added to the log when the request is sent, so it stays pending until its response is captured;
+    // the response without body (e.g. 204 and 304 responses or responses captured without content) is checked once
+    // more on the next update in case its body is being captured concurrently, then it stops being pending
+    private boolean applyBodyPolicy(IndexedEntry entry)
     {
-        return getHarEntriesStream().filter(entry -> decodeUrl(entry.getRequest().getUrl()).matches(urlPattern));
+        HarResponse response = entry.getEntry().getResponse();
+        HarContent content = response != null ? response.getContent() : null;
+        String body = content != null ? content.getText() : null;
+        if (body == null)
+        {
+            if (response == null || response.getStatus() == 0 || !entry.responseWithoutBodySeen)
+            {
+                entry.responseWithoutBodySeen = response != null && response.getStatus() != 0;
+                return false;
+            }
+            return true;
+        }
+        String contentType = content.getMimeType();
+        if (bodyPolicy.isSkipped(contentType))
+        {
+            content.setText(null);
+            content.setComment("Body is not captured according to its content type");
+        }
+        else if (bodyPolicy.isTruncated(contentType, body))
+        {
+            int truncatedSize = bodyPolicy.getTruncatedBodySize();
+            if (!isText(contentType))
+            {
+                // Base64-encoded bodies are truncated to the whole number of encoded blocks to remain decodable
+                truncatedSize = truncatedSize / BASE64_BLOCK_SIZE * BASE64_BLOCK_SIZE;
+            }
+            content.setText(body.substring(0, truncatedSize));
+            content.setComment("Body is truncated from " + body.length() + " characters");
+        }
+        else if (bodyPolicy.isStoredOnDisk(body))
+        {
+            HarBodyStore store = getBodyStore();
+            bodyPolicy.getStoreExecutor().execute(() -> storeBody(store, entry, body));
+        }
+        return true;
+    }
+
+    // the body is written outside the lock to not hold the proxy threads reporting captured responses on disk I/O
+    private void storeBody(HarBodyStore store, IndexedEntry entry, String body)
+    {
+        try
+        {
+            StoredBody storedBody = store.append(body);
+            synchronized (this)
+            {
+                HarContent content = entry.getEntry().getResponse().getContent();
+                if (store == bodyStore && body.equals(content.getText()))
+                {
+                    entry.storedBody = storedBody;
+                    content.setText(null);
+                    content.setComment("Body of " + body.length() + " characters is stored on disk");
+                    updateCount++;
+                    notifyAll();
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            synchronized (this)
+            {
+                if (store == bodyStore)
+                {
+                    LOGGER.warn("Unable to store HAR entry body on disk, it is kept in memory", e);
+                }
+            }
+        }
+    }
+
+    private HarBodyStore getBodyStore()
+    {
+        if (bodyStore == null)
+        {
+            bodyStore = new HarBodyStore();
+        }
+        return bodyStore;
+    }
+
+    private void closeBodyStore()
+    {
+        if (bodyStore != null)
+        {
+            try
+            {
+                bodyStore.close();
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn("Unable to close HAR body store", e);
+            }
+            bodyStore = null;
+        }
+    }
+
+    private static boolean isText(String contentType)
+    {
+        return contentType.startsWith("text");
+    }
+
+    private static String decodeBody(String contentType, String body)
+    {
+        return isText(contentType) ? body : new String(Base64.getDecoder().decode(body), StandardCharsets.UTF_8);
     }
 
     private static String decodeUrl(String encodedUrl)
     {
         return encodedUrl.contains(HEX40) ? encodedUrl.split(HEX40)[0] : encodedUrl;
     }
+
+    private static final class IndexedEntry
+    {
+        private final HarEntry entry;
+        private String url;
+        private String decodedResponse;
+        private StoredBody storedBody;
+        private boolean responseWithoutBodySeen;
+
+        private IndexedEntry(HarEntry entry)
+        {
+            this.entry = entry;
+        }
+
+        private HarEntry getEntry()
+        {
+            return entry;
+        }
+
+        private String getUrl()
+        {
+            if (url == null)
+            {
+                url = decodeUrl(entry.getRequest().getUrl());
+            }
+            return url;
+        }
+
+        private String getResponse()
+        {
+            HarContent content = entry.getResponse().getContent();
+            if (storedBody != null)
+            {
+                return decodeBody(content.getMimeType(), storedBody.read());
+            }
+            String text = content.getText();
+            if (text == null || isText(content.getMimeType()))
+            {
+                return text;
+            }
+            if (decodedResponse == null)
+            {
+                decodedResponse = decodeBody(content.getMimeType(), text);
+            }
+            return decodedResponse;
+        }
+    }
+
+    private static final class StoredBodySerializerModifier extends BeanSerializerModifier
+    {
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                List<BeanPropertyWriter> beanProperties)
+        {
+            if (HarContent.class.equals(beanDesc.getBeanClass()))
+            {
+                beanProperties.replaceAll(property -> "text".equals(property.getName())
+                        ? new StoredBodyPropertyWriter(property) : property);
+            }
+            return beanProperties;
+        }
+    }
+
+    private static final class StoredBodyPropertyWriter extends BeanPropertyWriter
+    {
+        private static final long serialVersionUID = 5426532962113815427L;
+
+        private StoredBodyPropertyWriter(BeanPropertyWriter base)
+        {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception
+        {
+            Map<?, ?> storedBodies = (Map<?, ?>) prov.getAttribute(STORED_BODIES);
+            StoredBody storedBody = storedBodies != null ? (StoredBody) storedBodies.get(bean) : null;
+            if (storedBody == null)
+            {
+                super.serializeAsField(bean, gen, prov);
+                return;
+            }
+            gen.writeFieldName(getName());
+            try (Reader reader = storedBody.openReader())
+            {
+                gen.writeString(reader, -1);
+            }
+        }
+    }
+
+    private static final class PatternMatches
+    {
+        private final Pattern pattern;
+        private final List<IndexedEntry> matches = new ArrayList<>();
+        private int scannedEntries;
+
+        private PatternMatches(String urlPattern)
+        {
+            this.pattern = Pattern.compile(urlPattern);
+        }
+
+        private void scan(List<IndexedEntry> entries)
+        {
+            for (; scannedEntries < entries.size(); scannedEntries++)
+            {
+                IndexedEntry entry = entries.get(scannedEntries);
+                if (pattern.matcher(entry.getUrl()).matches())
+                {
+                    matches.add(entry);
+                }
+            }
+        }
+    }
 }
@@ -23,19 +23,22 @@ import com.browserup.bup.BrowserUpProxyServer;
 import com.browserup.bup.proxy.CaptureType;
 import com.browserup.bup.proxy.dns.AdvancedHostResolver;
 
+import org.littleshoot.proxy.MitmManager;
 import org.littleshoot.proxy.impl.ThreadPoolConfiguration;
 import org.vividus.proxy.mitm.IMitmManagerFactory;
 import org.vividus.proxy.mitm.MitmManagerOptions;
 
 public class ProxyServerFactory implements IProxyServerFactory
 {
-    private static final int PROXY_WORKER_THREADS = 16;
+    private static final int DEFAULT_WORKER_THREADS = 16;
+    private int workerThreads = DEFAULT_WORKER_THREADS;
     private boolean trustAllServers;
     private boolean mitmEnabled;
     private MitmManagerOptions mitmManagerOptions;
     private IMitmManagerFactory mitmManagerFactory;
     private AdvancedHostResolver advancedHostResolver;
     private Set<CaptureType> captureTypes;
+    private MitmManager mitmManager;
 
     @Override
     public BrowserUpProxy createProxyServer()
@@ -46,15 +49,31 @@ public class ProxyServerFactory implements IProxyServerFactory
         proxyServer.enableHarCaptureTypes(captureTypes);
         if (mitmEnabled)
         {
-            proxyServer.setMitmManager(mitmManagerFactory.createMitmManager(mitmManagerOptions));
+            proxyServer.setMitmManager(getMitmManager());
         }
         ThreadPoolConfiguration config = new ThreadPoolConfiguration();
-        config.withClientToProxyWorkerThreads(PROXY_WORKER_THREADS);
-        config.withProxyToServerWorkerThreads(PROXY_WORKER_THREADS);
+        config.withClientToProxyWorkerThreads(workerThreads);
+        config.withProxyToServerWorkerThreads(workerThreads);
         proxyServer.setThreadPoolConfiguration(config);
         return proxyServer;
     }
 
+    // the impersonated certificates are cached by MITM manager, so sharing it between proxy servers saves their
+    // generation for every new server
+    private synchronized MitmManager getMitmManager()
+    {
+        if (mitmManager == null)
+        {
+            mitmManager = mitmManagerFactory.createMitmManager(mitmManagerOptions);
+        }
+        return mitmManager;
+    }
+
+    public void setWorkerThreads(int workerThreads)
+    {
+        this.workerThreads = workerThreads;
+    }
+
     public void setTrustAllServers(boolean trustAllServers)
     {
         this.trustAllServers = trustAllServers;
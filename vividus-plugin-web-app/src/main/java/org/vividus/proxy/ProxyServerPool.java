@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import com.browserup.bup.BrowserUpProxy;
+import com.browserup.bup.BrowserUpProxyServer;
+import com.browserup.bup.filters.RequestFilterAdapter;
+import com.browserup.bup.filters.ResponseFilterAdapter;
+
+import org.littleshoot.proxy.HttpFiltersSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of started proxy servers shared by all test threads. A server released at the end of the story is
+ * reset and kept idle to be handed out to the next story on any thread instead of being stopped, so the stories skip
+ * the server startup and the number of running servers follows the peak number of stories running at the same time.
+ * If <code>maxServers</code> is positive, at most that many servers (and so their worker threads) are running at
+ * once: a story acquiring a server when all of them are busy waits until another story releases one. Every server is
+ * used by a single story at a time, so HAR and filters are never mixed between sessions.
+ */
+public class ProxyServerPool
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProxyServerPool.class);
+
+    private IProxyServerFactory proxyServerFactory;
+    private int maxServers;
+
+    private final Deque<BrowserUpProxy> idleServers = new ArrayDeque<>();
+    private int runningServers;
+
+    public BrowserUpProxy acquire()
+    {
+        synchronized (idleServers)
+        {
+            try
+            {
+                while (idleServers.isEmpty() && maxServers > 0 && runningServers >= maxServers)
+                {
+                    idleServers.wait();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an idle proxy server", e);
+            }
+            BrowserUpProxy proxyServer = idleServers.pollFirst();
+            if (proxyServer != null)
+            {
+                return proxyServer;
+            }
+            runningServers++;
+        }
+        try
+        {
+            BrowserUpProxy proxyServer = proxyServerFactory.createProxyServer();
+            proxyServer.start();
+            return proxyServer;
+        }
+        catch (RuntimeException e)
+        {
+            onServerStopped();
+            throw e;
+        }
+    }
+
+    public void release(BrowserUpProxy proxyServer)
+    {
+        if (reset(proxyServer))
+        {
+            synchronized (idleServers)
+            {
+                idleServers.addFirst(proxyServer);
+                idleServers.notifyAll();
+            }
+            return;
+        }
+        try
+        {
+            proxyServer.stop();
+        }
+        finally
+        {
+            onServerStopped();
+        }
+    }
+
+    public void destroy()
+    {
+        List<BrowserUpProxy> proxyServers;
+        synchronized (idleServers)
+        {
+            proxyServers = new ArrayList<>(idleServers);
+            runningServers -= idleServers.size();
+            idleServers.clear();
+        }
+        proxyServers.forEach(BrowserUpProxy::stop);
+    }
+
+    private void onServerStopped()
+    {
+        synchronized (idleServers)
+        {
+            runningServers--;
+            idleServers.notifyAll();
+        }
+    }
+
+    private static boolean reset(BrowserUpProxy proxyServer)
+    {
+        if (!(proxyServer instanceof BrowserUpProxyServer))
+        {
+            return false;
+        }
+        try
+        {
+            if (proxyServer.getHar() != null)
+            {
+                proxyServer.endHar();
+            }
+            List<HttpFiltersSource> filterFactories = ((BrowserUpProxyServer) proxyServer).getFilterFactories();
+            filterFactories.removeIf(source -> source instanceof RequestFilterAdapter.FilterSource
+                    || source instanceof ResponseFilterAdapter.FilterSource);
+            return true;
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.warn("Unable to reset proxy server, it is stopped", e);
+            return false;
+        }
+    }
+
+    public void setProxyServerFactory(IProxyServerFactory proxyServerFactory)
+    {
+        this.proxyServerFactory = proxyServerFactory;
+    }
+
+    public void setMaxServers(int maxServers)
+    {
+        if (maxServers < 0)
+        {
+            throw new IllegalArgumentException("Max number of proxy servers must not be negative, but got: "
+                    + maxServers);
+        }
+        this.maxServers = maxServers;
+    }
+}
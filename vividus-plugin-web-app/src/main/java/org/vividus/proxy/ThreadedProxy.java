@@ -24,11 +24,15 @@ import com.browserup.bup.filters.RequestFilter;
 public class ThreadedProxy implements IProxy
 {
     @Inject private IProxyServerFactory proxyServerFactory;
+    @Inject private HarBodyPolicy harBodyPolicy;
+    @Inject private ProxyServerPool proxyServerPool;
 
     private final ThreadLocal<IProxy> proxy = ThreadLocal.withInitial(() ->
     {
         Proxy proxy = new Proxy();
         proxy.setProxyServerFactory(proxyServerFactory);
+        proxy.setHarBodyPolicy(harBodyPolicy);
+        proxy.setProxyServerPool(proxyServerPool);
         return proxy;
     });
 
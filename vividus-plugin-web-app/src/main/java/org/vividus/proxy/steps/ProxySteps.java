@@ -18,6 +18,7 @@ package org.vividus.proxy.steps;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -28,11 +29,9 @@ import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
-import com.browserup.harreader.model.Har;
 import com.browserup.harreader.model.HarEntry;
 import com.browserup.harreader.model.HarQueryParam;
 import com.browserup.harreader.model.HttpMethod;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.apache.http.HttpStatus;
 import org.jbehave.core.annotations.Then;
@@ -48,7 +47,7 @@ import org.vividus.ui.web.action.IWaitActions;
 
 public class ProxySteps
 {
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration LOG_UPDATE_TIMEOUT = Duration.ofMillis(500);
 
     @Inject private IProxy proxy;
     @Inject private ISoftAssert softAssert;
@@ -98,7 +97,12 @@ public class ProxySteps
 
     private List<HarEntry> getHarEntries(HttpMethod httpMethod, String urlPattern)
     {
-        return getProxyLog().getLogEntries(httpMethod, urlPattern)
+        return getHarEntries(getProxyLog(), httpMethod, urlPattern);
+    }
+
+    private static List<HarEntry> getHarEntries(ProxyLog proxyLog, HttpMethod httpMethod, String urlPattern)
+    {
+        return proxyLog.getLogEntries(httpMethod, urlPattern)
                 .stream()
                 .filter(h -> h.getResponse().getStatus() != HttpStatus.SC_MOVED_TEMPORARILY)
                 .collect(Collectors.toList());
@@ -146,7 +150,8 @@ public class ProxySteps
     }
 
     /**
-     * Waits for appearance of HTTP request matched <b>httpMethod</b> and <b>urlPattern</b> in proxy log
+     * Waits for appearance of HTTP request matched <b>httpMethod</b> and <b>urlPattern</b> in proxy log. The proxy
+     * log is checked again as soon as a new response is captured by proxy instead of waiting for the next poll.
      * @param httpMethod HTTP method to filter by
      * @param urlPattern The string value of URL-pattern to filter by
      */
@@ -158,8 +163,22 @@ public class ProxySteps
             @Override
             public Boolean apply(String urlPattern)
             {
-                List<HarEntry> entries = getHarEntries(httpMethod, urlPattern);
-                return !entries.isEmpty();
+                ProxyLog proxyLog = getProxyLog();
+                long updateCount = proxyLog.getUpdateCount();
+                if (!getHarEntries(proxyLog, httpMethod, urlPattern).isEmpty())
+                {
+                    return true;
+                }
+                try
+                {
+                    proxyLog.awaitUpdate(updateCount, LOG_UPDATE_TIMEOUT);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                return !getHarEntries(proxyLog, httpMethod, urlPattern).isEmpty();
             }
 
             @Override
@@ -184,10 +203,9 @@ public class ProxySteps
 
     private void publishHar() throws IOException
     {
-        Har har = proxy.getProxyServer().getHar();
         try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream())
         {
-            OBJECT_MAPPER.writeValue(byteArrayOutputStream, har);
+            proxy.getLog().writeHar(byteArrayOutputStream);
             attachmentPublisher.publishAttachment(byteArrayOutputStream.toByteArray(), "har.har");
         }
     }
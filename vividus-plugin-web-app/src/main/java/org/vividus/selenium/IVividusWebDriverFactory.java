@@ -16,7 +16,29 @@
 
 package org.vividus.selenium;
 
+import org.openqa.selenium.remote.DesiredCapabilities;
+
 public interface IVividusWebDriverFactory
 {
     VividusWebDriver create();
+
+    /**
+     * Builds the capabilities the driver for the currently running story should be started with
+     * @return Desired capabilities including the ones set via meta and the proxy settings
+     */
+    DesiredCapabilities createDesiredCapabilities();
+
+    /**
+     * Starts new driver using the given capabilities, the method does not depend on the running story, so it can
+     * be called from any thread
+     * @param desiredCapabilities Capabilities to start the driver with
+     * @return Started driver
+     */
+    VividusWebDriver create(DesiredCapabilities desiredCapabilities);
+
+    /**
+     * Resizes window of the driver according to the currently running story
+     * @param vividusWebDriver Driver to resize window of
+     */
+    void resizeWindow(VividusWebDriver vividusWebDriver);
 }
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Web driver provider keeping the sessions released at the end of the stories warm and handing them out to the
+ * next stories requesting the same effective desired capabilities, the handed out session is described by the
+ * capabilities requested by the story. Before the session is returned to the pool cookies and web storages of the
+ * pages opened in all windows are cleared, all windows except the first one are closed and the blank page is opened.
+ * WebDriver gives access to the cookies and web storages of the opened pages only, so the state of the other
+ * domains visited by the story (e.g. third-party cookies or cookies of the pages navigated away from) is kept and
+ * seen by the next stories reusing the session: the pool must stay disabled if the stories require isolated browser
+ * state. The sessions bound to the proxy are never pooled, since the proxy is started on random port for
+ * the story and is stopped at its end. Every time the pool has no session for the requested
+ * capabilities, one more session is launched in the background for the subsequent stories. The session is quit
+ * once it has been used the configured number of times or once it stops responding. The pool is disabled if max
+ * number of idle sessions is 0, in this case every session is quit at the end of the story.
+ */
+public class PooledWebDriverProvider extends WebDriverProvider
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledWebDriverProvider.class);
+
+    private static final String BLANK_PAGE = "about:blank";
+    private static final String CLEAR_WEB_STORAGES_SCRIPT = "window.localStorage.clear();"
+            + "window.sessionStorage.clear();";
+
+    private final Map<Map<String, Object>, Deque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private final Map<Map<String, Object>, AtomicInteger> launchingSessions = new ConcurrentHashMap<>();
+    private final Map<VividusWebDriver, PooledSession> acquiredSessions = new ConcurrentHashMap<>();
+
+    private int maxIdleSessions;
+    private int maxSessionUses;
+    private int launcherThreads;
+
+    private ExecutorService launcher;
+    private boolean destroyed;
+
+    public void init()
+    {
+        if (maxIdleSessions > 0 && launcherThreads > 0)
+        {
+            launcher = Executors.newFixedThreadPool(launcherThreads, new BasicThreadFactory.Builder()
+                    .namingPattern("web-driver-launcher-%d")
+                    .daemon(true)
+                    .build());
+        }
+    }
+
+    @Override
+    protected VividusWebDriver createVividusWebDriver()
+    {
+        if (maxIdleSessions == 0)
+        {
+            return super.createVividusWebDriver();
+        }
+        IVividusWebDriverFactory vividusWebDriverFactory = getVividusWebDriverFactory();
+        DesiredCapabilities desiredCapabilities = vividusWebDriverFactory.createDesiredCapabilities();
+        if (desiredCapabilities.getCapability(CapabilityType.PROXY) != null)
+        {
+            VividusWebDriver vividusWebDriver = vividusWebDriverFactory.create(desiredCapabilities);
+            vividusWebDriverFactory.resizeWindow(vividusWebDriver);
+            return vividusWebDriver;
+        }
+        Map<String, Object> key = toKey(desiredCapabilities);
+        PooledSession session = pollHealthySession(key);
+        if (session == null)
+        {
+            session = new PooledSession(key,
+                    vividusWebDriverFactory.create(new DesiredCapabilities(desiredCapabilities)));
+            launchInBackground(key, desiredCapabilities);
+        }
+        session.vividusWebDriver.setDesiredCapabilities(desiredCapabilities);
+        acquiredSessions.put(session.vividusWebDriver, session);
+        vividusWebDriverFactory.resizeWindow(session.vividusWebDriver);
+        return session.vividusWebDriver;
+    }
+
+    @Override
+    protected void releaseVividusWebDriver(VividusWebDriver vividusWebDriver)
+    {
+        PooledSession session = acquiredSessions.remove(vividusWebDriver);
+        if (session == null)
+        {
+            super.releaseVividusWebDriver(vividusWebDriver);
+            return;
+        }
+        session.uses++;
+        if (maxSessionUses > 0 && session.uses >= maxSessionUses)
+        {
+            super.releaseVividusWebDriver(vividusWebDriver);
+            return;
+        }
+        try
+        {
+            resetState(unwrap(vividusWebDriver.getWrappedDriver()));
+        }
+        catch (WebDriverException e)
+        {
+            LOGGER.warn("Unable to reset state of the web driver session, the session will be quit", e);
+            quitQuietly(session);
+            return;
+        }
+        offer(session);
+    }
+
+    @Override
+    public synchronized void destroy()
+    {
+        destroyed = true;
+        if (launcher != null)
+        {
+            launcher.shutdownNow();
+        }
+        super.destroy();
+        idleSessions.values().forEach(sessions -> sessions.forEach(this::quitQuietly));
+        idleSessions.clear();
+    }
+
+    private PooledSession pollHealthySession(Map<String, Object> key)
+    {
+        Deque<PooledSession> sessions = idleSessions.get(key);
+        if (sessions != null)
+        {
+            PooledSession session;
+            while ((session = sessions.pollFirst()) != null)
+            {
+                if (isHealthy(session))
+                {
+                    return session;
+                }
+                quitQuietly(session);
+            }
+        }
+        return null;
+    }
+
+    private void launchInBackground(Map<String, Object> key, DesiredCapabilities desiredCapabilities)
+    {
+        if (launcher == null)
+        {
+            return;
+        }
+        AtomicInteger launching = launchingSessions.computeIfAbsent(key, k -> new AtomicInteger());
+        Deque<PooledSession> sessions = idleSessions.get(key);
+        int idle = sessions == null ? 0 : sessions.size();
+        if (launching.incrementAndGet() + idle > maxIdleSessions)
+        {
+            launching.decrementAndGet();
+            return;
+        }
+        launcher.execute(() -> {
+            try
+            {
+                offer(new PooledSession(key,
+                        getVividusWebDriverFactory().create(new DesiredCapabilities(desiredCapabilities))));
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.warn("Unable to launch web driver session in background", e);
+            }
+            finally
+            {
+                launching.decrementAndGet();
+            }
+        });
+    }
+
+    private synchronized void offer(PooledSession session)
+    {
+        Deque<PooledSession> sessions = idleSessions.computeIfAbsent(session.key, k -> new ConcurrentLinkedDeque<>());
+        if (destroyed || sessions.size() >= maxIdleSessions)
+        {
+            quitQuietly(session);
+            return;
+        }
+        sessions.addFirst(session);
+    }
+
+    private boolean isHealthy(PooledSession session)
+    {
+        try
+        {
+            unwrap(session.vividusWebDriver.getWrappedDriver()).getWindowHandles();
+            return true;
+        }
+        catch (WebDriverException e)
+        {
+            LOGGER.warn("Idle web driver session is not responding, the session will be quit", e);
+            return false;
+        }
+    }
+
+    private void quitQuietly(PooledSession session)
+    {
+        try
+        {
+            session.vividusWebDriver.getWrappedDriver().quit();
+        }
+        catch (WebDriverException e)
+        {
+            LOGGER.warn("Unable to quit web driver session", e);
+        }
+    }
+
+    private static void resetState(WebDriver webDriver)
+    {
+        Iterator<String> windowHandles = webDriver.getWindowHandles().iterator();
+        String firstWindowHandle = windowHandles.next();
+        while (windowHandles.hasNext())
+        {
+            webDriver.switchTo().window(windowHandles.next());
+            clearPageState(webDriver);
+            webDriver.close();
+        }
+        webDriver.switchTo().window(firstWindowHandle);
+        clearPageState(webDriver);
+        webDriver.navigate().to(BLANK_PAGE);
+    }
+
+    private static void clearPageState(WebDriver webDriver)
+    {
+        try
+        {
+            ((JavascriptExecutor) webDriver).executeScript(CLEAR_WEB_STORAGES_SCRIPT);
+        }
+        catch (WebDriverException e)
+        {
+            // web storages are not available for some pages, e.g. for the blank one
+            LOGGER.debug("Unable to clear web storages", e);
+        }
+        webDriver.manage().deleteAllCookies();
+    }
+
+    // the state is reset bypassing the event firing driver to not notify the listeners of the story
+    private static WebDriver unwrap(WebDriver webDriver)
+    {
+        return webDriver instanceof WrapsDriver ? ((WrapsDriver) webDriver).getWrappedDriver() : webDriver;
+    }
+
+    // the story name is set to be displayed by the grid only, so it should not prevent the session reuse
+    private static Map<String, Object> toKey(DesiredCapabilities desiredCapabilities)
+    {
+        Map<String, Object> key = new HashMap<>(desiredCapabilities.asMap());
+        key.remove(SauceLabsCapabilityType.NAME);
+        return key;
+    }
+
+    public void setMaxIdleSessions(int maxIdleSessions)
+    {
+        this.maxIdleSessions = maxIdleSessions;
+    }
+
+    public void setMaxSessionUses(int maxSessionUses)
+    {
+        this.maxSessionUses = maxSessionUses;
+    }
+
+    public void setLauncherThreads(int launcherThreads)
+    {
+        this.launcherThreads = launcherThreads;
+    }
+
+    private static final class PooledSession
+    {
+        private final Map<String, Object> key;
+        private final VividusWebDriver vividusWebDriver;
+        private int uses;
+
+        private PooledSession(Map<String, Object> key, VividusWebDriver vividusWebDriver)
+        {
+            this.key = key;
+            this.vividusWebDriver = vividusWebDriver;
+        }
+    }
+}
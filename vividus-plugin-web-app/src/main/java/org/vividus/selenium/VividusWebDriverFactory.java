@@ -55,15 +55,31 @@ public class VividusWebDriverFactory implements IVividusWebDriverFactory
     @Override
     public VividusWebDriver create()
     {
-        VividusWebDriver vividusWebDriver = createVividusWebDriver(bddRunContext.getRunningStory());
+        VividusWebDriver vividusWebDriver = create(createDesiredCapabilities());
+        resizeWindow(vividusWebDriver);
+        return vividusWebDriver;
+    }
 
-        WebDriver webDriver;
-        DesiredCapabilities desiredCapabilities = vividusWebDriver.getDesiredCapabilities();
+    @Override
+    public DesiredCapabilities createDesiredCapabilities()
+    {
+        DesiredCapabilities desiredCapabilities = new DesiredCapabilities();
+        setBaseDesiredCapabilities(desiredCapabilities, bddRunContext.getRunningStory());
         if (proxy.isStarted())
         {
             desiredCapabilities.setCapability(CapabilityType.PROXY, createSeleniumProxy(remoteExecution));
             desiredCapabilities.setCapability(CapabilityType.ACCEPT_SSL_CERTS, true);
         }
+        return desiredCapabilities;
+    }
+
+    @Override
+    public VividusWebDriver create(DesiredCapabilities desiredCapabilities)
+    {
+        VividusWebDriver vividusWebDriver = new VividusWebDriver();
+        vividusWebDriver.setDesiredCapabilities(desiredCapabilities);
+
+        WebDriver webDriver;
         if (remoteExecution)
         {
             webDriver = webDriverFactory.getRemoteWebDriver(desiredCapabilities);
@@ -79,9 +95,14 @@ public class VividusWebDriverFactory implements IVividusWebDriverFactory
         webDriverEventListeners.forEach(eventFiringWebDriver::register);
 
         vividusWebDriver.setWebDriver(eventFiringWebDriver);
+        return vividusWebDriver;
+    }
+
+    @Override
+    public void resizeWindow(VividusWebDriver vividusWebDriver)
+    {
         WebDriverManager.resize(vividusWebDriver.getWrappedDriver(),
                 browserWindowSizeProvider.getBrowserWindowSize(remoteExecution));
-        return vividusWebDriver;
     }
 
     private Proxy createSeleniumProxy(boolean remoteExecution)
@@ -97,17 +118,8 @@ public class VividusWebDriverFactory implements IVividusWebDriverFactory
         }
     }
 
-    private VividusWebDriver createVividusWebDriver(RunningStory runningStory)
-    {
-        VividusWebDriver vividusWebDriver = new VividusWebDriver();
-        setBaseDesiredCapabilities(vividusWebDriver, runningStory);
-
-        return vividusWebDriver;
-    }
-
-    private void setBaseDesiredCapabilities(VividusWebDriver vividusWebDriver, RunningStory runningStory)
+    private void setBaseDesiredCapabilities(DesiredCapabilities desiredCapabilities, RunningStory runningStory)
     {
-        DesiredCapabilities desiredCapabilities = vividusWebDriver.getDesiredCapabilities();
         desiredCapabilities.merge(webDriverManagerContext.getParameter(
                 WebDriverManagerParameter.DESIRED_CAPABILITIES));
         webDriverManagerContext.reset(WebDriverManagerParameter.DESIRED_CAPABILITIES);
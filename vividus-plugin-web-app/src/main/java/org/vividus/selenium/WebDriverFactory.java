@@ -16,6 +16,7 @@
 
 package org.vividus.selenium;
 
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.Map;
 import java.util.Optional;
@@ -34,14 +35,23 @@ import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.CommandExecutor;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.selenium.driver.CountingCommandExecutor;
 import org.vividus.selenium.driver.TextFormattingWebDriver;
+import org.vividus.selenium.driver.WebDriverCommandCounter;
+import org.vividus.selenium.driver.WebDriverCommandStatistics;
 import org.vividus.selenium.manager.WebDriverManager;
 import org.vividus.util.json.IJsonUtils;
 import org.vividus.util.property.IPropertyParser;
 
 public class WebDriverFactory implements IWebDriverFactory
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverFactory.class);
+
     private static final Set<String> GENERIC_CAPABILITIES = Stream.of(CapabilityType.class.getFields())
             .filter(f -> f.getType().equals(String.class))
             .map(f ->
@@ -65,6 +75,8 @@ public class WebDriverFactory implements IWebDriverFactory
     @Inject private IRemoteWebDriverFactory remoteWebDriverFactory;
     @Inject private ITimeoutConfigurer timeoutConfigurer;
     @Inject private IPropertyParser propertyParser;
+    @Inject private WebDriverCommandCounter webDriverCommandCounter;
+    @Inject private WebDriverCommandStatistics webDriverCommandStatistics;
     private WebDriverType webDriverType;
     private URL remoteDriverUrl;
 
@@ -120,11 +132,33 @@ public class WebDriverFactory implements IWebDriverFactory
 
     private WebDriver createWebDriver(WebDriver webDriver)
     {
+        if (webDriver instanceof RemoteWebDriver)
+        {
+            countCommands((RemoteWebDriver) webDriver);
+        }
         WebDriver driver = new TextFormattingWebDriver(webDriver);
         timeoutConfigurer.configure(driver.manage().timeouts());
         return driver;
     }
 
+    // Selenium doesn't provide public API to intercept commands sent to the browser
+    private void countCommands(RemoteWebDriver webDriver)
+    {
+        try
+        {
+            Method setCommandExecutor = RemoteWebDriver.class.getDeclaredMethod("setCommandExecutor",
+                    CommandExecutor.class);
+            setCommandExecutor.setAccessible(true);
+            setCommandExecutor.invoke(webDriver,
+                    new CountingCommandExecutor(webDriver.getCommandExecutor(), webDriverCommandCounter,
+                            webDriverCommandStatistics));
+        }
+        catch (ReflectiveOperationException e)
+        {
+            LOGGER.warn("WebDriver commands will not be counted", e);
+        }
+    }
+
     private WebDriverConfiguration getWebDriverConfiguration(WebDriverType webDriverType, boolean localRun)
     {
         return configurations.computeIfAbsent(webDriverType, type ->
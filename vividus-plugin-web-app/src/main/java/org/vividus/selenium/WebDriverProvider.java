@@ -51,7 +51,7 @@ public class WebDriverProvider implements IWebDriverProvider
         VividusWebDriver vividusWebDriver = testContext.get(VividusWebDriver.class);
         if (vividusWebDriver == null)
         {
-            vividusWebDriver = vividusWebDriverFactory.create();
+            vividusWebDriver = createVividusWebDriver();
             testContext.put(VividusWebDriver.class, vividusWebDriver);
             WebDriver driver = vividusWebDriver.getWrappedDriver();
             webDrivers.add(driver);
@@ -71,10 +71,11 @@ public class WebDriverProvider implements IWebDriverProvider
     {
         if (isWebDriverInitialized())
         {
-            WebDriver webDriver = getVividusWebDriver().getWrappedDriver();
+            VividusWebDriver vividusWebDriver = getVividusWebDriver();
+            WebDriver webDriver = vividusWebDriver.getWrappedDriver();
             try
             {
-                webDriver.quit();
+                releaseVividusWebDriver(vividusWebDriver);
             }
             finally
             {
@@ -88,6 +89,16 @@ public class WebDriverProvider implements IWebDriverProvider
         }
     }
 
+    protected VividusWebDriver createVividusWebDriver()
+    {
+        return vividusWebDriverFactory.create();
+    }
+
+    protected void releaseVividusWebDriver(VividusWebDriver vividusWebDriver)
+    {
+        vividusWebDriver.getWrappedDriver().quit();
+    }
+
     private void reset()
     {
         testContext.remove(VividusWebDriver.class);
@@ -105,6 +116,11 @@ public class WebDriverProvider implements IWebDriverProvider
         webDrivers.forEach(WebDriver::quit);
     }
 
+    protected IVividusWebDriverFactory getVividusWebDriverFactory()
+    {
+        return vividusWebDriverFactory;
+    }
+
     public void setVividusWebDriverFactory(IVividusWebDriverFactory vividusWebDriverFactory)
     {
         this.vividusWebDriverFactory = vividusWebDriverFactory;
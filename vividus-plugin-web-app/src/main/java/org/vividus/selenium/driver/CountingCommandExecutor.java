@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vividus.selenium.driver;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.Response;
+
+public class CountingCommandExecutor implements CommandExecutor
+{
+    private final CommandExecutor commandExecutor;
+    private final WebDriverCommandCounter webDriverCommandCounter;
+    private final WebDriverCommandStatistics webDriverCommandStatistics;
+
+    public CountingCommandExecutor(CommandExecutor commandExecutor, WebDriverCommandCounter webDriverCommandCounter,
+            WebDriverCommandStatistics webDriverCommandStatistics)
+    {
+        this.commandExecutor = commandExecutor;
+        this.webDriverCommandCounter = webDriverCommandCounter;
+        this.webDriverCommandStatistics = webDriverCommandStatistics;
+    }
+
+    @Override
+    public Response execute(Command command) throws IOException
+    {
+        webDriverCommandCounter.countCommand(command.getName());
+        long start = System.nanoTime();
+        try
+        {
+            return commandExecutor.execute(command);
+        }
+        finally
+        {
+            webDriverCommandStatistics.record(command.getName(), Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vividus.selenium.driver;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import org.vividus.testcontext.TestContext;
+
+/**
+ * Counts WebDriver commands sent to the browser by the current step. Steps can be nested, the commands of the
+ * nested step are counted for the outer step as well.
+ */
+public class WebDriverCommandCounter
+{
+    private static final Object KEY = WebDriverCommandCounter.class;
+
+    private TestContext testContext;
+
+    public void startCounting()
+    {
+        testContext.get(KEY, ConcurrentLinkedDeque::new).push(new ConcurrentHashMap<>());
+    }
+
+    public void countCommand(String commandName)
+    {
+        Deque<Map<String, Integer>> counters = testContext.get(KEY);
+        if (counters != null)
+        {
+            Map<String, Integer> stepCounters = counters.peek();
+            if (stepCounters != null)
+            {
+                stepCounters.merge(commandName, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the commands are counted for a step started by {@link #startCounting()} and not stopped yet
+     * @return <code>true</code> if there is a running step
+     */
+    public boolean isCounting()
+    {
+        Deque<Map<String, Integer>> counters = testContext.get(KEY);
+        return counters != null && !counters.isEmpty();
+    }
+
+    /**
+     * Stops counting of the commands for the current step
+     * @return Numbers of the commands sent by the step grouped by the command names
+     */
+    public Map<String, Integer> stopCounting()
+    {
+        Deque<Map<String, Integer>> counters = testContext.get(KEY);
+        if (counters == null || counters.isEmpty())
+        {
+            return Map.of();
+        }
+        Map<String, Integer> stepCounters = counters.pop();
+        Map<String, Integer> outerStepCounters = counters.peek();
+        if (outerStepCounters != null)
+        {
+            stepCounters.forEach((commandName, count) -> outerStepCounters.merge(commandName, count, Integer::sum));
+        }
+        return stepCounters;
+    }
+
+    public void setTestContext(TestContext testContext)
+    {
+        this.testContext = testContext;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.driver;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.testcontext.TestContext;
+import org.vividus.util.json.IJsonUtils;
+import org.vividus.util.statistic.DurationHistogram;
+
+/**
+ * Collects histograms of the latencies of the WebDriver commands grouped by the command names, stories and steps.
+ * Statistics of the whole run are published to the log and to the report file at the end of the run, steps sending
+ * more commands than the configured threshold are flagged as chatty.
+ */
+public class WebDriverCommandStatistics
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverCommandStatistics.class);
+
+    private static final Object KEY = WebDriverCommandStatistics.class;
+
+    private final Map<String, DurationHistogram> commandHistograms = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, DurationHistogram>> storyCommandHistograms = new ConcurrentHashMap<>();
+    private final Map<String, StepStatistics> stepStatistics = new ConcurrentHashMap<>();
+
+    private TestContext testContext;
+    private IJsonUtils jsonUtils;
+    private File reportFile;
+    private int chattyStepThreshold;
+
+    public void startStory(String storyPath)
+    {
+        getRunningStatistics().storyPath = storyPath;
+    }
+
+    public void stopStory()
+    {
+        testContext.remove(KEY);
+    }
+
+    public void startScenario()
+    {
+        getRunningStatistics().scenarios.push(new ScenarioStatistics());
+    }
+
+    /**
+     * Stops collecting of the statistics for the current scenario
+     * @return Data model describing the commands sent by the scenario: histogram summaries keyed by the command
+     * names and the round trips of the steps, or empty map if the scenario sent no commands
+     */
+    public Map<String, Object> stopScenario()
+    {
+        ScenarioStatistics scenario = getRunningStatistics().scenarios.poll();
+        if (scenario == null || scenario.commandHistograms.isEmpty())
+        {
+            return Map.of();
+        }
+        return Map.of("commands", summarize(scenario.commandHistograms), "steps", scenario.steps);
+    }
+
+    public void startStep(String step)
+    {
+        getRunningStatistics().steps.push(step);
+    }
+
+    /**
+     * Stops collecting of the statistics for the current step, the call is ignored if there is no step started by
+     * {@link #startStep(String)}
+     * @param step Step to stop collecting statistics for
+     * @param roundTrips Number of the commands sent by the step including its sub-steps
+     * @return <code>true</code> if the step is chatty, i.e. it sent more commands than the configured threshold
+     */
+    public boolean stopStep(String step, int roundTrips)
+    {
+        RunningStatistics runningStatistics = getRunningStatistics();
+        if (runningStatistics.steps.poll() == null || roundTrips == 0)
+        {
+            return false;
+        }
+        boolean chatty = isChatty(roundTrips);
+        getStepStatistics(step).roundTrips(roundTrips);
+        Map<String, Object> stepRoundTrips = Map.of("step", step, "roundTrips", roundTrips, "chatty", chatty);
+        runningStatistics.scenarios.forEach(scenario -> scenario.steps.add(stepRoundTrips));
+        return chatty;
+    }
+
+    public void record(String commandName, Duration duration)
+    {
+        commandHistograms.computeIfAbsent(commandName, c -> new DurationHistogram()).record(duration);
+        RunningStatistics runningStatistics = testContext.get(KEY);
+        if (runningStatistics != null)
+        {
+            if (runningStatistics.storyPath != null)
+            {
+                storyCommandHistograms.computeIfAbsent(runningStatistics.storyPath, s -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(commandName, c -> new DurationHistogram()).record(duration);
+            }
+            runningStatistics.scenarios.forEach(scenario -> scenario.commandHistograms
+                    .computeIfAbsent(commandName, c -> new DurationHistogram()).record(duration));
+            runningStatistics.steps.forEach(step -> getStepStatistics(step).commandDurations.record(duration));
+        }
+    }
+
+    public Map<String, DurationHistogram> getCommandHistograms()
+    {
+        return Map.copyOf(commandHistograms);
+    }
+
+    public void publish() throws IOException
+    {
+        if (commandHistograms.isEmpty())
+        {
+            return;
+        }
+        new TreeMap<>(commandHistograms).forEach(
+            (commandName, histogram) -> LOGGER.info("WebDriver command {}: {}", commandName, histogram));
+        stepStatistics.forEach((step, statistics) -> {
+            if (isChatty(statistics.maxRoundTrips.intValue()))
+            {
+                LOGGER.warn("Step \"{}\" is chatty, it sent up to {} WebDriver commands", step,
+                        statistics.maxRoundTrips.intValue());
+            }
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commands", summarize(commandHistograms));
+        Map<String, Object> stories = new LinkedHashMap<>();
+        new TreeMap<>(storyCommandHistograms).forEach((story, histograms) -> stories.put(story,
+                summarize(histograms)));
+        report.put("stories", stories);
+        Map<String, Object> steps = new LinkedHashMap<>();
+        new TreeMap<>(stepStatistics).forEach((step, statistics) -> steps.put(step, statistics.summarize()));
+        report.put("steps", steps);
+        Path reportPath = reportFile.toPath();
+        Path parent = reportPath.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        Files.write(reportPath, jsonUtils.toJson(report).getBytes(StandardCharsets.UTF_8));
+        LOGGER.info("WebDriver commands statistics is saved to {}", reportPath.toAbsolutePath());
+    }
+
+    private boolean isChatty(int roundTrips)
+    {
+        return chattyStepThreshold > 0 && roundTrips > chattyStepThreshold;
+    }
+
+    private StepStatistics getStepStatistics(String step)
+    {
+        return stepStatistics.computeIfAbsent(step, s -> new StepStatistics());
+    }
+
+    private RunningStatistics getRunningStatistics()
+    {
+        return testContext.get(KEY, RunningStatistics::new);
+    }
+
+    private static Map<String, Map<String, Long>> summarize(Map<String, DurationHistogram> histograms)
+    {
+        Map<String, Map<String, Long>> summaries = new LinkedHashMap<>();
+        new TreeMap<>(histograms).forEach((commandName, histogram) -> summaries.put(commandName,
+                histogram.summarize()));
+        return summaries;
+    }
+
+    public void setTestContext(TestContext testContext)
+    {
+        this.testContext = testContext;
+    }
+
+    public void setJsonUtils(IJsonUtils jsonUtils)
+    {
+        this.jsonUtils = jsonUtils;
+    }
+
+    public void setReportFile(File reportFile)
+    {
+        this.reportFile = reportFile;
+    }
+
+    public void setChattyStepThreshold(int chattyStepThreshold)
+    {
+        this.chattyStepThreshold = chattyStepThreshold;
+    }
+
+    private static final class RunningStatistics
+    {
+        private String storyPath;
+        private final Deque<ScenarioStatistics> scenarios = new ArrayDeque<>();
+        private final Deque<String> steps = new ArrayDeque<>();
+    }
+
+    private static final class ScenarioStatistics
+    {
+        private final Map<String, DurationHistogram> commandHistograms = new TreeMap<>();
+        private final List<Map<String, Object>> steps = new ArrayList<>();
+    }
+
+    private final class StepStatistics
+    {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalRoundTrips = new LongAdder();
+        private final LongAccumulator maxRoundTrips = new LongAccumulator(Math::max, 0);
+        private final DurationHistogram commandDurations = new DurationHistogram();
+
+        private void roundTrips(int roundTrips)
+        {
+            executions.increment();
+            totalRoundTrips.add(roundTrips);
+            maxRoundTrips.accumulate(roundTrips);
+        }
+
+        private Map<String, Object> summarize()
+        {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("executions", executions.sum());
+            summary.put("totalRoundTrips", totalRoundTrips.sum());
+            summary.put("maxRoundTrips", maxRoundTrips.get());
+            summary.put("chatty", isChatty(maxRoundTrips.intValue()));
+            summary.put("commandDurations", commandDurations.summarize());
+            return summary;
+        }
+    }
+}
@@ -45,6 +45,7 @@ public class AshotFactory implements IAshotFactory
     @Inject private IWebDriverManager webDriverManager;
     @Inject private IJavascriptActions javascriptActions;
     @Inject private ScreenshotDebugger screenshotDebugger;
+    @Inject private ScreenshotImageProcessor screenshotImageProcessor;
 
     private final Supplier<ShootingStrategy> baseShootingStrategy = Suppliers.memoize(
         () -> ShootingStrategies.scaling((float) javascriptActions.getDevicePixelRatio()));
@@ -77,8 +78,11 @@ public class AshotFactory implements IAshotFactory
             decorated = cutting(decorated, new StickyHeaderCutStrategy(headerToCut, footerToCut));
         }
 
+        // The strategies decorated with viewport pasting only cut and scale the screenshots, so the tiles can be
+        // processed outside of the test thread
         decorated = ((DebuggingViewportPastingDecorator) decorateWithViewportPasting(decorated,
                 screenshotConfiguration))
+                .withTileProcessingExecutor(screenshotImageProcessor.getExecutor())
                 .withDebugger(screenshotDebugger);
 
         return new AShot().shootingStrategy(decorated)
@@ -110,6 +114,14 @@ public class AshotFactory implements IAshotFactory
         boolean landscapeOrientation = webDriverManager.isOrientation(ScreenOrientation.LANDSCAPE);
         ShootingStrategy shootingStrategy = screenshotShootingStrategy.getDecoratedShootingStrategy(
                 baseShootingStrategy, viewportScreenshot, landscapeOrientation, deviceName);
+        // Device dependent strategies may read the page while cutting the tiles, so only the plain viewport pasting
+        // is allowed to process the tiles outside of the test thread
+        if (screenshotShootingStrategy == ScreenshotShootingStrategy.VIEWPORT_PASTING
+                && shootingStrategy instanceof DebuggingViewportPastingDecorator)
+        {
+            ((DebuggingViewportPastingDecorator) shootingStrategy)
+                    .withTileProcessingExecutor(screenshotImageProcessor.getExecutor());
+        }
         return new AShot().shootingStrategy(shootingStrategy)
                 .coordsProvider(screenshotShootingStrategy == ScreenshotShootingStrategy.SIMPLE
                         ? CeilingJsCoordsProvider.getSimple(javascriptActions)
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.screenshot;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import ru.yandex.qatools.ashot.util.ImageTool;
+
+/**
+ * Processes screenshot images outside of the test thread and encodes them as PNG. The tiles of the full-page
+ * screenshots are decoded and pasted on the processing threads while the browser is scrolled to the next tile.
+ * PNG compression level from 0 (no compression, fastest) to 9 (best compression, slowest) can be configured,
+ * -1 means the default level of the PNG encoder.
+ */
+public class ScreenshotImageProcessor
+{
+    private static final String PNG = "png";
+
+    private int threads;
+    private int pngCompressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+    private ExecutorService executor;
+
+    public void init()
+    {
+        executor = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+                .namingPattern("screenshot-processor-%d")
+                .daemon(true)
+                .build());
+    }
+
+    public void destroy()
+    {
+        executor.shutdownNow();
+    }
+
+    public Executor getExecutor()
+    {
+        return executor;
+    }
+
+    public byte[] encodeAsPng(BufferedImage image) throws IOException
+    {
+        if (pngCompressionLevel == Deflater.DEFAULT_COMPRESSION)
+        {
+            return ImageTool.toByteArray(image);
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(PNG).next();
+        ImageWriteParam writeParam = writer.getDefaultWriteParam();
+        writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        writeParam.setCompressionQuality(1 - (float) pngCompressionLevel / Deflater.BEST_COMPRESSION);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output))
+        {
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(image, null, null), writeParam);
+        }
+        finally
+        {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    public void setThreads(int threads)
+    {
+        this.threads = threads;
+    }
+
+    public void setPngCompressionLevel(int pngCompressionLevel)
+    {
+        if (pngCompressionLevel < Deflater.DEFAULT_COMPRESSION || pngCompressionLevel > Deflater.BEST_COMPRESSION)
+        {
+            throw new IllegalArgumentException(
+                    "PNG compression level must be between -1 and 9, but got: " + pngCompressionLevel);
+        }
+        this.pngCompressionLevel = pngCompressionLevel;
+    }
+}
@@ -39,7 +39,6 @@ import org.vividus.selenium.IWebDriverProvider;
 
 import ru.yandex.qatools.ashot.AShot;
 import ru.yandex.qatools.ashot.cropper.indent.IndentCropper;
-import ru.yandex.qatools.ashot.util.ImageTool;
 
 public class ScreenshotTaker implements IScreenshotTaker
 {
@@ -52,6 +51,7 @@ public class ScreenshotTaker implements IScreenshotTaker
     @Inject private IScrollbarHandler scrollbarHandler;
     @Inject private IAshotFactory ashotFactory;
     @Inject private ScreenshotDebugger screenshotDebugger;
+    @Inject private ScreenshotImageProcessor screenshotImageProcessor;
 
     private File screenshotDirectory;
     private boolean fullPageScreenshots;
@@ -112,7 +112,8 @@ public class ScreenshotTaker implements IScreenshotTaker
         {
             try
             {
-                return ImageTool.toByteArray(takeAshotScreenshot(searchContext, Optional.empty()));
+                return screenshotImageProcessor.encodeAsPng(
+                        takeAshotScreenshot(searchContext, Optional.empty()).getImage());
             }
             catch (IOException e)
             {
@@ -224,9 +225,10 @@ public class ScreenshotTaker implements IScreenshotTaker
             IndentCropper indentCropper = new IndentCropper(fullPageScreenshots ? Integer.MAX_VALUE : indent);
             highlighterType.addIndentFilter(indentCropper);
             aShot.imageCropper(indentCropper);
-            return ImageTool.toByteArray(
+            ru.yandex.qatools.ashot.Screenshot screenshot =
                     webElements.isEmpty() || HighlighterType.DEFAULT == highlighterType && fullPageScreenshots
-                            ? aShot.takeScreenshot(webDriver) : aShot.takeScreenshot(webDriver, webElements));
+                            ? aShot.takeScreenshot(webDriver) : aShot.takeScreenshot(webDriver, webElements);
+            return screenshotImageProcessor.encodeAsPng(screenshot.getImage());
         }
         catch (IOException e)
         {
@@ -19,6 +19,7 @@ package org.vividus.sitemap;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import crawlercommons.sitemaps.SiteMapURL;
 
@@ -45,6 +46,30 @@ public interface ISiteMapParser
      */
     Collection<SiteMapURL> parse(boolean strict, URI siteUrl, String siteMapRelativeUrl) throws SiteMapParseException;
 
+    /**
+     * Parses sitemap.xml and passes URLs to the consumer as soon as the sitemap containing them is parsed. Sitemaps
+     * listed in sitemap index are fetched concurrently, the consumer is always invoked from the calling thread.
+     *
+     * @param strict whether invalid URLs will be rejected
+     * @param siteMapUrl URL of sitemap.xml
+     * @param siteMapUrlConsumer consumer of sitemap URLs
+     * @throws SiteMapParseException if error happens during sitemap.xml parsing
+     */
+    void parse(boolean strict, URI siteMapUrl, Consumer<SiteMapURL> siteMapUrlConsumer) throws SiteMapParseException;
+
+    /**
+     * Parses sitemap.xml and passes URLs to the consumer as soon as the sitemap containing them is parsed. Sitemaps
+     * listed in sitemap index are fetched concurrently, the consumer is always invoked from the calling thread.
+     *
+     * @param strict whether invalid URLs will be rejected
+     * @param siteUrl URL of site
+     * @param siteMapRelativeUrl Relative sitemap URL, e.g. "/sitemap.xml"
+     * @param siteMapUrlConsumer consumer of sitemap URLs
+     * @throws SiteMapParseException if error happens during sitemap.xml parsing
+     */
+    void parse(boolean strict, URI siteUrl, String siteMapRelativeUrl, Consumer<SiteMapURL> siteMapUrlConsumer)
+            throws SiteMapParseException;
+
     /**
      * Parses sitemap.xml to a set of unique relative URLs
      *
@@ -16,21 +16,40 @@
 
 package org.vividus.sitemap;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BOMInputStream;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.vividus.http.client.HttpResponse;
 import org.vividus.http.client.IHttpClient;
 import org.vividus.util.UriUtils;
+import org.xml.sax.InputSource;
 
 import crawlercommons.sitemaps.AbstractSiteMap;
 import crawlercommons.sitemaps.AbstractSiteMap.SitemapType;
@@ -46,14 +65,105 @@ public class SiteMapParser implements ISiteMapParser
     private Optional<URI> siteUrl;
     private Optional<URI> baseUrl;
     private boolean followRedirects;
+    private int threads = 1;
 
     @Override
     public Collection<SiteMapURL> parse(boolean strict, URI siteMapUrl) throws SiteMapParseException
     {
-        return parse(siteMapUrl, new crawlercommons.sitemaps.SiteMapParser(strict));
+        List<SiteMapURL> siteMapUrls = new LinkedList<>();
+        parse(strict, siteMapUrl, siteMapUrls::add);
+        return siteMapUrls;
     }
 
-    private Collection<SiteMapURL> parse(URI siteMapUrl, crawlercommons.sitemaps.SiteMapParser siteMapParser)
+    @Override
+    public void parse(boolean strict, URI siteMapUrl, Consumer<SiteMapURL> siteMapUrlConsumer)
+            throws SiteMapParseException
+    {
+        StreamingSiteMapParser siteMapParser = new StreamingSiteMapParser(strict);
+        AbstractSiteMap siteMap = parse(siteMapUrl, siteMapParser);
+        if (siteMap.getType() != SitemapType.INDEX)
+        {
+            ((SiteMap) siteMap).getSiteMapUrls().forEach(siteMapUrlConsumer);
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+                .namingPattern("sitemap-parser-%d")
+                .daemon(true)
+                .build());
+        try
+        {
+            // child sitemaps are consumed in order of completion, so parsed sitemaps are not kept in memory while
+            // slower ones are being fetched; at most one sitemap per thread is fetched or waits to be consumed at once
+            CompletionService<AbstractSiteMap> completionService = new ExecutorCompletionService<>(executor,
+                    new ArrayBlockingQueue<>(threads));
+            Deque<URI> notSubmittedSiteMaps = new ArrayDeque<>();
+            addSiteMaps((SiteMapIndex) siteMap, notSubmittedSiteMaps);
+            int pendingSiteMaps = 0;
+            while (pendingSiteMaps > 0 || !notSubmittedSiteMaps.isEmpty())
+            {
+                while (pendingSiteMaps < threads && !notSubmittedSiteMaps.isEmpty())
+                {
+                    URI childSiteMapUrl = notSubmittedSiteMaps.poll();
+                    completionService.submit(() -> parse(childSiteMapUrl, siteMapParser));
+                    pendingSiteMaps++;
+                }
+                AbstractSiteMap childSiteMap = take(completionService);
+                pendingSiteMaps--;
+                if (childSiteMap.getType() == SitemapType.INDEX)
+                {
+                    addSiteMaps((SiteMapIndex) childSiteMap, notSubmittedSiteMaps);
+                }
+                else
+                {
+                    ((SiteMap) childSiteMap).getSiteMapUrls().forEach(siteMapUrlConsumer);
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void addSiteMaps(SiteMapIndex siteMapIndex, Deque<URI> siteMapUrls) throws SiteMapParseException
+    {
+        for (AbstractSiteMap siteMapFromIndex : siteMapIndex.getSitemaps())
+        {
+            try
+            {
+                siteMapUrls.add(siteMapFromIndex.getUrl().toURI());
+            }
+            catch (URISyntaxException e)
+            {
+                throw new SiteMapParseException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static AbstractSiteMap take(CompletionService<AbstractSiteMap> completionService)
+            throws SiteMapParseException
+    {
+        try
+        {
+            return completionService.take().get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new SiteMapParseException(e.getMessage(), e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof SiteMapParseException)
+            {
+                throw (SiteMapParseException) cause;
+            }
+            throw new SiteMapParseException(cause.getMessage(), cause);
+        }
+    }
+
+    private AbstractSiteMap parse(URI siteMapUrl, StreamingSiteMapParser siteMapParser)
             throws SiteMapParseException
     {
         try
@@ -61,19 +171,13 @@ public class SiteMapParser implements ISiteMapParser
             HttpClientContext context = new HttpClientContext();
             HttpResponse response = httpClient.doHttpGet(siteMapUrl, context);
             URI cleanSiteMapUrl = UriUtils.removeUserInfo(getBaseUri(context, siteMapUrl));
-            AbstractSiteMap siteMap = siteMapParser.parseSiteMap(response.getResponseBody(), cleanSiteMapUrl.toURL());
-            if (siteMap.getType() == SitemapType.INDEX)
+            InputStream responseBody = response.getResponseBodyAsStream();
+            try (InputStream content = responseBody != null ? responseBody : InputStream.nullInputStream())
             {
-                List<SiteMapURL> siteMapUrls = new LinkedList<>();
-                for (AbstractSiteMap siteMapFromIndex : ((SiteMapIndex) siteMap).getSitemaps())
-                {
-                    siteMapUrls.addAll(parse(siteMapFromIndex.getUrl().toURI(), siteMapParser));
-                }
-                return siteMapUrls;
+                return siteMapParser.parseSiteMap(content, cleanSiteMapUrl.toURL());
             }
-            return ((SiteMap) siteMap).getSiteMapUrls();
         }
-        catch (IOException | UnknownFormatException | URISyntaxException e)
+        catch (IOException | UnknownFormatException e)
         {
             throw new SiteMapParseException(e.getMessage(), e);
         }
@@ -108,6 +212,14 @@ public class SiteMapParser implements ISiteMapParser
         return parse(strict, siteMapUrl);
     }
 
+    @Override
+    public void parse(boolean strict, URI siteUrl, String siteMapRelativeUrl,
+            Consumer<SiteMapURL> siteMapUrlConsumer) throws SiteMapParseException
+    {
+        URI siteMapUrl = buildSiteMapUrl(siteUrl, siteMapRelativeUrl);
+        parse(strict, siteMapUrl, siteMapUrlConsumer);
+    }
+
     @Override
     public Set<String> parseToRelativeUrls(boolean strict, URI siteUrl, String siteMapRelativeUrl)
             throws SiteMapParseException
@@ -140,4 +252,76 @@ public class SiteMapParser implements ISiteMapParser
     {
         this.followRedirects = followRedirects;
     }
+
+    public void setThreads(int threads)
+    {
+        this.threads = threads;
+    }
+
+    private static final class StreamingSiteMapParser extends crawlercommons.sitemaps.SiteMapParser
+    {
+        private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+        private static final int GZIP_MAGIC_SECOND_BYTE = 0x8b;
+        private static final int GZIP_MAGIC_LENGTH = 2;
+        private static final int XML_DETECTION_LIMIT = 1024;
+
+        private StreamingSiteMapParser(boolean strict)
+        {
+            super(strict);
+        }
+
+        // XML sitemaps, including gzipped ones, are parsed while they are read from the stream
+        private AbstractSiteMap parseSiteMap(InputStream content, URL siteMapUrl)
+                throws IOException, UnknownFormatException
+        {
+            InputStream siteMapContent = new BufferedInputStream(content);
+            if (isGzipped(siteMapContent))
+            {
+                siteMapContent = new BufferedInputStream(new GZIPInputStream(siteMapContent));
+            }
+            BOMInputStream bomContent = new BOMInputStream(siteMapContent);
+            if (!isXml(bomContent))
+            {
+                return parseSiteMap("text/plain", IOUtils.toByteArray(bomContent), siteMapUrl);
+            }
+            InputSource inputSource = new InputSource();
+            inputSource.setCharacterStream(
+                    new BufferedReader(new InputStreamReader(bomContent, StandardCharsets.UTF_8)));
+            return processXml(siteMapUrl, inputSource);
+        }
+
+        private static boolean isGzipped(InputStream content) throws IOException
+        {
+            content.mark(GZIP_MAGIC_LENGTH);
+            try
+            {
+                return content.read() == GZIP_MAGIC_FIRST_BYTE && content.read() == GZIP_MAGIC_SECOND_BYTE;
+            }
+            finally
+            {
+                content.reset();
+            }
+        }
+
+        private static boolean isXml(InputStream content) throws IOException
+        {
+            content.mark(XML_DETECTION_LIMIT);
+            try
+            {
+                for (int i = 0; i < XML_DETECTION_LIMIT; i++)
+                {
+                    int character = content.read();
+                    if (!Character.isWhitespace(character))
+                    {
+                        return character == '<';
+                    }
+                }
+                return false;
+            }
+            finally
+            {
+                content.reset();
+            }
+        }
+    }
 }
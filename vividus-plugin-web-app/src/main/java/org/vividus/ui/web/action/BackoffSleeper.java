@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.action;
+
+import java.time.Duration;
+
+import org.openqa.selenium.support.ui.Sleeper;
+import org.vividus.util.wait.ExponentialBackoff;
+
+/**
+ * Sleeper starting with short pauses between the checks of the wait condition and increasing them up to the
+ * polling period, so the conditions met shortly after the first check are noticed without waiting for the whole
+ * polling period. The sleeper keeps the state of the single wait and must not be shared.
+ */
+class BackoffSleeper implements Sleeper
+{
+    private ExponentialBackoff backoff;
+
+    @Override
+    public void sleep(Duration pollingPeriod) throws InterruptedException
+    {
+        if (backoff == null)
+        {
+            backoff = new ExponentialBackoff(pollingPeriod.toMillis());
+        }
+        Thread.sleep(backoff.nextDelayMillis());
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.vividus.ui.web.action;
 
+import java.util.List;
 import java.util.Map;
 
 import org.openqa.selenium.Dimension;
@@ -89,6 +90,17 @@ public interface IJavascriptActions
 
     Map<String, String> getElementAttributes(WebElement webElement);
 
+    /**
+     * Gets the value of the attribute of all elements using single script execution. The value of the element
+     * property with the specified name is returned if it is a string (e.g. resolved <b>href</b> of the link),
+     * otherwise the value of the attribute is returned
+     * @param webElements Elements to get the attribute value from
+     * @param attributeName Name of the attribute
+     * @return the list of the attribute values in the order of the elements, <code>null</code> for the elements
+     * without the attribute
+     */
+    List<String> getElementsAttribute(List<WebElement> webElements, String attributeName);
+
     /**
      * Sets the top position of a positioned element.
      * @param top specifies the top position of the element including padding, scrollbar, border and margin
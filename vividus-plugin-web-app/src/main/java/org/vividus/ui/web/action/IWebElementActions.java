@@ -31,6 +31,15 @@ public interface IWebElementActions
      */
     String getCssValue(WebElement element, String propertyName);
 
+    /**
+     * Gets computed css values of all elements using single script execution and removes all occurrences of quotes
+     * and apostrophes
+     * @param elements WebElements to get values from
+     * @param propertyName Desired css property
+     * @return css property values without quotes and apostrophes in the order of the elements
+     */
+    List<String> getCssValues(List<WebElement> elements, String propertyName);
+
     /**
      * Gets the text from css 'content' value of the chosen element
      * @param element Web element which contains ':before' or ':after' pseudo-element with 'content' value
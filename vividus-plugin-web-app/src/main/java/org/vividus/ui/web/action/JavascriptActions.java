@@ -16,6 +16,7 @@
 
 package org.vividus.ui.web.action;
 
+import java.util.List;
 import java.util.Map;
 
 import org.openqa.selenium.Dimension;
@@ -30,6 +31,8 @@ import org.vividus.util.ResourceUtils;
 
 public class JavascriptActions implements IJavascriptActions, IWebApplicationListener
 {
+    private static final String MAP_ELEMENTS_FORMAT = "var args = arguments;"
+            + " return Array.prototype.map.call(args[0], function(e) {%s})";
     private static final String TRIGGER_EVENT_FORMAT = "if(document.createEvent){var evObj = document"
             + ".createEvent('MouseEvents');evObj.initEvent('%1$s', true, false); arguments[0].dispatchEvent(evObj);} "
             + "else if(document.createEventObject) { arguments[0].fireEvent('on%1$s');}";
@@ -190,6 +193,18 @@ public class JavascriptActions implements IJavascriptActions, IWebApplicationLis
                 webElement);
     }
 
+    @Override
+    public List<String> getElementsAttribute(List<WebElement> webElements, String attributeName)
+    {
+        if (webElements.isEmpty())
+        {
+            return List.of();
+        }
+        return executeScript(String.format(MAP_ELEMENTS_FORMAT, "var value = e[args[1]];"
+                + " return typeof value === 'string' ? value : e.getAttribute(args[1]);"), webElements,
+                attributeName);
+    }
+
     @Override
     public int setElementTopPosition(WebElement webElement, int top)
     {
@@ -16,24 +16,34 @@
 
 package org.vividus.ui.web.action;
 
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javax.inject.Inject;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.vividus.ui.web.action.search.ActionAttributeType;
+import org.vividus.ui.web.action.search.CompiledSearchAttributes;
 import org.vividus.ui.web.action.search.DefaultSearch;
 import org.vividus.ui.web.action.search.IActionAttributeType;
 import org.vividus.ui.web.action.search.IElementAction;
 import org.vividus.ui.web.action.search.IElementFilterAction;
 import org.vividus.ui.web.action.search.IElementSearchAction;
 import org.vividus.ui.web.action.search.SearchAttributes;
+import org.vividus.ui.web.action.search.SearchAttributesCompiler;
 import org.vividus.ui.web.action.search.SearchParameters;
 import org.vividus.ui.web.action.search.Visibility;
 import org.vividus.ui.web.context.IWebUiContext;
@@ -41,10 +51,14 @@ import org.vividus.ui.web.context.IWebUiContext;
 public class SearchActions implements ISearchActions
 {
     private static final String EXCEPTION_MESSAGE = "There is no mapped search action for attribute: ";
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchActions.class);
 
     @Inject private IWebUiContext webUiContext;
+    @Inject private IJavascriptActions javascriptActions;
+    @Inject private IWaitActions waitActions;
 
     private Map<IActionAttributeType, IElementAction> elementActions;
+    private Duration waitForElementTimeout;
 
     @Override
     public List<WebElement> findElements(SearchContext searchContext, By locator)
@@ -75,7 +89,20 @@ public class SearchActions implements ISearchActions
             IElementSearchAction searchAction = getAction(searchAttributeType);
             foundElements = searchAction.search(searchContext, searchParameters);
         }
-        for (Entry<IActionAttributeType, List<String>> entry : searchAttributes.getFilterAttributes().entrySet())
+        Map<IActionAttributeType, List<String>> filterAttributes = searchAttributes.getFilterAttributes();
+        List<SearchAttributes> childSearchAttributes = searchAttributes.getChildSearchAttributes();
+        CompiledSearchAttributes compiledSearchAttributes = SearchAttributesCompiler.compile(searchAttributes);
+        if (!foundElements.isEmpty() && !compiledSearchAttributes.isQueryEmpty())
+        {
+            Optional<List<WebElement>> matchingElements = filterInBrowser(foundElements, compiledSearchAttributes);
+            if (matchingElements.isPresent())
+            {
+                foundElements = matchingElements.get();
+                filterAttributes = compiledSearchAttributes.getRemainingFilterAttributes();
+                childSearchAttributes = compiledSearchAttributes.getRemainingChildSearchAttributes();
+            }
+        }
+        for (Entry<IActionAttributeType, List<String>> entry : filterAttributes.entrySet())
         {
             IElementFilterAction filterAction = getAction(entry.getKey());
             for (String filterValue : entry.getValue())
@@ -83,7 +110,6 @@ public class SearchActions implements ISearchActions
                 foundElements = filterAction.filter(foundElements, filterValue);
             }
         }
-        List<SearchAttributes> childSearchAttributes = searchAttributes.getChildSearchAttributes();
         for (SearchAttributes attributes : childSearchAttributes)
         {
             foundElements = searchInChildElements(foundElements, attributes);
@@ -91,6 +117,60 @@ public class SearchActions implements ISearchActions
         return foundElements;
     }
 
+    private Optional<List<WebElement>> filterInBrowser(List<WebElement> elements,
+            CompiledSearchAttributes compiledSearchAttributes)
+    {
+        return compiledSearchAttributes.getScript().map(script -> {
+            Function<List<WebElement>, List<Boolean>> matcher = elementsToMatch -> matchInBrowser(script,
+                    elementsToMatch, compiledSearchAttributes.getQuery());
+            List<Boolean> matches = compiledSearchAttributes.isWaitForElement() ? waitForMatches(elements, matcher)
+                    : matcher.apply(elements);
+            return matches != null ? IntStream.range(0, elements.size())
+                    .filter(i -> Boolean.TRUE.equals(matches.get(i)))
+                    .mapToObj(elements::get)
+                    .collect(Collectors.toList()) : null;
+        });
+    }
+
+    private List<Boolean> matchInBrowser(String script, List<WebElement> elements, Map<String, Object> query)
+    {
+        try
+        {
+            List<Boolean> matches = javascriptActions.executeScript(script, elements, query);
+            return matches != null && matches.size() == elements.size() ? matches : null;
+        }
+        catch (WebDriverException e)
+        {
+            LOGGER.debug("Unable to apply search attributes in browser, they will be applied one by one", e);
+            return null;
+        }
+    }
+
+    private List<Boolean> waitForMatches(List<WebElement> elements,
+            Function<List<WebElement>, List<Boolean>> matcher)
+    {
+        // Child elements are waited for all found elements at once: the matching is repeated while some of the
+        // elements don't match only because their child elements to wait for are not present yet
+        AtomicReference<List<Boolean>> lastMatches = new AtomicReference<>();
+        waitActions.wait(elements, waitForElementTimeout, new Function<List<WebElement>, Boolean>()
+        {
+            @Override
+            public Boolean apply(List<WebElement> elementsToMatch)
+            {
+                List<Boolean> matches = matcher.apply(elementsToMatch);
+                lastMatches.set(matches);
+                return matches == null || !matches.contains(null);
+            }
+
+            @Override
+            public String toString()
+            {
+                return "presence of child elements";
+            }
+        }, false);
+        return lastMatches.get();
+    }
+
     @Override
     public List<WebElement> findElements(SearchAttributes searchAttributes)
     {
@@ -139,4 +219,9 @@ public class SearchActions implements ISearchActions
     {
         this.elementActions = elementActions;
     }
+
+    public void setWaitForElementTimeout(Duration waitForElementTimeout)
+    {
+        this.waitForElementTimeout = waitForElementTimeout;
+    }
 }
@@ -16,13 +16,17 @@
 
 package org.vividus.ui.web.action;
 
+import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.function.Function;
 
 import javax.inject.Inject;
 
+import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.ScriptTimeoutException;
 import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.support.ui.Wait;
@@ -39,6 +43,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 public class WaitActions implements IWaitActions
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(WaitActions.class);
+    private static final String COMPLETE = "complete";
+    private static final String INTERACTIVE = "interactive";
 
     @Inject private IWebDriverProvider webDriverProvider;
     @Inject private ISoftAssert softAssert;
@@ -47,10 +53,12 @@ public class WaitActions implements IWaitActions
     @Inject private IJavascriptActions javascriptActions;
     @Inject private IAlertActions alertActions;
     @Inject private IWebDriverManager webDriverManager;
+    @Inject private WaitStatistics waitStatistics;
 
     private Duration pageOpenTimeout;
     private Duration windowOpenTimeout;
     private Duration pageStartsToLoadTimeout;
+    private Duration readyStateChangeTimeout;
 
     @Override
     public void waitForPageLoad()
@@ -65,19 +73,19 @@ public class WaitActions implements IWaitActions
         {
             boolean iexplore = webDriverManager.isTypeAnyOf(WebDriverType.IEXPLORE);
             /*
-             * Workaround for ChromeDriver. Waits for the specified timeout for the page to start reloading.
+             * Workaround for ChromeDriver. Waits up to the specified timeout for the page to start reloading.
              */
             if ((webDriverManager.isTypeAnyOf(WebDriverType.CHROME) || webDriverManager.isIOS())
                     && checkDocumentReadyState(webDriver, iexplore))
             {
-                sleepForTimeout(pageStartsToLoadTimeout);
+                waitForPageToStartLoading();
             }
             wait(webDriver, new Function<WebDriver, Boolean>()
             {
                 @Override
                 public Boolean apply(WebDriver webDriver)
                 {
-                    return checkDocumentReadyState(webDriver, iexplore);
+                    return waitForDocumentReadyState(webDriver, iexplore);
                 }
 
                 @Override
@@ -89,6 +97,62 @@ public class WaitActions implements IWaitActions
         }
     }
 
+    private void waitForPageToStartLoading()
+    {
+        long startTime = System.nanoTime();
+        try
+        {
+            Boolean pageStartedToLoad = javascriptActions.executeAsyncScriptFromResource(WaitActions.class,
+                    "wait-for-page-to-start-loading.js", pageStartsToLoadTimeout.toMillis());
+            if (pageStartedToLoad == null)
+            {
+                sleepForTimeout(pageStartsToLoadTimeout);
+            }
+        }
+        catch (UnsupportedCommandException | ScriptTimeoutException e)
+        {
+            sleepForTimeout(pageStartsToLoadTimeout);
+        }
+        catch (WebDriverException e)
+        {
+            // The document is unloaded before the script has finished, so the page has already started to load
+            LOGGER.debug("The page has started to load", e);
+        }
+        waitStatistics.record("page starts to load", Duration.ofNanos(System.nanoTime() - startTime));
+    }
+
+    private boolean waitForDocumentReadyState(WebDriver webDriver, boolean isIExplore)
+    {
+        if (alertActions.isAlertPresent(webDriver))
+        {
+            return true;
+        }
+        try
+        {
+            String status = javascriptActions.executeAsyncScriptFromResource(WaitActions.class,
+                    "wait-for-document-ready-state.js", isIExplore, readyStateChangeTimeout.toMillis());
+            if (status != null)
+            {
+                return isDocumentReady(status, isIExplore);
+            }
+        }
+        catch (UnsupportedCommandException e)
+        {
+            LOGGER.debug("Asynchronous scripts are not supported, falling back to polling of document ready state",
+                    e);
+        }
+        catch (ScriptTimeoutException e)
+        {
+            LOGGER.debug("Asynchronous script has timed out, falling back to polling of document ready state", e);
+        }
+        catch (WebDriverException e)
+        {
+            webDriver.switchTo().defaultContent();
+            return false;
+        }
+        return checkDocumentReadyState(webDriver, isIExplore);
+    }
+
     private boolean checkDocumentReadyState(WebDriver webDriver, boolean isIExplore)
     {
         if (alertActions.isAlertPresent(webDriver))
@@ -104,7 +168,12 @@ public class WaitActions implements IWaitActions
         {
             webDriver.switchTo().defaultContent();
         }
-        return "complete".equals(status) || isIExplore && "interactive".equals(status);
+        return isDocumentReady(status, isIExplore);
+    }
+
+    private static boolean isDocumentReady(String status, boolean isIExplore)
+    {
+        return COMPLETE.equals(status) || isIExplore && INTERACTIVE.equals(status);
     }
 
     @Override
@@ -218,6 +287,7 @@ public class WaitActions implements IWaitActions
         if (input != null)
         {
             Wait<T> wait = waitSupplier.apply(input);
+            long startTime = System.nanoTime();
             try
             {
                 V value = wait.until(isTrue);
@@ -239,11 +309,28 @@ public class WaitActions implements IWaitActions
                 recordFailedAssertion(wait, noSuchElementException);
                 return result;
             }
+            finally
+            {
+                waitStatistics.record(getWaitKind(isTrue), Duration.ofNanos(System.nanoTime() - startTime));
+            }
         }
         result.setWaitPassed(softAssert.assertNotNull("The input value to pass to the wait condition", input));
         return result;
     }
 
+    // descriptions of the conditions embed locators and expected values, so waits are grouped by the method creating
+    // the anonymous condition or by the class of the condition
+    static String getWaitKind(Function<?, ?> condition)
+    {
+        Class<?> conditionClass = condition.getClass();
+        Method enclosingMethod = conditionClass.getEnclosingMethod();
+        if (enclosingMethod != null)
+        {
+            return enclosingMethod.getName();
+        }
+        return StringUtils.substringBefore(conditionClass.getSimpleName(), "$$Lambda");
+    }
+
     @Override
     public WaitResult<Boolean> waitForWindowToClose(WebDriver webDriver, String windowHandleToClose)
     {
@@ -288,4 +375,9 @@ public class WaitActions implements IWaitActions
     {
         this.pageStartsToLoadTimeout = pageStartsToLoadTimeout;
     }
+
+    public void setReadyStateChangeTimeout(Duration readyStateChangeTimeout)
+    {
+        this.readyStateChangeTimeout = readyStateChangeTimeout;
+    }
 }
@@ -16,6 +16,7 @@
 
 package org.vividus.ui.web.action;
 
+import java.time.Clock;
 import java.time.Duration;
 
 import org.openqa.selenium.support.ui.FluentWait;
@@ -41,7 +42,8 @@ public class WaitFactory implements IWaitFactory
     @Override
     public <T> Wait<T> createWait(T input, Duration timeout, Duration pollingPeriod)
     {
-        FluentWait<T> fluentWait = new FluentWait<>(input).pollingEvery(pollingPeriod);
+        FluentWait<T> fluentWait = new FluentWait<>(input, Clock.systemDefaultZone(), new BackoffSleeper())
+                .pollingEvery(pollingPeriod);
         DescriptiveWait<T> wait = new DescriptiveWait<>(fluentWait);
         wait.setTimeout(timeout);
         return wait;
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.action;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vividus.util.statistic.DurationHistogram;
+
+/**
+ * Collects histograms of the time spent by waits grouped by the wait conditions and publishes them to the log at
+ * the end of the run.
+ */
+public class WaitStatistics
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(WaitStatistics.class);
+
+    private final Map<String, DurationHistogram> histograms = new ConcurrentHashMap<>();
+
+    public void record(String condition, Duration duration)
+    {
+        histograms.computeIfAbsent(condition, c -> new DurationHistogram()).record(duration);
+    }
+
+    public Map<String, DurationHistogram> getHistograms()
+    {
+        return Map.copyOf(histograms);
+    }
+
+    public void publish()
+    {
+        histograms.forEach((condition, histogram) -> LOGGER.info("Wait for {}: {}", condition, histogram));
+    }
+}
@@ -18,6 +18,7 @@ package org.vividus.ui.web.action;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -58,6 +59,21 @@ public class WebElementActions implements IWebElementActions
         return null;
     }
 
+    @Override
+    public List<String> getCssValues(List<WebElement> elements, String propertyName)
+    {
+        if (elements.isEmpty())
+        {
+            return List.of();
+        }
+        List<String> cssValues = javascriptActions.executeScript("var args = arguments;"
+                + " return Array.prototype.map.call(args[0], function(e) {"
+                + " return window.getComputedStyle(e).getPropertyValue(args[1]); })", elements, propertyName);
+        return cssValues.stream()
+                .map(cssValue -> StringUtils.remove(StringUtils.remove(cssValue, QUOTE), APOSTROPHE))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public String getPseudoElementContent(final WebElement element)
     {
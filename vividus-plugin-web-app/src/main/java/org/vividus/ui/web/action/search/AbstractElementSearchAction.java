@@ -18,16 +18,23 @@ package org.vividus.ui.web.action.search;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
+import com.google.common.base.Suppliers;
+
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vividus.ui.web.action.IExpectedConditions;
@@ -35,6 +42,7 @@ import org.vividus.ui.web.action.IJavascriptActions;
 import org.vividus.ui.web.action.IWaitActions;
 import org.vividus.ui.web.action.IWebElementActions;
 import org.vividus.ui.web.util.LocatorUtil;
+import org.vividus.util.ResourceUtils;
 
 public abstract class AbstractElementSearchAction
 {
@@ -45,6 +53,10 @@ public abstract class AbstractElementSearchAction
             + TRANSLATE_TO_LOWER_CASE_FORMATTED + "=%1$s] or @*[" + TRANSLATE_TO_LOWER_CASE_FORMATTED + "=%1$s] or *["
             + TRANSLATE_TO_LOWER_CASE_FORMATTED + "=%1$s]]";
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractElementSearchAction.class);
+    private static final String TEXT_TRANSFORM = "text-transform";
+
+    private static final Supplier<Optional<String>> VISIBILITY_FILTERING_SCRIPT = Suppliers.memoize(
+        () -> loadScriptUsingIsDisplayedAtom("filter-elements-by-visibility.js"));
 
     @Inject private IWebElementActions webElementActions;
     @Inject private IJavascriptActions javascriptActions;
@@ -72,6 +84,33 @@ public abstract class AbstractElementSearchAction
     }
 
     private List<WebElement> filterElementsByVisibility(List<WebElement> elements, boolean visible)
+    {
+        return matchElementsByVisibility(elements, visible)
+                .map(matches -> IntStream.range(0, elements.size())
+                        .filter(matches::get)
+                        .mapToObj(elements::get)
+                        .collect(Collectors.toList()))
+                .orElseGet(() -> filterElementsByVisibilityOneByOne(elements, visible));
+    }
+
+    private Optional<List<Boolean>> matchElementsByVisibility(List<WebElement> elements, boolean visible)
+    {
+        return VISIBILITY_FILTERING_SCRIPT.get().filter(script -> !elements.isEmpty()).map(script -> {
+            try
+            {
+                List<Boolean> matches = javascriptActions.executeScript(script, elements, visible);
+                return matches != null && matches.size() == elements.size() ? matches : null;
+            }
+            catch (WebDriverException e)
+            {
+                // e.g. one of the elements is stale or the driver doesn't support scripts execution
+                LOGGER.debug("Unable to filter elements by visibility using single script", e);
+                return null;
+            }
+        });
+    }
+
+    private List<WebElement> filterElementsByVisibilityOneByOne(List<WebElement> elements, boolean visible)
     {
         return elements.stream().filter(element -> {
             try
@@ -108,9 +147,11 @@ public abstract class AbstractElementSearchAction
         {
             String text = parameters.getValue();
             By newLocator = generateCaseInsensitiveLocator(text, tagNames);
-            return findElements(searchContext, newLocator, parameters)
-                    .stream()
-                    .filter(element -> matchesToText(element, text))
+            List<WebElement> foundElements = findElements(searchContext, newLocator, parameters);
+            List<String> textTransforms = webElementActions.getCssValues(foundElements, TEXT_TRANSFORM);
+            return IntStream.range(0, foundElements.size())
+                    .filter(i -> matchesToText(textTransforms.get(i), text))
+                    .mapToObj(foundElements::get)
                     .collect(Collectors.toList());
         }
         return elements;
@@ -127,6 +168,23 @@ public abstract class AbstractElementSearchAction
         return LocatorUtil.getXPathLocator(locator.substring(0, locator.length() - 1), text.toLowerCase());
     }
 
+    // Selenium checks visibility of the element using the same atom, so the results of the scripts match the results
+    // of WebElement#isDisplayed
+    static Optional<String> loadScriptUsingIsDisplayedAtom(String scriptResourceName)
+    {
+        try
+        {
+            return Optional.of("var isDisplayed = (" + ResourceUtils.loadResource(RemoteWebDriver.class,
+                    "isDisplayed.js") + ");\n" + ResourceUtils.loadResource(AbstractElementSearchAction.class,
+                    scriptResourceName));
+        }
+        catch (IllegalArgumentException e)
+        {
+            LOGGER.warn("Unable to load script " + scriptResourceName, e);
+            return Optional.empty();
+        }
+    }
+
     private List<WebElement> waitForElement(SearchContext searchContext, By locator)
     {
         return waitActions.wait(searchContext, waitForElementTimeout,
@@ -135,7 +193,11 @@ public abstract class AbstractElementSearchAction
 
     protected boolean matchesToText(WebElement element, final String text)
     {
-        String textTransform = webElementActions.getCssValue(element, "text-transform");
+        return matchesToText(webElementActions.getCssValue(element, TEXT_TRANSFORM), text);
+    }
+
+    private boolean matchesToText(String textTransform, String text)
+    {
         return Stream.of(text.split("\\W")).allMatch(word -> matchesToTextTransform(word, textTransform));
     }
 
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vividus.ui.web.action.search;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+
+/**
+ * Part of the search attributes evaluated in the browser by single script for the whole list of found elements and
+ * the rest of the search attributes, which can't be translated to the script and must be applied one by one.
+ */
+public final class CompiledSearchAttributes
+{
+    private static final Supplier<Optional<String>> SCRIPT = Suppliers.memoize(
+        () -> AbstractElementSearchAction.loadScriptUsingIsDisplayedAtom("filter-elements-by-search-attributes.js"));
+
+    private final List<Map<String, String>> filters;
+    private final List<Map<String, Object>> children;
+    private final boolean waitForElement;
+    private final Map<IActionAttributeType, List<String>> remainingFilterAttributes;
+    private final List<SearchAttributes> remainingChildSearchAttributes;
+
+    CompiledSearchAttributes(List<Map<String, String>> filters, List<Map<String, Object>> children,
+            boolean waitForElement, Map<IActionAttributeType, List<String>> remainingFilterAttributes,
+            List<SearchAttributes> remainingChildSearchAttributes)
+    {
+        this.filters = filters;
+        this.children = children;
+        this.waitForElement = waitForElement;
+        this.remainingFilterAttributes = remainingFilterAttributes;
+        this.remainingChildSearchAttributes = remainingChildSearchAttributes;
+    }
+
+    /**
+     * @return Script returning the list showing whether each of the elements passed as the first argument matches the
+     * query passed as the second argument: <code>true</code> or <code>false</code>, or <code>null</code> if the
+     * element doesn't match the query yet, because some of the child elements to wait for are not present, or empty
+     * optional if the script is not available
+     */
+    public Optional<String> getScript()
+    {
+        return SCRIPT.get();
+    }
+
+    public Map<String, Object> getQuery()
+    {
+        return Map.of(SearchAttributesCompiler.FILTERS, filters, SearchAttributesCompiler.CHILDREN, children);
+    }
+
+    public boolean isQueryEmpty()
+    {
+        return filters.isEmpty() && children.isEmpty();
+    }
+
+    /**
+     * @return <code>true</code> if any of the child searches translated to the query waits for the elements, in this
+     * case the script must be evaluated until all the elements either match the query or don't match it with all the
+     * child elements to wait for present
+     */
+    public boolean isWaitForElement()
+    {
+        return waitForElement;
+    }
+
+    public Map<IActionAttributeType, List<String>> getRemainingFilterAttributes()
+    {
+        return remainingFilterAttributes;
+    }
+
+    public List<SearchAttributes> getRemainingChildSearchAttributes()
+    {
+        return remainingChildSearchAttributes;
+    }
+}
@@ -44,13 +44,14 @@ public class LinkUrlPartSearch extends AbstractElementSearchAction implements IE
     public List<WebElement> filter(List<WebElement> elements, String urlPart)
     {
         List<WebElement> linksWithUrlPart = new ArrayList<>();
-        for (WebElement element : elements)
+        List<String> hrefs = getJavascriptActions().getElementsAttribute(elements, "href");
+        for (int i = 0; i < elements.size(); i++)
         {
-            String href = element.getAttribute("href");
+            String href = hrefs.get(i);
             if (href != null && (caseSensitiveSearch ? href.contains(urlPart)
                     : href.toLowerCase().contains(urlPart.toLowerCase())))
             {
-                linksWithUrlPart.add(element);
+                linksWithUrlPart.add(elements.get(i));
             }
         }
         return linksWithUrlPart;
@@ -57,17 +57,18 @@ public class LinkUrlSearch extends AbstractElementSearchAction implements IEleme
     public List<WebElement> filter(List<WebElement> elements, String linkUrl)
     {
         List<WebElement> linksWithUrl = new ArrayList<>();
-        if (linkUrl != null)
+        if (linkUrl != null && !elements.isEmpty())
         {
-            for (WebElement link : elements)
+            String expectedLinkUrl = buildExpectedLinkUrl(linkUrl);
+            String currentUrl = webDriverProvider.get().getCurrentUrl();
+            List<String> hrefs = getJavascriptActions().getElementsAttribute(elements, "href");
+            for (int i = 0; i < elements.size(); i++)
             {
-                String expectedLinkUrl = buildExpectedLinkUrl(linkUrl);
-                String href = link.getAttribute("href");
-                String currentHref = getCurrentHref(href, expectedLinkUrl, webDriverProvider.get().getCurrentUrl());
+                String currentHref = getCurrentHref(hrefs.get(i), expectedLinkUrl, currentUrl);
                 if (caseSensitiveSearch ? expectedLinkUrl.equals(currentHref)
                         : expectedLinkUrl.equalsIgnoreCase(currentHref))
                 {
-                    linksWithUrl.add(link);
+                    linksWithUrl.add(elements.get(i));
                 }
             }
         }
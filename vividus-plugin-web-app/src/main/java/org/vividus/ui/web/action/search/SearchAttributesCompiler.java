@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vividus.ui.web.action.search;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Translates filters and child searches of the search attributes to the query evaluated in the browser by single
+ * script. Filters are translated only if they can be expressed via element attributes or properties, child searches
+ * are translated only if they are performed by XPath, CSS selector or tag name and all their own filters and child
+ * searches are translatable. The child searches waiting for elements are translated too: instead of waiting for the
+ * child elements of each found element one by one, the script is re-evaluated for all found elements at once until
+ * the child elements are present or the timeout is reached. Everything else is left to be applied one by one.
+ */
+public final class SearchAttributesCompiler
+{
+    static final String FILTERS = "filters";
+    static final String CHILDREN = "children";
+
+    private static final String EQUALS = "equals";
+    private static final String CONTAINS = "contains";
+    private static final String ATTRIBUTE = "attribute";
+
+    private static final Map<ActionAttributeType, Map<String, String>> FILTER_TRANSLATIONS = new EnumMap<>(
+            ActionAttributeType.class);
+    private static final Map<ActionAttributeType, String> LOCATOR_TYPES = new EnumMap<>(ActionAttributeType.class);
+
+    static
+    {
+        FILTER_TRANSLATIONS.put(ActionAttributeType.TOOLTIP, filter(ATTRIBUTE, "title", EQUALS));
+        FILTER_TRANSLATIONS.put(ActionAttributeType.PLACEHOLDER, filter(ATTRIBUTE, "placeholder", EQUALS));
+        FILTER_TRANSLATIONS.put(ActionAttributeType.CLASS_ATTRIBUTE_PART, filter(ATTRIBUTE, "class", CONTAINS));
+        FILTER_TRANSLATIONS.put(ActionAttributeType.IMAGE_SRC_PART, filter("url", "src", CONTAINS));
+        FILTER_TRANSLATIONS.put(ActionAttributeType.FIELD_TEXT, filter("property", "value", EQUALS));
+        FILTER_TRANSLATIONS.put(ActionAttributeType.FIELD_TEXT_PART, filter("property", "value", CONTAINS));
+
+        LOCATOR_TYPES.put(ActionAttributeType.XPATH, "xpath");
+        LOCATOR_TYPES.put(ActionAttributeType.CSS_SELECTOR, "css");
+        LOCATOR_TYPES.put(ActionAttributeType.TAG_NAME, "css");
+    }
+
+    private SearchAttributesCompiler()
+    {
+    }
+
+    public static CompiledSearchAttributes compile(SearchAttributes searchAttributes)
+    {
+        Map<IActionAttributeType, List<String>> remainingFilterAttributes = new LinkedHashMap<>();
+        List<Map<String, String>> filters = new ArrayList<>();
+        searchAttributes.getFilterAttributes().forEach((type, values) -> {
+            Map<String, String> translation = FILTER_TRANSLATIONS.get(type);
+            if (translation == null)
+            {
+                remainingFilterAttributes.put(type, values);
+            }
+            else
+            {
+                // filters with empty values are not applied
+                values.stream().filter(StringUtils::isNotEmpty).forEach(value -> {
+                    Map<String, String> filter = new HashMap<>(translation);
+                    filter.put("value", value);
+                    filters.add(filter);
+                });
+            }
+        });
+
+        List<SearchAttributes> remainingChildSearchAttributes = new ArrayList<>();
+        List<Map<String, Object>> children = new ArrayList<>();
+        boolean waitForElement = false;
+        for (SearchAttributes childSearchAttributes : searchAttributes.getChildSearchAttributes())
+        {
+            String locatorType = LOCATOR_TYPES.get(childSearchAttributes.getSearchAttributeType());
+            SearchParameters childSearchParameters = childSearchAttributes.getSearchParameters();
+            CompiledSearchAttributes compiledChild = compile(childSearchAttributes);
+            if (locatorType == null || !compiledChild.getRemainingFilterAttributes().isEmpty()
+                    || !compiledChild.getRemainingChildSearchAttributes().isEmpty())
+            {
+                remainingChildSearchAttributes.add(childSearchAttributes);
+            }
+            else
+            {
+                Map<String, Object> child = new HashMap<>(compiledChild.getQuery());
+                child.put("locatorType", locatorType);
+                child.put("locator", childSearchParameters.getValue());
+                child.put("visibility", childSearchParameters.getVisibility().name());
+                child.put("waitForElement", childSearchParameters.isWaitForElement());
+                children.add(child);
+                waitForElement |= childSearchParameters.isWaitForElement() || compiledChild.isWaitForElement();
+            }
+        }
+        return new CompiledSearchAttributes(filters, children, waitForElement, remainingFilterAttributes,
+                remainingChildSearchAttributes);
+    }
+
+    private static Map<String, String> filter(String source, String name, String match)
+    {
+        return Map.of("source", source, "name", name, "match", match);
+    }
+}
@@ -23,11 +23,17 @@ import static ru.yandex.qatools.ashot.util.InnerScript.execute;
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.lang.reflect.Proxy;
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.vividus.selenium.screenshot.ScreenshotDebugger;
 import org.vividus.util.Sleeper;
@@ -44,6 +50,7 @@ public class DebuggingViewportPastingDecorator extends ShootingDecorator {
     protected int scrollTimeout = 0;
     private Coords shootingArea;
     private transient ScreenshotDebugger screenshotDebugger;
+    private transient Executor tileProcessingExecutor;
 
     public DebuggingViewportPastingDecorator(ShootingStrategy strategy) {
         super(strategy);
@@ -72,19 +79,71 @@ public class DebuggingViewportPastingDecorator extends ShootingDecorator {
         Graphics2D graphics = finalImage.createGraphics();
 
         int scrollTimes = (int) Math.ceil(shootingArea.getHeight() / viewportHeight);
+        try {
+            if (tileProcessingExecutor == null) {
+                for (int n = 0; n < scrollTimes; n++) {
+                    scrollVertically(js, shootingArea.y + viewportHeight * n);
+                    Sleeper.sleep(Duration.ofMillis(scrollTimeout));
+                    BufferedImage part = getShootingStrategy().getScreenshot(wd);
+                    int currentScrollY = getCurrentScrollY(js);
+                    pasteTile(graphics, finalImage, part, currentScrollY, n);
+                }
+            } else {
+                pasteTilesInBackground(wd, js, graphics, finalImage, viewportHeight, scrollTimes);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        scrollVertically(js, startY);
+        return finalImage;
+    }
+
+    /*
+     * Only the raw tiles are captured on the calling thread, their decoding by the underlying shooting strategy and
+     * pasting are performed one by one on the tile processing executor, while the browser is scrolled to the next
+     * tile. The underlying shooting strategy must not interact with the browser except taking the screenshot.
+     */
+    private void pasteTilesInBackground(WebDriver wd, JavascriptExecutor js, Graphics2D graphics,
+            BufferedImage finalImage, int viewportHeight, int scrollTimes) {
+        CompletableFuture<Void> pasting = CompletableFuture.completedFuture(null);
         for (int n = 0; n < scrollTimes; n++) {
             scrollVertically(js, shootingArea.y + viewportHeight * n);
             Sleeper.sleep(Duration.ofMillis(scrollTimeout));
-            BufferedImage part = getShootingStrategy().getScreenshot(wd);
+            byte[] tile = ((TakesScreenshot) wd).getScreenshotAs(OutputType.BYTES);
             int currentScrollY = getCurrentScrollY(js);
-            debugScreenshot(CURRENT_SCROLL + currentScrollY + "_part_" + n, part);
-            graphics.drawImage(part, 0, currentScrollY - shootingArea.y, null);
-            debugScreenshot(CURRENT_SCROLL + currentScrollY, finalImage);
+            int tileIndex = n;
+            pasting = pasting.thenRunAsync(() -> {
+                BufferedImage part = getShootingStrategy().getScreenshot(capturedScreenshotDriver(tile));
+                pasteTile(graphics, finalImage, part, currentScrollY, tileIndex);
+            }, tileProcessingExecutor);
         }
+        try {
+            pasting.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+    }
 
-        graphics.dispose();
-        scrollVertically(js, startY);
-        return finalImage;
+    private void pasteTile(Graphics2D graphics, BufferedImage finalImage, BufferedImage part, int currentScrollY,
+            int tileIndex) {
+        debugScreenshot(CURRENT_SCROLL + currentScrollY + "_part_" + tileIndex, part);
+        graphics.drawImage(part, 0, currentScrollY - shootingArea.y, null);
+        debugScreenshot(CURRENT_SCROLL + currentScrollY, finalImage);
+    }
+
+    private static WebDriver capturedScreenshotDriver(byte[] screenshot) {
+        return (WebDriver) Proxy.newProxyInstance(DebuggingViewportPastingDecorator.class.getClassLoader(),
+                new Class<?>[] { WebDriver.class, TakesScreenshot.class }, (proxy, method, args) -> {
+                    if ("getScreenshotAs".equals(method.getName())) {
+                        return ((OutputType<?>) args[0]).convertFromPngBytes(screenshot);
+                    }
+                    if ("toString".equals(method.getName())) {
+                        return "Captured screenshot";
+                    }
+                    throw new UnsupportedOperationException(
+                            "Only screenshot is available while processing the tile, but called: " + method);
+                });
     }
 
     private void debugScreenshot(String debugMessage, BufferedImage debugImage) {
@@ -149,5 +208,10 @@ public class DebuggingViewportPastingDecorator extends ShootingDecorator {
         this.screenshotDebugger = screenshotDebugger;
         return this;
     }
+
+    public DebuggingViewportPastingDecorator withTileProcessingExecutor(Executor tileProcessingExecutor) {
+        this.tileProcessingExecutor = tileProcessingExecutor;
+        return this;
+    }
 }
 //CHECKSTYLE:ON
@@ -0,0 +1,64 @@
+[#ftl strip_whitespace=true]
+<!doctype html>
+<html lang="en" ng-app="allure">
+<head>
+    <meta charset="utf-8">
+    <title>WebDriver commands statistics</title>
+    <link rel="stylesheet" href="../../css/external.css"/>
+    <link rel="stylesheet" href="../../styles.css"/>
+</head>
+<body>
+    <style>
+        .chatty {
+            background-color: #FCF8E3;
+            color: #8A6D3B;
+        }
+    </style>
+    <table class="table table-hover table-bordered">
+        <thead>
+            <tr>
+                <th>Command</th>
+                <th>Count</th>
+                <th>Total, ms</th>
+                <th>Mean, ms</th>
+                <th>p50, ms</th>
+                <th>p90, ms</th>
+                <th>p99, ms</th>
+                <th>Max, ms</th>
+            </tr>
+        </thead>
+        <tbody>
+            [#list commands as command, summary]
+                <tr>
+                    <td>${command}</td>
+                    <td>${summary.count?c}</td>
+                    <td>${summary.totalMs?c}</td>
+                    <td>${summary.meanMs?c}</td>
+                    <td>${summary.p50Ms?c}</td>
+                    <td>${summary.p90Ms?c}</td>
+                    <td>${summary.p99Ms?c}</td>
+                    <td>${summary.maxMs?c}</td>
+                </tr>
+            [/#list]
+        </tbody>
+    </table>
+    [#if steps?has_content]
+        <table class="table table-hover table-bordered">
+            <thead>
+                <tr>
+                    <th>Step</th>
+                    <th>Round trips</th>
+                </tr>
+            </thead>
+            <tbody>
+                [#list steps as step]
+                    <tr[#if step.chatty] class="chatty"[/#if]>
+                        <td>${step.step}</td>
+                        <td>${step.roundTrips?c}</td>
+                    </tr>
+                [/#list]
+            </tbody>
+        </table>
+    [/#if]
+</body>
+</html>
@@ -0,0 +1,97 @@
+var elements = arguments[0];
+var query = arguments[1];
+
+function readValue(element, filter) {
+    if (filter.source === 'attribute') {
+        return element.getAttribute(filter.name);
+    }
+    if (filter.source === 'url') {
+        // URL attributes are resolved to absolute URLs in the same way as WebElement#getAttribute does
+        return element.getAttribute(filter.name) === null ? null : element[filter.name];
+    }
+    return element[filter.name];
+}
+
+function matchesFilters(element, filters) {
+    return filters.every(function (filter) {
+        var value = readValue(element, filter);
+        if (value === null || value === undefined) {
+            return false;
+        }
+        value = String(value);
+        return filter.match === 'equals' ? value === filter.value : value.indexOf(filter.value) !== -1;
+    });
+}
+
+function matchesVisibility(element, visibility) {
+    if (visibility === 'ALL') {
+        return true;
+    }
+    var displayed = isDisplayed(element);
+    if (!displayed) {
+        element.scrollIntoView(true);
+        displayed = isDisplayed(element);
+    }
+    return displayed === (visibility === 'VISIBLE');
+}
+
+function findChildren(parent, child) {
+    if (child.locatorType === 'xpath') {
+        var snapshot = document.evaluate(child.locator, parent, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+        var children = [];
+        for (var i = 0; i < snapshot.snapshotLength; i++) {
+            children.push(snapshot.snapshotItem(i));
+        }
+        return children;
+    }
+    return Array.prototype.slice.call(parent.querySelectorAll(child.locator));
+}
+
+// The results are three-valued: true - the element matches, false - the element doesn't match, null - the element
+// doesn't match yet, because some of the child elements to wait for are not present
+function every(items, predicate) {
+    var result = true;
+    for (var i = 0; i < items.length; i++) {
+        var itemResult = predicate(items[i]);
+        if (itemResult === false) {
+            return false;
+        }
+        if (itemResult === null) {
+            result = null;
+        }
+    }
+    return result;
+}
+
+function some(items, predicate) {
+    var result = false;
+    for (var i = 0; i < items.length; i++) {
+        var itemResult = predicate(items[i]);
+        if (itemResult === true) {
+            return true;
+        }
+        if (itemResult === null) {
+            result = null;
+        }
+    }
+    return result;
+}
+
+function matches(element, query) {
+    if (!matchesFilters(element, query.filters)) {
+        return false;
+    }
+    return every(query.children, function (child) {
+        var childElements = findChildren(element, child);
+        if (childElements.length === 0) {
+            return child.waitForElement ? null : false;
+        }
+        return some(childElements, function (childElement) {
+            return matchesVisibility(childElement, child.visibility) && matches(childElement, child);
+        });
+    });
+}
+
+return elements.map(function (element) {
+    return matches(element, query);
+});
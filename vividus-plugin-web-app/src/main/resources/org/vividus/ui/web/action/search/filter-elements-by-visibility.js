@@ -0,0 +1,14 @@
+var elements = arguments[0];
+var visible = arguments[1];
+var matches = [];
+for (var i = 0; i < elements.length; i++) {
+    var element = elements[i];
+    var displayed = isDisplayed(element);
+    if (!displayed) {
+        // Element could become visible after scrolling, e.g. if it is inside container with hidden overflow
+        element.scrollIntoView(true);
+        displayed = isDisplayed(element);
+    }
+    matches.push(displayed === visible);
+}
+return matches;
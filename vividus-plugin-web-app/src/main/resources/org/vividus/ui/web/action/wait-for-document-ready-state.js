@@ -0,0 +1,26 @@
+var acceptInteractive = arguments[0];
+var timeout = arguments[1];
+var exit = arguments[arguments.length - 1];
+var timer;
+
+function isReady() {
+    return document.readyState === 'complete' || acceptInteractive && document.readyState === 'interactive';
+}
+
+function onReadyStateChange() {
+    if (isReady()) {
+        clearTimeout(timer);
+        document.removeEventListener('readystatechange', onReadyStateChange);
+        exit(document.readyState);
+    }
+}
+
+if (isReady()) {
+    exit(document.readyState);
+} else {
+    document.addEventListener('readystatechange', onReadyStateChange);
+    timer = setTimeout(function() {
+        document.removeEventListener('readystatechange', onReadyStateChange);
+        exit(document.readyState);
+    }, timeout);
+}
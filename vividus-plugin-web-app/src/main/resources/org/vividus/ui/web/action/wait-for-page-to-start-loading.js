@@ -0,0 +1,18 @@
+var timeout = arguments[0];
+var exit = arguments[arguments.length - 1];
+var timer;
+
+function onPageStartsToLoad() {
+    clearTimeout(timer);
+    window.removeEventListener('beforeunload', onPageStartsToLoad);
+    window.removeEventListener('pagehide', onPageStartsToLoad);
+    exit(true);
+}
+
+window.addEventListener('beforeunload', onPageStartsToLoad);
+window.addEventListener('pagehide', onPageStartsToLoad);
+timer = setTimeout(function() {
+    window.removeEventListener('beforeunload', onPageStartsToLoad);
+    window.removeEventListener('pagehide', onPageStartsToLoad);
+    exit(false);
+}, timeout);
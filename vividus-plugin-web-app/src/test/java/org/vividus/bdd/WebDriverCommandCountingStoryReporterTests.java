@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vividus.bdd;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.jbehave.core.model.Scenario;
+import org.jbehave.core.model.Story;
+import org.jbehave.core.reporters.StoryReporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.vividus.reporter.event.IAttachmentPublisher;
+import org.vividus.selenium.driver.WebDriverCommandCounter;
+import org.vividus.selenium.driver.WebDriverCommandStatistics;
+
+@ExtendWith(MockitoExtension.class)
+class WebDriverCommandCountingStoryReporterTests
+{
+    private static final String STEP = "When I click on element";
+    private static final String COMPOSITE_STEP = "When I click on element and wait for page load";
+    private static final String COMMENT = "!-- element is clicked";
+    private static final String CLICK_ELEMENT = "clickElement";
+
+    @Mock private WebDriverCommandCounter webDriverCommandCounter;
+    @Mock private WebDriverCommandStatistics webDriverCommandStatistics;
+    @Mock private IAttachmentPublisher attachmentPublisher;
+    @Mock private StoryReporter next;
+    @InjectMocks private WebDriverCommandCountingStoryReporter reporter;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        reporter.setNext(next);
+    }
+
+    @Test
+    void shouldCountCommandsOfSuccessfulStep()
+    {
+        when(webDriverCommandCounter.stopCounting()).thenReturn(Map.of(CLICK_ELEMENT, 1));
+        reporter.beforeStep(STEP);
+        reporter.successful(STEP);
+        InOrder ordered = inOrder(webDriverCommandCounter, webDriverCommandStatistics, next);
+        ordered.verify(webDriverCommandCounter).startCounting();
+        ordered.verify(webDriverCommandStatistics).startStep(STEP);
+        ordered.verify(next).beforeStep(STEP);
+        ordered.verify(next).successful(STEP);
+        ordered.verify(webDriverCommandCounter).stopCounting();
+        ordered.verify(webDriverCommandStatistics).stopStep(STEP, 1);
+    }
+
+    @Test
+    void shouldReportRoundTripsOfChattyStep()
+    {
+        when(webDriverCommandCounter.stopCounting()).thenReturn(Map.of(CLICK_ELEMENT, 2, "findElements", 3));
+        when(webDriverCommandStatistics.stopStep(STEP, 5)).thenReturn(true);
+        reporter.beforeStep(STEP);
+        reporter.successful(STEP);
+        verify(webDriverCommandStatistics).stopStep(STEP, 5);
+    }
+
+    @Test
+    void shouldCollectStatisticsOfStory()
+    {
+        Story story = new Story("path.story");
+        reporter.beforeStory(story, false);
+        reporter.afterStory(false);
+        InOrder ordered = inOrder(webDriverCommandStatistics, next);
+        ordered.verify(webDriverCommandStatistics).startStory("path.story");
+        ordered.verify(next).beforeStory(story, false);
+        ordered.verify(next).afterStory(false);
+        ordered.verify(webDriverCommandStatistics).stopStory();
+    }
+
+    @Test
+    void shouldNotCollectStatisticsOfGivenStory()
+    {
+        Story story = new Story("given.story");
+        reporter.beforeStory(story, true);
+        reporter.afterStory(true);
+        verifyNoInteractions(webDriverCommandStatistics);
+    }
+
+    @Test
+    void shouldPublishStatisticsOfScenario()
+    {
+        Scenario scenario = new Scenario();
+        Map<String, Object> scenarioStatistics = Map.of("commands", Map.of());
+        when(webDriverCommandStatistics.stopScenario()).thenReturn(scenarioStatistics);
+        reporter.beforeScenario(scenario);
+        reporter.afterScenario();
+        InOrder ordered = inOrder(webDriverCommandStatistics, attachmentPublisher, next);
+        ordered.verify(webDriverCommandStatistics).startScenario();
+        ordered.verify(next).beforeScenario(scenario);
+        ordered.verify(attachmentPublisher).publishAttachment("/org/vividus/bdd/webdriver-commands-statistics.ftl",
+                scenarioStatistics, "WebDriver commands statistics");
+        ordered.verify(next).afterScenario();
+    }
+
+    @Test
+    void shouldNotPublishStatisticsOfScenarioWithoutCommands()
+    {
+        when(webDriverCommandStatistics.stopScenario()).thenReturn(Map.of());
+        reporter.afterScenario();
+        verifyNoInteractions(attachmentPublisher);
+        verify(next).afterScenario();
+    }
+
+    @Test
+    void shouldCountCommandsOfFailedStep()
+    {
+        when(webDriverCommandCounter.isCounting()).thenReturn(true);
+        when(webDriverCommandCounter.stopCounting()).thenReturn(Map.of());
+        Throwable cause = new IllegalStateException();
+        reporter.beforeStep(STEP);
+        reporter.failed(STEP, cause);
+        InOrder ordered = inOrder(webDriverCommandCounter, next);
+        ordered.verify(webDriverCommandCounter).startCounting();
+        ordered.verify(next).beforeStep(STEP);
+        ordered.verify(next).failed(STEP, cause);
+        ordered.verify(webDriverCommandCounter).stopCounting();
+    }
+
+    @Test
+    void shouldNotStopCountingOfFailureReportedWithoutStep()
+    {
+        Throwable cause = new IllegalStateException();
+        reporter.failed("@AfterScenario", cause);
+        verify(next).failed("@AfterScenario", cause);
+        verify(webDriverCommandCounter, never()).stopCounting();
+        verifyNoInteractions(webDriverCommandStatistics);
+    }
+
+    @Test
+    void shouldNotStopCountingOfCompositeStepOnNestedComment()
+    {
+        when(webDriverCommandCounter.stopCounting()).thenReturn(Map.of(CLICK_ELEMENT, 1),
+                Map.of(CLICK_ELEMENT, 1, "executeScript", 1));
+        reporter.beforeStep(COMPOSITE_STEP);
+        reporter.beforeStep(STEP);
+        reporter.successful(STEP);
+        reporter.comment(COMMENT);
+        reporter.ignorable(COMMENT);
+        reporter.pending(COMMENT);
+        reporter.notPerformed(COMMENT);
+        reporter.successful(COMPOSITE_STEP);
+        InOrder ordered = inOrder(webDriverCommandCounter, webDriverCommandStatistics, next);
+        ordered.verify(webDriverCommandStatistics).startStep(COMPOSITE_STEP);
+        ordered.verify(webDriverCommandStatistics).startStep(STEP);
+        ordered.verify(webDriverCommandStatistics).stopStep(STEP, 1);
+        ordered.verify(next).comment(COMMENT);
+        ordered.verify(next).ignorable(COMMENT);
+        ordered.verify(next).pending(COMMENT);
+        ordered.verify(next).notPerformed(COMMENT);
+        ordered.verify(webDriverCommandStatistics).stopStep(COMPOSITE_STEP, 2);
+        verify(webDriverCommandCounter, times(2)).stopCounting();
+        verify(webDriverCommandStatistics, never()).stopStep(eq(COMMENT), anyInt());
+    }
+}
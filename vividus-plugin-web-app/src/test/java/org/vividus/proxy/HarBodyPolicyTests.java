@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class HarBodyPolicyTests
+{
+    private static final String BODY = "body";
+    private static final String VIDEO = "video/mp4";
+
+    private final HarBodyPolicy policy = new HarBodyPolicy();
+
+    @Test
+    void shouldBeDisabledByDefault()
+    {
+        assertFalse(policy.isEnabled());
+        assertFalse(policy.isSkipped(VIDEO));
+        assertFalse(policy.isTruncated(VIDEO, BODY));
+        assertFalse(policy.isStoredOnDisk(BODY));
+    }
+
+    @Test
+    void shouldMatchContentTypesByPrefixIgnoringCase()
+    {
+        policy.setSkippedContentTypes(Set.of(" Video/ ", ""));
+        assertTrue(policy.isEnabled());
+        assertTrue(policy.isSkipped(VIDEO));
+        assertTrue(policy.isSkipped("VIDEO/webm"));
+        assertFalse(policy.isSkipped("text/html"));
+        assertFalse(policy.isSkipped(null));
+    }
+
+    @Test
+    void shouldTruncateOnlyBodiesLongerThanLimit()
+    {
+        policy.setTruncatedContentTypes(Set.of("image/"));
+        policy.setTruncatedBodySize(BODY.length());
+        assertFalse(policy.isTruncated("image/png", BODY));
+        assertTrue(policy.isTruncated("image/png", BODY + BODY));
+        assertFalse(policy.isTruncated("application/json", BODY + BODY));
+        assertEquals(BODY.length(), policy.getTruncatedBodySize());
+    }
+
+    @Test
+    void shouldStoreOnDiskBodiesExceedingInMemoryLimit()
+    {
+        policy.setMaxInMemoryBodySize(BODY.length());
+        assertTrue(policy.isEnabled());
+        assertFalse(policy.isStoredOnDisk(BODY));
+        assertTrue(policy.isStoredOnDisk(BODY + BODY));
+    }
+
+    @Test
+    void shouldNotAllowInvalidSizes()
+    {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> policy.setMaxInMemoryBodySize(-2));
+        assertEquals("Max in-memory body size must be -1 (unlimited) or not negative, but got: -2",
+                exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () -> policy.setTruncatedBodySize(-1));
+        assertEquals("Truncated body size must not be negative, but got: -1", exception.getMessage());
+    }
+}
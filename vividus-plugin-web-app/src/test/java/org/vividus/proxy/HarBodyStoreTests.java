@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.vividus.proxy.HarBodyStore.StoredBody;
+
+class HarBodyStoreTests
+{
+    @Test
+    void shouldReadAppendedBodies() throws IOException
+    {
+        try (HarBodyStore store = new HarBodyStore())
+        {
+            StoredBody first = store.append("first body");
+            StoredBody second = store.append("второе тело");
+            StoredBody empty = store.append("");
+            assertEquals("второе тело", second.read());
+            assertEquals("first body", first.read());
+            assertEquals("", empty.read());
+        }
+    }
+
+    @Test
+    void shouldReadAppendedBodiesByChunks() throws IOException
+    {
+        try (HarBodyStore store = new HarBodyStore())
+        {
+            store.append("first body");
+            StoredBody second = store.append("второе тело");
+            store.append("third body");
+            try (Reader reader = second.openReader())
+            {
+                assertEquals("второе тело", IOUtils.toString(reader));
+            }
+            try (Reader reader = second.openReader())
+            {
+                assertEquals('в', reader.read());
+            }
+        }
+    }
+
+    @Test
+    void shouldFailToReadBodyFromClosedStore() throws IOException
+    {
+        HarBodyStore store = new HarBodyStore();
+        StoredBody body = store.append("body");
+        store.close();
+        assertThrows(UncheckedIOException.class, body::read);
+    }
+
+    @Test
+    void shouldFailToAppendBodyToClosedStore() throws IOException
+    {
+        HarBodyStore store = new HarBodyStore();
+        store.close();
+        assertThrows(ClosedChannelException.class, () -> store.append("body"));
+    }
+}
@@ -17,13 +17,25 @@
 package org.vividus.proxy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import com.browserup.harreader.model.Har;
 import com.browserup.harreader.model.HarContent;
@@ -33,6 +45,7 @@ import com.browserup.harreader.model.HarLog;
 import com.browserup.harreader.model.HarRequest;
 import com.browserup.harreader.model.HarResponse;
 import com.browserup.harreader.model.HttpMethod;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -46,6 +59,8 @@ class ProxyLogTests
 {
     private static final String URL = "url";
     private static final String TEXT = "text";
+    private static final int NO_CONTENT = 204;
+    private static final Duration UPDATE_TIMEOUT = Duration.ofSeconds(5);
 
     @Mock
     private Har har;
@@ -198,11 +213,218 @@ class ProxyLogTests
         assertEquals("Request URL is not found by pattern: " + TEXT, exception.getMessage());
     }
 
+    @Test
+    void shouldIndexEntriesAppendedAfterPreviousQuery()
+    {
+        Har har = createHar();
+        ProxyLog proxyLog = new ProxyLog(har);
+        HarEntry first = addEntry(har, URL + "/first");
+        assertEquals(List.of(first), proxyLog.getLogEntries(URL + ".*"));
+        HarEntry second = addEntry(har, URL + "/second");
+        addEntry(har, TEXT);
+        assertEquals(List.of(first, second), proxyLog.getLogEntries(URL + ".*"));
+        assertEquals(List.of(URL + "/first", URL + "/second", TEXT), proxyLog.getRequestUrls());
+    }
+
+    @Test
+    void shouldResetIndexOnClear()
+    {
+        Har har = createHar();
+        ProxyLog proxyLog = new ProxyLog(har);
+        addEntry(har, URL);
+        assertEquals(List.of(URL), proxyLog.getRequestUrls(URL));
+        proxyLog.clear();
+        assertEquals(List.of(), proxyLog.getRequestUrls(URL));
+        HarEntry entry = addEntry(har, URL);
+        assertEquals(List.of(entry), proxyLog.getLogEntries(URL));
+        assertEquals(1, proxyLog.getUpdateCount());
+    }
+
+    @Test
+    void shouldDecodeBinaryResponse()
+    {
+        String body = "{\"key\":\"value\"}";
+        mockHarLog(getRequest(), mockGetResponse(
+                Base64.getEncoder().encodeToString(body.getBytes(StandardCharsets.UTF_8)), "application/json"));
+        assertEquals(List.of(body), proxyLog.getResponses(URL));
+        assertEquals(List.of(body), proxyLog.getResponses());
+    }
+
+    @Test
+    void shouldReturnNullResponseIfContentIsNotCaptured()
+    {
+        mockHarLog(getRequest(), mockGetResponse(null, TEXT));
+        assertEquals(Collections.singletonList(null), proxyLog.getResponses());
+    }
+
+    @Test
+    void shouldAwaitLogUpdate() throws Exception
+    {
+        long updateCount = proxyLog.getUpdateCount();
+        CompletableFuture<Boolean> updated = CompletableFuture.supplyAsync(() -> {
+            try
+            {
+                return proxyLog.awaitUpdate(updateCount, Duration.ofSeconds(10));
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        proxyLog.notifyUpdated();
+        assertTrue(updated.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldStopAwaitingLogUpdateOnTimeout() throws InterruptedException
+    {
+        assertFalse(proxyLog.awaitUpdate(proxyLog.getUpdateCount(), Duration.ofMillis(1)));
+        assertTrue(proxyLog.awaitUpdate(proxyLog.getUpdateCount() - 1, Duration.ofMillis(1)));
+    }
+
+    @Test
+    void shouldApplyBodyPolicyToCapturedBodies() throws InterruptedException, IOException
+    {
+        HarBodyPolicy bodyPolicy = new HarBodyPolicy();
+        bodyPolicy.setSkippedContentTypes(Set.of("video/"));
+        bodyPolicy.setTruncatedContentTypes(Set.of("text/plain", "image/"));
+        bodyPolicy.setTruncatedBodySize(6);
+        bodyPolicy.setMaxInMemoryBodySize(8);
+        bodyPolicy.init();
+        Har har = createHar();
+        ProxyLog proxyLog = new ProxyLog(har);
+        proxyLog.setBodyPolicy(bodyPolicy);
+        String largeBody = "large body";
+        String encodedBody = Base64.getEncoder().encodeToString(largeBody.getBytes(StandardCharsets.UTF_8));
+        HarContent skipped = addEntryWithBody(har, "video/mp4", encodedBody);
+        HarContent truncated = addEntryWithBody(har, "text/plain", largeBody);
+        HarContent truncatedBinary = addEntryWithBody(har, "image/png", encodedBody);
+        HarContent stored = addEntryWithBody(har, "application/json", encodedBody);
+        HarContent kept = addEntryWithBody(har, "text/html", TEXT);
+        long updateCount = proxyLog.getUpdateCount();
+        proxyLog.notifyUpdated();
+        assertTrue(proxyLog.awaitUpdate(updateCount + 1, UPDATE_TIMEOUT));
+        assertNull(skipped.getText());
+        assertEquals("large ", truncated.getText());
+        assertEquals("bGFy", truncatedBinary.getText());
+        assertNull(stored.getText());
+        assertEquals("Body of 16 characters is stored on disk", stored.getComment());
+        assertEquals(TEXT, kept.getText());
+        assertEquals(Arrays.asList(null, "large ", "lar", largeBody, TEXT), proxyLog.getResponses());
+        Har writtenHar = writeHar(proxyLog);
+        assertEquals(encodedBody, writtenHar.getLog().getEntries().get(3).getResponse().getContent().getText());
+        assertEquals(TEXT, writtenHar.getLog().getEntries().get(4).getResponse().getContent().getText());
+        assertNull(stored.getText());
+        proxyLog.close();
+        bodyPolicy.destroy();
+    }
+
+    @Test
+    void shouldApplyBodyPolicyOnceBodyIsCaptured() throws InterruptedException
+    {
+        HarBodyPolicy bodyPolicy = new HarBodyPolicy();
+        bodyPolicy.setMaxInMemoryBodySize(0);
+        bodyPolicy.init();
+        Har har = createHar();
+        ProxyLog proxyLog = new ProxyLog(har);
+        proxyLog.setBodyPolicy(bodyPolicy);
+        HarContent content = addEntryWithBody(har, TEXT, null);
+        proxyLog.notifyUpdated();
+        assertNull(content.getComment());
+        content.setText(URL);
+        long updateCount = proxyLog.getUpdateCount();
+        proxyLog.notifyUpdated();
+        assertTrue(proxyLog.awaitUpdate(updateCount + 1, UPDATE_TIMEOUT));
+        assertNull(content.getText());
+        assertEquals(List.of(URL), proxyLog.getResponses(URL));
+        proxyLog.clear();
+        assertEquals(List.of(), proxyLog.getResponses());
+        bodyPolicy.destroy();
+    }
+
+    @Test
+    void shouldWriteCapturedHarIfNoBodiesAreStoredOnDisk() throws IOException
+    {
+        Har har = createHar();
+        ProxyLog proxyLog = new ProxyLog(har);
+        addEntryWithBody(har, TEXT, URL);
+        assertEquals(URL, writeHar(proxyLog).getLog().getEntries().get(0).getResponse().getContent().getText());
+    }
+
+    @Test
+    void shouldStopApplyingBodyPolicyToResponsesWithoutBodies()
+    {
+        HarBodyPolicy bodyPolicy = new HarBodyPolicy();
+        bodyPolicy.setSkippedContentTypes(Set.of(TEXT));
+        Har har = createHar();
+        ProxyLog proxyLog = new ProxyLog(har);
+        proxyLog.setBodyPolicy(bodyPolicy);
+        HarContent content = addEntryWithBody(har, TEXT, null);
+        HarResponse response = har.getLog().getEntries().get(0).getResponse();
+        response.setStatus(NO_CONTENT);
+        proxyLog.notifyUpdated();
+        proxyLog.notifyUpdated();
+        content.setText(URL);
+        proxyLog.notifyUpdated();
+        assertEquals(URL, content.getText());
+        assertNull(content.getComment());
+    }
+
+    @Test
+    void shouldIgnoreDisabledBodyPolicy()
+    {
+        Har har = createHar();
+        ProxyLog proxyLog = new ProxyLog(har);
+        proxyLog.setBodyPolicy(new HarBodyPolicy());
+        HarContent content = addEntryWithBody(har, TEXT, URL);
+        proxyLog.notifyUpdated();
+        assertEquals(URL, content.getText());
+        assertNull(content.getComment());
+    }
+
+    private static Har writeHar(ProxyLog proxyLog) throws IOException
+    {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        proxyLog.writeHar(outputStream);
+        return new ObjectMapper().readValue(outputStream.toByteArray(), Har.class);
+    }
+
+    private static HarContent addEntryWithBody(Har har, String mimeType, String body)
+    {
+        HarContent content = new HarContent();
+        content.setMimeType(mimeType);
+        content.setText(body);
+        HarResponse response = new HarResponse();
+        response.setContent(content);
+        addEntry(har, URL).setResponse(response);
+        return content;
+    }
+
+    private static Har createHar()
+    {
+        HarLog harLog = new HarLog();
+        harLog.setEntries(new ArrayList<>());
+        Har har = new Har();
+        har.setLog(harLog);
+        return har;
+    }
+
+    private static HarEntry addEntry(Har har, String url)
+    {
+        HarRequest request = new HarRequest();
+        request.setUrl(url);
+        HarEntry harEntry = new HarEntry();
+        harEntry.setRequest(request);
+        har.getLog().getEntries().add(harEntry);
+        return harEntry;
+    }
+
     private HarResponse mockGetResponse(String contentText, String contentMimeType)
     {
         HarContent content = Mockito.mock(HarContent.class);
         when(content.getText()).thenReturn(contentText);
-        when(content.getMimeType()).thenReturn(contentMimeType);
+        Mockito.lenient().when(content.getMimeType()).thenReturn(contentMimeType);
         HarResponse response = Mockito.mock(HarResponse.class);
         when(response.getContent()).thenReturn(content);
         return response;
@@ -19,6 +19,7 @@ package org.vividus.proxy;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItems;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -106,4 +107,31 @@ public class ProxyServerFactoryTests
 
         verify(mockedServer).setMitmManager(mitmManager);
     }
+
+    @Test
+    @PrepareForTest({BrowserUpProxyServer.class, ThreadPoolConfiguration.class, ProxyServerFactory.class})
+    public void shouldShareMitmManagerBetweenProxyServers() throws Exception
+    {
+        MitmManagerOptions mitmManagerOptions = mock(MitmManagerOptions.class);
+        IMitmManagerFactory mitmManagerFactory = mock(IMitmManagerFactory.class);
+        MitmManager mitmManager = mock(MitmManager.class);
+        when(mitmManagerFactory.createMitmManager(mitmManagerOptions)).thenReturn(mitmManager);
+        BrowserUpProxyServer mockedServer = mock(BrowserUpProxyServer.class);
+        PowerMockito.whenNew(BrowserUpProxyServer.class).withNoArguments().thenReturn(mockedServer);
+        ThreadPoolConfiguration mockedConfig = mock(ThreadPoolConfiguration.class);
+        PowerMockito.whenNew(ThreadPoolConfiguration.class).withNoArguments().thenReturn(mockedConfig);
+
+        int workerThreads = 4;
+        proxyServerFactory.setMitmManagerOptions(mitmManagerOptions);
+        proxyServerFactory.setMitmManagerFactory(mitmManagerFactory);
+        proxyServerFactory.setMitmEnabled(true);
+        proxyServerFactory.setWorkerThreads(workerThreads);
+        proxyServerFactory.createProxyServer();
+        proxyServerFactory.createProxyServer();
+
+        verify(mitmManagerFactory, times(1)).createMitmManager(mitmManagerOptions);
+        verify(mockedServer, times(2)).setMitmManager(mitmManager);
+        verify(mockedConfig, times(2)).withClientToProxyWorkerThreads(workerThreads);
+        verify(mockedConfig, times(2)).withProxyToServerWorkerThreads(workerThreads);
+    }
 }
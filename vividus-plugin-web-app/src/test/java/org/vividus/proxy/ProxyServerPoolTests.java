@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.browserup.bup.BrowserUpProxy;
+import com.browserup.bup.BrowserUpProxyServer;
+import com.browserup.bup.filters.RequestFilter;
+import com.browserup.bup.filters.RequestFilterAdapter;
+import com.browserup.bup.filters.ResponseFilter;
+import com.browserup.bup.filters.ResponseFilterAdapter;
+import com.browserup.harreader.model.Har;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.littleshoot.proxy.HttpFiltersSource;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProxyServerPoolTests
+{
+    @Mock
+    private IProxyServerFactory proxyServerFactory;
+
+    @Mock
+    private BrowserUpProxyServer proxyServer;
+
+    private final ProxyServerPool pool = new ProxyServerPool();
+
+    @BeforeEach
+    void beforeEach()
+    {
+        pool.setProxyServerFactory(proxyServerFactory);
+    }
+
+    @Test
+    void shouldResetReleasedServerAndReuseIt()
+    {
+        when(proxyServerFactory.createProxyServer()).thenReturn(proxyServer);
+        when(proxyServer.getHar()).thenReturn(new Har());
+        HttpFiltersSource ownFilters = new HttpFiltersSourceAdapter();
+        List<HttpFiltersSource> filterFactories = new ArrayList<>(List.of(ownFilters,
+                new RequestFilterAdapter.FilterSource(mock(RequestFilter.class)),
+                new ResponseFilterAdapter.FilterSource(mock(ResponseFilter.class))));
+        when(proxyServer.getFilterFactories()).thenReturn(filterFactories);
+        BrowserUpProxy acquired = pool.acquire();
+        pool.release(acquired);
+        verify(proxyServer).endHar();
+        verify(proxyServer, never()).stop();
+        assertEquals(List.of(ownFilters), filterFactories);
+        assertSame(proxyServer, pool.acquire());
+        verify(proxyServerFactory, times(1)).createProxyServer();
+        verify(proxyServer, times(1)).start();
+    }
+
+    @Test
+    void shouldStartNewServerForEveryConcurrentStoryIfNumberOfServersIsNotLimited()
+    {
+        BrowserUpProxyServer anotherProxyServer = mock(BrowserUpProxyServer.class);
+        when(proxyServerFactory.createProxyServer()).thenReturn(proxyServer, anotherProxyServer);
+        assertSame(proxyServer, pool.acquire());
+        assertSame(anotherProxyServer, pool.acquire());
+        verify(proxyServer).start();
+        verify(anotherProxyServer).start();
+    }
+
+    @Test
+    void shouldWaitForReleasedServerIfMaxNumberOfServersIsRunning() throws Exception
+    {
+        pool.setMaxServers(1);
+        when(proxyServerFactory.createProxyServer()).thenReturn(proxyServer);
+        when(proxyServer.getFilterFactories()).thenReturn(new ArrayList<>());
+        BrowserUpProxy acquired = pool.acquire();
+        CompletableFuture<BrowserUpProxy> waiting = CompletableFuture.supplyAsync(pool::acquire);
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+        pool.release(acquired);
+        assertSame(proxyServer, waiting.get(1, TimeUnit.SECONDS));
+        verify(proxyServerFactory, times(1)).createProxyServer();
+        verify(proxyServer, never()).stop();
+    }
+
+    @Test
+    void shouldStartNewServerInsteadOfStoppedOneIfMaxNumberOfServersIsRunning()
+    {
+        pool.setMaxServers(1);
+        BrowserUpProxy unknownProxyServer = mock(BrowserUpProxy.class);
+        when(proxyServerFactory.createProxyServer()).thenReturn(unknownProxyServer, proxyServer);
+        pool.release(pool.acquire());
+        verify(unknownProxyServer).stop();
+        assertSame(proxyServer, pool.acquire());
+    }
+
+    @Test
+    void shouldNotCountServerWhichFailedToStart()
+    {
+        pool.setMaxServers(1);
+        BrowserUpProxy failingProxyServer = mock(BrowserUpProxy.class);
+        when(proxyServerFactory.createProxyServer()).thenReturn(failingProxyServer, proxyServer);
+        IllegalStateException exception = new IllegalStateException();
+        doThrow(exception).when(failingProxyServer).start();
+        assertSame(exception, assertThrows(IllegalStateException.class, pool::acquire));
+        assertSame(proxyServer, pool.acquire());
+    }
+
+    @Test
+    void shouldStopIdleServersOnDestroy()
+    {
+        when(proxyServer.getFilterFactories()).thenReturn(new ArrayList<>());
+        pool.release(proxyServer);
+        verify(proxyServer, never()).stop();
+        pool.destroy();
+        verify(proxyServer).stop();
+    }
+
+    @Test
+    void shouldStopServerWhichCanNotBeReset()
+    {
+        when(proxyServer.getHar()).thenReturn(new Har());
+        doThrow(new IllegalStateException()).when(proxyServer).endHar();
+        pool.release(proxyServer);
+        verify(proxyServer).stop();
+    }
+
+    @Test
+    void shouldStopServerOfUnknownType()
+    {
+        BrowserUpProxy unknownProxyServer = mock(BrowserUpProxy.class);
+        pool.release(unknownProxyServer);
+        verify(unknownProxyServer).stop();
+    }
+
+    @Test
+    void shouldNotAllowNegativeMaxServers()
+    {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> pool.setMaxServers(-1));
+        assertEquals("Max number of proxy servers must not be negative, but got: -1", exception.getMessage());
+    }
+}
@@ -18,9 +18,12 @@ package org.vividus.proxy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -28,6 +31,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,10 +42,14 @@ import com.browserup.bup.filters.RequestFilterAdapter;
 import com.browserup.bup.filters.ResponseFilter;
 import com.browserup.bup.filters.ResponseFilterAdapter;
 import com.browserup.harreader.model.Har;
+import com.browserup.harreader.model.HarContent;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarResponse;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.littleshoot.proxy.HttpFiltersSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -178,6 +186,98 @@ class ProxyTests
         verify(browserMobProxy).getHar();
     }
 
+    @Test
+    void shouldReuseLogWhileHarIsNotChanged()
+    {
+        configureProxy();
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserMobProxy);
+        Har har = new Har();
+        when(browserMobProxy.getHar()).thenReturn(har).thenReturn(har).thenReturn(new Har());
+        proxy.start();
+        ProxyLog log = proxy.getLog();
+        assertSame(log, proxy.getLog());
+        assertNotSame(log, proxy.getLog());
+    }
+
+    @Test
+    void shouldNotifyLogOnCapturedResponse()
+    {
+        configureProxy();
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserMobProxy);
+        proxy.start();
+        ArgumentCaptor<ResponseFilter> filterCaptor = ArgumentCaptor.forClass(ResponseFilter.class);
+        verify(browserMobProxy).addResponseFilter(filterCaptor.capture());
+        ResponseFilter responseFilter = filterCaptor.getValue();
+        responseFilter.filterResponse(null, null, null);
+        ProxyLog log = proxy.getLog();
+        responseFilter.filterResponse(null, null, null);
+        assertEquals(1, log.getUpdateCount());
+    }
+
+    @Test
+    void shouldNotNotifyLogAfterStop()
+    {
+        configureProxy();
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserMobProxy);
+        proxy.start();
+        ProxyLog log = proxy.getLog();
+        proxy.stop();
+        ArgumentCaptor<ResponseFilter> filterCaptor = ArgumentCaptor.forClass(ResponseFilter.class);
+        verify(browserMobProxy).addResponseFilter(filterCaptor.capture());
+        filterCaptor.getValue().filterResponse(null, null, null);
+        assertEquals(0, log.getUpdateCount());
+    }
+
+    @Test
+    void shouldApplyHarBodyPolicyToResponsesCapturedAfterRecordingStart() throws InterruptedException
+    {
+        configureProxy();
+        HarBodyPolicy harBodyPolicy = new HarBodyPolicy();
+        harBodyPolicy.setMaxInMemoryBodySize(0);
+        harBodyPolicy.init();
+        ((Proxy) proxy).setHarBodyPolicy(harBodyPolicy);
+        when(proxyServerFactory.createProxyServer()).thenReturn(browserMobProxy);
+        Har har = new Har();
+        when(browserMobProxy.getHar()).thenReturn(har);
+        proxy.start();
+        proxy.startRecording();
+        HarContent content = new HarContent();
+        content.setMimeType("text/plain");
+        content.setText("body");
+        HarResponse response = new HarResponse();
+        response.setContent(content);
+        HarEntry entry = new HarEntry();
+        entry.setResponse(response);
+        har.getLog().getEntries().add(entry);
+        ArgumentCaptor<ResponseFilter> filterCaptor = ArgumentCaptor.forClass(ResponseFilter.class);
+        verify(browserMobProxy).addResponseFilter(filterCaptor.capture());
+        ProxyLog log = proxy.getLog();
+        long updateCount = log.getUpdateCount();
+        filterCaptor.getValue().filterResponse(null, null, null);
+        assertTrue(log.awaitUpdate(updateCount + 1, Duration.ofSeconds(5)));
+        assertNull(content.getText());
+        assertEquals(List.of("body"), log.getResponses());
+        proxy.stop();
+        harBodyPolicy.destroy();
+    }
+
+    @Test
+    void shouldAcquireServerFromPoolAndReleaseItOnStop()
+    {
+        configureProxy();
+        ProxyServerPool proxyServerPool = mock(ProxyServerPool.class);
+        ((Proxy) proxy).setProxyServerPool(proxyServerPool);
+        when(proxyServerPool.acquire()).thenReturn(browserMobProxy);
+        proxy.start();
+        assertEquals(browserMobProxy, proxy.getProxyServer());
+        verify(browserMobProxy).addResponseFilter(any(ResponseFilter.class));
+        proxy.stop();
+        verify(proxyServerPool).release(browserMobProxy);
+        verify(browserMobProxy, never()).start();
+        verify(browserMobProxy, never()).stop();
+        verifyNoInteractions(proxyServerFactory);
+    }
+
     @Test
     void testGetLogWhenProxyIsNotStarted()
     {
@@ -16,10 +16,16 @@
 
 package org.vividus.proxy.steps;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -27,12 +33,14 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
-import com.browserup.bup.BrowserUpProxy;
 import com.browserup.harreader.model.Har;
 import com.browserup.harreader.model.HarCreatorBrowser;
 import com.browserup.harreader.model.HarEntry;
@@ -46,6 +54,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -189,6 +198,59 @@ class ProxyStepsTests
                         httpMethod, URL_PATTERN).equals(e.toString())));
     }
 
+    @Test
+    void shouldNotAwaitProxyLogUpdateIfRequestIsFound() throws InterruptedException
+    {
+        HttpMethod httpMethod = HttpMethod.GET;
+        when(proxy.getLog()).thenReturn(proxyLog);
+        HarEntry harEntry = mockHarEntry(HttpStatus.SC_OK);
+        when(proxyLog.getLogEntries(httpMethod, URL_PATTERN)).thenReturn(List.of(harEntry));
+        assertTrue(captureProxyLogWaitFunction(httpMethod).apply(URL_PATTERN));
+        verify(proxyLog, never()).awaitUpdate(anyLong(), any(Duration.class));
+    }
+
+    @Test
+    void shouldCheckProxyLogAgainAfterUpdate() throws InterruptedException
+    {
+        HttpMethod httpMethod = HttpMethod.GET;
+        long updateCount = 1;
+        when(proxy.getLog()).thenReturn(proxyLog);
+        when(proxyLog.getUpdateCount()).thenReturn(updateCount);
+        HarEntry harEntry = mockHarEntry(HttpStatus.SC_OK);
+        when(proxyLog.getLogEntries(httpMethod, URL_PATTERN)).thenReturn(List.of()).thenReturn(List.of(harEntry));
+        when(proxyLog.awaitUpdate(eq(updateCount), any(Duration.class))).thenReturn(true);
+        assertTrue(captureProxyLogWaitFunction(httpMethod).apply(URL_PATTERN));
+    }
+
+    @Test
+    void shouldNotConsiderRedirectsAfterProxyLogUpdate() throws InterruptedException
+    {
+        HttpMethod httpMethod = HttpMethod.GET;
+        when(proxy.getLog()).thenReturn(proxyLog);
+        HarEntry harEntry = mockHarEntry(HttpStatus.SC_MOVED_TEMPORARILY);
+        when(proxyLog.getLogEntries(httpMethod, URL_PATTERN)).thenReturn(List.of(harEntry));
+        when(proxyLog.awaitUpdate(eq(0L), any(Duration.class))).thenReturn(false);
+        assertFalse(captureProxyLogWaitFunction(httpMethod).apply(URL_PATTERN));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<String, Boolean> captureProxyLogWaitFunction(HttpMethod httpMethod)
+    {
+        proxySteps.waitRequestInProxyLog(httpMethod, URL_PATTERN);
+        ArgumentCaptor<Function<String, Boolean>> functionCaptor = ArgumentCaptor.forClass(Function.class);
+        verify(waitActions).wait(eq(URL_PATTERN), functionCaptor.capture());
+        return functionCaptor.getValue();
+    }
+
+    private static HarEntry mockHarEntry(int status)
+    {
+        HarEntry harEntry = mock(HarEntry.class);
+        HarResponse harResponse = mock(HarResponse.class);
+        when(harEntry.getResponse()).thenReturn(harResponse);
+        when(harResponse.getStatus()).thenReturn(status);
+        return harEntry;
+    }
+
     private byte[] mockProxyLog() throws IOException
     {
         HarCreatorBrowser browser = new HarCreatorBrowser();
@@ -196,12 +258,13 @@ class ProxyStepsTests
         browser.setVersion("66");
         HarLog harLog = new HarLog();
         Har har = new Har();
-        BrowserUpProxy mockBrowserUpProxy = mock(BrowserUpProxy.class);
         harLog.setBrowser(browser);
         harLog.setCreator(browser);
         har.setLog(harLog);
-        when(mockBrowserUpProxy.getHar()).thenReturn(har);
-        when(proxy.getProxyServer()).thenReturn(mockBrowserUpProxy);
+        doAnswer(invocation -> {
+            OBJECT_MAPPER.writeValue(invocation.<OutputStream>getArgument(0), har);
+            return null;
+        }).when(proxyLog).writeHar(any(OutputStream.class));
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
         OBJECT_MAPPER.writeValue(byteArrayOutputStream, har);
         return byteArrayOutputStream.toByteArray();
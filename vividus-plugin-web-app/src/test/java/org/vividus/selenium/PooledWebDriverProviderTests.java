@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.eventbus.EventBus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Navigation;
+import org.openqa.selenium.WebDriver.Options;
+import org.openqa.selenium.WebDriver.TargetLocator;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.CapabilityType;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.vividus.testcontext.SimpleTestContext;
+
+@ExtendWith(MockitoExtension.class)
+class PooledWebDriverProviderTests
+{
+    private static final int TIMEOUT = 5000;
+    private static final String MAIN_WINDOW = "main";
+    private static final String BLANK_PAGE = "about:blank";
+    private static final String CHROME = "chrome";
+    private static final String CLEAR_WEB_STORAGES_SCRIPT = "window.localStorage.clear();"
+            + "window.sessionStorage.clear();";
+
+    @Mock private IVividusWebDriverFactory vividusWebDriverFactory;
+    @Mock private EventBus eventBus;
+    @InjectMocks private PooledWebDriverProvider webDriverProvider;
+
+    @BeforeEach
+    void beforeEach()
+    {
+        webDriverProvider.setVividusWebDriverFactory(vividusWebDriverFactory);
+        webDriverProvider.setTestContext(new SimpleTestContext());
+    }
+
+    @Test
+    void shouldQuitSessionIfPoolIsDisabled()
+    {
+        webDriverProvider.init();
+        WebDriver webDriver = mock(WebDriver.class);
+        VividusWebDriver vividusWebDriver = createVividusWebDriver(webDriver);
+        when(vividusWebDriverFactory.create()).thenReturn(vividusWebDriver);
+        webDriverProvider.get();
+        webDriverProvider.end();
+        verify(webDriver).quit();
+    }
+
+    @Test
+    void shouldReuseSessionAndResetItsState()
+    {
+        initPool(1, 0, 0);
+        when(vividusWebDriverFactory.createDesiredCapabilities()).thenReturn(
+                createCapabilities(Map.of(CapabilityType.BROWSER_NAME, CHROME, SauceLabsCapabilityType.NAME, "1")),
+                createCapabilities(Map.of(CapabilityType.BROWSER_NAME, CHROME, SauceLabsCapabilityType.NAME, "2")));
+        RemoteWebDriver rawDriver = mock(RemoteWebDriver.class);
+        WebDriver webDriver = mockEventFiringDriver(rawDriver);
+        VividusWebDriver vividusWebDriver = createVividusWebDriver(webDriver);
+        when(vividusWebDriverFactory.create(any(DesiredCapabilities.class))).thenReturn(vividusWebDriver);
+        when(rawDriver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of(MAIN_WINDOW, "popup")),
+                new LinkedHashSet<>(List.of(MAIN_WINDOW)));
+        TargetLocator targetLocator = mock(TargetLocator.class);
+        when(rawDriver.switchTo()).thenReturn(targetLocator);
+        Options options = mock(Options.class);
+        when(rawDriver.manage()).thenReturn(options);
+        Navigation navigation = mock(Navigation.class);
+        when(rawDriver.navigate()).thenReturn(navigation);
+
+        assertSame(webDriver, webDriverProvider.get());
+        webDriverProvider.end();
+        assertSame(webDriver, webDriverProvider.get());
+        assertEquals("2", vividusWebDriver.getDesiredCapabilities().getCapability(SauceLabsCapabilityType.NAME));
+
+        verify(vividusWebDriverFactory).create(any(DesiredCapabilities.class));
+        verify(vividusWebDriverFactory, times(2)).resizeWindow(vividusWebDriver);
+        InOrder ordered = inOrder(targetLocator, rawDriver, options, navigation);
+        ordered.verify(targetLocator).window("popup");
+        ordered.verify(rawDriver).executeScript(CLEAR_WEB_STORAGES_SCRIPT);
+        ordered.verify(options).deleteAllCookies();
+        ordered.verify(rawDriver).close();
+        ordered.verify(targetLocator).window(MAIN_WINDOW);
+        ordered.verify(rawDriver).executeScript(CLEAR_WEB_STORAGES_SCRIPT);
+        ordered.verify(options).deleteAllCookies();
+        ordered.verify(navigation).to(BLANK_PAGE);
+        verify(webDriver, never()).quit();
+    }
+
+    @Test
+    void shouldQuitSessionUsedMaxNumberOfTimes()
+    {
+        initPool(1, 1, 0);
+        mockCapabilities();
+        WebDriver webDriver = mock(WebDriver.class);
+        WebDriver anotherWebDriver = mock(WebDriver.class);
+        when(vividusWebDriverFactory.create(any(DesiredCapabilities.class))).thenReturn(
+                createVividusWebDriver(webDriver), createVividusWebDriver(anotherWebDriver));
+        webDriverProvider.get();
+        webDriverProvider.end();
+        verify(webDriver).quit();
+        assertSame(anotherWebDriver, webDriverProvider.get());
+    }
+
+    @Test
+    void shouldQuitSessionNotRespondingInPool()
+    {
+        initPool(1, 0, 0);
+        mockCapabilities();
+        RemoteWebDriver rawDriver = mock(RemoteWebDriver.class);
+        WebDriver webDriver = mockEventFiringDriver(rawDriver);
+        WebDriver anotherWebDriver = mock(WebDriver.class);
+        when(vividusWebDriverFactory.create(any(DesiredCapabilities.class))).thenReturn(
+                createVividusWebDriver(webDriver), createVividusWebDriver(anotherWebDriver));
+        when(rawDriver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of(MAIN_WINDOW)))
+                .thenThrow(new WebDriverException());
+        when(rawDriver.switchTo()).thenReturn(mock(TargetLocator.class));
+        when(rawDriver.manage()).thenReturn(mock(Options.class));
+        when(rawDriver.navigate()).thenReturn(mock(Navigation.class));
+        webDriverProvider.get();
+        webDriverProvider.end();
+        assertSame(anotherWebDriver, webDriverProvider.get());
+        verify(webDriver).quit();
+    }
+
+    @Test
+    void shouldQuitSessionWhichStateCannotBeReset()
+    {
+        initPool(1, 0, 0);
+        mockCapabilities();
+        RemoteWebDriver rawDriver = mock(RemoteWebDriver.class);
+        WebDriver webDriver = mockEventFiringDriver(rawDriver);
+        when(vividusWebDriverFactory.create(any(DesiredCapabilities.class))).thenReturn(
+                createVividusWebDriver(webDriver));
+        when(rawDriver.getWindowHandles()).thenThrow(new WebDriverException());
+        webDriverProvider.get();
+        webDriverProvider.end();
+        verify(webDriver).quit();
+    }
+
+    @Test
+    void shouldNotPoolSessionBoundToProxy()
+    {
+        initPool(1, 0, 0);
+        when(vividusWebDriverFactory.createDesiredCapabilities()).thenAnswer(invocation -> createCapabilities(
+                Map.of(CapabilityType.BROWSER_NAME, CHROME, CapabilityType.PROXY, new Proxy())));
+        WebDriver webDriver = mock(WebDriver.class);
+        WebDriver anotherWebDriver = mock(WebDriver.class);
+        when(vividusWebDriverFactory.create(any(DesiredCapabilities.class))).thenReturn(
+                createVividusWebDriver(webDriver), createVividusWebDriver(anotherWebDriver));
+        webDriverProvider.get();
+        webDriverProvider.end();
+        verify(webDriver).quit();
+        assertSame(anotherWebDriver, webDriverProvider.get());
+    }
+
+    @Test
+    void shouldLaunchSessionInBackgroundOnPoolMiss()
+    {
+        initPool(1, 0, 1);
+        mockCapabilities();
+        WebDriver webDriver = mock(WebDriver.class);
+        WebDriver launchedWebDriver = mock(WebDriver.class);
+        when(vividusWebDriverFactory.create(any(DesiredCapabilities.class))).thenReturn(
+                createVividusWebDriver(webDriver), createVividusWebDriver(launchedWebDriver));
+        assertSame(webDriver, webDriverProvider.get());
+        verify(vividusWebDriverFactory, timeout(TIMEOUT).times(2)).create(any(DesiredCapabilities.class));
+        webDriverProvider.destroy();
+        verify(webDriver).quit();
+        verify(launchedWebDriver, timeout(TIMEOUT)).quit();
+    }
+
+    private void initPool(int maxIdleSessions, int maxSessionUses, int launcherThreads)
+    {
+        webDriverProvider.setMaxIdleSessions(maxIdleSessions);
+        webDriverProvider.setMaxSessionUses(maxSessionUses);
+        webDriverProvider.setLauncherThreads(launcherThreads);
+        webDriverProvider.init();
+    }
+
+    private void mockCapabilities()
+    {
+        when(vividusWebDriverFactory.createDesiredCapabilities()).thenAnswer(
+            invocation -> createCapabilities(Map.of(CapabilityType.BROWSER_NAME, CHROME)));
+    }
+
+    private static DesiredCapabilities createCapabilities(Map<String, ?> capabilities)
+    {
+        return new DesiredCapabilities(capabilities);
+    }
+
+    private static WebDriver mockEventFiringDriver(WebDriver rawDriver)
+    {
+        WebDriver webDriver = mock(WebDriver.class, withSettings().extraInterfaces(WrapsDriver.class));
+        when(((WrapsDriver) webDriver).getWrappedDriver()).thenReturn(rawDriver);
+        return webDriver;
+    }
+
+    private static VividusWebDriver createVividusWebDriver(WebDriver webDriver)
+    {
+        VividusWebDriver vividusWebDriver = new VividusWebDriver();
+        vividusWebDriver.setWebDriver(webDriver);
+        return vividusWebDriver;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vividus.selenium.driver;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+
+@ExtendWith(MockitoExtension.class)
+class CountingCommandExecutorTests
+{
+    @Mock private CommandExecutor commandExecutor;
+    @Mock private WebDriverCommandCounter webDriverCommandCounter;
+    @Mock private WebDriverCommandStatistics webDriverCommandStatistics;
+
+    @Test
+    void shouldCountAndExecuteCommand() throws IOException
+    {
+        Command command = new Command(new SessionId("id"), DriverCommand.IS_ELEMENT_DISPLAYED, Map.of());
+        Response response = new Response();
+        when(commandExecutor.execute(command)).thenReturn(response);
+        assertSame(response, createExecutor().execute(command));
+        InOrder ordered = inOrder(webDriverCommandCounter, commandExecutor, webDriverCommandStatistics);
+        ordered.verify(webDriverCommandCounter).countCommand(DriverCommand.IS_ELEMENT_DISPLAYED);
+        ordered.verify(commandExecutor).execute(command);
+        ordered.verify(webDriverCommandStatistics).record(eq(DriverCommand.IS_ELEMENT_DISPLAYED),
+                any(Duration.class));
+    }
+
+    @Test
+    void shouldRecordDurationOfFailedCommand() throws IOException
+    {
+        Command command = new Command(new SessionId("id"), DriverCommand.CLICK_ELEMENT, Map.of());
+        IOException exception = new IOException();
+        when(commandExecutor.execute(command)).thenThrow(exception);
+        assertSame(exception, assertThrows(IOException.class, () -> createExecutor().execute(command)));
+        verify(webDriverCommandStatistics).record(eq(DriverCommand.CLICK_ELEMENT), any(Duration.class));
+    }
+
+    private CountingCommandExecutor createExecutor()
+    {
+        return new CountingCommandExecutor(commandExecutor, webDriverCommandCounter, webDriverCommandStatistics);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vividus.selenium.driver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vividus.testcontext.SimpleTestContext;
+
+class WebDriverCommandCounterTests
+{
+    private static final String FIND_ELEMENTS = "findElements";
+    private static final String EXECUTE_SCRIPT = "executeScript";
+
+    private final WebDriverCommandCounter webDriverCommandCounter = new WebDriverCommandCounter();
+
+    @BeforeEach
+    void beforeEach()
+    {
+        webDriverCommandCounter.setTestContext(new SimpleTestContext());
+    }
+
+    @Test
+    void shouldCountCommandsOfNestedSteps()
+    {
+        webDriverCommandCounter.startCounting();
+        webDriverCommandCounter.countCommand(FIND_ELEMENTS);
+        webDriverCommandCounter.startCounting();
+        webDriverCommandCounter.countCommand(EXECUTE_SCRIPT);
+        webDriverCommandCounter.countCommand(FIND_ELEMENTS);
+        assertEquals(Map.of(EXECUTE_SCRIPT, 1, FIND_ELEMENTS, 1), webDriverCommandCounter.stopCounting());
+        assertTrue(webDriverCommandCounter.isCounting());
+        webDriverCommandCounter.countCommand(EXECUTE_SCRIPT);
+        assertEquals(Map.of(EXECUTE_SCRIPT, 2, FIND_ELEMENTS, 2), webDriverCommandCounter.stopCounting());
+        assertFalse(webDriverCommandCounter.isCounting());
+    }
+
+    @Test
+    void shouldNotCountCommandsOutsideOfSteps()
+    {
+        assertFalse(webDriverCommandCounter.isCounting());
+        webDriverCommandCounter.countCommand(FIND_ELEMENTS);
+        assertEquals(Map.of(), webDriverCommandCounter.stopCounting());
+    }
+}
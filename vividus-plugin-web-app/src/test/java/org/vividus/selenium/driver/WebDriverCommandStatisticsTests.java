@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.driver;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vividus.testcontext.SimpleTestContext;
+import org.vividus.util.json.JsonUtils;
+import org.vividus.util.statistic.DurationHistogram;
+
+class WebDriverCommandStatisticsTests
+{
+    private static final String STORY = "story/path.story";
+    private static final String STEP = "When I click on element";
+    private static final String FIND_ELEMENTS = "findElements";
+    private static final String CLICK_ELEMENT = "clickElement";
+    private static final String COMMANDS = "commands";
+    private static final String STEPS = "steps";
+
+    private final WebDriverCommandStatistics statistics = new WebDriverCommandStatistics();
+
+    @BeforeEach
+    void beforeEach()
+    {
+        statistics.setTestContext(new SimpleTestContext());
+        statistics.setJsonUtils(new JsonUtils(PropertyNamingStrategy.LOWER_CAMEL_CASE));
+        statistics.setChattyStepThreshold(2);
+    }
+
+    @Test
+    void shouldCollectStatisticsOfScenario()
+    {
+        statistics.startStory(STORY);
+        statistics.startScenario();
+        statistics.startStep(STEP);
+        statistics.record(FIND_ELEMENTS, Duration.ofMillis(10));
+        statistics.record(CLICK_ELEMENT, Duration.ofMillis(30));
+        assertFalse(statistics.stopStep(STEP, 2));
+        Map<String, Object> scenarioStatistics = statistics.stopScenario();
+        statistics.stopStory();
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> commands = (Map<String, Map<String, Object>>) scenarioStatistics.get(
+                COMMANDS);
+        assertEquals(List.of(CLICK_ELEMENT, FIND_ELEMENTS), List.copyOf(commands.keySet()));
+        assertEquals(1L, commands.get(CLICK_ELEMENT).get("count"));
+        assertEquals(30L, commands.get(CLICK_ELEMENT).get("maxMs"));
+        assertEquals(List.of(Map.of("step", STEP, "roundTrips", 2, "chatty", false)),
+                scenarioStatistics.get(STEPS));
+        Map<String, DurationHistogram> histograms = statistics.getCommandHistograms();
+        assertEquals(1, histograms.get(FIND_ELEMENTS).getCount());
+    }
+
+    @Test
+    void shouldReturnEmptyStatisticsForScenarioWithoutCommands()
+    {
+        statistics.startScenario();
+        statistics.startStep(STEP);
+        assertFalse(statistics.stopStep(STEP, 0));
+        assertEquals(Map.of(), statistics.stopScenario());
+    }
+
+    @Test
+    void shouldIgnoreStopOfNotStartedStep()
+    {
+        statistics.startScenario();
+        statistics.startStep(STEP);
+        statistics.record(FIND_ELEMENTS, Duration.ofMillis(10));
+        assertTrue(statistics.stopStep(STEP, 3));
+        assertFalse(statistics.stopStep("!-- comment", 3));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> steps = (List<Map<String, Object>>) statistics.stopScenario().get(STEPS);
+        assertEquals(List.of(Map.of("step", STEP, "roundTrips", 3, "chatty", true)), steps);
+    }
+
+    @Test
+    void shouldFlagChattySteps()
+    {
+        statistics.startStep(STEP);
+        assertTrue(statistics.stopStep(STEP, 3));
+    }
+
+    @Test
+    void shouldNotFlagStepsIfThresholdIsNotSet()
+    {
+        statistics.setChattyStepThreshold(0);
+        statistics.startStep(STEP);
+        assertFalse(statistics.stopStep(STEP, 1000));
+    }
+
+    @Test
+    void shouldRecordCommandsOutsideOfStories()
+    {
+        statistics.record(FIND_ELEMENTS, Duration.ofMillis(1));
+        assertEquals(1, statistics.getCommandHistograms().get(FIND_ELEMENTS).getCount());
+    }
+
+    @Test
+    void shouldPublishStatisticsToReportFile(@TempDir Path tempDir) throws IOException
+    {
+        Path reportFile = tempDir.resolve("statistics").resolve("webdriver-commands-statistics.json");
+        statistics.setReportFile(reportFile.toFile());
+        statistics.startStory(STORY);
+        statistics.startStep(STEP);
+        statistics.startStep(STEP);
+        statistics.record(FIND_ELEMENTS, Duration.ofMillis(5));
+        statistics.record(FIND_ELEMENTS, Duration.ofMillis(5));
+        statistics.record(CLICK_ELEMENT, Duration.ofMillis(5));
+        assertTrue(statistics.stopStep(STEP, 3));
+        assertTrue(statistics.stopStep(STEP, 3));
+        statistics.stopStory();
+        statistics.publish();
+        String report = new String(Files.readAllBytes(reportFile), StandardCharsets.UTF_8);
+        assertThat(report, containsString("\"commands\":{\"clickElement\":{\"count\":1,"));
+        assertThat(report, containsString("\"stories\":{\"story/path.story\":{\"clickElement\":"));
+        assertThat(report, containsString("\"steps\":{\"When I click on element\":{\"executions\":2,"
+                + "\"totalRoundTrips\":6,\"maxRoundTrips\":3,\"chatty\":true,\"commandDurations\":{\"count\":6,"));
+    }
+
+    @Test
+    void shouldNotPublishEmptyStatistics(@TempDir Path tempDir) throws IOException
+    {
+        Path reportFile = tempDir.resolve("webdriver-commands-statistics.json");
+        statistics.setReportFile(reportFile.toFile());
+        statistics.publish();
+        assertFalse(Files.exists(reportFile));
+    }
+}
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,6 +65,8 @@ class AshotFactoryTests
     private IJavascriptActions javascriptActions;
     @Mock
     private ScreenshotDebugger screenshotDebugger;
+    @Mock
+    private ScreenshotImageProcessor screenshotImageProcessor;
 
     @InjectMocks
     private AshotFactory ashotFactory;
@@ -78,11 +81,14 @@ class AshotFactoryTests
     void shouldCreateAshotViaScreenshotShootingStrategyIfThereIfConfigurationNotFound()
     {
         mockDevice();
+        Executor executor = mock(Executor.class);
+        when(screenshotImageProcessor.getExecutor()).thenReturn(executor);
         ashotFactory.setScreenshotShootingStrategy(ScreenshotShootingStrategy.VIEWPORT_PASTING);
         AShot aShot = ashotFactory.create(false, Optional.empty());
         assertThat(Whitebox.getInternalState(aShot, COORDS_PROVIDER), is(instanceOf(CeilingJsCoordsProvider.class)));
-        assertThat(Whitebox.getInternalState(aShot, SHOOTING_STRATEGY),
-                instanceOf(AdjustingViewportPastingDecorator.class));
+        ShootingStrategy shootingStrategy = Whitebox.getInternalState(aShot, SHOOTING_STRATEGY);
+        assertThat(shootingStrategy, instanceOf(AdjustingViewportPastingDecorator.class));
+        assertEquals(executor, Whitebox.getInternalState(shootingStrategy, "tileProcessingExecutor"));
     }
 
     private void mockDevice()
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.selenium.screenshot;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import ru.yandex.qatools.ashot.util.ImageTool;
+
+class ScreenshotImageProcessorTests
+{
+    private static final int SIZE = 64;
+
+    @Test
+    void shouldEncodeWithDefaultCompressionLevel() throws IOException
+    {
+        BufferedImage image = createImage();
+        assertArrayEquals(ImageTool.toByteArray(image), new ScreenshotImageProcessor().encodeAsPng(image));
+    }
+
+    @Test
+    void shouldEncodeWithConfiguredCompressionLevel() throws IOException
+    {
+        BufferedImage image = createImage();
+        ScreenshotImageProcessor processor = new ScreenshotImageProcessor();
+        processor.setPngCompressionLevel(0);
+        byte[] uncompressed = processor.encodeAsPng(image);
+        processor.setPngCompressionLevel(9);
+        byte[] compressed = processor.encodeAsPng(image);
+        assertThat(uncompressed.length, greaterThan(compressed.length));
+        assertSameImage(image, uncompressed);
+        assertSameImage(image, compressed);
+    }
+
+    @Test
+    void shouldNotAllowInvalidCompressionLevel()
+    {
+        ScreenshotImageProcessor processor = new ScreenshotImageProcessor();
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> processor.setPngCompressionLevel(10));
+        assertEquals("PNG compression level must be between -1 and 9, but got: 10", exception.getMessage());
+    }
+
+    @Test
+    void shouldRunTasksOnProcessingThreads() throws Exception
+    {
+        ScreenshotImageProcessor processor = new ScreenshotImageProcessor();
+        processor.setThreads(1);
+        processor.init();
+        String threadName = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(),
+                processor.getExecutor()).get();
+        assertEquals("screenshot-processor-1", threadName);
+        processor.destroy();
+        assertTrue(((ExecutorService) processor.getExecutor()).isShutdown());
+    }
+
+    private static void assertSameImage(BufferedImage expected, byte[] actualPng) throws IOException
+    {
+        BufferedImage actual = ImageIO.read(new ByteArrayInputStream(actualPng));
+        for (int x = 0; x < SIZE; x++)
+        {
+            for (int y = 0; y < SIZE; y++)
+            {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    private static BufferedImage createImage()
+    {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_3BYTE_BGR);
+        for (int x = 0; x < SIZE; x++)
+        {
+            for (int y = 0; y < SIZE; y++)
+            {
+                image.setRGB(x, y, x * y % 3 == 0 ? 0xFFFFFF : x << 16 | y << 8);
+            }
+        }
+        return image;
+    }
+}
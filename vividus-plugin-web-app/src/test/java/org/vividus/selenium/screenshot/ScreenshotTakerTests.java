@@ -60,6 +60,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -116,6 +117,9 @@ public class ScreenshotTakerTests
     @Mock
     private ScreenshotConfiguration screenshotConfiguration;
 
+    @Spy
+    private ScreenshotImageProcessor screenshotImageProcessor = new ScreenshotImageProcessor();
+
     @InjectMocks
     private ScreenshotTaker screenshotTaker;
 
@@ -357,7 +361,7 @@ public class ScreenshotTakerTests
         }))).thenReturn(SCREENSHOT);
         PowerMockito.mockStatic(ImageTool.class);
         IOException ioException = new IOException();
-        PowerMockito.when(ImageTool.toByteArray(SCREENSHOT)).thenThrow(ioException);
+        PowerMockito.when(ImageTool.toByteArray(SCREENSHOT.getImage())).thenThrow(ioException);
         IllegalStateException illegalStateException =
             assertThrows(IllegalStateException.class, () -> screenshotTaker.takeScreenshot(SCREENSHOT_NAME, webDriver));
         assertEquals(ioException, illegalStateException.getCause());
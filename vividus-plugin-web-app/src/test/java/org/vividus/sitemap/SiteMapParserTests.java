@@ -23,14 +23,19 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.http.client.protocol.HttpClientContext;
 import org.junit.jupiter.api.Test;
@@ -163,6 +168,58 @@ class SiteMapParserTests
         assertSiteMapUrls(SITEMAP_URL_NUMBER, SITEMAP_ENTRY_URL, siteMapUrls);
     }
 
+    @Test
+    void testParseSiteMapIndexConcurrently() throws IOException, SiteMapParseException
+    {
+        mockHttpGet("sitemap-index.xml", SITE_MAP_URL, null);
+        mockSiteMapParsing(SITEMAP_XML, URI.create(SITE_URL + "sitemap-misc.xml"), null);
+        siteMapParser.setFollowRedirects(false);
+        siteMapParser.setThreads(2);
+        List<SiteMapURL> siteMapUrls = new ArrayList<>();
+        siteMapParser.parse(true, SITE_MAP_URL, siteMapUrls::add);
+        assertSiteMapUrls(SITEMAP_URL_NUMBER, SITEMAP_ENTRY_URL, siteMapUrls);
+    }
+
+    @Test
+    void testParseSiteMapIndexWithMoreSiteMapsThanThreads() throws IOException, SiteMapParseException
+    {
+        mockHttpGet("sitemap-index-multiple.xml", SITE_MAP_URL, null);
+        mockSiteMapParsing(SITEMAP_XML, URI.create(SITE_URL + "sitemap-misc.xml"), null);
+        mockSiteMapParsing(SITEMAP_XML, URI.create(SITE_URL + "sitemap-pages.xml"), null);
+        mockSiteMapParsing(SITEMAP_XML, URI.create(SITE_URL + "sitemap-posts.xml"), null);
+        siteMapParser.setFollowRedirects(false);
+        siteMapParser.setThreads(2);
+        List<SiteMapURL> siteMapUrls = new ArrayList<>();
+        siteMapParser.parse(true, SITE_MAP_URL, siteMapUrls::add);
+        assertEquals(3 * SITEMAP_URL_NUMBER, siteMapUrls.size());
+    }
+
+    @Test
+    void testParseGzippedSiteMap() throws IOException, SiteMapParseException
+    {
+        ByteArrayOutputStream gzippedSiteMap = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new GZIPOutputStream(gzippedSiteMap))
+        {
+            outputStream.write(ResourceUtils.loadResourceAsByteArray(getClass(), SITEMAP_XML));
+        }
+        mockHttpGet(gzippedSiteMap.toByteArray(), SITE_MAP_URL, null);
+        siteMapParser.setBaseUrl(Optional.empty());
+        siteMapParser.setFollowRedirects(false);
+        Collection<SiteMapURL> siteMapUrls = siteMapParser.parse(true, SITE_MAP_URL);
+        assertSiteMapUrls(SITEMAP_URL_NUMBER, SITEMAP_ENTRY_URL, siteMapUrls);
+    }
+
+    @Test
+    void testParseTextSiteMap() throws IOException, SiteMapParseException
+    {
+        mockHttpGet((SITE_URL + "java\n" + SITEMAP_ENTRY_URL).getBytes(StandardCharsets.UTF_8), SITE_MAP_URL,
+                null);
+        siteMapParser.setBaseUrl(Optional.empty());
+        siteMapParser.setFollowRedirects(false);
+        Collection<SiteMapURL> siteMapUrls = siteMapParser.parse(true, SITE_MAP_URL);
+        assertEquals(2, siteMapUrls.size());
+    }
+
     private void mockSiteMapParsing(String resourceName, URI siteMapUrl, List<URI> redirectLocations) throws IOException
     {
         mockHttpGet(resourceName, siteMapUrl, redirectLocations);
@@ -170,9 +227,14 @@ class SiteMapParserTests
     }
 
     private void mockHttpGet(String resourceName, URI siteMapUrl, List<URI> redirectLocations) throws IOException
+    {
+        mockHttpGet(ResourceUtils.loadResourceAsByteArray(getClass(), resourceName), siteMapUrl, redirectLocations);
+    }
+
+    private void mockHttpGet(byte[] siteMap, URI siteMapUrl, List<URI> redirectLocations) throws IOException
     {
         HttpResponse httpResponse = new HttpResponse();
-        httpResponse.setResponseBody(ResourceUtils.loadResourceAsByteArray(getClass(), resourceName));
+        httpResponse.setResponseBody(siteMap);
         when(mockedHttpClient.doHttpGet(eq(siteMapUrl), argThat(context ->
         {
             context.setAttribute(HttpClientContext.REDIRECT_LOCATIONS, redirectLocations);
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -51,6 +52,8 @@ class JavascriptActionsTests
     private static final String SCRIPT_GET_ELEMENT_ATTRIBUTES = "var attributes = arguments[0].attributes;"
             + " var map = new Object(); for(i=0; i< attributes.length; i++)"
             + "{ map[attributes[i].name] = attributes[i].value; } return map;";
+    private static final String MAP_ELEMENTS_FORMAT = "var args = arguments;"
+            + " return Array.prototype.map.call(args[0], function(e) {%s})";
     private static final String SCRIPT_SET_TOP_POSITION = "var originTop = arguments[0].getBoundingClientRect().top;"
             + " arguments[0].style.top = \"%dpx\"; return Math.round(originTop);";
 
@@ -257,6 +260,17 @@ class JavascriptActionsTests
         assertEquals(javascriptActions.getElementAttributes(webElement), attributes);
     }
 
+    @Test
+    void testGetElementsAttribute()
+    {
+        List<WebElement> webElements = List.of(mock(WebElement.class));
+        List<String> values = List.of(TEXT);
+        when(((JavascriptExecutor) webDriver).executeScript(String.format(MAP_ELEMENTS_FORMAT,
+                "var value = e[args[1]]; return typeof value === 'string' ? value : e.getAttribute(args[1]);"),
+                webElements, TEXT)).thenReturn(values);
+        assertEquals(values, javascriptActions.getElementsAttribute(webElements, TEXT));
+    }
+
     @Test
     void testSetElementTopPosition()
     {
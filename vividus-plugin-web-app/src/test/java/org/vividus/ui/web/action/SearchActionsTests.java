@@ -19,14 +19,22 @@ package org.vividus.ui.web.action;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +43,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.vividus.ui.web.action.search.ActionAttributeType;
 import org.vividus.ui.web.action.search.ButtonNameSearch;
@@ -46,6 +55,7 @@ import org.vividus.ui.web.action.search.IElementFilterAction;
 import org.vividus.ui.web.action.search.IElementSearchAction;
 import org.vividus.ui.web.action.search.SearchAttributes;
 import org.vividus.ui.web.action.search.SearchParameters;
+import org.vividus.ui.web.action.search.Visibility;
 import org.vividus.ui.web.context.IWebUiContext;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,6 +65,7 @@ class SearchActionsTests
     private static final String XPATH_LOCATOR = "/xpathLocator";
     private static final String LINK_TEXT = "linkText";
     private static final String TEXT_UPPER = "Text";
+    private static final String TOOLTIP = "tooltip";
     private static final By ELEMENT_BY_TEXT_LOCATOR = By.xpath(".//*[contains(normalize-space(text()), 'Text')]");
 
     @Mock
@@ -78,6 +89,12 @@ class SearchActionsTests
     @Mock
     private IWebUiContext webUiContext;
 
+    @Mock
+    private IJavascriptActions javascriptActions;
+
+    @Mock
+    private IWaitActions waitActions;
+
     @InjectMocks
     private SearchActions searchActions;
 
@@ -200,6 +217,84 @@ class SearchActionsTests
         assertEquals(List.of(), foundElements);
     }
 
+    @Test
+    void shouldApplyTranslatableFiltersInBrowser()
+    {
+        createAndSetElementActionsMap();
+        WebElement anotherElement = mock(WebElement.class);
+        List<WebElement> elements = List.of(webElement, anotherElement);
+        when(caseSensitivetextSearch.search(eq(searchContext), any(SearchParameters.class))).thenReturn(elements);
+        when(javascriptActions.executeScript(any(String.class), eq(elements), any(Map.class)))
+                .thenReturn(List.of(Boolean.TRUE, Boolean.FALSE));
+        List<WebElement> list = List.of(webElement);
+        when(((IElementFilterAction) searchAction).filter(list, LINK_TEXT)).thenReturn(list);
+        SearchAttributes attributes = new SearchAttributes(ActionAttributeType.CASE_SENSITIVE_TEXT, TEXT_UPPER)
+                .addFilter(ActionAttributeType.TOOLTIP, TOOLTIP)
+                .addFilter(ActionAttributeType.LINK_URL, LINK_TEXT);
+        assertEquals(list, searchActions.findElements(searchContext, attributes));
+        verify((IElementFilterAction) searchAction, never()).filter(elements, TOOLTIP);
+    }
+
+    @Test
+    void shouldApplyFiltersOneByOneIfBrowserFailsToApplyThem()
+    {
+        createAndSetElementActionsMap();
+        List<WebElement> elements = List.of(webElement);
+        when(caseSensitivetextSearch.search(eq(searchContext), any(SearchParameters.class))).thenReturn(elements);
+        when(javascriptActions.executeScript(any(String.class), eq(elements), any(Map.class)))
+                .thenThrow(new WebDriverException());
+        when(((IElementFilterAction) searchAction).filter(elements, TOOLTIP)).thenReturn(List.of());
+        SearchAttributes attributes = new SearchAttributes(ActionAttributeType.CASE_SENSITIVE_TEXT, TEXT_UPPER)
+                .addFilter(ActionAttributeType.TOOLTIP, TOOLTIP);
+        assertEquals(List.of(), searchActions.findElements(searchContext, attributes));
+    }
+
+    @Test
+    void shouldWaitForChildElementsOfAllElementsInBrowser()
+    {
+        createAndSetElementActionsMap();
+        WebElement anotherElement = mock(WebElement.class);
+        List<WebElement> elements = List.of(webElement, anotherElement);
+        when(caseSensitivetextSearch.search(eq(searchContext), any(SearchParameters.class))).thenReturn(elements);
+        when(javascriptActions.executeScript(any(String.class), eq(elements), any(Map.class)))
+                .thenReturn(Arrays.asList(null, Boolean.FALSE), List.of(Boolean.TRUE, Boolean.FALSE));
+        Duration timeout = Duration.ofSeconds(1);
+        searchActions.setWaitForElementTimeout(timeout);
+        doAnswer(a -> {
+            Function<List<WebElement>, Boolean> condition = a.getArgument(2);
+            assertEquals(Boolean.FALSE, condition.apply(elements));
+            assertEquals(Boolean.TRUE, condition.apply(elements));
+            return new WaitResult<>();
+        }).when(waitActions).wait(eq(elements), eq(timeout), any(Function.class), eq(false));
+        SearchAttributes attributes = new SearchAttributes(ActionAttributeType.CASE_SENSITIVE_TEXT, TEXT_UPPER);
+        attributes.addChildSearchAttributes(new SearchAttributes(ActionAttributeType.XPATH, XPATH_LOCATOR));
+        assertEquals(List.of(webElement), searchActions.findElements(searchContext, attributes));
+        verify(javascriptActions, times(2)).executeScript(any(String.class), eq(elements), any(Map.class));
+        verifyNoInteractions(defaultSearch);
+    }
+
+    @Test
+    void shouldNotMatchElementsWithoutChildElementsWhenWaitForThemIsTimedOut()
+    {
+        createAndSetElementActionsMap();
+        List<WebElement> elements = List.of(webElement);
+        when(caseSensitivetextSearch.search(eq(searchContext), any(SearchParameters.class))).thenReturn(elements);
+        when(javascriptActions.executeScript(any(String.class), eq(elements), any(Map.class)))
+                .thenReturn(Arrays.asList((Boolean) null));
+        Duration timeout = Duration.ZERO;
+        searchActions.setWaitForElementTimeout(timeout);
+        doAnswer(a -> {
+            Function<List<WebElement>, Boolean> condition = a.getArgument(2);
+            assertEquals(Boolean.FALSE, condition.apply(elements));
+            return new WaitResult<>();
+        }).when(waitActions).wait(eq(elements), eq(timeout), any(Function.class), eq(false));
+        SearchAttributes attributes = new SearchAttributes(ActionAttributeType.CASE_SENSITIVE_TEXT, TEXT_UPPER);
+        attributes.addChildSearchAttributes(new SearchAttributes(ActionAttributeType.XPATH,
+                new SearchParameters(XPATH_LOCATOR, Visibility.ALL)));
+        assertEquals(List.of(), searchActions.findElements(searchContext, attributes));
+        verifyNoInteractions(defaultSearch);
+    }
+
     private void createAndSetElementActionsMap()
     {
         Map<IActionAttributeType, IElementAction> map = new HashMap<>();
@@ -208,6 +303,7 @@ class SearchActionsTests
         map.put(ActionAttributeType.LINK_TEXT, searchAction);
         map.put(ActionAttributeType.DEFAULT, defaultSearch);
         map.put(ActionAttributeType.BUTTON_NAME, buttonNameSearch);
+        map.put(ActionAttributeType.TOOLTIP, searchAction);
         searchActions.setElementActions(map);
     }
 }
@@ -16,7 +16,9 @@
 
 package org.vividus.ui.web.action;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -31,6 +33,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Function;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -40,8 +43,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.HasCapabilities;
 import org.openqa.selenium.NoAlertPresentException;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.ScriptTimeoutException;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriver.TargetLocator;
 import org.openqa.selenium.WebDriverException;
@@ -61,6 +66,9 @@ class WaitActionsTests
     private static final String COMPLETE = "complete";
     private static final String INTERACTIVE = "interactive";
     private static final String SCRIPT_READY_STATE = "return document.readyState";
+    private static final String WAIT_FOR_READY_STATE_SCRIPT = "wait-for-document-ready-state.js";
+    private static final String WAIT_FOR_PAGE_TO_START_LOADING_SCRIPT = "wait-for-page-to-start-loading.js";
+    private static final String PAGE_LOAD = "page load";
     private static final long TIMEOUT_VALUE = 1;
     private static final Duration TIMEOUT_SECONDS = Duration.ofSeconds(TIMEOUT_VALUE);
     private static final Duration TIMEOUT_MILLIS = Duration.ofMillis(1);
@@ -87,6 +95,9 @@ class WaitActionsTests
     @Mock
     private IWebDriverManager webDriverManager;
 
+    @Mock
+    private WaitStatistics waitStatistics;
+
     @Mock
     private Wait<SearchContext> wait;
 
@@ -105,6 +116,12 @@ class WaitActionsTests
     @InjectMocks
     private WaitActions waitActions;
 
+    @BeforeEach
+    void beforeEach()
+    {
+        waitActions.setReadyStateChangeTimeout(TIMEOUT_SECONDS);
+    }
+
     @Test
     void testWaitWith4Parameters()
     {
@@ -367,6 +384,131 @@ class WaitActionsTests
         verify(spy, never()).sleepForTimeout(Duration.ofDays(TIMEOUT_VALUE));
     }
 
+    @Test
+    void shouldWaitForDocumentReadyStateUsingAsyncScript()
+    {
+        mockDescriptiveWait(ChronoUnit.DAYS);
+        when(javascriptActions.executeAsyncScriptFromResource(WaitActions.class, WAIT_FOR_READY_STATE_SCRIPT, false,
+                TIMEOUT_SECONDS.toMillis())).thenReturn("loading").thenReturn(COMPLETE);
+        waitActions.waitForPageLoad(webDriver);
+        verify(javascriptActions, never()).executeScript(SCRIPT_READY_STATE);
+        verify(waitStatistics).record(eq(PAGE_LOAD), any(Duration.class));
+    }
+
+    @Test
+    void shouldFallBackToPollingOfDocumentReadyStateIfAsyncScriptsAreNotSupported()
+    {
+        mockDescriptiveWait(ChronoUnit.DAYS);
+        when(javascriptActions.executeAsyncScriptFromResource(WaitActions.class, WAIT_FOR_READY_STATE_SCRIPT, false,
+                TIMEOUT_SECONDS.toMillis())).thenThrow(new UnsupportedCommandException());
+        when(javascriptActions.executeScript(SCRIPT_READY_STATE)).thenReturn(COMPLETE);
+        waitActions.waitForPageLoad(webDriver);
+        verify(webDriver, never()).switchTo();
+    }
+
+    @Test
+    void shouldFallBackToPollingOfDocumentReadyStateIfAsyncScriptTimesOut()
+    {
+        mockDescriptiveWait(ChronoUnit.DAYS);
+        when(javascriptActions.executeAsyncScriptFromResource(WaitActions.class, WAIT_FOR_READY_STATE_SCRIPT, false,
+                TIMEOUT_SECONDS.toMillis())).thenThrow(new ScriptTimeoutException());
+        when(javascriptActions.executeScript(SCRIPT_READY_STATE)).thenReturn(COMPLETE);
+        waitActions.waitForPageLoad(webDriver);
+        verify(webDriver, never()).switchTo();
+    }
+
+    @Test
+    void shouldSwitchToDefaultContentIfAsyncScriptFails()
+    {
+        when(webDriver.switchTo()).thenReturn(targetLocator);
+        mockDescriptiveWait(ChronoUnit.DAYS);
+        when(javascriptActions.executeAsyncScriptFromResource(WaitActions.class, WAIT_FOR_READY_STATE_SCRIPT, false,
+                TIMEOUT_SECONDS.toMillis())).thenThrow(new WebDriverException()).thenReturn(COMPLETE);
+        waitActions.waitForPageLoad(webDriver);
+        verify(targetLocator).defaultContent();
+    }
+
+    @Test
+    void shouldNotSleepIfPageStartsToLoadBeforeTimeout()
+    {
+        configureWaitActions();
+        spy = Mockito.spy(waitActions);
+        mockDescriptiveWait(ChronoUnit.DAYS);
+        Mockito.lenient().when(webDriverManager.isTypeAnyOf(WebDriverType.CHROME)).thenReturn(true);
+        when(javascriptActions.executeScript(SCRIPT_READY_STATE)).thenReturn(COMPLETE);
+        when(javascriptActions.executeAsyncScriptFromResource(WaitActions.class,
+                WAIT_FOR_PAGE_TO_START_LOADING_SCRIPT, TIMEOUT_MILLIS.toMillis())).thenReturn(true);
+        when(javascriptActions.executeAsyncScriptFromResource(WaitActions.class, WAIT_FOR_READY_STATE_SCRIPT, false,
+                TIMEOUT_SECONDS.toMillis())).thenReturn(COMPLETE);
+        spy.waitForPageLoad(webDriver);
+        verify(spy, never()).sleepForTimeout(TIMEOUT_MILLIS);
+        verify(waitStatistics).record(eq("page starts to load"), any(Duration.class));
+    }
+
+    @Test
+    void shouldNotSleepIfPageIsUnloadedWhileWaitingForPageToStartLoading()
+    {
+        configureWaitActions();
+        spy = Mockito.spy(waitActions);
+        mockDescriptiveWait(ChronoUnit.DAYS);
+        when(webDriverManager.isIOS()).thenReturn(true);
+        when(javascriptActions.executeScript(SCRIPT_READY_STATE)).thenReturn(COMPLETE);
+        when(javascriptActions.executeAsyncScriptFromResource(WaitActions.class,
+                WAIT_FOR_PAGE_TO_START_LOADING_SCRIPT, TIMEOUT_MILLIS.toMillis()))
+                .thenThrow(new WebDriverException("document unloaded while waiting for result"));
+        when(javascriptActions.executeAsyncScriptFromResource(WaitActions.class, WAIT_FOR_READY_STATE_SCRIPT, false,
+                TIMEOUT_SECONDS.toMillis())).thenReturn(COMPLETE);
+        spy.waitForPageLoad(webDriver);
+        verify(spy, never()).sleepForTimeout(TIMEOUT_MILLIS);
+    }
+
+    @Test
+    void shouldSleepIfScriptWaitingForPageToStartLoadingTimesOut()
+    {
+        configureWaitActions();
+        spy = Mockito.spy(waitActions);
+        mockDescriptiveWait(ChronoUnit.DAYS);
+        when(webDriverManager.isIOS()).thenReturn(true);
+        when(javascriptActions.executeScript(SCRIPT_READY_STATE)).thenReturn(COMPLETE);
+        when(javascriptActions.executeAsyncScriptFromResource(WaitActions.class,
+                WAIT_FOR_PAGE_TO_START_LOADING_SCRIPT, TIMEOUT_MILLIS.toMillis()))
+                .thenThrow(new ScriptTimeoutException());
+        when(javascriptActions.executeAsyncScriptFromResource(WaitActions.class, WAIT_FOR_READY_STATE_SCRIPT, false,
+                TIMEOUT_SECONDS.toMillis())).thenReturn(COMPLETE);
+        spy.waitForPageLoad(webDriver);
+        verify(spy).sleepForTimeout(TIMEOUT_MILLIS);
+    }
+
+    @Test
+    void shouldRecordWaitDuration()
+    {
+        when(waitFactory.createWait(searchContext, TIMEOUT_SECONDS)).thenReturn(wait);
+        Function<SearchContext, Boolean> condition = new Function<>()
+        {
+            @Override
+            public Boolean apply(SearchContext context)
+            {
+                return true;
+            }
+
+            @Override
+            public String toString()
+            {
+                return "element located by xpath(//div[@id='unique']) is visible";
+            }
+        };
+        when(wait.until(condition)).thenThrow(new TimeoutException());
+        waitActions.wait(searchContext, TIMEOUT_SECONDS, condition, false);
+        verify(waitStatistics).record(eq("shouldRecordWaitDuration"), argThat(duration -> !duration.isNegative()));
+    }
+
+    @Test
+    void shouldUseConditionClassAsWaitKind()
+    {
+        Function<SearchContext, Boolean> condition = context -> true;
+        assertEquals("WaitActionsTests", WaitActions.getWaitKind(condition));
+    }
+
     private void mockException(Class<? extends Exception> clazz)
     {
         Exception exception = mock(clazz);
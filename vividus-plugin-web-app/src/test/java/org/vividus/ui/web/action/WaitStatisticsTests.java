@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.ui.web.action;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.vividus.util.statistic.DurationHistogram;
+
+class WaitStatisticsTests
+{
+    private static final String PAGE_LOAD = "page load";
+
+    @Test
+    void shouldGroupDurationsByCondition()
+    {
+        WaitStatistics waitStatistics = new WaitStatistics();
+        waitStatistics.record(PAGE_LOAD, Duration.ofMillis(100));
+        waitStatistics.record(PAGE_LOAD, Duration.ofMillis(300));
+        waitStatistics.record("new window is opening", Duration.ofMillis(50));
+        Map<String, DurationHistogram> histograms = waitStatistics.getHistograms();
+        assertEquals(2, histograms.size());
+        DurationHistogram pageLoad = histograms.get(PAGE_LOAD);
+        assertEquals(2, pageLoad.getCount());
+        assertEquals(Duration.ofMillis(200), pageLoad.getMean());
+        waitStatistics.publish();
+    }
+}
@@ -151,6 +151,25 @@ class WebElementActionsTests
         assertNull(webElementActions.getCssValue(null, PROPERTY_NAME));
     }
 
+    @Test
+    void testGetCssValues()
+    {
+        List<WebElement> webElements = List.of(webElement, webElement);
+        when(javascriptActions.executeScript("var args = arguments;"
+                + " return Array.prototype.map.call(args[0], function(e) {"
+                + " return window.getComputedStyle(e).getPropertyValue(args[1]); })", webElements, PROPERTY_NAME))
+                .thenReturn(List.of("some 'value' with \"quotes\"", TEXT));
+        assertEquals(List.of("some value with quotes", TEXT), webElementActions.getCssValues(webElements,
+                PROPERTY_NAME));
+    }
+
+    @Test
+    void testGetCssValuesOfNoElements()
+    {
+        assertEquals(List.of(), webElementActions.getCssValues(List.of(), PROPERTY_NAME));
+        verifyNoInteractions(javascriptActions);
+    }
+
     @Test
     void testTypeTextNotSafari()
     {
@@ -132,7 +132,7 @@ class ButtonNameSearchTests
                 parametersWithCapitalLetter.getValue());
         doReturn(webElements).when(buttonNameSearch).findElements(searchContext, BUTTON_LOCATOR, buttonParameters);
         List<WebElement> foundElements = buttonNameSearch.search(searchContext, buttonParameters);
-        doReturn(CAPITALIZE).when(webElementActions).getCssValue(webElement, TEXT_TRANSFORM);
+        doReturn(List.of(CAPITALIZE)).when(webElementActions).getCssValues(webElements, TEXT_TRANSFORM);
         doReturn(List.of()).when(buttonNameSearch).findElements(searchContext,
                 LocatorUtil.getXPathLocator(BUTTON_WITH_ANY_ATTRIBUTE_NAME_XPATH, VALUE_WITH_CAPITAL_LETTER),
                 buttonParametersWithCapitalLetter);
@@ -17,11 +17,13 @@
 package org.vividus.ui.web.action.search;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -50,6 +52,7 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.vividus.selenium.IWebDriverProvider;
 import org.vividus.ui.web.action.IExpectedConditions;
@@ -132,7 +135,7 @@ class ElementSearchActionTests
         parameters = new SearchParameters(TEXT.toLowerCase());
         mockFoundElements();
         doReturn(List.of()).when(spy).findElements(searchContext, ELEMENT_BY_TEXT_LOCATOR, parameters);
-        when(webElementActions.getCssValue(webElement, TEXT_TRANSFORM)).thenReturn(CAPITALIZE);
+        when(webElementActions.getCssValues(webElements, TEXT_TRANSFORM)).thenReturn(List.of(CAPITALIZE));
         List<WebElement> foundElements = spy.findElementsByText(searchContext, ELEMENT_BY_TEXT_LOCATOR,
                 parameters, ANY_TEXT);
         assertNotEquals(webElements, foundElements);
@@ -149,6 +152,7 @@ class ElementSearchActionTests
         parameters = new SearchParameters("");
         mockFoundElements();
         doReturn(List.of()).when(spy).findElements(searchContext, ELEMENT_BY_TEXT_LOCATOR, parameters);
+        when(webElementActions.getCssValues(webElements, TEXT_TRANSFORM)).thenReturn(singletonList(null));
         List<WebElement> foundElements = spy.findElementsByText(searchContext, ELEMENT_BY_TEXT_LOCATOR,
                 parameters, ANY_TEXT);
         assertEquals(webElements, foundElements);
@@ -164,7 +168,7 @@ class ElementSearchActionTests
         when(waitActions.wait(eq(searchContext), eq(TIMEOUT), any(), eq(false))).thenReturn(result);
         mockFoundElements();
         doReturn(List.of()).when(spy).findElements(searchContext, ELEMENT_BY_TEXT_LOCATOR, parameters);
-        when(webElementActions.getCssValue(webElement, TEXT_TRANSFORM)).thenReturn(UPPERCASE);
+        when(webElementActions.getCssValues(webElements, TEXT_TRANSFORM)).thenReturn(List.of(UPPERCASE));
         List<WebElement> foundElements = spy.findElementsByText(searchContext, ELEMENT_BY_TEXT_LOCATOR,
                 parameters, ANY_TEXT);
         assertNotEquals(webElements, foundElements);
@@ -180,7 +184,7 @@ class ElementSearchActionTests
         when(waitActions.wait(eq(searchContext), eq(TIMEOUT), any(), eq(false))).thenReturn(result);
         mockFoundElements();
         doReturn(List.of()).when(spy).findElements(searchContext, ELEMENT_BY_TEXT_LOCATOR, parameters);
-        when(webElementActions.getCssValue(webElement, TEXT_TRANSFORM)).thenReturn(LOWERCASE);
+        when(webElementActions.getCssValues(webElements, TEXT_TRANSFORM)).thenReturn(List.of(LOWERCASE));
         List<WebElement> foundElements = spy.findElementsByText(searchContext, ELEMENT_BY_TEXT_LOCATOR,
                 parameters, ANY_TEXT);
         assertNotEquals(webElements, foundElements);
@@ -196,7 +200,7 @@ class ElementSearchActionTests
         when(waitActions.wait(eq(searchContext), eq(TIMEOUT), any(), eq(false))).thenReturn(result);
         mockFoundElements();
         doReturn(List.of()).when(spy).findElements(searchContext, ELEMENT_BY_TEXT_LOCATOR, parameters);
-        when(webElementActions.getCssValue(webElement, TEXT_TRANSFORM)).thenReturn("");
+        when(webElementActions.getCssValues(webElements, TEXT_TRANSFORM)).thenReturn(List.of(""));
         List<WebElement> foundElements = spy.findElementsByText(searchContext, ELEMENT_BY_TEXT_LOCATOR,
                 parameters, ANY_TEXT);
         assertNotEquals(webElements, foundElements);
@@ -382,6 +386,39 @@ class ElementSearchActionTests
         assertThat(logger.getLoggingEvents().get(0), equalTo(info(TOTAL_NUMBER_OF_ELEMENTS, locator, 1)));
     }
 
+    @Test
+    void shouldFilterElementsByVisibilityUsingSingleScript()
+    {
+        WebElement element1 = mock(WebElement.class);
+        WebElement element2 = mock(WebElement.class);
+        List<WebElement> elements = List.of(element1, element2);
+        when(searchContext.findElements(locator)).thenReturn(elements);
+        when(javascriptActions.executeScript(argThat(script -> script.startsWith("var isDisplayed = (")),
+                eq(elements), eq(Boolean.FALSE))).thenReturn(List.of(Boolean.FALSE, Boolean.TRUE));
+        List<WebElement> foundElements = elementSearchAction.findElements(searchContext, locator,
+                new SearchParameters().setWaitForElement(false).setVisibility(Visibility.INVISIBLE));
+        assertEquals(List.of(element2), foundElements);
+        verifyNoInteractions(element1, element2);
+        assertThat(logger.getLoggingEvents(), equalTo(List.of(info(TOTAL_NUMBER_OF_ELEMENTS, locator, 2))));
+    }
+
+    @Test
+    void shouldFilterElementsByVisibilityOneByOneIfScriptFails()
+    {
+        WebElement element1 = mock(WebElement.class);
+        WebElement element2 = mock(WebElement.class);
+        List<WebElement> elements = List.of(element1, element2);
+        when(searchContext.findElements(locator)).thenReturn(elements);
+        when(javascriptActions.executeScript(any(String.class), eq(elements), eq(Boolean.TRUE)))
+                .thenThrow(new WebDriverException());
+        when(element1.isDisplayed()).thenReturn(Boolean.TRUE);
+        when(element2.isDisplayed()).thenReturn(Boolean.FALSE);
+        List<WebElement> foundElements = elementSearchAction.findElements(searchContext, locator,
+                new SearchParameters().setWaitForElement(false));
+        assertEquals(List.of(element1), foundElements);
+        verify(javascriptActions).scrollIntoView(element2, true);
+    }
+
     @Test
     void testFindElementsByTextCapitalizeCase()
     {
@@ -390,7 +427,7 @@ class ElementSearchActionTests
         when(waitActions.wait(eq(searchContext), eq(TIMEOUT), any(), eq(false))).thenReturn(result);
         mockFoundElements();
         doReturn(List.of()).when(spy).findElements(searchContext, ELEMENT_BY_TEXT_LOCATOR, parameters);
-        when(webElementActions.getCssValue(webElement, TEXT_TRANSFORM)).thenReturn(CAPITALIZE);
+        when(webElementActions.getCssValues(webElements, TEXT_TRANSFORM)).thenReturn(List.of(CAPITALIZE));
         List<WebElement> foundElements = spy.findElementsByText(searchContext, ELEMENT_BY_TEXT_LOCATOR,
                 parameters, ANY_TEXT);
         assertEquals(webElements, foundElements);
@@ -407,7 +444,7 @@ class ElementSearchActionTests
         parameters = new SearchParameters(TEXT.toUpperCase());
         mockFoundElements();
         doReturn(List.of()).when(spy).findElements(searchContext, ELEMENT_BY_TEXT_LOCATOR, parameters);
-        when(webElementActions.getCssValue(webElement, TEXT_TRANSFORM)).thenReturn(UPPERCASE);
+        when(webElementActions.getCssValues(webElements, TEXT_TRANSFORM)).thenReturn(List.of(UPPERCASE));
         List<WebElement> foundElements = spy.findElementsByText(searchContext, ELEMENT_BY_TEXT_LOCATOR,
                 parameters, ANY_TEXT);
         assertEquals(webElements, foundElements);
@@ -424,7 +461,7 @@ class ElementSearchActionTests
         parameters = new SearchParameters(TEXT.toLowerCase());
         mockFoundElements();
         doReturn(List.of()).when(spy).findElements(searchContext, ELEMENT_BY_TEXT_LOCATOR, parameters);
-        when(webElementActions.getCssValue(webElement, TEXT_TRANSFORM)).thenReturn(LOWERCASE);
+        when(webElementActions.getCssValues(webElements, TEXT_TRANSFORM)).thenReturn(List.of(LOWERCASE));
         List<WebElement> foundElements = spy.findElementsByText(searchContext, ELEMENT_BY_TEXT_LOCATOR,
                 parameters, ANY_TEXT);
         assertEquals(webElements, foundElements);
@@ -17,6 +17,7 @@
 package org.vividus.ui.web.action.search;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -42,6 +43,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebElement;
+import org.vividus.ui.web.action.IJavascriptActions;
 import org.vividus.ui.web.util.LocatorUtil;
 
 @ExtendWith({ MockitoExtension.class, TestLoggerFactoryExtension.class })
@@ -69,6 +71,9 @@ class LinkUrlPartSearchTests
     @Mock
     private SearchParameters parameters;
 
+    @Mock
+    private IJavascriptActions javascriptActions;
+
     @Spy
     private LinkUrlPartSearch spy;
 
@@ -109,7 +114,7 @@ class LinkUrlPartSearchTests
     @Test
     void testSearchLinksByUrlPartNoHref()
     {
-        when(webElement.getAttribute(HREF)).thenReturn(null);
+        when(javascriptActions.getElementsAttribute(webElements, HREF)).thenReturn(singletonList(null));
         List<WebElement> foundElements = search.filter(webElements, URL_PART);
         assertTrue(foundElements.isEmpty());
     }
@@ -149,7 +154,7 @@ class LinkUrlPartSearchTests
     private List<WebElement> captureFoundElements(Boolean equals, String url, String actualHref, String currentUrl)
     {
         search.setCaseSensitiveSearch(equals);
-        when(webElement.getAttribute(actualHref)).thenReturn(url);
+        when(javascriptActions.getElementsAttribute(webElements, actualHref)).thenReturn(List.of(url));
         return search.filter(webElements, currentUrl);
     }
 }
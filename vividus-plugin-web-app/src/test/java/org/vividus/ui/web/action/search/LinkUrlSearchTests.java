@@ -17,6 +17,7 @@
 package org.vividus.ui.web.action.search;
 
 import static com.github.valfirst.slf4jtest.LoggingEvent.info;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -52,7 +53,7 @@ import org.openqa.selenium.WebElement;
 import org.vividus.selenium.IWebDriverProvider;
 import org.vividus.ui.web.action.IExpectedConditions;
 import org.vividus.ui.web.action.IExpectedSearchContextCondition;
-import org.vividus.ui.web.action.JavascriptActions;
+import org.vividus.ui.web.action.IJavascriptActions;
 import org.vividus.ui.web.action.WaitActions;
 import org.vividus.ui.web.action.WaitResult;
 
@@ -96,6 +97,9 @@ class LinkUrlSearchTests
     @Mock
     private IExpectedConditions<By> expectedSearchContextConditions;
 
+    @Mock
+    private IJavascriptActions javascriptActions;
+
     @InjectMocks
     private LinkUrlSearch search;
 
@@ -117,7 +121,7 @@ class LinkUrlSearchTests
     @MethodSource("hrefProvider")
     void testGetCurrentHrefDifferentScheme(String expected, String href, String currentUrl)
     {
-        when(webElement.getAttribute(HREF)).thenReturn(href);
+        mockHrefs(href);
         search.setCaseSensitiveSearch(true);
         when(webDriverProvider.get()).thenReturn(webDriver);
         when(webDriver.getCurrentUrl()).thenReturn(currentUrl);
@@ -174,7 +178,7 @@ class LinkUrlSearchTests
     @Test
     void testFilterLinksNullHrefAttribute()
     {
-        when(webElement.getAttribute(HREF)).thenReturn(null);
+        when(javascriptActions.getElementsAttribute(List.of(webElement), HREF)).thenReturn(singletonList(null));
         mockGetCurrentUrl();
         List<WebElement> webElements = List.of(webElement);
         List<WebElement> foundElements = search.filter(webElements, URL_PATH);
@@ -184,7 +188,7 @@ class LinkUrlSearchTests
     @Test
     void testFilterLinksByHttpsUrl()
     {
-        when(webElement.getAttribute(HREF)).thenReturn(SIMPLE_URL_WITH_PATH);
+        mockHrefs(SIMPLE_URL_WITH_PATH);
         search.setCaseSensitiveSearch(true);
         when(webDriverProvider.get()).thenReturn(webDriver);
         when(webDriver.getCurrentUrl()).thenReturn(SIMPLE_URL);
@@ -196,7 +200,7 @@ class LinkUrlSearchTests
     @Test
     void testGetCurrentHrefMalformedUrl()
     {
-        when(webElement.getAttribute(HREF)).thenReturn(URL);
+        mockHrefs(URL);
         when(webDriverProvider.get()).thenReturn(webDriver);
         when(webDriver.getCurrentUrl()).thenReturn("data,;");
         List<WebElement> webElements = List.of(webElement);
@@ -207,7 +211,7 @@ class LinkUrlSearchTests
     void testSearchLinksByUrlPartNotMatchCaseInsensitive()
     {
         search.setCaseSensitiveSearch(false);
-        when(webElement.getAttribute(HREF)).thenReturn(SIMPLE_URL);
+        mockHrefs(SIMPLE_URL);
         mockGetCurrentUrl();
         List<WebElement> foundElements = search.filter(List.of(webElement), URL_PATH);
         assertTrue(foundElements.isEmpty());
@@ -217,7 +221,7 @@ class LinkUrlSearchTests
     void testSearchLinksByUrlPartNotMatch()
     {
         search.setCaseSensitiveSearch(true);
-        when(webElement.getAttribute(HREF)).thenReturn(SIMPLE_URL);
+        mockHrefs(SIMPLE_URL);
         mockGetCurrentUrl();
         List<WebElement> foundElements = search.filter(List.of(webElement), URL_PATH);
         assertTrue(foundElements.isEmpty());
@@ -234,7 +238,7 @@ class LinkUrlSearchTests
     void testSearchLinksByUrlHrefEqualLinkUrl()
     {
         search.setCaseSensitiveSearch(true);
-        when(webElement.getAttribute(HREF)).thenReturn(URL);
+        mockHrefs(URL);
         mockGetCurrentUrl();
         List<WebElement> webElements = List.of(webElement);
         List<WebElement> foundElements = search.filter(webElements, URL);
@@ -245,7 +249,7 @@ class LinkUrlSearchTests
     void testSearchLinksByUrlHrefEqualLinkUrlCaseInsensitive()
     {
         search.setCaseSensitiveSearch(false);
-        when(webElement.getAttribute(HREF)).thenReturn(URL);
+        mockHrefs(URL);
         mockGetCurrentUrl();
         List<WebElement> webElements = List.of(webElement);
         List<WebElement> foundElements = search.filter(webElements, URL);
@@ -256,7 +260,7 @@ class LinkUrlSearchTests
     void testSearchLinksByUrlHrefEqualLinkUrlAbsolute()
     {
         search.setCaseSensitiveSearch(true);
-        when(webElement.getAttribute(HREF)).thenReturn(URL_WITH_SLASH);
+        mockHrefs(URL_WITH_SLASH);
         mockGetCurrentUrl();
         List<WebElement> foundElements = search.filter(List.of(webElement), SIMPLE_URL);
         assertEquals(List.of(webElement), foundElements);
@@ -266,7 +270,7 @@ class LinkUrlSearchTests
     void testSearchLinksByUrlHrefEqualLinkUrlWithQuery()
     {
         search.setCaseSensitiveSearch(true);
-        when(webElement.getAttribute(HREF)).thenReturn(URL_WITH_QUERY);
+        mockHrefs(URL_WITH_QUERY);
         mockGetCurrentUrl();
         List<WebElement> webElements = List.of(webElement);
         List<WebElement> foundElements = search.filter(webElements, URL_WITH_QUERY);
@@ -277,7 +281,7 @@ class LinkUrlSearchTests
     void testSearchLinksByUrlHrefEqualLinkUrlOpaque()
     {
         search.setCaseSensitiveSearch(true);
-        when(webElement.getAttribute(HREF)).thenReturn(URL_OPAQUE);
+        mockHrefs(URL_OPAQUE);
         mockGetCurrentUrl();
         List<WebElement> webElements = List.of(webElement);
         List<WebElement> foundElements = search.filter(webElements, URL_OPAQUE);
@@ -296,10 +300,14 @@ class LinkUrlSearchTests
         when(result.getData()).thenReturn(List.of(webElement));
         search.setCaseSensitiveSearch(true);
         search.search(searchContext, new SearchParameters(URL));
-        JavascriptActions javascriptActions = mock(JavascriptActions.class);
         verify(javascriptActions, never()).scrollIntoView(webElement, true);
     }
 
+    private void mockHrefs(String href)
+    {
+        when(javascriptActions.getElementsAttribute(List.of(webElement), HREF)).thenReturn(List.of(href));
+    }
+
     private void mockGetCurrentUrl()
     {
         when(webDriverProvider.get()).thenReturn(webDriver);
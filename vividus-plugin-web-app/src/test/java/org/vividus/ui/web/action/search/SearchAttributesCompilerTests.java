@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vividus.ui.web.action.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SearchAttributesCompilerTests
+{
+    private static final String XPATH = "//div";
+    private static final String FILTERS = "filters";
+    private static final String CHILDREN = "children";
+    private static final String TOOLTIP = "tooltip";
+    private static final String TEXT = "text";
+    private static final String STATE = "ENABLED";
+    private static final String LOCATOR_TYPE = "locatorType";
+    private static final String LOCATOR = "locator";
+    private static final String VISIBILITY = "visibility";
+    private static final String WAIT_FOR_ELEMENT = "waitForElement";
+
+    @Test
+    void shouldTranslateFiltersExpressedViaAttributesAndProperties()
+    {
+        SearchAttributes searchAttributes = new SearchAttributes(ActionAttributeType.XPATH, XPATH)
+                .addFilter(ActionAttributeType.TOOLTIP, TOOLTIP)
+                .addFilter(ActionAttributeType.FIELD_TEXT_PART, TEXT)
+                .addFilter(ActionAttributeType.PLACEHOLDER, "")
+                .addFilter(ActionAttributeType.STATE, STATE);
+        CompiledSearchAttributes compiled = SearchAttributesCompiler.compile(searchAttributes);
+        assertEquals(Map.of(FILTERS, List.of(
+                Map.of("source", "attribute", "name", "title", "match", "equals", "value", TOOLTIP),
+                Map.of("source", "property", "name", "value", "match", "contains", "value", TEXT)),
+                CHILDREN, List.of()), compiled.getQuery());
+        assertEquals(Map.of(ActionAttributeType.STATE, List.of(STATE)), compiled.getRemainingFilterAttributes());
+        assertEquals(List.of(), compiled.getRemainingChildSearchAttributes());
+        assertFalse(compiled.isQueryEmpty());
+        assertFalse(compiled.isWaitForElement());
+    }
+
+    @Test
+    void shouldTranslateChildSearches()
+    {
+        SearchAttributes searchAttributes = new SearchAttributes(ActionAttributeType.XPATH, XPATH);
+        SearchAttributes child = new SearchAttributes(ActionAttributeType.CSS_SELECTOR,
+                new SearchParameters("a", Visibility.ALL, false)).addFilter(ActionAttributeType.IMAGE_SRC_PART, "png");
+        searchAttributes.addChildSearchAttributes(child);
+        SearchAttributes waitingChild = new SearchAttributes(ActionAttributeType.XPATH, new SearchParameters(XPATH));
+        searchAttributes.addChildSearchAttributes(waitingChild);
+        SearchAttributes childWithStateFilter = new SearchAttributes(ActionAttributeType.TAG_NAME,
+                new SearchParameters("input", Visibility.VISIBLE, false)).addFilter(ActionAttributeType.STATE, STATE);
+        searchAttributes.addChildSearchAttributes(childWithStateFilter);
+        CompiledSearchAttributes compiled = SearchAttributesCompiler.compile(searchAttributes);
+        assertEquals(Map.of(FILTERS, List.of(), CHILDREN, List.of(Map.of(
+                LOCATOR_TYPE, "css",
+                LOCATOR, "a",
+                VISIBILITY, "ALL",
+                WAIT_FOR_ELEMENT, false,
+                FILTERS, List.of(Map.of("source", "url", "name", "src", "match", "contains", "value", "png")),
+                CHILDREN, List.of()), Map.of(
+                LOCATOR_TYPE, "xpath",
+                LOCATOR, XPATH,
+                VISIBILITY, "VISIBLE",
+                WAIT_FOR_ELEMENT, true,
+                FILTERS, List.of(),
+                CHILDREN, List.of()))), compiled.getQuery());
+        assertEquals(List.of(childWithStateFilter), compiled.getRemainingChildSearchAttributes());
+        assertTrue(compiled.isWaitForElement());
+    }
+
+    @Test
+    void shouldWaitForElementIfNestedChildSearchWaitsForIt()
+    {
+        SearchAttributes searchAttributes = new SearchAttributes(ActionAttributeType.XPATH, XPATH);
+        SearchAttributes child = new SearchAttributes(ActionAttributeType.XPATH,
+                new SearchParameters(XPATH, Visibility.ALL, false));
+        child.addChildSearchAttributes(new SearchAttributes(ActionAttributeType.XPATH, XPATH));
+        searchAttributes.addChildSearchAttributes(child);
+        CompiledSearchAttributes compiled = SearchAttributesCompiler.compile(searchAttributes);
+        assertEquals(List.of(), compiled.getRemainingChildSearchAttributes());
+        assertTrue(compiled.isWaitForElement());
+    }
+
+    @Test
+    void shouldReturnEmptyQueryIfNothingIsTranslatable()
+    {
+        SearchAttributes searchAttributes = new SearchAttributes(ActionAttributeType.XPATH, XPATH)
+                .addFilter(ActionAttributeType.TEXT_PART, TEXT);
+        CompiledSearchAttributes compiled = SearchAttributesCompiler.compile(searchAttributes);
+        assertTrue(compiled.isQueryEmpty());
+        assertEquals(searchAttributes.getFilterAttributes(), compiled.getRemainingFilterAttributes());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ru.yandex.qatools.ashot.shooting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import ru.yandex.qatools.ashot.coordinates.Coords;
+import ru.yandex.qatools.ashot.util.ImageTool;
+
+@ExtendWith(MockitoExtension.class)
+class DebuggingViewportPastingDecoratorTests
+{
+    private static final int WIDTH = 2;
+    private static final int VIEWPORT_HEIGHT = 2;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @Mock(extraInterfaces = { JavascriptExecutor.class, TakesScreenshot.class })
+    private WebDriver webDriver;
+
+    @AfterEach
+    void afterEach()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldDecodeAndPasteTilesOnTileProcessingExecutor() throws IOException
+    {
+        when(((TakesScreenshot) webDriver).getScreenshotAs(OutputType.BYTES)).thenReturn(createTile(Color.RED))
+                .thenReturn(createTile(Color.BLUE));
+        AtomicInteger processedTiles = new AtomicInteger();
+        DebuggingViewportPastingDecorator decorator = new TestDecorator(ShootingStrategies.simple())
+                .withTileProcessingExecutor(task -> executor.execute(() -> {
+                    processedTiles.incrementAndGet();
+                    task.run();
+                }));
+        BufferedImage screenshot = decorator.getScreenshot(webDriver);
+        assertEquals(2, processedTiles.get());
+        assertEquals(Color.RED.getRGB(), screenshot.getRGB(0, 0));
+        assertEquals(Color.BLUE.getRGB(), screenshot.getRGB(WIDTH - 1, 2 * VIEWPORT_HEIGHT - 1));
+    }
+
+    @Test
+    void shouldRethrowTileProcessingFailure() throws IOException
+    {
+        when(((TakesScreenshot) webDriver).getScreenshotAs(OutputType.BYTES)).thenReturn(createTile(Color.RED));
+        IllegalStateException exception = new IllegalStateException("Unable to decode tile");
+        DebuggingViewportPastingDecorator decorator = new TestDecorator(new ShootingStrategy()
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public BufferedImage getScreenshot(WebDriver wd)
+            {
+                assertTrue(wd instanceof TakesScreenshot);
+                throw exception;
+            }
+
+            @Override
+            public BufferedImage getScreenshot(WebDriver wd, Set<Coords> coords)
+            {
+                return getScreenshot(wd);
+            }
+
+            @Override
+            public Set<Coords> prepareCoords(Set<Coords> coordsSet)
+            {
+                return coordsSet;
+            }
+        }).withTileProcessingExecutor(executor);
+        assertEquals(exception, assertThrows(IllegalStateException.class, () -> decorator.getScreenshot(webDriver)));
+    }
+
+    private static byte[] createTile(Color color) throws IOException
+    {
+        BufferedImage tile = new BufferedImage(WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
+        for (int x = 0; x < WIDTH; x++)
+        {
+            for (int y = 0; y < VIEWPORT_HEIGHT; y++)
+            {
+                tile.setRGB(x, y, color.getRGB());
+            }
+        }
+        return ImageTool.toByteArray(tile);
+    }
+
+    private static final class TestDecorator extends DebuggingViewportPastingDecorator
+    {
+        private static final long serialVersionUID = 1L;
+
+        private int scrollY;
+
+        private TestDecorator(ShootingStrategy strategy)
+        {
+            super(strategy);
+        }
+
+        @Override
+        public int getFullHeight(WebDriver driver)
+        {
+            return 2 * VIEWPORT_HEIGHT;
+        }
+
+        @Override
+        public int getFullWidth(WebDriver driver)
+        {
+            return WIDTH;
+        }
+
+        @Override
+        public int getWindowHeight(WebDriver driver)
+        {
+            return VIEWPORT_HEIGHT;
+        }
+
+        @Override
+        protected int getCurrentScrollY(JavascriptExecutor js)
+        {
+            return scrollY;
+        }
+
+        @Override
+        protected void scrollVertically(JavascriptExecutor js, int scrollY)
+        {
+            this.scrollY = scrollY;
+        }
+    }
+}
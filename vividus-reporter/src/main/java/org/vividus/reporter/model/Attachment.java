@@ -16,6 +16,8 @@
 
 package org.vividus.reporter.model;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.URLConnection;
 
 import com.google.common.io.Files;
@@ -50,6 +52,11 @@ public class Attachment
         return ArrayUtils.clone(content);
     }
 
+    public InputStream getContentAsStream()
+    {
+        return new ByteArrayInputStream(content);
+    }
+
     public String getTitle()
     {
         return title;
@@ -19,6 +19,8 @@ package org.vividus.reporter.model;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
@@ -39,6 +41,15 @@ class AttachmentTests
         assertArrayEquals(CONTENT, attachment.getContent());
     }
 
+    @Test
+    void testGetContentAsStream() throws IOException
+    {
+        try (InputStream content = attachment.getContentAsStream())
+        {
+            assertArrayEquals(CONTENT, content.readAllBytes());
+        }
+    }
+
     @Test
     void testGetTitle()
     {
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.output.NullOutputStream;
+
+/**
+ * Checksums of the resource contents remembered by the resource URLs. The checksum of the file resource is
+ * calculated anew only if the modification time or the size of the file is changed since the previous calculation.
+ * The resources of other types (e.g. the entries of the archives) are not expected to be changed during the run, so
+ * their checksums are calculated once.
+ */
+public class ResourceChecksums
+{
+    private static final String FILE_PROTOCOL = "file";
+    private static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    private final Map<String, Checksum> checksums = new ConcurrentHashMap<>();
+
+    /**
+     * Gets checksum of the resource content
+     * @param resourceUrl URL of the resource
+     * @return Checksum of the resource content
+     * @throws IOException If an I/O error occurs while the resource is read
+     */
+    public String getChecksum(URL resourceUrl) throws IOException
+    {
+        String key = resourceUrl.toExternalForm();
+        FileVersion fileVersion = getFileVersion(resourceUrl);
+        Checksum checksum = checksums.get(key);
+        if (checksum == null || !Objects.equals(fileVersion, checksum.fileVersion))
+        {
+            checksum = new Checksum(fileVersion, calculateChecksum(resourceUrl));
+            checksums.put(key, checksum);
+        }
+        return checksum.value;
+    }
+
+    private static FileVersion getFileVersion(URL resourceUrl) throws IOException
+    {
+        if (!FILE_PROTOCOL.equals(resourceUrl.getProtocol()))
+        {
+            return null;
+        }
+        try
+        {
+            Path path = Paths.get(resourceUrl.toURI());
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileVersion(attributes.lastModifiedTime().toMillis(), attributes.size());
+        }
+        catch (URISyntaxException e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    private static String calculateChecksum(URL resourceUrl) throws IOException
+    {
+        try (DigestInputStream input = new DigestInputStream(resourceUrl.openStream(),
+                MessageDigest.getInstance(CHECKSUM_ALGORITHM)))
+        {
+            input.transferTo(NullOutputStream.NULL_OUTPUT_STREAM);
+            return Base64.getEncoder().encodeToString(input.getMessageDigest().digest());
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Checksum
+    {
+        private final FileVersion fileVersion;
+        private final String value;
+
+        private Checksum(FileVersion fileVersion, String value)
+        {
+            this.fileVersion = fileVersion;
+            this.value = value;
+        }
+    }
+
+    private static final class FileVersion
+    {
+        private final long lastModified;
+        private final long size;
+
+        private FileVersion(long lastModified, long size)
+        {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            FileVersion other = (FileVersion) o;
+            return lastModified == other.lastModified && size == other.size;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(lastModified, size);
+        }
+    }
+}
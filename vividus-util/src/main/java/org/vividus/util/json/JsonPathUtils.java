@@ -63,8 +63,41 @@ public final class JsonPathUtils
      */
     public static <T> List<T> getData(String json, Collection<String> jsonPaths)
     {
-        DocumentContext jsonPathContext = JsonPath.parse(json);
-        return jsonPaths.stream().map(jsonPathContext::<T>read).collect(Collectors.toList());
+        return getData(parse(json), jsonPaths);
+    }
+
+    /**
+     * Gets data from parsed JSON using jsonPath
+     * @param <T> resulting type
+     * @param json parsed JSON
+     * @param jsonPath JSON path
+     * @return desired data from JSON
+     */
+    public static <T> T getData(DocumentContext json, String jsonPath)
+    {
+        return json.read(jsonPath);
+    }
+
+    /**
+     * Gets data from parsed JSON using jsonPaths
+     * @param <T> resulting type
+     * @param json parsed JSON
+     * @param jsonPaths collection of JSON paths
+     * @return list with results found by JSON paths
+     */
+    public static <T> List<T> getData(DocumentContext json, Collection<String> jsonPaths)
+    {
+        return jsonPaths.stream().map(json::<T>read).collect(Collectors.toList());
+    }
+
+    /**
+     * Parses JSON once to query it by any number of JSON paths. Compiled JSON paths are cached by JsonPath itself.
+     * @param json JSON String
+     * @return parsed JSON
+     */
+    public static DocumentContext parse(String json)
+    {
+        return JsonPath.parse(json);
     }
 
     public static void setJacksonConfiguration()
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util.statistic;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of durations with fixed buckets growing from 1 millisecond to 100 seconds in the 1-2-5
+ * sequence. Percentiles are estimated by the upper bounds of the buckets, so they are precise enough to compare
+ * durations, but must not be treated as exact values.
+ */
+public final class DurationHistogram
+{
+    private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000,
+        5_000, 10_000, 20_000, 50_000, 100_000, Long.MAX_VALUE };
+    private static final double HUNDRED_PERCENT = 100;
+    private static final double MEDIAN = 50;
+    private static final double PERCENTILE_90 = 90;
+    private static final double PERCENTILE_99 = 99;
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_UPPER_BOUNDS_MILLIS.length);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(Duration duration)
+    {
+        long nanos = duration.toNanos();
+        long millis = duration.toMillis();
+        int bucket = 0;
+        while (millis >= BUCKET_UPPER_BOUNDS_MILLIS[bucket])
+        {
+            bucket++;
+        }
+        bucketCounts.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public long getCount()
+    {
+        return count.sum();
+    }
+
+    public Duration getTotal()
+    {
+        return Duration.ofNanos(totalNanos.sum());
+    }
+
+    public Duration getMean()
+    {
+        long currentCount = getCount();
+        return currentCount == 0 ? Duration.ZERO : getTotal().dividedBy(currentCount);
+    }
+
+    public Duration getMax()
+    {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /**
+     * Estimates the percentile of the recorded durations
+     * @param percentile Percentile to estimate, e.g. 50 for median or 99 for 99th percentile
+     * @return Upper bound of the bucket containing the percentile, but not more than the max recorded duration
+     */
+    public Duration getPercentile(double percentile)
+    {
+        long currentCount = getCount();
+        if (currentCount == 0)
+        {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(currentCount * percentile / HUNDRED_PERCENT));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_UPPER_BOUNDS_MILLIS.length; bucket++)
+        {
+            seen += bucketCounts.get(bucket);
+            if (seen >= rank && BUCKET_UPPER_BOUNDS_MILLIS[bucket] != Long.MAX_VALUE)
+            {
+                Duration upperBound = Duration.ofMillis(BUCKET_UPPER_BOUNDS_MILLIS[bucket]);
+                Duration max = getMax();
+                return upperBound.compareTo(max) < 0 ? upperBound : max;
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Returns the numbers of the recorded durations grouped by buckets, the empty buckets are omitted
+     * @return Numbers of the durations keyed by the upper bounds of the buckets in milliseconds, the last bucket
+     * is unbounded and keyed by {@link Long#MAX_VALUE}
+     */
+    public Map<Long, Long> getBuckets()
+    {
+        Map<Long, Long> buckets = new TreeMap<>();
+        for (int bucket = 0; bucket < BUCKET_UPPER_BOUNDS_MILLIS.length; bucket++)
+        {
+            long bucketCount = bucketCounts.get(bucket);
+            if (bucketCount > 0)
+            {
+                buckets.put(BUCKET_UPPER_BOUNDS_MILLIS[bucket], bucketCount);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Summarizes the recorded durations
+     * @return Number of the durations, their total, mean, median, 90th and 99th percentiles and max in milliseconds
+     * keyed by <code>count</code>, <code>totalMs</code>, <code>meanMs</code>, <code>p50Ms</code>, <code>p90Ms</code>,
+     * <code>p99Ms</code> and <code>maxMs</code>
+     */
+    public Map<String, Long> summarize()
+    {
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put("count", getCount());
+        summary.put("totalMs", getTotal().toMillis());
+        summary.put("meanMs", getMean().toMillis());
+        summary.put("p50Ms", getPercentile(MEDIAN).toMillis());
+        summary.put("p90Ms", getPercentile(PERCENTILE_90).toMillis());
+        summary.put("p99Ms", getPercentile(PERCENTILE_99).toMillis());
+        summary.put("maxMs", getMax().toMillis());
+        return summary;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("count=%d, total=%dms, mean=%dms, p50=%dms, p90=%dms, p99=%dms, max=%dms", getCount(),
+                getTotal().toMillis(), getMean().toMillis(), getPercentile(MEDIAN).toMillis(),
+                getPercentile(PERCENTILE_90).toMillis(), getPercentile(PERCENTILE_99).toMillis(), getMax().toMillis());
+    }
+}
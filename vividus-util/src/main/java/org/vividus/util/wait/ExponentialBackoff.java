@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util.wait;
+
+/**
+ * Delays between attempts doubling from the small initial delay up to the max delay. An instance keeps the state
+ * of a single sequence of attempts and must not be shared.
+ */
+public final class ExponentialBackoff
+{
+    private static final int INITIAL_DELAY_DIVISOR = 8;
+
+    private final long maxDelayMillis;
+    private long nextDelayMillis;
+
+    public ExponentialBackoff(long maxDelayMillis)
+    {
+        this.maxDelayMillis = maxDelayMillis;
+        this.nextDelayMillis = Math.min(maxDelayMillis, Math.max(1, maxDelayMillis / INITIAL_DELAY_DIVISOR));
+    }
+
+    public long nextDelayMillis()
+    {
+        long delayMillis = nextDelayMillis;
+        nextDelayMillis = Math.min(maxDelayMillis, nextDelayMillis * 2);
+        return delayMillis;
+    }
+}
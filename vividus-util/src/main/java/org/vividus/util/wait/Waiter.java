@@ -35,17 +35,31 @@ public final class Waiter
         pollingTimeoutMillis = durationInMillis / waitMode.getRetryTimes();
     }
 
+    /**
+     * Polls the value until it meets the stop condition or the wait duration is exceeded. Polling stops right after
+     * the stop condition is met and never sleeps beyond the end of the wait.
+     * @param valueProvider Provider of the value to check
+     * @param stopCondition Condition to stop polling
+     * @param <T> Type of the value
+     * @param <E> Type of the exception thrown by the value provider
+     * @return The last polled value
+     * @throws E if the value provider fails
+     */
     public <T, E extends Exception> T wait(CheckedSupplier<T, E> valueProvider, Predicate<T> stopCondition) throws E
     {
         long endTime = System.currentTimeMillis() + durationInMillis;
 
-        T value;
-        do
+        T value = valueProvider.get();
+        while (!stopCondition.test(value))
         {
+            long remainingMillis = endTime - System.currentTimeMillis();
+            if (remainingMillis < 0)
+            {
+                break;
+            }
+            Sleeper.sleep(Math.min(pollingTimeoutMillis, remainingMillis), TimeUnit.MILLISECONDS);
             value = valueProvider.get();
-            Sleeper.sleep(pollingTimeoutMillis, TimeUnit.MILLISECONDS);
         }
-        while (!stopCondition.test(value) && System.currentTimeMillis() <= endTime);
         return value;
     }
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResourceChecksumsTests
+{
+    private static final String INITIAL = "initial";
+
+    private final ResourceChecksums resourceChecksums = new ResourceChecksums();
+
+    @Test
+    void shouldCalculateChecksumAgainWhenFileIsModified(@TempDir Path tempDir) throws IOException
+    {
+        Path file = tempDir.resolve("resource.txt");
+        FileTime lastModified = write(file, INITIAL);
+        URL resourceUrl = file.toUri().toURL();
+        String checksum = resourceChecksums.getChecksum(resourceUrl);
+        assertEquals(checksum, resourceChecksums.getChecksum(resourceUrl));
+        write(file, "changed");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 1_000));
+        assertNotEquals(checksum, resourceChecksums.getChecksum(resourceUrl));
+    }
+
+    @Test
+    void shouldNotCalculateChecksumAgainIfFileModificationTimeAndSizeAreNotChanged(@TempDir Path tempDir)
+            throws IOException
+    {
+        Path file = tempDir.resolve("resource.txt");
+        FileTime lastModified = write(file, INITIAL);
+        URL resourceUrl = file.toUri().toURL();
+        String checksum = resourceChecksums.getChecksum(resourceUrl);
+        write(file, "changed");
+        Files.setLastModifiedTime(file, lastModified);
+        assertEquals(checksum, resourceChecksums.getChecksum(resourceUrl));
+    }
+
+    @Test
+    void shouldCalculateSameChecksumsForSameContents(@TempDir Path tempDir) throws IOException
+    {
+        Path first = tempDir.resolve("first.txt");
+        Path second = tempDir.resolve("second.txt");
+        write(first, INITIAL);
+        write(second, INITIAL);
+        assertEquals(resourceChecksums.getChecksum(first.toUri().toURL()),
+                resourceChecksums.getChecksum(second.toUri().toURL()));
+    }
+
+    private static FileTime write(Path file, String content) throws IOException
+    {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return Files.getLastModifiedTime(file);
+    }
+}
@@ -19,6 +19,7 @@ package org.vividus.util.json;
 import java.util.List;
 
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 
@@ -55,6 +56,15 @@ class JsonPathUtilsTests
         Assertions.assertEquals(data, List.of(VALUES, 1, true, "data"));
     }
 
+    @Test
+    void testGetDataFromParsedJson()
+    {
+        DocumentContext json = JsonPathUtils.parse("{\"test\":[{\"name\":\"value1\"},{\"name\":\"value2\"}]}");
+        Assertions.assertEquals(VALUES, JsonPathUtils.getData(json, NAME_JSON_PATH));
+        Assertions.assertEquals(List.of(VALUES, "value1"), JsonPathUtils.getData(json,
+                List.of(NAME_JSON_PATH, "$.test[0].name")));
+    }
+
     @Test
     void testConfiguration()
     {
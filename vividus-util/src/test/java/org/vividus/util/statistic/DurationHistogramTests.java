@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util.statistic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class DurationHistogramTests
+{
+    @Test
+    void shouldCalculateStatistics()
+    {
+        DurationHistogram histogram = new DurationHistogram();
+        histogram.record(Duration.ofMillis(3));
+        histogram.record(Duration.ofMillis(4));
+        histogram.record(Duration.ofMillis(30));
+        histogram.record(Duration.ofMillis(163));
+        assertEquals(4, histogram.getCount());
+        assertEquals(Duration.ofMillis(200), histogram.getTotal());
+        assertEquals(Duration.ofMillis(50), histogram.getMean());
+        assertEquals(Duration.ofMillis(163), histogram.getMax());
+        assertEquals(Duration.ofMillis(5), histogram.getPercentile(50));
+        assertEquals(Duration.ofMillis(163), histogram.getPercentile(99));
+        assertEquals(Map.of(5L, 2L, 50L, 1L, 200L, 1L), histogram.getBuckets());
+        assertEquals("count=4, total=200ms, mean=50ms, p50=5ms, p90=163ms, p99=163ms, max=163ms",
+                histogram.toString());
+        Map<String, Long> summary = histogram.summarize();
+        assertEquals(List.of("count", "totalMs", "meanMs", "p50Ms", "p90Ms", "p99Ms", "maxMs"),
+                List.copyOf(summary.keySet()));
+        assertEquals(List.of(4L, 200L, 50L, 5L, 163L, 163L, 163L), List.copyOf(summary.values()));
+    }
+
+    @Test
+    void shouldPutLongDurationsToUnboundedBucket()
+    {
+        DurationHistogram histogram = new DurationHistogram();
+        histogram.record(Duration.ofMinutes(5));
+        assertEquals(Map.of(Long.MAX_VALUE, 1L), histogram.getBuckets());
+        assertEquals(Duration.ofMinutes(5), histogram.getPercentile(50));
+    }
+
+    @Test
+    void shouldReturnZerosForEmptyHistogram()
+    {
+        DurationHistogram histogram = new DurationHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(Duration.ZERO, histogram.getMean());
+        assertEquals(Duration.ZERO, histogram.getPercentile(50));
+        assertEquals(Map.of(), histogram.getBuckets());
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vividus.util.wait;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class ExponentialBackoffTests
+{
+    @Test
+    void shouldDoubleDelayUpToMaxDelay()
+    {
+        ExponentialBackoff backoff = new ExponentialBackoff(2000);
+        assertEquals(250, backoff.nextDelayMillis());
+        assertEquals(500, backoff.nextDelayMillis());
+        assertEquals(1000, backoff.nextDelayMillis());
+        assertEquals(2000, backoff.nextDelayMillis());
+        assertEquals(2000, backoff.nextDelayMillis());
+    }
+
+    @Test
+    void shouldNotExceedMaxDelayForShortDelays()
+    {
+        ExponentialBackoff backoff = new ExponentialBackoff(0);
+        assertEquals(0, backoff.nextDelayMillis());
+        assertEquals(0, backoff.nextDelayMillis());
+    }
+}
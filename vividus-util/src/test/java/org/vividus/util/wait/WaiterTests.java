@@ -17,6 +17,7 @@
 package org.vividus.util.wait;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -56,4 +57,14 @@ class WaiterTests
         new Waiter(new WaitMode(Duration.ZERO, 1)).wait(checkedRunnable, Boolean.TRUE::booleanValue);
         verify(checkedRunnable, times(1)).run();
     }
+
+    @Test
+    void shouldNotSleepAfterReachingStopCondition() throws IOException
+    {
+        CheckedSupplier<Boolean, IOException> valueProvider = mock(CheckedSupplier.class);
+        when(valueProvider.get()).thenReturn(true);
+        Waiter waiter = new Waiter(new WaitMode(Duration.ofMinutes(1), 1));
+        assertTrue(assertTimeout(Duration.ofSeconds(5), () -> waiter.wait(valueProvider, Boolean::booleanValue)));
+        verify(valueProvider, times(1)).get();
+    }
 }